@@ -0,0 +1,162 @@
+package com.todoapp.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.auth.SessionFilter;
+import com.todoapp.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Control de admisión delante de los controladores de {@code /api}.
+ * Cada petición pasa dos comprobaciones baratas antes de ocupar un hilo de
+ * trabajo más tiempo del necesario:
+ * <ol>
+ *   <li>El {@link RateLimiter} del usuario del token de sesión (o de la
+ *       dirección del cliente si la petición no trae token) y su
+ *       {@link RouteClass}: si el cliente supera su ritmo se responde 429 con
+ *       {@code Retry-After}.</li>
+ *   <li>El {@link ConcurrencyLimiter} global: si el servidor ya tiene tantas
+ *       peticiones en curso como su límite se responde 503 con
+ *       {@code Retry-After}, en lugar de encolar y alargar la latencia de
+ *       todos.</li>
+ * </ol>
+ * Las peticiones que se vuelven asíncronas (SSE, exportaciones) liberan su
+ * plaza al salir del filtro y no cuentan para la latencia; tampoco cuentan
+ * las de la clase {@link RouteClass#BULK}, cuya duración no indica carga.
+ * El health check y las peticiones de preflight CORS no pasan por el control.
+ *
+ * Se ejecuta justo después de {@link SessionFilter}, para limitar por el
+ * usuario ya verificado: el usuario de la ruta lo elige el cliente, y usarlo
+ * permitiría agotar el cupo de otro usuario sin su token.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionFilter.class);
+
+    private static final long OVERLOAD_RETRY_SECONDS = 1;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final RateLimiter rateLimiter = new RateLimiter();
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public AdmissionFilter(@Value("${todoapp.admission.enabled:true}") boolean enabled,
+                           @Value("${todoapp.admission.initial-limit:100}") int initialLimit,
+                           @Value("${todoapp.admission.min-limit:10}") int minLimit,
+                           @Value("${todoapp.admission.max-limit:200}") int maxLimit,
+                           @Value("${todoapp.admission.target-latency-ms:100}") long targetLatency) {
+        this.enabled = enabled;
+        this.concurrencyLimiter = new ConcurrencyLimiter(initialLimit, minLimit, maxLimit, targetLatency);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled
+                || !path.startsWith("/api/")
+                || path.equals("/api/system/health")
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RouteClass routeClass = RouteClass.of(request);
+        long start = System.nanoTime();
+        long wait = rateLimiter.tryAcquire(routeClass, subject(request), start);
+        if (wait > 0) {
+            rateLimited.increment();
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "Demasiadas peticiones",
+                    "Se ha superado el ritmo de peticiones permitido", Math.max(1, ceilSeconds(wait)));
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            shed.increment();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Servicio sobrecargado",
+                    "El servidor está al límite de su capacidad; reintenta en unos instantes", OVERLOAD_RETRY_SECONDS);
+            return;
+        }
+        boolean measured = routeClass != RouteClass.BULK;
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            measured = false;
+            throw e;
+        } finally {
+            measured &= !request.isAsyncStarted();
+            concurrencyLimiter.release(measured ? System.nanoTime() - start : -1);
+        }
+    }
+
+    /**
+     * Estado del control de admisión, para las estadísticas del sistema.
+     *
+     * @return Límite, peticiones en curso y rechazos acumulados
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("concurrencyLimit", concurrencyLimiter.getLimit());
+        status.put("inFlight", concurrencyLimiter.getInFlight());
+        status.put("rateLimitedSubjects", rateLimiter.getSubjectCount());
+        status.put("rejectedRateLimited", rateLimited.sum());
+        status.put("rejectedOverloaded", shed.sum());
+        return status;
+    }
+
+    /**
+     * Sujeto del límite de ritmo: el usuario del token verificado o, sin
+     * token, la dirección del cliente. Nunca un ID que envíe el cliente.
+     */
+    private static String subject(HttpServletRequest request) {
+        Object userId = request.getAttribute(SessionFilter.USER_ID_ATTRIBUTE);
+        return userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        String error, String message, long retryAfter) throws IOException {
+        logger.debug("Petición rechazada con {}: {} {}", status.value(), request.getMethod(), request.getRequestURI());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        // Los controladores publican CORS con @CrossOrigin, que aquí aún no se ha aplicado
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.RETRY_AFTER);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                status.value(), error, message, "uri=" + request.getRequestURI(), LocalDateTime.now()));
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.todoapp.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Límite global y adaptativo de peticiones en curso (AIMD), sin bloqueos.
+ * Cada petición que termina por debajo de la latencia objetivo sube el
+ * límite en 1/límite, es decir, alrededor de una plaza por cada tanda
+ * completa de peticiones; una que la supera lo multiplica por
+ * {@link #BACKOFF}, como mucho una vez por intervalo de enfriamiento para
+ * que una tanda de peticiones lentas no lo hunda de golpe. El límite solo
+ * se ajusta si se está usando al menos la mitad: con poca concurrencia la
+ * latencia no depende de él (arranque en frío, una petición costosa) y un
+ * servidor ocioso no acumula un límite que nunca ha comprobado.
+ *
+ * El límite y la marca del último descenso se guardan en variables atómicas
+ * y se actualizan con compareAndSet.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class ConcurrencyLimiter {
+
+    /**
+     * Factor que se aplica al límite cuando una petición supera la latencia objetivo.
+     */
+    public static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatency;
+    private final long cooldown;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+    /**
+     * Crea el limitador.
+     *
+     * @param initialLimit Límite inicial
+     * @param minLimit Límite mínimo
+     * @param maxLimit Límite máximo
+     * @param targetLatency Latencia objetivo en milisegundos; también es el intervalo de enfriamiento
+     */
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatency) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatency = TimeUnit.MILLISECONDS.toNanos(targetLatency);
+        this.cooldown = this.targetLatency;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    /**
+     * Intenta ocupar una plaza.
+     *
+     * @return true si hay plaza; quien la obtiene debe liberarla con {@link #release}
+     */
+    public boolean tryAcquire() {
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera una plaza y ajusta el límite con la latencia medida.
+     *
+     * @param latency Duración de la petición en nanosegundos, o un valor negativo si
+     *                no debe contar (peticiones asíncronas o de larga duración)
+     */
+    public void release(long latency) {
+        int current = inFlight.getAndDecrement();
+        if (latency < 0 || current < getLimit() / 2) {
+            return;
+        }
+        if (latency > targetLatency) {
+            decrease(System.nanoTime());
+        } else {
+            increase();
+        }
+    }
+
+    /**
+     * Límite actual.
+     *
+     * @return Número máximo de peticiones en curso
+     */
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * Peticiones en curso.
+     *
+     * @return Plazas ocupadas
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void increase() {
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            if (limit >= maxLimit) {
+                return;
+            }
+            double next = Math.min(maxLimit, limit + 1 / limit);
+            if (limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private void decrease(long now) {
+        long last = lastDecrease.get();
+        if (now - last < cooldown || !lastDecrease.compareAndSet(last, now)) {
+            return;
+        }
+        while (true) {
+            long bits = limitBits.get();
+            double next = Math.max(minLimit, Double.longBitsToDouble(bits) * BACKOFF);
+            if (limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
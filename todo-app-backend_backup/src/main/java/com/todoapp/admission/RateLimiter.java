@@ -0,0 +1,102 @@
+package com.todoapp.admission;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limitador de ritmo por sujeto y clase de ruta, sin bloqueos.
+ * Implementa GCRA (el cubo de fichas expresado como un instante): por cada
+ * sujeto se guarda solo el instante teórico de llegada (TAT) de la siguiente
+ * petición. Una petición se admite si no se adelanta al TAT más de la
+ * tolerancia de ráfaga, y admitirla avanza el TAT un intervalo de emisión
+ * con un único compareAndSet; no hay temporizadores que rellenen cubos.
+ *
+ * Un sujeto cuyo TAT ya pasó tiene el cubo lleno y es indistinguible de uno
+ * nuevo, así que esos sujetos inactivos se descartan como mucho una vez por
+ * segundo. Si aun así una clase llega a {@link #MAX_SUBJECTS} sujetos activos,
+ * los nuevos comparten un único cubo hasta que haya sitio: la memoria queda
+ * acotada aunque un cliente invente sujetos sin parar.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class RateLimiter {
+
+    /**
+     * Sujetos por clase a partir de los cuales se descartan los inactivos.
+     */
+    public static final int MAX_SUBJECTS = 10_000;
+
+    /**
+     * Sujeto compartido por los que no caben en la tabla.
+     */
+    static final String OVERFLOW_SUBJECT = "overflow";
+
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<RouteClass, Map<String, AtomicLong>> arrivals = new EnumMap<>(RouteClass.class);
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public RateLimiter() {
+        for (RouteClass routeClass : RouteClass.values()) {
+            arrivals.put(routeClass, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Intenta admitir una petición.
+     *
+     * @param routeClass Clase de la ruta
+     * @param subject Sujeto limitado (usuario o dirección del cliente)
+     * @param now Instante actual, de {@link System#nanoTime()}
+     * @return 0 si se admite; si no, nanosegundos hasta que se admitiría
+     */
+    public long tryAcquire(RouteClass routeClass, String subject, long now) {
+        sweep(now);
+        Map<String, AtomicLong> subjects = arrivals.get(routeClass);
+        AtomicLong arrival = subjects.get(subject);
+        if (arrival == null) {
+            String key = subjects.size() < MAX_SUBJECTS ? subject : OVERFLOW_SUBJECT;
+            arrival = subjects.computeIfAbsent(key, ignored -> new AtomicLong(now));
+        }
+        long interval = routeClass.getEmissionInterval();
+        long tolerance = routeClass.getBurstTolerance();
+        while (true) {
+            long tat = arrival.get();
+            long wait = tat - tolerance - now;
+            if (wait > 0) {
+                return wait;
+            }
+            long next = (tat - now > 0 ? tat : now) + interval;
+            if (arrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Número de sujetos con estado, sumando todas las clases.
+     *
+     * @return Sujetos registrados
+     */
+    public int getSubjectCount() {
+        return arrivals.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Descarta los sujetos inactivos, como mucho una vez por segundo. Si otra
+     * petición admite al sujeto mientras se descarta, esa admisión no cuenta
+     * para la siguiente: como mucho se concede una petición de más.
+     */
+    private void sweep(long now) {
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_INTERVAL && lastSweep.compareAndSet(last, now)) {
+            for (Map<String, AtomicLong> subjects : arrivals.values()) {
+                subjects.values().removeIf(arrival -> arrival.get() - now <= 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.todoapp.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clases de ruta a efectos de limitación de ritmo. Cada usuario tiene un
+ * cupo independiente por clase, de modo que un cliente que repite lecturas
+ * en bucle no agota su cupo de escrituras, ni al revés.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public enum RouteClass {
+
+    /**
+     * Lecturas individuales (GET y HEAD).
+     */
+    READ(20, 40),
+
+    /**
+     * Creaciones, modificaciones y eliminaciones.
+     */
+    WRITE(10, 20),
+
+    /**
+     * Lotes, exportaciones e importaciones: cada petición equivale a muchas lecturas o escrituras.
+     */
+    BULK(1, 5);
+
+    private final long emissionInterval;
+    private final long burstTolerance;
+
+    RouteClass(int perSecond, int burst) {
+        this.emissionInterval = TimeUnit.SECONDS.toNanos(1) / perSecond;
+        this.burstTolerance = emissionInterval * (burst - 1);
+    }
+
+    /**
+     * Intervalo entre peticiones al ritmo sostenido, en nanosegundos.
+     *
+     * @return Intervalo de emisión
+     */
+    public long getEmissionInterval() {
+        return emissionInterval;
+    }
+
+    /**
+     * Adelanto máximo sobre el ritmo sostenido que se tolera, en nanosegundos;
+     * equivale a una ráfaga de peticiones seguidas.
+     *
+     * @return Tolerancia de ráfaga
+     */
+    public long getBurstTolerance() {
+        return burstTolerance;
+    }
+
+    /**
+     * Clasifica una petición por su método y su ruta.
+     *
+     * @param request Petición HTTP
+     * @return Clase de la ruta
+     */
+    public static RouteClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/batch") || path.endsWith("/export") || path.startsWith("/api/tasks/import/")) {
+            return BULK;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? READ : WRITE;
+    }
+}
@@ -0,0 +1,31 @@
+package com.todoapp.analytics;
+
+import java.util.List;
+
+/**
+ * Informe de productividad de un usuario: la actividad de cada periodo de un
+ * rango y el total del rango.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class ActivityReport {
+
+    private final Long userId;
+    private final Granularity granularity;
+    private final List<ActivitySummary> buckets;
+    private final ActivitySummary totals;
+
+    public ActivityReport(Long userId, Granularity granularity, List<ActivitySummary> buckets) {
+        this.userId = userId;
+        this.granularity = granularity;
+        this.buckets = buckets;
+        this.totals = new ActivitySummary(buckets.isEmpty() ? null : buckets.get(0).getStart());
+        buckets.forEach(totals::add);
+    }
+
+    public Long getUserId() { return userId; }
+    public Granularity getGranularity() { return granularity; }
+    public List<ActivitySummary> getBuckets() { return buckets; }
+    public ActivitySummary getTotals() { return totals; }
+}
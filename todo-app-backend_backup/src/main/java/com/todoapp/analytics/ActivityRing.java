@@ -0,0 +1,101 @@
+package com.todoapp.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Contadores de actividad de un usuario en un anillo de tamaño fijo.
+ * Cada posición guarda un periodo; un periodo nuevo reutiliza la posición del
+ * que cayó fuera de la ventana, así que la memoria no crece con el tiempo y
+ * los eventos más antiguos que la ventana se descartan. Los contadores viven
+ * en arrays paralelos de primitivos en lugar de un objeto por periodo.
+ *
+ * No es seguro para hilos: lo sincroniza {@link UserActivity}.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+final class ActivityRing {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long[] buckets;
+    private final int[] created;
+    private final int[] completed;
+    private final int[] completedWithDueDate;
+    private final int[] completedLate;
+    private final long[] completionSeconds;
+
+    ActivityRing(int capacity) {
+        this.buckets = new long[capacity];
+        this.created = new int[capacity];
+        this.completed = new int[capacity];
+        this.completedWithDueDate = new int[capacity];
+        this.completedLate = new int[capacity];
+        this.completionSeconds = new long[capacity];
+        Arrays.fill(buckets, EMPTY);
+    }
+
+    void recordCreated(long bucket) {
+        int slot = claim(bucket);
+        if (slot >= 0) {
+            created[slot]++;
+        }
+    }
+
+    void recordCompleted(long bucket, long seconds, boolean hadDueDate, boolean late) {
+        int slot = claim(bucket);
+        if (slot < 0) {
+            return;
+        }
+        completed[slot]++;
+        completionSeconds[slot] += seconds;
+        if (hadDueDate) {
+            completedWithDueDate[slot]++;
+            if (late) {
+                completedLate[slot]++;
+            }
+        }
+    }
+
+    /**
+     * Suma los contadores de un periodo a un resumen. Un periodo sin actividad
+     * o que ya salió de la ventana no suma nada.
+     *
+     * @param bucket Número de periodo
+     * @param summary Resumen en el que acumular
+     */
+    void addTo(long bucket, ActivitySummary summary) {
+        int slot = slotOf(bucket);
+        if (buckets[slot] == bucket) {
+            summary.add(created[slot], completed[slot], completedWithDueDate[slot], completedLate[slot],
+                    completionSeconds[slot]);
+        }
+    }
+
+    /**
+     * Obtiene la posición de un periodo, reiniciándola si la ocupaba uno anterior.
+     *
+     * @return Posición, o -1 si el periodo es anterior al que ocupa la posición
+     */
+    private int claim(long bucket) {
+        int slot = slotOf(bucket);
+        long current = buckets[slot];
+        if (current == bucket) {
+            return slot;
+        }
+        if (current != EMPTY && current > bucket) {
+            return -1;
+        }
+        buckets[slot] = bucket;
+        created[slot] = 0;
+        completed[slot] = 0;
+        completedWithDueDate[slot] = 0;
+        completedLate[slot] = 0;
+        completionSeconds[slot] = 0;
+        return slot;
+    }
+
+    private int slotOf(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+}
@@ -0,0 +1,66 @@
+package com.todoapp.analytics;
+
+import java.time.LocalDateTime;
+
+/**
+ * Actividad de un usuario en un periodo o en un rango de periodos:
+ * tareas creadas y completadas, tiempo medio hasta completarlas y proporción
+ * de las completadas después de su fecha límite.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class ActivitySummary {
+
+    private final LocalDateTime start;
+    private long created;
+    private long completed;
+    private long completedWithDueDate;
+    private long completedLate;
+    private long completionSeconds;
+
+    ActivitySummary(LocalDateTime start) {
+        this.start = start;
+    }
+
+    void add(long created, long completed, long completedWithDueDate, long completedLate, long completionSeconds) {
+        this.created += created;
+        this.completed += completed;
+        this.completedWithDueDate += completedWithDueDate;
+        this.completedLate += completedLate;
+        this.completionSeconds += completionSeconds;
+    }
+
+    void add(ActivitySummary other) {
+        add(other.created, other.completed, other.completedWithDueDate, other.completedLate, other.completionSeconds);
+    }
+
+    /**
+     * Obtiene el inicio del periodo o del rango.
+     *
+     * @return Primer instante en hora local
+     */
+    public LocalDateTime getStart() { return start; }
+    public long getCreated() { return created; }
+    public long getCompleted() { return completed; }
+    public long getCompletedLate() { return completedLate; }
+
+    /**
+     * Obtiene el tiempo medio entre la creación y el completado.
+     *
+     * @return Horas de media, o null si no se completó ninguna tarea
+     */
+    public Double getAverageHoursToComplete() {
+        return completed == 0 ? null : completionSeconds / 3600.0 / completed;
+    }
+
+    /**
+     * Obtiene la proporción de tareas completadas después de su fecha límite,
+     * entre las completadas que tenían fecha límite.
+     *
+     * @return Proporción entre 0 y 1, o null si ninguna tenía fecha límite
+     */
+    public Double getOverdueRate() {
+        return completedWithDueDate == 0 ? null : (double) completedLate / completedWithDueDate;
+    }
+}
@@ -0,0 +1,128 @@
+package com.todoapp.analytics;
+
+import com.todoapp.exception.InvalidDataException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Resolución de las series de actividad y cuántos periodos conserva cada una.
+ * Los periodos se numeran sobre la hora local del servidor: las horas desde la
+ * época, los días como {@link LocalDate#toEpochDay()} y las semanas ISO
+ * (de lunes a domingo) desde la semana que contiene la época.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public enum Granularity {
+
+    /**
+     * Horas; se conservan los últimos 7 días.
+     */
+    HOUR(168, 24),
+
+    /**
+     * Días; se conserva un año.
+     */
+    DAY(366, 7),
+
+    /**
+     * Semanas ISO; se conservan dos años.
+     */
+    WEEK(104, 12);
+
+    /**
+     * El 1 de enero de 1970 fue jueves: sumando 3 días las semanas empiezan en lunes.
+     */
+    private static final long EPOCH_WEEK_OFFSET = 3;
+
+    private final int capacity;
+    private final int defaultSpan;
+
+    Granularity(int capacity, int defaultSpan) {
+        this.capacity = capacity;
+        this.defaultSpan = defaultSpan;
+    }
+
+    /**
+     * Obtiene el número de periodos que se conservan.
+     *
+     * @return Capacidad del anillo de periodos
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtiene el número de periodos que se devuelven cuando no se indica el inicio.
+     *
+     * @return Número de periodos por defecto
+     */
+    public int getDefaultSpan() {
+        return defaultSpan;
+    }
+
+    /**
+     * Obtiene el número de periodo que contiene un instante.
+     *
+     * @param time Instante en hora local
+     * @return Número de periodo
+     */
+    public long bucketOf(LocalDateTime time) {
+        return bucketOfLocalSeconds(time.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    /**
+     * Obtiene el número de periodo a partir de los segundos desde la época en
+     * hora local. Permite convertir la fecha una sola vez para todas las resoluciones.
+     *
+     * @param localSeconds Segundos desde la época tomando la hora local como UTC
+     * @return Número de periodo
+     */
+    long bucketOfLocalSeconds(long localSeconds) {
+        switch (this) {
+            case HOUR:
+                return Math.floorDiv(localSeconds, 3600L);
+            case DAY:
+                return Math.floorDiv(localSeconds, 86400L);
+            case WEEK:
+            default:
+                return Math.floorDiv(Math.floorDiv(localSeconds, 86400L) + EPOCH_WEEK_OFFSET, 7L);
+        }
+    }
+
+    /**
+     * Obtiene el inicio de un periodo.
+     *
+     * @param bucket Número de periodo
+     * @return Primer instante del periodo en hora local
+     */
+    public LocalDateTime startOf(long bucket) {
+        switch (this) {
+            case HOUR:
+                return LocalDateTime.ofEpochSecond(bucket * 3600L, 0, ZoneOffset.UTC);
+            case DAY:
+                return LocalDate.ofEpochDay(bucket).atStartOfDay();
+            case WEEK:
+            default:
+                return LocalDate.ofEpochDay(bucket * 7L - EPOCH_WEEK_OFFSET).atStartOfDay();
+        }
+    }
+
+    /**
+     * Obtiene la resolución a partir de su nombre, sin distinguir mayúsculas.
+     *
+     * @param value Nombre recibido (hour, day o week)
+     * @return Resolución
+     * @throws InvalidDataException si el nombre no corresponde a ninguna resolución
+     */
+    public static Granularity fromParam(String value) {
+        for (Granularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(value)) {
+                return granularity;
+            }
+        }
+        throw new InvalidDataException("granularity", value, "debe ser hour, day o week");
+    }
+}
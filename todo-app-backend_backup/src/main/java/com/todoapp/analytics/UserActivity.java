@@ -0,0 +1,77 @@
+package com.todoapp.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Series de actividad de un usuario, una por {@link Granularity}.
+ * Cada evento se suma a la vez a su hora, su día y su semana, de modo que una
+ * consulta solo recorre los periodos pedidos y nunca las tareas.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class UserActivity {
+
+    private static final Granularity[] GRANULARITIES = Granularity.values();
+
+    private final ActivityRing[] rings = new ActivityRing[GRANULARITIES.length];
+
+    public UserActivity() {
+        for (Granularity granularity : GRANULARITIES) {
+            rings[granularity.ordinal()] = new ActivityRing(granularity.getCapacity());
+        }
+    }
+
+    /**
+     * Registra la creación de una tarea.
+     *
+     * @param createdAt Fecha de creación
+     */
+    public synchronized void recordCreated(LocalDateTime createdAt) {
+        long localSeconds = createdAt.toEpochSecond(ZoneOffset.UTC);
+        for (Granularity granularity : GRANULARITIES) {
+            rings[granularity.ordinal()].recordCreated(granularity.bucketOfLocalSeconds(localSeconds));
+        }
+    }
+
+    /**
+     * Registra el completado de una tarea en el periodo en que se completó.
+     *
+     * @param createdAt Fecha de creación
+     * @param completedAt Fecha de completado
+     * @param dueDate Fecha límite (puede ser null)
+     */
+    public synchronized void recordCompleted(LocalDateTime createdAt, LocalDateTime completedAt, LocalDateTime dueDate) {
+        long seconds = createdAt != null ? Math.max(0, Duration.between(createdAt, completedAt).getSeconds()) : 0;
+        boolean late = dueDate != null && completedAt.isAfter(dueDate);
+        long localSeconds = completedAt.toEpochSecond(ZoneOffset.UTC);
+        for (Granularity granularity : GRANULARITIES) {
+            rings[granularity.ordinal()].recordCompleted(granularity.bucketOfLocalSeconds(localSeconds), seconds,
+                    dueDate != null, late);
+        }
+    }
+
+    /**
+     * Obtiene la actividad de cada periodo de un rango, ambos extremos incluidos.
+     * El costo es proporcional al número de periodos.
+     *
+     * @param granularity Resolución de los periodos
+     * @param fromBucket Primer periodo
+     * @param toBucket Último periodo
+     * @return Un resumen por periodo, en orden
+     */
+    public synchronized List<ActivitySummary> range(Granularity granularity, long fromBucket, long toBucket) {
+        ActivityRing ring = rings[granularity.ordinal()];
+        List<ActivitySummary> summaries = new ArrayList<>((int) (toBucket - fromBucket + 1));
+        for (long bucket = fromBucket; bucket <= toBucket; bucket++) {
+            ActivitySummary summary = new ActivitySummary(granularity.startOf(bucket));
+            ring.addTo(bucket, summary);
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+}
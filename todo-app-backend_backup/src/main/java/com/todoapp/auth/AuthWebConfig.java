@@ -0,0 +1,24 @@
+package com.todoapp.auth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registro del {@link OwnershipGuard} en las rutas de la API.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Configuration
+public class AuthWebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private OwnershipGuard ownershipGuard;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(ownershipGuard).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,100 @@
+package com.todoapp.auth;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.exception.UnauthorizedAccessException;
+import com.todoapp.service.MemoryStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.NumberUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Comprobación de que los recursos de una petición pertenecen al usuario del
+ * token de sesión. Se ejecuta como interceptor, después de que Spring MVC
+ * resuelva la ruta, y compara los valores numéricos de las variables
+ * {@code {userId}}, {@code {taskId}} y {@code {listId}} tal como los recibirá
+ * el controlador: las variantes codificadas, con ceros a la izquierda o con
+ * parámetros {@code ;} de una misma ruta no pueden esquivarla. Las tareas y
+ * las listas se comprueban por su propietario, aunque la ruta no lleve usuario.
+ *
+ * Sin token no se comprueba nada; {@link SessionFilter} decide si la petición
+ * puede seguir sin él. Las rutas sin ninguna de esas variables, como las de
+ * {@code /api/system}, quedan fuera de esta comprobación.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class OwnershipGuard implements HandlerInterceptor {
+
+    @Autowired
+    private MemoryStorageService storageService;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long sessionUserId = (Long) request.getAttribute(SessionFilter.USER_ID_ATTRIBUTE);
+        Map<String, String> vars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (vars != null) {
+            check(sessionUserId, vars);
+        }
+        return true;
+    }
+
+    /**
+     * Comprueba las variables de una ruta ya resuelta contra el usuario del token.
+     *
+     * @param sessionUserId Usuario del token de sesión, o null sin token
+     * @param vars Variables de la plantilla de la ruta
+     * @throws UnauthorizedAccessException si algún recurso de la ruta es de otro usuario
+     */
+    public void check(Long sessionUserId, Map<String, String> vars) {
+        if (sessionUserId == null) {
+            return;
+        }
+        Long userId = id(vars, "userId");
+        if (userId != null && !userId.equals(sessionUserId)) {
+            throw new UnauthorizedAccessException("El token no pertenece al usuario de la ruta");
+        }
+        Long taskId = id(vars, "taskId");
+        if (taskId != null) {
+            Long owner = storageService.findTaskById(taskId)
+                    .map(Task::getTaskList).map(TaskList::getUser).map(User::getId).orElse(null);
+            if (owner != null && !owner.equals(sessionUserId)) {
+                throw new UnauthorizedAccessException("No tienes permisos para acceder a esta tarea");
+            }
+        }
+        Long listId = id(vars, "listId");
+        if (listId != null) {
+            Long owner = storageService.findTaskListById(listId)
+                    .map(TaskList::getUser).map(User::getId).orElse(null);
+            if (owner != null && !owner.equals(sessionUserId)) {
+                throw new UnauthorizedAccessException("No tienes permisos para acceder a esta lista");
+            }
+        }
+    }
+
+    /**
+     * Convierte una variable como lo hace Spring MVC con un {@code Long}
+     * (admite espacios, hexadecimal y ceros a la izquierda). Un valor que no
+     * se puede convertir se rechaza: el controlador tampoco lo aceptaría.
+     */
+    private static Long id(Map<String, String> vars, String name) {
+        String value = vars.get(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return NumberUtils.parseNumber(value, Long.class);
+        } catch (IllegalArgumentException e) {
+            throw new UnauthorizedAccessException("Identificador no válido en la ruta: " + name);
+        }
+    }
+}
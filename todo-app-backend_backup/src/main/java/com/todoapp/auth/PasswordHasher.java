@@ -0,0 +1,173 @@
+package com.todoapp.auth;
+
+import com.todoapp.exception.ServiceOverloadedException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hash de contraseñas con PBKDF2-HMAC-SHA256 y sal aleatoria.
+ * El cálculo es deliberadamente lento, así que se ejecuta en un pool propio
+ * de pocos hilos (la mitad de los procesadores) con una cola acotada: una
+ * avalancha de logins ocupa ese pool y no los hilos de la API. Si la cola
+ * está llena se rechaza el trabajo con {@link ServiceOverloadedException}
+ * (503) en lugar de acumular esperas.
+ *
+ * El hash guardado lleva el algoritmo, las iteraciones y la sal:
+ * {@code pbkdf2-sha256$iteraciones$sal$hash}, en Base64. Los valores sin ese
+ * prefijo son contraseñas en claro de antes de introducir el hash; se
+ * comparan tal cual y {@link #needsRehash} indica que deben sustituirse.
+ * Un hash con el prefijo pero dañado (iteraciones o Base64 inválidos) no
+ * coincide con ninguna contraseña y también debe sustituirse.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class PasswordHasher {
+
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private static final int WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int QUEUE_CAPACITY = WORKERS * 16;
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+
+    /**
+     * Hash de referencia para verificar cuando el usuario no existe, de modo
+     * que la respuesta tarde lo mismo y no revele qué emails están registrados.
+     */
+    private final String dummyHash;
+
+    private final AtomicInteger workerCount = new AtomicInteger();
+
+    private final ThreadPoolExecutor workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + workerCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+    public PasswordHasher(@Value("${todoapp.auth.hash-iterations:210000}") int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("todoapp.auth.hash-iterations debe ser al menos 1: " + iterations);
+        }
+        this.iterations = iterations;
+        this.dummyHash = hashNow("dummy-password");
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Calcula el hash de una contraseña en el pool de hash.
+     *
+     * @param password Contraseña en claro
+     * @return Hash codificado, futuro
+     * @throws ServiceOverloadedException si el pool está saturado
+     */
+    public CompletableFuture<String> hash(String password) {
+        return submit(() -> hashNow(password));
+    }
+
+    /**
+     * Comprueba una contraseña contra su hash en el pool de hash.
+     *
+     * @param password Contraseña en claro
+     * @param encoded Hash guardado, o null si el usuario no existe (se verifica igualmente contra un hash ficticio)
+     * @return true si coincide, futuro
+     * @throws ServiceOverloadedException si el pool está saturado
+     */
+    public CompletableFuture<Boolean> verify(String password, String encoded) {
+        return submit(() -> {
+            if (encoded == null) {
+                verifyNow(password, dummyHash);
+                return false;
+            }
+            return verifyNow(password, encoded);
+        });
+    }
+
+    /**
+     * Indica si un hash guardado debe recalcularse: contraseña en claro, hash
+     * dañado o menos iteraciones de las configuradas.
+     *
+     * @param encoded Hash guardado
+     * @return true si conviene sustituirlo tras un login correcto
+     */
+    public boolean needsRehash(String encoded) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private String hashNow(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterations);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + '$' + iterations + '$' + encoder.encodeToString(salt) + '$' + encoder.encodeToString(hash);
+    }
+
+    private boolean verifyNow(String password, String encoded) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), encoded.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] expected = decoder.decode(parts[3]);
+            byte[] actual = pbkdf2(password, decoder.decode(parts[2]), Integer.parseInt(parts[1]));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            // Iteraciones no numéricas o no positivas, Base64 inválido o sal vacía
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, workers);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException("Demasiadas operaciones con contraseñas en curso; reintenta en unos instantes");
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 no disponible", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.todoapp.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.exception.AuthenticationException;
+import com.todoapp.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Verificación de los tokens de sesión en las peticiones a {@code /api}.
+ * Si la petición trae {@code Authorization: Bearer <token>}, el token se
+ * verifica con {@link SessionTokens} (un HMAC, sin consultar el
+ * almacenamiento) y el ID verificado queda en el atributo
+ * {@link #USER_ID_ATTRIBUTE}. Que los usuarios, listas y tareas de la ruta
+ * sean de ese usuario lo comprueba después {@link OwnershipGuard}, sobre la
+ * ruta ya resuelta por Spring MVC.
+ *
+ * Sin cabecera la petición pasa sin más, salvo con
+ * {@code todoapp.auth.require-token=true}: entonces solo quedan abiertos el
+ * login, el registro de usuarios y el health check.
+ *
+ * Lo que el token no protege: las rutas que no se refieren a un usuario,
+ * una lista o una tarea quedan abiertas a cualquier token válido (o a
+ * cualquiera sin {@code require-token}). Son el listado de usuarios
+ * ({@code GET /api/users}) y las de {@code /api/system}, incluidas
+ * {@code reset-demo-data} y {@code projections/rebuild}; no hay roles de
+ * administrador que permitan restringirlas.
+ *
+ * Se ejecuta antes del control de admisión, que limita el ritmo por el
+ * usuario verificado; verificar un token es un HMAC, más barato que
+ * cualquier petición de la API.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SessionFilter extends OncePerRequestFilter {
+
+    /**
+     * Atributo de la petición con el ID del usuario del token verificado.
+     */
+    public static final String USER_ID_ATTRIBUTE = "todoapp.session.userId";
+
+    private static final String BEARER = "Bearer ";
+
+    @Autowired
+    private SessionTokens sessionTokens;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final boolean requireToken;
+
+    public SessionFilter(@Value("${todoapp.auth.require-token:false}") boolean requireToken) {
+        this.requireToken = requireToken;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/")
+                || path.startsWith("/api/auth/")
+                || path.equals("/api/system/health")
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            if (requireToken && !isRegistration(request)) {
+                reject(request, response, HttpStatus.UNAUTHORIZED, "Credenciales inválidas", "Falta el token de sesión");
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+        Long userId;
+        try {
+            userId = sessionTokens.verify(authorization.substring(BEARER.length()).trim());
+        } catch (AuthenticationException | NumberFormatException e) {
+            reject(request, response, HttpStatus.UNAUTHORIZED, "Credenciales inválidas",
+                    e instanceof AuthenticationException ? e.getMessage() : "Token de sesión no válido");
+            return;
+        }
+        request.setAttribute(USER_ID_ATTRIBUTE, userId);
+        chain.doFilter(request, response);
+    }
+
+    private static boolean isRegistration(HttpServletRequest request) {
+        return "POST".equals(request.getMethod()) && request.getRequestURI().equals("/api/users");
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        String error, String message) throws IOException {
+        response.setStatus(status.value());
+        if (status == HttpStatus.UNAUTHORIZED) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        }
+        // Los controladores publican CORS con @CrossOrigin, que aquí aún no se ha aplicado
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                status.value(), error, message, "uri=" + request.getRequestURI(), LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.todoapp.auth;
+
+import com.todoapp.exception.AuthenticationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Tokens de sesión sin estado firmados con HMAC-SHA256.
+ * El token es {@code userId.expiración.firma}: la firma cubre el usuario y la
+ * expiración (segundos desde epoch), así que verificarlo es recalcular un
+ * HMAC y comparar, sin consultar el almacenamiento ni guardar sesiones.
+ *
+ * Sin {@code todoapp.auth.token-secret} se genera un secreto aleatorio al
+ * arrancar y los tokens dejan de valer al reiniciar. Un secreto configurado
+ * debe tener al menos {@link #MIN_SECRET_BYTES} bytes: con una clave corta
+ * se podría adivinar por fuerza bruta a partir de un token y falsificar otros. Al ser sin estado, un
+ * token no se puede revocar antes de su expiración.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class SessionTokens {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokens.class);
+
+    /**
+     * Longitud mínima del secreto, la de la salida de SHA-256.
+     */
+    public static final int MIN_SECRET_BYTES = 32;
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    /**
+     * {@link Mac} no es seguro entre hilos; cada hilo reutiliza el suyo.
+     */
+    private final ThreadLocal<Mac> macs;
+
+    public SessionTokens(@Value("${todoapp.auth.token-secret:}") String secret,
+                         @Value("${todoapp.auth.token-ttl-minutes:60}") long ttlMinutes) {
+        byte[] secretBytes;
+        if (secret.isBlank()) {
+            secretBytes = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(secretBytes);
+            logger.info("Sin todoapp.auth.token-secret: los tokens de sesión dejarán de valer al reiniciar");
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (secretBytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalArgumentException("todoapp.auth.token-secret debe tener al menos "
+                        + MIN_SECRET_BYTES + " bytes; tiene " + secretBytes.length);
+            }
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttlSeconds = ttlMinutes * 60;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Emite un token para un usuario.
+     *
+     * @param userId ID del usuario
+     * @return Token emitido
+     */
+    public SessionToken issue(Long userId) {
+        Instant expiresAt = Instant.now().plusSeconds(ttlSeconds);
+        String payload = userId + "." + expiresAt.getEpochSecond();
+        return new SessionToken(payload + "." + sign(payload), userId, expiresAt);
+    }
+
+    /**
+     * Verifica un token.
+     *
+     * @param token Token recibido
+     * @return ID del usuario del token
+     * @throws AuthenticationException si el token está mal formado, su firma no es válida o ha expirado
+     */
+    public Long verify(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        int expiryStart = signatureStart > 0 ? token.lastIndexOf('.', signatureStart - 1) : -1;
+        if (expiryStart <= 0) {
+            throw new AuthenticationException("Token de sesión mal formado");
+        }
+        String payload = token.substring(0, signatureStart);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new AuthenticationException("Token de sesión no válido");
+        }
+        // La firma es válida: el contenido lo generó este servidor y se puede analizar sin más
+        long expiresAt = Long.parseLong(token.substring(expiryStart + 1, signatureStart));
+        if (Instant.now().getEpochSecond() >= expiresAt) {
+            throw new AuthenticationException("Token de sesión expirado");
+        }
+        return Long.valueOf(token.substring(0, expiryStart));
+    }
+
+    private String sign(String payload) {
+        byte[] signature = macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 no disponible", e);
+        }
+    }
+
+    /**
+     * Token emitido con su usuario y su expiración.
+     */
+    public static class SessionToken {
+        private final String token;
+        private final Long userId;
+        private final Instant expiresAt;
+
+        public SessionToken(String token, Long userId, Instant expiresAt) {
+            this.token = token;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getToken() { return token; }
+        public Long getUserId() { return userId; }
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+}
@@ -0,0 +1,244 @@
+package com.todoapp.batch;
+
+import com.todoapp.auth.OwnershipGuard;
+import com.todoapp.cache.ResponseCache;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.exception.AuthenticationException;
+import com.todoapp.exception.BusinessLogicException;
+import com.todoapp.exception.InvalidDataException;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.exception.UnauthorizedAccessException;
+import com.todoapp.json.EntityJson;
+import com.todoapp.json.JsonBody;
+import com.todoapp.json.JsonWriter;
+import com.todoapp.query.Page;
+import com.todoapp.query.SmartList;
+import com.todoapp.service.SmartListService;
+import com.todoapp.service.TaskListService;
+import com.todoapp.service.TaskService;
+import com.todoapp.service.UserService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Despachador de las peticiones de un lote ({@code POST /api/batch}).
+ * Cada petición se resuelve contra una tabla de rutas de lectura que llama
+ * directamente a los servicios, sin pasar por la pila de servlets, y todas
+ * se ejecutan en paralelo en un pool acotado. Los cuerpos se serializan con
+ * {@link ResponseCache} y {@link EntityJson}, así que son idénticos a los de
+ * los endpoints individuales.
+ *
+ * Si el pool y su cola están llenos, la petición se ejecuta en el hilo del
+ * lote: la carga se reparte sin rechazar ninguna petición.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class BatchDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    /**
+     * Número máximo de peticiones por lote.
+     */
+    public static final int MAX_REQUESTS = 20;
+
+    private static final int WORKERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_CAPACITY = WORKERS * MAX_REQUESTS;
+
+    private static final ThreadLocal<JsonWriter> WRITERS = ThreadLocal.withInitial(JsonWriter::new);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskListService taskListService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SmartListService smartListService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private OwnershipGuard ownershipGuard;
+
+    private final AtomicInteger workerCount = new AtomicInteger();
+
+    private final ThreadPoolExecutor workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "batch-worker-" + workerCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+    /**
+     * Rutas GET admitidas en un lote, con la misma plantilla que su endpoint.
+     */
+    private final Map<UriTemplate, Route> routes = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void registerRoutes() {
+        route("/api/users/{userId}", (vars, params) ->
+                ok(responseCache.user(userService.getUserById(id(vars, "userId")), param(params, "fields")), null));
+        route("/api/lists/{listId}", (vars, params) ->
+                ok(responseCache.taskList(taskListService.getTaskListById(id(vars, "listId")), param(params, "fields")), null));
+        route("/api/lists/user/{userId}", (vars, params) -> {
+            Page<TaskList> page = taskListService.getTaskListsPageByUserId(
+                    id(vars, "userId"), param(params, "cursor"), limit(params));
+            return ok(responseCache.taskLists(page.getItems(), param(params, "fields")), page.getNextCursor());
+        });
+        route("/api/tasks/{taskId}", (vars, params) ->
+                ok(responseCache.task(taskService.getTaskById(id(vars, "taskId")), param(params, "fields")), null));
+        route("/api/tasks/list/{listId}/user/{userId}", (vars, params) -> {
+            Page<Task> page = taskService.getTasksPageByListId(
+                    id(vars, "listId"), id(vars, "userId"), param(params, "cursor"), limit(params));
+            return ok(responseCache.tasks(page.getItems(), param(params, "fields")), page.getNextCursor());
+        });
+        route("/api/tasks/user/{userId}", (vars, params) -> {
+            Page<Task> page = taskService.getTasksPageByUserId(id(vars, "userId"), param(params, "cursor"), limit(params));
+            return ok(responseCache.tasks(page.getItems(), param(params, "fields")), page.getNextCursor());
+        });
+        route("/api/tasks/user/{userId}/important", (vars, params) ->
+                ok(responseCache.tasks(taskService.getImportantTasks(id(vars, "userId"), limit(params)), param(params, "fields")), null));
+        route("/api/tasks/user/{userId}/smart-lists/{list}", (vars, params) -> {
+            Page<Task> page = smartListService.getSmartList(
+                    id(vars, "userId"), SmartList.fromPath(vars.get("list")), param(params, "cursor"), limit(params));
+            return ok(responseCache.tasks(page.getItems(), param(params, "fields")), page.getNextCursor());
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Lanza una petición del lote.
+     *
+     * @param method Método HTTP (solo se admite GET)
+     * @param path Ruta con la consulta, como en la petición individual
+     * @param sessionUserId Usuario del token de sesión del lote, o null sin token;
+     *                      con token, las rutas con recursos de otro usuario se responden 403
+     * @return Resultado futuro; nunca termina con excepción
+     */
+    public CompletableFuture<BatchResult> submit(String method, String path, Long sessionUserId) {
+        return CompletableFuture.supplyAsync(() -> execute(method, path, sessionUserId), workers);
+    }
+
+    private BatchResult execute(String method, String path, Long sessionUserId) {
+        if (path == null || path.isBlank()) {
+            return BatchResult.error(400, "Datos inválidos", "path es obligatorio");
+        }
+        if (method != null && !method.equalsIgnoreCase("GET")) {
+            return BatchResult.error(405, "Método no permitido", "Solo se admiten peticiones GET en un lote");
+        }
+        try {
+            UriComponents uri = UriComponentsBuilder.fromUriString(path).build();
+            String routePath = uri.getPath();
+            MultiValueMap<String, String> params = uri.getQueryParams();
+            for (Map.Entry<UriTemplate, Route> entry : routes.entrySet()) {
+                if (entry.getKey().matches(routePath)) {
+                    Map<String, String> vars = entry.getKey().match(routePath);
+                    ownershipGuard.check(sessionUserId, vars);
+                    return entry.getValue().handle(vars, params);
+                }
+            }
+            return BatchResult.error(404, "Recurso no encontrado", "Ruta no admitida en un lote: " + routePath);
+        } catch (RuntimeException e) {
+            return failure(e, path);
+        }
+    }
+
+    /**
+     * Traduce una excepción al mismo estado y tipo de error que {@code GlobalExceptionHandler}.
+     */
+    private static BatchResult failure(RuntimeException e, String path) {
+        if (e instanceof ResourceNotFoundException) {
+            return BatchResult.error(404, "Recurso no encontrado", e.getMessage());
+        }
+        if (e instanceof UnauthorizedAccessException) {
+            return BatchResult.error(403, "Acceso denegado", e.getMessage());
+        }
+        if (e instanceof InvalidDataException) {
+            return BatchResult.error(400, "Datos inválidos", e.getMessage());
+        }
+        if (e instanceof AuthenticationException) {
+            return BatchResult.error(401, "Credenciales inválidas", e.getMessage());
+        }
+        if (e instanceof BusinessLogicException) {
+            return BatchResult.error(422, "Regla de negocio violada", e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return BatchResult.error(400, "Argumento inválido", e.getMessage());
+        }
+        if (e instanceof IllegalStateException) {
+            return BatchResult.error(409, "Estado inválido", e.getMessage());
+        }
+        logger.error("Error interno en la petición de lote {}", path, e);
+        return BatchResult.error(500, "Error interno del servidor",
+                "Ha ocurrido un error inesperado. Por favor, contacta al administrador.");
+    }
+
+    private void route(String template, Route route) {
+        routes.put(new UriTemplate(template), route);
+    }
+
+    /**
+     * Serializa un cuerpo con el escritor del hilo.
+     */
+    private static BatchResult ok(JsonBody body, String nextCursor) {
+        JsonWriter writer = WRITERS.get();
+        writer.reset();
+        try {
+            body.writeTo(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return BatchResult.ok(writer.toByteArray(), nextCursor);
+    }
+
+    private static Long id(Map<String, String> vars, String name) {
+        return Long.valueOf(vars.get(name));
+    }
+
+    private static Integer limit(MultiValueMap<String, String> params) {
+        String limit = param(params, "limit");
+        return limit != null ? Integer.valueOf(limit) : null;
+    }
+
+    private static String param(MultiValueMap<String, String> params, String name) {
+        String value = params.getFirst(name);
+        return value != null ? UriUtils.decode(value, StandardCharsets.UTF_8) : null;
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        BatchResult handle(Map<String, String> vars, MultiValueMap<String, String> params);
+    }
+}
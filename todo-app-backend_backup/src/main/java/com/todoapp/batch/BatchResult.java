@@ -0,0 +1,98 @@
+package com.todoapp.batch;
+
+import com.todoapp.json.JsonBody;
+import com.todoapp.json.JsonWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Resultado de una petición dentro de un lote: código de estado, cursor de
+ * la página siguiente si lo hay y el cuerpo JSON ya serializado, el mismo
+ * que devolvería el endpoint llamado por separado.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class BatchResult {
+
+    private static final byte[] STATUS = JsonWriter.field("status", true);
+    private static final byte[] NEXT_CURSOR = JsonWriter.field("nextCursor", false);
+    private static final byte[] BODY = JsonWriter.field("body", false);
+    private static final byte[] ERROR = JsonWriter.field("error", false);
+    private static final byte[] MESSAGE = JsonWriter.field("message", false);
+
+    private final int status;
+    private final String nextCursor;
+    private final byte[] body;
+
+    private BatchResult(int status, String nextCursor, byte[] body) {
+        this.status = status;
+        this.nextCursor = nextCursor;
+        this.body = body;
+    }
+
+    /**
+     * Crea un resultado correcto.
+     *
+     * @param body Cuerpo JSON
+     * @param nextCursor Cursor de la página siguiente, o null si no hay más
+     * @return Resultado con estado 200
+     */
+    static BatchResult ok(byte[] body, String nextCursor) {
+        return new BatchResult(200, nextCursor, body);
+    }
+
+    /**
+     * Crea un resultado de error con el mismo formato que {@code GlobalExceptionHandler}.
+     *
+     * @param status Código de estado HTTP
+     * @param error Tipo de error
+     * @param message Mensaje descriptivo
+     * @return Resultado de error
+     */
+    static BatchResult error(int status, String error, String message) {
+        JsonWriter writer = new JsonWriter();
+        try {
+            writer.writeByte('{');
+            writer.writeRaw(STATUS);
+            writer.writeLong(status);
+            writer.writeRaw(ERROR);
+            writer.writeString(error);
+            if (message != null) {
+                writer.writeRaw(MESSAGE);
+                writer.writeString(message);
+            }
+            writer.writeByte('}');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new BatchResult(status, null, writer.toByteArray());
+    }
+
+    public int getStatus() { return status; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    /**
+     * Crea el array JSON de resultados de un lote, en el orden de las peticiones.
+     *
+     * @param results Resultados
+     * @return Cuerpo de la respuesta
+     */
+    public static JsonBody array(List<BatchResult> results) {
+        return JsonBody.array(results, (writer, result) -> {
+            writer.writeByte('{');
+            writer.writeRaw(STATUS);
+            writer.writeLong(result.status);
+            if (result.nextCursor != null) {
+                writer.writeRaw(NEXT_CURSOR);
+                writer.writeString(result.nextCursor);
+            }
+            writer.writeRaw(BODY);
+            writer.writeRaw(result.body);
+            writer.writeByte('}');
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.todoapp.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caché de bytes acotada por tamaño total.
+ * Al superar el límite se descartan entradas en el orden de iteración del
+ * mapa (en la práctica, arbitrario) hasta bajar a tres cuartas partes.
+ *
+ * Una entrada se calcula dentro de {@link ConcurrentHashMap#computeIfAbsent},
+ * así que un {@link #evict} de la misma clave espera a que termine: si el
+ * almacenamiento desaloja después de aplicar una mutación, ningún valor
+ * calculado antes de ella sobrevive al desalojo.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+final class ByteCache<K> {
+
+    private final Map<K, byte[]> entries = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final long maxBytes;
+
+    ByteCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    byte[] get(K key, Supplier<byte[]> loader) {
+        byte[] cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] loaded = entries.computeIfAbsent(key, k -> {
+            byte[] bytes = loader.get();
+            size.addAndGet(bytes.length);
+            return bytes;
+        });
+        if (size.get() > maxBytes) {
+            trim();
+        }
+        return loaded;
+    }
+
+    byte[] peek(K key) {
+        return entries.get(key);
+    }
+
+    void evict(K key) {
+        byte[] removed = entries.remove(key);
+        if (removed != null) {
+            size.addAndGet(-removed.length);
+        }
+    }
+
+    void clear() {
+        entries.keySet().forEach(this::evict);
+    }
+
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long target = maxBytes / 4 * 3;
+            Iterator<K> keys = entries.keySet().iterator();
+            while (size.get() > target && keys.hasNext()) {
+                evict(keys.next());
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+}
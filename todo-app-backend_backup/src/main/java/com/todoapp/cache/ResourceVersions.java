@@ -0,0 +1,162 @@
+package com.todoapp.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versiones de los recursos consultables para las peticiones condicionales.
+ * El almacenamiento avanza la versión de un usuario y de una lista en cada
+ * mutación que los afecta, justo después de aplicarla; los controladores
+ * comparan {@code If-None-Match} con esa versión antes de consultar nada y, si
+ * coincide, responden 304 sin cuerpo.
+ *
+ * Todas las versiones salen de una única secuencia creciente, así que un
+ * ETag no se repite nunca para el mismo recurso, ni siquiera después de
+ * {@link #clear()}. Los recursos que no han cambiado desde el arranque (o
+ * desde el último reinicio) comparten la versión base.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class ResourceVersions {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Stamp> users = new ConcurrentHashMap<>();
+    private final Map<Long, Stamp> taskLists = new ConcurrentHashMap<>();
+    private volatile Stamp userDirectory;
+    private volatile Stamp base;
+
+    public ResourceVersions() {
+        base = nextStamp();
+        userDirectory = base;
+    }
+
+    /**
+     * Registra un cambio en los datos propios de un usuario (alta, modificación o baja).
+     *
+     * @param userId ID del usuario
+     */
+    public void touchUser(Long userId) {
+        Stamp stamp = nextStamp();
+        touch(users, userId, stamp);
+        userDirectory = stamp;
+    }
+
+    /**
+     * Registra un cambio en una lista o en alguna de sus tareas, que también
+     * cambia las vistas del usuario propietario.
+     *
+     * @param userId ID del usuario propietario
+     * @param taskListId ID de la lista
+     */
+    public void touchTaskList(Long userId, Long taskListId) {
+        Stamp stamp = nextStamp();
+        touch(taskLists, taskListId, stamp);
+        touch(users, userId, stamp);
+    }
+
+    /**
+     * Evalúa una petición condicional sobre las vistas de un usuario y añade a
+     * la respuesta las cabeceras {@code ETag} y {@code Last-Modified}.
+     *
+     * @param userId ID del usuario
+     * @param request Petición en curso
+     * @return true si la copia del cliente sigue vigente y ya se respondió 304
+     */
+    public boolean userNotModified(Long userId, WebRequest request) {
+        return users.getOrDefault(userId, base).checkNotModified("u" + userId, request);
+    }
+
+    /**
+     * Evalúa una petición condicional sobre una lista y sus tareas.
+     *
+     * @param taskListId ID de la lista
+     * @param request Petición en curso
+     * @return true si la copia del cliente sigue vigente y ya se respondió 304
+     */
+    public boolean taskListNotModified(Long taskListId, WebRequest request) {
+        return taskLists.getOrDefault(taskListId, base).checkNotModified("l" + taskListId, request);
+    }
+
+    /**
+     * Evalúa una petición condicional sobre el directorio de usuarios.
+     *
+     * @param request Petición en curso
+     * @return true si la copia del cliente sigue vigente y ya se respondió 304
+     */
+    public boolean userDirectoryNotModified(WebRequest request) {
+        return userDirectory.checkNotModified("users", request);
+    }
+
+    /**
+     * Versión actual de las vistas de un usuario.
+     *
+     * @param userId ID del usuario
+     * @return Versión del último cambio que afecta al usuario
+     */
+    public long userVersion(Long userId) {
+        return users.getOrDefault(userId, base).version;
+    }
+
+    /**
+     * Versión actual de una lista y sus tareas.
+     *
+     * @param taskListId ID de la lista
+     * @return Versión del último cambio en la lista
+     */
+    public long taskListVersion(Long taskListId) {
+        return taskLists.getOrDefault(taskListId, base).version;
+    }
+
+    /**
+     * Versión global: avanza con cualquier cambio.
+     *
+     * @return Última versión asignada
+     */
+    public long currentVersion() {
+        return sequence.get();
+    }
+
+    /**
+     * Descarta las versiones registradas y empieza desde una base nueva.
+     * Se usa cuando el almacenamiento se reinicia por completo.
+     */
+    public void clear() {
+        Stamp stamp = nextStamp();
+        base = stamp;
+        userDirectory = stamp;
+        users.clear();
+        taskLists.clear();
+    }
+
+    private Stamp nextStamp() {
+        return new Stamp(sequence.incrementAndGet(), System.currentTimeMillis());
+    }
+
+    /**
+     * Dos mutaciones concurrentes pueden llegar en cualquier orden; se conserva la más reciente.
+     */
+    private static void touch(Map<Long, Stamp> stamps, Long id, Stamp stamp) {
+        stamps.merge(id, stamp, (current, next) -> next.version > current.version ? next : current);
+    }
+
+    private static final class Stamp {
+
+        private final long version;
+        private final long modifiedAt;
+
+        private Stamp(long version, long modifiedAt) {
+            this.version = version;
+            this.modifiedAt = modifiedAt;
+        }
+
+        private boolean checkNotModified(String resource, WebRequest request) {
+            return request.checkNotModified("W/\"" + resource + "-" + version + "\"", modifiedAt);
+        }
+    }
+}
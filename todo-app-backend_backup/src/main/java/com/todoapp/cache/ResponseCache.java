@@ -0,0 +1,436 @@
+package com.todoapp.cache;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.json.EntityJson;
+import com.todoapp.json.JsonBody;
+import com.todoapp.json.JsonProjection;
+import com.todoapp.json.JsonWriter;
+import com.todoapp.sync.SyncDelta;
+import com.todoapp.wire.WireBody;
+import com.todoapp.wire.WireFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas serializadas.
+ * Guarda el JSON de cada tarea y de cada lista ya serializado con
+ * {@link EntityJson}, de modo que los endpoints de listado vuelcan la
+ * respuesta copiando fragmentos en el buffer de escritura del hilo, sin
+ * construir objetos de respuesta ni un array con el cuerpo completo. El
+ * almacenamiento desaloja el fragmento de una entidad cada vez que la
+ * modifica, y también los que la incluyen (el nombre de la lista en cada
+ * tarea, el del usuario en cada lista).
+ *
+ * Las respuestas con ETag de {@link ResourceVersions} se sirven además en gzip
+ * o deflate si el cliente los acepta; la versión comprimida se guarda por
+ * ETag y URI, así que un cambio de versión la invalida sin desalojo explícito.
+ * Solo al comprimir por primera vez se reúne el cuerpo completo en memoria.
+ *
+ * Las tareas y listas se sirven en el formato binario de {@link WireFormat}
+ * cuando el cliente lo prefiere en {@code Accept}. Ambas representaciones
+ * comparten ETag (es débil) y la respuesta indica {@code Vary: Accept}.
+ *
+ * Con el parámetro {@code fields} el JSON se escribe con una proyección de
+ * {@link EntityJson} que solo lee los campos pedidos; el formato binario ya
+ * omite los campos vacíos y no admite proyecciones.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class ResponseCache {
+
+    private static final long MAX_FRAGMENT_BYTES = 64L * 1024 * 1024;
+    private static final long MAX_COMPRESSED_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * Por debajo de este tamaño la compresión no compensa.
+     */
+    private static final int MIN_COMPRESSED_LENGTH = 1024;
+
+    private static final byte[] SYNC_TOKEN = JsonWriter.field("token", true);
+    private static final byte[] SYNC_FULL = JsonWriter.field("full", false);
+    private static final byte[] SYNC_USER = JsonWriter.field("user", false);
+    private static final byte[] SYNC_TASK_LISTS = JsonWriter.field("lists", false);
+    private static final byte[] SYNC_TASKS = JsonWriter.field("tasks", false);
+    private static final byte[] SYNC_DELETED_TASK_LIST_IDS = JsonWriter.field("deletedListIds", false);
+    private static final byte[] SYNC_DELETED_TASK_IDS = JsonWriter.field("deletedTaskIds", false);
+
+    private static final ThreadLocal<JsonWriter> FRAGMENT_WRITERS = ThreadLocal.withInitial(JsonWriter::new);
+
+    private final ByteCache<Long> taskFragments = new ByteCache<>(MAX_FRAGMENT_BYTES);
+    private final ByteCache<Long> taskListFragments = new ByteCache<>(MAX_FRAGMENT_BYTES / 16);
+    private final ByteCache<String> compressedBodies = new ByteCache<>(MAX_COMPRESSED_BYTES);
+
+    /**
+     * Obtiene el JSON de una tarea.
+     *
+     * @param task Tarea
+     * @return Bytes JSON (compartidos: no deben modificarse)
+     */
+    public byte[] task(Task task) {
+        return taskFragments.get(task.getId(), () -> fragment(EntityJson::writeTask, task));
+    }
+
+    /**
+     * Crea el JSON de una tarea: su fragmento o, con {@code fields}, su proyección.
+     *
+     * @param task Tarea
+     * @param fields Campos pedidos separados por comas, o null para todos
+     * @return Cuerpo de la tarea
+     * @throws com.todoapp.exception.InvalidDataException si algún campo no existe
+     */
+    public JsonBody task(Task task, String fields) {
+        JsonProjection<Task> projection = EntityJson.TASK_FIELDS.compile(fields);
+        return projection != null ? writer -> projection.write(writer, task) : JsonBody.of(task(task));
+    }
+
+    /**
+     * Crea el array JSON de varias tareas, que se escribe al volcarse la respuesta.
+     * Con {@code fields} cada tarea se escribe con su proyección en lugar de
+     * copiar su fragmento.
+     *
+     * @param tasks Tareas en el orden de la respuesta
+     * @param fields Campos pedidos separados por comas, o null para todos
+     * @return Cuerpo del array
+     * @throws com.todoapp.exception.InvalidDataException si algún campo no existe
+     */
+    public JsonBody tasks(List<Task> tasks, String fields) {
+        JsonProjection<Task> projection = EntityJson.TASK_FIELDS.compile(fields);
+        if (projection != null) {
+            return JsonBody.array(tasks, projection::write);
+        }
+        return JsonBody.array(tasks, (writer, task) -> writer.writeRaw(task(task)));
+    }
+
+    /**
+     * Obtiene el JSON de una lista de tareas.
+     *
+     * @param taskList Lista de tareas
+     * @return Bytes JSON (compartidos: no deben modificarse)
+     */
+    public byte[] taskList(TaskList taskList) {
+        return taskListFragments.get(taskList.getId(), () -> fragment(EntityJson::writeTaskList, taskList));
+    }
+
+    /**
+     * Crea el JSON de una lista de tareas: su fragmento o, con {@code fields}, su proyección.
+     *
+     * @param taskList Lista de tareas
+     * @param fields Campos pedidos separados por comas, o null para todos
+     * @return Cuerpo de la lista
+     * @throws com.todoapp.exception.InvalidDataException si algún campo no existe
+     */
+    public JsonBody taskList(TaskList taskList, String fields) {
+        JsonProjection<TaskList> projection = EntityJson.TASK_LIST_FIELDS.compile(fields);
+        return projection != null ? writer -> projection.write(writer, taskList) : JsonBody.of(taskList(taskList));
+    }
+
+    /**
+     * Crea el array JSON de varias listas de tareas, que se escribe al volcarse la respuesta.
+     *
+     * @param taskLists Listas en el orden de la respuesta
+     * @param fields Campos pedidos separados por comas, o null para todos
+     * @return Cuerpo del array
+     * @throws com.todoapp.exception.InvalidDataException si algún campo no existe
+     */
+    public JsonBody taskLists(List<TaskList> taskLists, String fields) {
+        JsonProjection<TaskList> projection = EntityJson.TASK_LIST_FIELDS.compile(fields);
+        if (projection != null) {
+            return JsonBody.array(taskLists, projection::write);
+        }
+        return JsonBody.array(taskLists, (writer, taskList) -> writer.writeRaw(taskList(taskList)));
+    }
+
+    /**
+     * Crea el JSON de un usuario. Los usuarios no se guardan en la caché.
+     *
+     * @param user Usuario
+     * @param fields Campos pedidos separados por comas, o null para todos
+     * @return Cuerpo del usuario
+     * @throws com.todoapp.exception.InvalidDataException si algún campo no existe
+     */
+    public JsonBody user(User user, String fields) {
+        JsonProjection<User> projection = EntityJson.USER_FIELDS.compile(fields);
+        JsonProjection<User> writer = projection != null ? projection : EntityJson.USER_FIELDS.all();
+        return json -> writer.write(json, user);
+    }
+
+    /**
+     * Crea el array JSON de varios usuarios. Los usuarios no se guardan en la caché.
+     *
+     * @param users Usuarios en el orden de la respuesta
+     * @param fields Campos pedidos separados por comas, o null para todos
+     * @return Cuerpo del array
+     * @throws com.todoapp.exception.InvalidDataException si algún campo no existe
+     */
+    public JsonBody users(List<User> users, String fields) {
+        JsonProjection<User> projection = EntityJson.USER_FIELDS.compile(fields);
+        JsonProjection<User> writer = projection != null ? projection : EntityJson.USER_FIELDS.all();
+        return JsonBody.array(users, writer::write);
+    }
+
+    /**
+     * Crea el JSON de una sincronización: token, indicador de sincronización
+     * completa, usuario si cambió, listas y tareas (desde sus fragmentos) e
+     * IDs eliminados.
+     *
+     * @param delta Cambios de la sincronización
+     * @return Cuerpo de la respuesta
+     */
+    public JsonBody syncDelta(SyncDelta delta) {
+        return writer -> {
+            writer.writeByte('{');
+            writer.writeRaw(SYNC_TOKEN);
+            writer.writeString(delta.getToken());
+            writer.writeRaw(SYNC_FULL);
+            writer.writeBoolean(delta.isFull());
+            if (delta.getUser() != null) {
+                writer.writeRaw(SYNC_USER);
+                EntityJson.writeUser(writer, delta.getUser());
+            }
+            writer.writeRaw(SYNC_TASK_LISTS);
+            taskLists(delta.getTaskLists(), null).writeTo(writer);
+            writer.writeRaw(SYNC_TASKS);
+            tasks(delta.getTasks(), null).writeTo(writer);
+            writer.writeRaw(SYNC_DELETED_TASK_LIST_IDS);
+            writeIds(writer, delta.getDeletedTaskListIds());
+            writer.writeRaw(SYNC_DELETED_TASK_IDS);
+            writeIds(writer, delta.getDeletedTaskIds());
+            writer.writeByte('}');
+        };
+    }
+
+    /**
+     * Completa la respuesta de una tarea, en JSON o en binario (un mensaje de una sola tarea).
+     *
+     * @param response Respuesta con el estado y las cabeceras propias del endpoint
+     * @param task Tarea
+     * @param fields Campos JSON pedidos separados por comas, o null para todos
+     * @param request Petición en curso
+     * @return Respuesta con el cuerpo en la representación elegida
+     */
+    public ResponseEntity<?> task(ResponseEntity.BodyBuilder response, Task task, String fields, WebRequest request) {
+        return negotiate(response, task(task, fields), WireFormat.tasks(List.of(task)), request);
+    }
+
+    /**
+     * Completa la respuesta de varias tareas, en JSON o en binario.
+     *
+     * @param response Respuesta con el estado y las cabeceras propias del endpoint
+     * @param tasks Tareas en el orden de la respuesta
+     * @param fields Campos JSON pedidos separados por comas, o null para todos
+     * @param request Petición en curso
+     * @return Respuesta con el cuerpo en la representación elegida
+     */
+    public ResponseEntity<?> tasks(ResponseEntity.BodyBuilder response, List<Task> tasks, String fields,
+                                   WebRequest request) {
+        return negotiate(response, tasks(tasks, fields), WireFormat.tasks(tasks), request);
+    }
+
+    /**
+     * Completa la respuesta de una lista de tareas, en JSON o en binario (un mensaje de una sola lista).
+     *
+     * @param response Respuesta con el estado y las cabeceras propias del endpoint
+     * @param taskList Lista de tareas
+     * @param fields Campos JSON pedidos separados por comas, o null para todos
+     * @param request Petición en curso
+     * @return Respuesta con el cuerpo en la representación elegida
+     */
+    public ResponseEntity<?> taskList(ResponseEntity.BodyBuilder response, TaskList taskList, String fields,
+                                      WebRequest request) {
+        return negotiate(response, taskList(taskList, fields), WireFormat.taskLists(List.of(taskList)), request);
+    }
+
+    /**
+     * Completa la respuesta de varias listas de tareas, en JSON o en binario.
+     *
+     * @param response Respuesta con el estado y las cabeceras propias del endpoint
+     * @param taskLists Listas en el orden de la respuesta
+     * @param fields Campos JSON pedidos separados por comas, o null para todos
+     * @param request Petición en curso
+     * @return Respuesta con el cuerpo en la representación elegida
+     */
+    public ResponseEntity<?> taskLists(ResponseEntity.BodyBuilder response, List<TaskList> taskLists, String fields,
+                                       WebRequest request) {
+        return negotiate(response, taskLists(taskLists, fields), WireFormat.taskLists(taskLists), request);
+    }
+
+    /**
+     * Completa una respuesta JSON. Si la respuesta lleva ETag,
+     * el cuerpo supera 1 KiB y el cliente acepta gzip o deflate, se envía
+     * comprimido, reutilizando la compresión de peticiones anteriores.
+     *
+     * @param response Respuesta con el estado y las cabeceras propias del endpoint
+     * @param json Cuerpo JSON
+     * @param request Petición en curso
+     * @return Respuesta con el cuerpo y su codificación
+     */
+    public ResponseEntity<JsonBody> json(ResponseEntity.BodyBuilder response, JsonBody json, WebRequest request) {
+        response.contentType(MediaType.APPLICATION_JSON);
+        String eTag = eTagOf(request);
+        if (eTag == null) {
+            return response.body(json);
+        }
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String encoding = negotiateEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            return response.body(json);
+        }
+        String key = encoding + ' ' + eTag + ' ' + uriOf(request);
+        byte[] compressed = compressedBodies.peek(key);
+        if (compressed == null) {
+            byte[] bytes = render(json);
+            if (bytes.length < MIN_COMPRESSED_LENGTH) {
+                return response.body(JsonBody.of(bytes));
+            }
+            compressed = compressedBodies.get(key, () -> compress(bytes, encoding));
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, encoding).body(JsonBody.of(compressed));
+    }
+
+    /**
+     * Desaloja el JSON de una tarea.
+     *
+     * @param taskId ID de la tarea modificada
+     */
+    public void evictTask(Long taskId) {
+        taskFragments.evict(taskId);
+    }
+
+    /**
+     * Desaloja el JSON de una lista de tareas.
+     *
+     * @param taskListId ID de la lista modificada
+     */
+    public void evictTaskList(Long taskListId) {
+        taskListFragments.evict(taskListId);
+    }
+
+    /**
+     * Descarta todo el contenido. Se usa cuando el almacenamiento se reinicia por completo.
+     */
+    public void clear() {
+        taskFragments.clear();
+        taskListFragments.clear();
+        compressedBodies.clear();
+    }
+
+    /**
+     * Elige entre JSON y el formato binario. El binario no se comprime: ya es compacto
+     * y los clientes móviles lo piden precisamente para no descomprimir.
+     */
+    private ResponseEntity<?> negotiate(ResponseEntity.BodyBuilder response, JsonBody json, WireBody wire,
+                                        WebRequest request) {
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (WireFormat.isPreferred(request)) {
+            return response.contentType(WireFormat.MEDIA_TYPE).body(wire);
+        }
+        return json(response, json, request);
+    }
+
+    private static void writeIds(JsonWriter writer, List<Long> ids) throws IOException {
+        writer.writeByte('[');
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                writer.writeByte(',');
+            }
+            writer.writeLong(ids.get(i));
+        }
+        writer.writeByte(']');
+    }
+
+    /**
+     * Serializa una entidad con el escritor de fragmentos del hilo, distinto
+     * del de la respuesta que puede estar volcándose en ese momento.
+     */
+    private static <T> byte[] fragment(JsonBody.ItemWriter<T> itemWriter, T item) {
+        JsonWriter writer = FRAGMENT_WRITERS.get();
+        writer.reset();
+        try {
+            itemWriter.write(writer, item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Reúne un cuerpo completo en memoria. El escritor es nuevo para no dejar
+     * crecido el buffer reutilizable de ningún hilo.
+     */
+    private static byte[] render(JsonBody json) {
+        JsonWriter writer = new JsonWriter();
+        try {
+            json.writeTo(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Elige gzip o deflate según {@code Accept-Encoding}, ignorando los que llevan {@code q=0}.
+     */
+    private static String negotiateEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            boolean refused = parts.length > 1 && parts[1].trim().matches("q\\s*=\\s*0(\\.0*)?");
+            if (refused) {
+                continue;
+            }
+            if (coding.equals("gzip")) {
+                return "gzip";
+            }
+            deflate |= coding.equals("deflate");
+        }
+        return deflate ? "deflate" : null;
+    }
+
+    private static byte[] compress(byte[] json, String encoding) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (OutputStream out = encoding.equals("gzip")
+                ? new GZIPOutputStream(buffer, 8192)
+                : new DeflaterOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String eTagOf(WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            return response != null ? response.getHeader(HttpHeaders.ETAG) : null;
+        }
+        return null;
+    }
+
+    private static String uriOf(WebRequest request) {
+        HttpServletRequest servletRequest = ((NativeWebRequest) request).getNativeRequest(HttpServletRequest.class);
+        String query = servletRequest.getQueryString();
+        return query != null ? servletRequest.getRequestURI() + '?' + query : servletRequest.getRequestURI();
+    }
+}
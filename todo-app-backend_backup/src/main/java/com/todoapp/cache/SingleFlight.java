@@ -0,0 +1,129 @@
+package com.todoapp.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupación de lecturas idénticas concurrentes ("single flight").
+ * Las lecturas que llegan a la vez con la misma operación, los mismos
+ * argumentos y la misma versión de datos ({@link ResourceVersions}) comparten
+ * una única ejecución: la primera la calcula en su hilo y las demás esperan
+ * su resultado, o su excepción. En una avalancha de peticiones iguales la
+ * consulta se ejecuta una vez en lugar de una por petición.
+ *
+ * No es una caché: la entrada se retira en cuanto la ejecución termina, así
+ * que una lectura nunca recibe un resultado calculado antes de llegar ella.
+ * Una mutación avanza la versión al terminar, de modo que las lecturas
+ * posteriores no se unen a una ejecución que pudo ver los datos anteriores.
+ *
+ * Los resultados se comparten entre hilos: quien los recibe no debe modificarlos.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<FlightKey, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Ejecuta una lectura o se une a la misma lectura si ya está en curso.
+     *
+     * @param operation Nombre de la operación
+     * @param version Versión de los datos que lee la operación
+     * @param computation Lectura
+     * @param args Argumentos que determinan el resultado
+     * @param <T> Tipo del resultado
+     * @return Resultado, propio o compartido
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, long version, Supplier<T> computation, Object... args) {
+        FlightKey key = new FlightKey(operation, version, args);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> current = flights.putIfAbsent(key, flight);
+        if (current != null) {
+            shared.increment();
+            return (T) await(current);
+        }
+        executions.increment();
+        try {
+            T result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Estadísticas de agrupación, para las estadísticas del sistema.
+     *
+     * @return Ejecuciones, lecturas compartidas y ejecuciones en curso
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("executions", executions.sum());
+        stats.put("shared", shared.sum());
+        stats.put("inFlight", flights.size());
+        return stats;
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static final class FlightKey {
+
+        private final String operation;
+        private final long version;
+        private final Object[] args;
+        private final int hash;
+
+        private FlightKey(String operation, long version, Object[] args) {
+            this.operation = operation;
+            this.version = version;
+            this.args = args;
+            this.hash = 31 * (31 * operation.hashCode() + Long.hashCode(version)) + Arrays.hashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof FlightKey key)) {
+                return false;
+            }
+            return version == key.version && operation.equals(key.operation) && Arrays.equals(args, key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
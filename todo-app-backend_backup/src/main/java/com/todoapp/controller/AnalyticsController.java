@@ -0,0 +1,50 @@
+package com.todoapp.controller;
+
+import com.todoapp.analytics.ActivityReport;
+import com.todoapp.analytics.Granularity;
+import com.todoapp.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controlador REST de analítica de productividad.
+ * Expone las tendencias de tareas creadas y completadas por usuario.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+@Tag(name = "Analytics", description = "📈 Tendencias de productividad")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    /**
+     * Obtiene la actividad de un usuario por horas, días o semanas.
+     *
+     * @param userId ID del usuario
+     * @param granularity Resolución: hour, day o week
+     * @param from Inicio del rango (opcional)
+     * @param to Fin del rango (opcional)
+     * @return ResponseEntity con la actividad de cada periodo y el total
+     */
+    @GetMapping("/user/{userId}/activity")
+    @Operation(summary = "Actividad del usuario", description = "Tareas creadas y completadas, horas medias hasta completar y proporción de completadas fuera de plazo por hora (7 días), día (1 año) o semana (2 años)")
+    public ResponseEntity<ActivityReport> getActivity(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Resolución: hour, day o week") @RequestParam(defaultValue = "day") String granularity,
+            @Parameter(description = "Inicio del rango (ISO-8601)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin del rango (ISO-8601)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(analyticsService.getActivity(userId, Granularity.fromParam(granularity), from, to));
+    }
+}
@@ -0,0 +1,82 @@
+package com.todoapp.controller;
+
+import com.todoapp.auth.SessionTokens.SessionToken;
+import com.todoapp.service.AuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controlador REST de inicio de sesión.
+ * La verificación de la contraseña es lenta a propósito y se resuelve de
+ * forma asíncrona: el hilo de la petición queda libre mientras tanto.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*")
+@Tag(name = "Auth", description = "🔑 Inicio de sesión y tokens")
+public class AuthController {
+
+    @Autowired
+    private AuthService authService;
+
+    /**
+     * Inicia sesión y devuelve un token para la cabecera {@code Authorization: Bearer}.
+     *
+     * @param request Email y contraseña
+     * @return ResponseEntity con el token, futuro
+     */
+    @PostMapping("/login")
+    @Operation(summary = "Iniciar sesión", description = "Verifica email y contraseña y devuelve un token de sesión firmado "
+            + "para enviar como 'Authorization: Bearer <token>'")
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(request.getEmail(), request.getPassword())
+                .thenApply(session -> ResponseEntity.ok(new LoginResponse(session)));
+    }
+
+    /**
+     * Clase DTO para la petición de inicio de sesión.
+     */
+    public static class LoginRequest {
+        @jakarta.validation.constraints.NotBlank(message = "Email es obligatorio")
+        private String email;
+
+        @jakarta.validation.constraints.NotBlank(message = "Contraseña es obligatoria")
+        private String password;
+
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+
+    /**
+     * Clase DTO para la respuesta de inicio de sesión.
+     */
+    public static class LoginResponse {
+        private String token;
+        private String tokenType = "Bearer";
+        private Long userId;
+        private Instant expiresAt;
+
+        public LoginResponse(SessionToken session) {
+            this.token = session.getToken();
+            this.userId = session.getUserId();
+            this.expiresAt = session.getExpiresAt();
+        }
+
+        public String getToken() { return token; }
+        public String getTokenType() { return tokenType; }
+        public Long getUserId() { return userId; }
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+}
@@ -0,0 +1,74 @@
+package com.todoapp.controller;
+
+import com.todoapp.auth.SessionFilter;
+import com.todoapp.batch.BatchDispatcher;
+import com.todoapp.batch.BatchResult;
+import com.todoapp.exception.InvalidDataException;
+import com.todoapp.json.JsonBody;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controlador REST para agrupar varias lecturas en una sola petición.
+ * Pensado para el arranque de los clientes móviles, que de otro modo piden
+ * usuario, listas y tareas de cada lista en peticiones sucesivas.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "*")
+@Tag(name = "Batch", description = "📦 Varias lecturas en una sola petición")
+public class BatchController {
+
+    @Autowired
+    private BatchDispatcher batchDispatcher;
+
+    /**
+     * Ejecuta en paralelo un lote de peticiones GET y devuelve sus resultados
+     * en el mismo orden, cada uno con su propio código de estado. Un error en
+     * una petición no afecta a las demás. Con token de sesión, las peticiones
+     * a rutas de otro usuario se responden 403.
+     *
+     * @param requests Peticiones del lote (máximo 20)
+     * @param sessionUserId Usuario del token de sesión verificado (opcional)
+     * @return ResponseEntity con un resultado por petición
+     */
+    @PostMapping
+    @Operation(summary = "Ejecutar lote", description = "Ejecuta hasta 20 peticiones GET de usuarios, listas y tareas en paralelo; "
+            + "devuelve por cada una su 'status', su 'body' y, si hay más páginas, su 'nextCursor'")
+    public ResponseEntity<JsonBody> executeBatch(
+            @RequestBody List<BatchItemRequest> requests,
+            @RequestAttribute(value = SessionFilter.USER_ID_ATTRIBUTE, required = false) Long sessionUserId) {
+        if (requests.isEmpty() || requests.size() > BatchDispatcher.MAX_REQUESTS) {
+            throw new InvalidDataException("requests", requests.size(),
+                    "el lote debe tener entre 1 y " + BatchDispatcher.MAX_REQUESTS + " peticiones");
+        }
+        List<CompletableFuture<BatchResult>> futures = requests.stream()
+                .map(request -> batchDispatcher.submit(request.getMethod(), request.getPath(), sessionUserId))
+                .toList();
+        List<BatchResult> results = futures.stream().map(CompletableFuture::join).toList();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(BatchResult.array(results));
+    }
+
+    /**
+     * Clase DTO para cada petición de un lote.
+     */
+    public static class BatchItemRequest {
+        private String method = "GET";
+        private String path;
+
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+    }
+}
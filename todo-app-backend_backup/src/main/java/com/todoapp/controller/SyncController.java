@@ -0,0 +1,53 @@
+package com.todoapp.controller;
+
+import com.todoapp.cache.ResponseCache;
+import com.todoapp.json.JsonBody;
+import com.todoapp.service.SyncService;
+import com.todoapp.sync.SyncDelta;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Controlador REST de sincronización incremental para clientes sin conexión.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = "*")
+@Tag(name = "Sync", description = "🔄 Sincronización incremental")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    /**
+     * Obtiene los cambios de un usuario desde la última sincronización.
+     * Sin token, o si el token es demasiado antiguo, se devuelve el estado
+     * completo con {@code full: true} y el cliente sustituye sus datos.
+     *
+     * @param userId ID del usuario
+     * @param since Token devuelto por la sincronización anterior (opcional)
+     * @param request Petición en curso
+     * @return ResponseEntity con las listas y tareas cambiadas, los IDs eliminados y el token siguiente
+     */
+    @GetMapping("/{userId}")
+    @Operation(summary = "Sincronizar", description = "Devuelve las listas y tareas cambiadas desde el token 'since' (una vez cada una, en su estado actual) "
+            + "y los IDs eliminados; sin token o con uno caducado devuelve el estado completo con full=true")
+    public ResponseEntity<JsonBody> sync(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Token de la sincronización anterior") @RequestParam(required = false) String since,
+            WebRequest request) {
+        SyncDelta delta = syncService.getChanges(userId, since);
+        return responseCache.json(ResponseEntity.ok(), responseCache.syncDelta(delta), request);
+    }
+}
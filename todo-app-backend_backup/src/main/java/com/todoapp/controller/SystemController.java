@@ -1,6 +1,15 @@
 package com.todoapp.controller;
 
+import com.todoapp.admission.AdmissionFilter;
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.SingleFlight;
+import com.todoapp.idempotency.IdempotencyStore;
+import com.todoapp.service.AnalyticsService;
+import com.todoapp.service.ChangeFeedService;
 import com.todoapp.service.MemoryStorageService;
+import com.todoapp.service.ProjectionService;
+import com.todoapp.service.ReminderService;
+import com.todoapp.service.SyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,6 +38,33 @@ public class SystemController {
     @Autowired
     private MemoryStorageService storageService;
     
+    @Autowired
+    private ReminderService reminderService;
+    
+    @Autowired
+    private ChangeFeedService changeFeedService;
+    
+    @Autowired
+    private ProjectionService projectionService;
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @Autowired
+    private SyncService syncService;
+    
+    @Autowired
+    private AdmissionFilter admissionFilter;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private ResourceVersions resourceVersions;
+    
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
     /**
      * Obtiene información general del sistema incluyendo versión,
      * modo de almacenamiento y estadísticas básicas.
@@ -58,11 +95,24 @@ public class SystemController {
     @GetMapping("/stats")
     @Operation(summary = "Estadísticas generales", description = "Obtiene estadísticas del uso del sistema")
     public ResponseEntity<Map<String, Object>> getSystemStats() {
+        return ResponseEntity.ok(singleFlight.execute("systemStats", resourceVersions.currentVersion(), this::collectStats));
+    }
+    
+    /**
+     * Reúne las estadísticas del sistema; las peticiones simultáneas comparten una sola recogida.
+     */
+    private Map<String, Object> collectStats() {
         Map<String, Object> stats = storageService.getStorageInfo();
         stats.put("timestamp", LocalDateTime.now());
         stats.put("uptime", "Desde el último reinicio");
-        
-        return ResponseEntity.ok(stats);
+        stats.put("pendingReminders", reminderService.getPendingCount());
+        stats.put("eventSubscribers", changeFeedService.getSubscriberCount());
+        stats.put("admission", admissionFilter.getStatus());
+        stats.put("singleFlight", singleFlight.getStats());
+        if (projectionService.isEnabled()) {
+            stats.put("domainEvents", projectionService.getEventCount());
+        }
+        return stats;
     }
     
     /**
@@ -75,6 +125,11 @@ public class SystemController {
     @Operation(summary = "Reiniciar datos demo", description = "Reinicia los datos de demostración")
     public ResponseEntity<Map<String, String>> resetDemoData() {
         storageService.clearAllData();
+        reminderService.resync();
+        projectionService.resync();
+        analyticsService.clear();
+        syncService.clear();
+        idempotencyStore.clear();
         
         Map<String, String> response = new HashMap<>();
         response.put("message", "Datos de demostración reiniciados exitosamente");
@@ -84,6 +139,29 @@ public class SystemController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Obtiene el estado de las proyecciones del modo event sourcing.
+     * 
+     * @return ResponseEntity con la posición y el retraso de cada proyección
+     */
+    @GetMapping("/projections")
+    @Operation(summary = "Estado de las proyecciones", description = "Obtiene la posición y el retraso de cada proyección del registro de eventos")
+    public ResponseEntity<List<Map<String, Object>>> getProjections() {
+        return ResponseEntity.ok(projectionService.getStatus());
+    }
+    
+    /**
+     * Reconstruye todas las proyecciones desde el registro de eventos.
+     * La reconstrucción se hace en segundo plano y en paralelo.
+     * 
+     * @return ResponseEntity 202 con el estado de las proyecciones
+     */
+    @PostMapping("/projections/rebuild")
+    @Operation(summary = "Reconstruir proyecciones", description = "Reconstruye en paralelo todas las proyecciones desde el registro de eventos (requiere todoapp.event-sourcing.enabled=true)")
+    public ResponseEntity<List<Map<String, Object>>> rebuildProjections() {
+        return ResponseEntity.accepted().body(projectionService.rebuildAll());
+    }
+    
     /**
      * Verifica el estado de salud del sistema y todos sus componentes.
      * Útil para monitoreo y verificación de disponibilidad.
@@ -1,18 +1,37 @@
 package com.todoapp.controller;
 
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.ResponseCache;
 import com.todoapp.entity.Task;
 import com.todoapp.entity.Priority;
+import com.todoapp.entity.RecurrenceRule;
+import com.todoapp.eventsourcing.DomainEvent;
+import com.todoapp.idempotency.IdempotencyStore;
+import com.todoapp.query.Page;
+import com.todoapp.query.SmartList;
+import com.todoapp.service.SmartListService;
+import com.todoapp.service.TaskImportService;
 import com.todoapp.service.TaskService;
+import com.todoapp.wire.WireFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -27,89 +46,431 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api/tasks")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = { Page.NEXT_CURSOR_HEADER, HttpHeaders.ETAG, IdempotencyStore.REPLAYED_HEADER })
 @Tag(name = "Tasks", description = "✅ Gestión básica de tareas")
 public class TaskController {
     
     @Autowired
     private TaskService taskService;
     
+    @Autowired
+    private TaskImportService taskImportService;
+    
+    @Autowired
+    private SmartListService smartListService;
+    
+    @Autowired
+    private ResourceVersions resourceVersions;
+    
+    @Autowired
+    private ResponseCache responseCache;
+    
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
     /**
      * Crea una nueva tarea en la lista especificada para el usuario dado.
+     * Con {@code Idempotency-Key}, un reintento recibe la respuesta original
+     * sin crear otra tarea.
      * 
      * @param listId ID de la lista donde se creará la tarea
      * @param userId ID del usuario propietario
+     * @param idempotencyKey Clave de idempotencia (opcional)
      * @param request Datos de la nueva tarea
      * @return ResponseEntity con la tarea creada
      */
     @PostMapping("/list/{listId}/user/{userId}")
-    @Operation(summary = "Crear tarea", description = "Crea una nueva tarea")
+    @Operation(summary = "Crear tarea", description = "Crea una nueva tarea; con Idempotency-Key los reintentos devuelven la respuesta original")
     public ResponseEntity<TaskResponse> createTask(
             @Parameter(description = "ID de la lista") @PathVariable Long listId,
             @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Clave para que los reintentos no repitan el alta") @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody TaskCreateRequest request) {
-        Task task = taskService.createTask(
-                listId,
-                userId,
-                request.getTitle(),
-                request.getDescription(),
-                request.getPriority(),
-                request.getDueDate(),
-                request.getIsImportant()
-        );
-        return ResponseEntity.status(HttpStatus.CREATED).body(new TaskResponse(task));
+        return idempotencyStore.execute("task:" + listId + ":" + userId, idempotencyKey, request, () -> {
+            Task task = taskService.createTask(
+                    listId,
+                    userId,
+                    request.getTitle(),
+                    request.getDescription(),
+                    request.getPriority(),
+                    request.getDueDate(),
+                    request.getIsImportant(),
+                    request.getRecurrence(),
+                    request.getTags()
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(new TaskResponse(task));
+        });
+    }
+    
+    /**
+     * Importa tareas masivamente en la lista especificada.
+     * Acepta NDJSON (una tarea JSON por línea) o CSV con encabezado, incluidas
+     * exportaciones estilo Microsoft To-Do. Los registros inválidos se informan
+     * en el resultado sin detener la importación.
+     * 
+     * @param listId ID de la lista donde se importarán las tareas
+     * @param userId ID del usuario propietario
+     * @param format Formato del contenido (ndjson o csv); por defecto según Content-Type
+     * @param contentType Content-Type de la petición
+     * @param body Contenido a importar
+     * @return ResponseEntity con el resumen de la importación
+     */
+    @PostMapping(value = "/import/list/{listId}/user/{userId}", consumes = MediaType.ALL_VALUE)
+    @Operation(summary = "Importar tareas", description = "Importa tareas en bloque desde NDJSON o CSV")
+    public ResponseEntity<TaskImportService.ImportResult> importTasks(
+            @Parameter(description = "ID de la lista") @PathVariable Long listId,
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Formato: ndjson o csv") @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) {
+        TaskImportService.ImportFormat importFormat = taskImportService.resolveFormat(format, contentType);
+        TaskImportService.ImportResult result = taskImportService.importTasks(listId, userId, body, importFormat);
+        return ResponseEntity.ok(result);
     }
     
     /**
      * Obtiene una tarea específica por su ID.
      * 
      * @param taskId ID de la tarea a buscar
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso
      * @return ResponseEntity con la tarea encontrada
      */
     @GetMapping("/{taskId}")
     @Operation(summary = "Obtener tarea", description = "Obtiene una tarea específica")
-    public ResponseEntity<TaskResponse> getTaskById(
-            @Parameter(description = "ID de la tarea") @PathVariable Long taskId) {
+    @ApiResponse(responseCode = "200", content = { @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = TaskResponse.class)), @Content(mediaType = WireFormat.MEDIA_TYPE_VALUE) })
+    public ResponseEntity<?> getTaskById(
+            @Parameter(description = "ID de la tarea") @PathVariable Long taskId,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
         Task task = taskService.getTaskById(taskId);
-        return ResponseEntity.ok(new TaskResponse(task));
+        return responseCache.task(ResponseEntity.ok(), task, fields, request);
     }
     
     /**
-     * Obtiene todas las tareas de una lista específica para un usuario.
+     * Obtiene las tareas de una lista específica para un usuario.
+     * Admite paginación por cursor: con {@code limit} se devuelve una página y,
+     * si hay más, el cursor de la siguiente en la cabecera {@code X-Next-Cursor}.
      * 
      * @param listId ID de la lista
      * @param userId ID del usuario propietario
+     * @param cursor Cursor de la página anterior (opcional)
+     * @param limit Tamaño de página (opcional)
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso, para responder 304 si no hubo cambios
      * @return ResponseEntity con la lista de tareas
      */
     @GetMapping("/list/{listId}/user/{userId}")
-    @Operation(summary = "Obtener tareas de lista", description = "Obtiene todas las tareas de una lista")
-    public ResponseEntity<List<TaskResponse>> getTasksByList(
+    @Operation(summary = "Obtener tareas de lista", description = "Obtiene las tareas de una lista, opcionalmente paginadas por cursor")
+    @ApiResponse(responseCode = "200", content = { @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class))), @Content(mediaType = WireFormat.MEDIA_TYPE_VALUE) })
+    public ResponseEntity<?> getTasksByList(
             @Parameter(description = "ID de la lista") @PathVariable Long listId,
-            @Parameter(description = "ID del usuario") @PathVariable Long userId) {
-        List<Task> tasks = taskService.getTasksByListId(listId, userId);
-        List<TaskResponse> responses = tasks.stream()
-                .map(TaskResponse::new)
-                .toList();
-        return ResponseEntity.ok(responses);
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Cursor de la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (resourceVersions.taskListNotModified(listId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        Page<Task> page = taskService.getTasksPageByListId(listId, userId, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(Page.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return responseCache.tasks(response, page.getItems(), fields, request);
     }
     
     /**
-     * Obtiene todas las tareas de todas las listas de un usuario.
+     * Obtiene las tareas de todas las listas de un usuario.
+     * Admite paginación por cursor: con {@code limit} se devuelve una página y,
+     * si hay más, el cursor de la siguiente en la cabecera {@code X-Next-Cursor}.
      * 
      * @param userId ID del usuario
-     * @return ResponseEntity con todas las tareas del usuario
+     * @param cursor Cursor de la página anterior (opcional)
+     * @param limit Tamaño de página (opcional)
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso, para responder 304 si no hubo cambios
+     * @return ResponseEntity con las tareas del usuario
      */
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Obtener todas las tareas del usuario", description = "Obtiene todas las tareas de todas las listas del usuario")
-    public ResponseEntity<List<TaskResponse>> getAllTasksByUser(
+    @Operation(summary = "Obtener todas las tareas del usuario", description = "Obtiene las tareas de todas las listas del usuario, opcionalmente paginadas por cursor")
+    @ApiResponse(responseCode = "200", content = { @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class))), @Content(mediaType = WireFormat.MEDIA_TYPE_VALUE) })
+    public ResponseEntity<?> getAllTasksByUser(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Cursor de la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (resourceVersions.userNotModified(userId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        Page<Task> page = taskService.getTasksPageByUserId(userId, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(Page.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return responseCache.tasks(response, page.getItems(), fields, request);
+    }
+    
+    /**
+     * Consulta las tareas de un usuario con una expresión de filtros compacta.
+     * Ejemplo: {@code list:5 priority>=HIGH due<7d important !done sort:due}.
+     * 
+     * @param userId ID del usuario
+     * @param q Expresión de consulta
+     * @param limit Número máximo de resultados (opcional)
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso
+     * @return ResponseEntity con las tareas que cumplen la consulta
+     */
+    @GetMapping("/user/{userId}/query")
+    @Operation(summary = "Consultar tareas", description = "Filtra las tareas del usuario con una expresión como 'list:5 priority>=HIGH due<7d important !done sort:due'")
+    @ApiResponse(responseCode = "200", content = { @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class))), @Content(mediaType = WireFormat.MEDIA_TYPE_VALUE) })
+    public ResponseEntity<?> queryTasks(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Expresión de consulta") @RequestParam(required = false) String q,
+            @Parameter(description = "Número máximo de resultados") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        List<Task> tasks = taskService.queryTasks(userId, q, limit);
+        return responseCache.tasks(ResponseEntity.ok(), tasks, fields, request);
+    }
+    
+    /**
+     * Obtiene las tareas importantes y pendientes de un usuario,
+     * ordenadas por fecha límite y prioridad.
+     * 
+     * @param userId ID del usuario
+     * @param limit Número máximo de tareas (opcional)
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso, para responder 304 si no hubo cambios
+     * @return ResponseEntity con las tareas importantes
+     */
+    @GetMapping("/user/{userId}/important")
+    @Operation(summary = "Obtener tareas importantes", description = "Obtiene las tareas importantes pendientes del usuario, las más urgentes primero")
+    @ApiResponse(responseCode = "200", content = { @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class))), @Content(mediaType = WireFormat.MEDIA_TYPE_VALUE) })
+    public ResponseEntity<?> getImportantTasks(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Número máximo de tareas") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (resourceVersions.userNotModified(userId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        List<Task> tasks = taskService.getImportantTasks(userId, limit);
+        return responseCache.tasks(ResponseEntity.ok(), tasks, fields, request);
+    }
+    
+    /**
+     * Obtiene el número de tareas de cada lista inteligente de un usuario.
+     * 
+     * @param userId ID del usuario
+     * @return ResponseEntity con el número de tareas por lista
+     */
+    @GetMapping("/user/{userId}/smart-lists")
+    @Operation(summary = "Resumen de listas inteligentes", description = "Obtiene el número de tareas pendientes en Importantes, Planificadas, Mi Día y Vencidas")
+    public ResponseEntity<Map<String, Integer>> getSmartListCounts(
             @Parameter(description = "ID del usuario") @PathVariable Long userId) {
-        List<Task> tasks = taskService.getAllTasksByUserId(userId);
-        List<TaskResponse> responses = tasks.stream()
-                .map(TaskResponse::new)
+        return ResponseEntity.ok(smartListService.getCounts(userId));
+    }
+    
+    /**
+     * Obtiene una lista inteligente de un usuario.
+     * Admite paginación por cursor: con {@code limit} se devuelve una página y,
+     * si hay más, el cursor de la siguiente en la cabecera {@code X-Next-Cursor}.
+     * 
+     * @param userId ID del usuario
+     * @param list Lista inteligente: important, planned, my-day u overdue
+     * @param cursor Cursor de la página anterior (opcional)
+     * @param limit Tamaño de página (opcional)
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso
+     * @return ResponseEntity con las tareas de la lista
+     */
+    @GetMapping("/user/{userId}/smart-lists/{list}")
+    @Operation(summary = "Obtener lista inteligente", description = "Obtiene las tareas pendientes de important, planned, my-day u overdue por fecha límite y prioridad")
+    @ApiResponse(responseCode = "200", content = { @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class))), @Content(mediaType = WireFormat.MEDIA_TYPE_VALUE) })
+    public ResponseEntity<?> getSmartList(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Lista: important, planned, my-day u overdue") @PathVariable String list,
+            @Parameter(description = "Cursor de la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Page<Task> page = smartListService.getSmartList(userId, SmartList.fromPath(list), cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(Page.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return responseCache.tasks(response, page.getItems(), fields, request);
+    }
+    
+    /**
+     * Obtiene las ocurrencias de las tareas pendientes de un usuario en una
+     * ventana de fechas, incluidas las ocurrencias futuras de tareas recurrentes.
+     * 
+     * @param userId ID del usuario
+     * @param from Inicio de la ventana (inclusivo)
+     * @param to Fin de la ventana (exclusivo)
+     * @param request Petición en curso, para responder 304 si no hubo cambios
+     * @return ResponseEntity con una tarea por ocurrencia, ordenadas por fecha
+     */
+    @GetMapping("/user/{userId}/occurrences")
+    @Operation(summary = "Obtener ocurrencias", description = "Obtiene las tareas pendientes con fecha en la ventana, expandiendo las recurrentes en cada ocurrencia (máximo 366 días)")
+    public ResponseEntity<List<TaskResponse>> getOccurrences(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Inicio de la ventana (ISO-8601)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin de la ventana (ISO-8601)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            WebRequest request) {
+        if (resourceVersions.userNotModified(userId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        List<TaskResponse> responses = taskService.getOccurrences(userId, from, to).stream()
+                .map(occurrence -> {
+                    TaskResponse response = new TaskResponse(occurrence.getTask());
+                    response.setDueDate(occurrence.getDueDate());
+                    return response;
+                })
                 .toList();
         return ResponseEntity.ok(responses);
     }
     
+    /**
+     * Alterna el estado de completado de una tarea. En una tarea recurrente,
+     * completar guarda una copia completada de la ocurrencia actual y adelanta
+     * la tarea a la siguiente ocurrencia.
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @return ResponseEntity con la tarea actualizada
+     */
+    @PatchMapping("/{taskId}/user/{userId}/completion")
+    @Operation(summary = "Completar tarea", description = "Alterna el estado de completado; en tareas recurrentes completa la ocurrencia actual y pasa a la siguiente")
+    public ResponseEntity<TaskResponse> toggleTaskCompletion(
+            @Parameter(description = "ID de la tarea") @PathVariable Long taskId,
+            @Parameter(description = "ID del usuario") @PathVariable Long userId) {
+        Task task = taskService.toggleTaskCompletion(taskId, userId);
+        return ResponseEntity.ok(new TaskResponse(task));
+    }
+    
+    /**
+     * Establece la regla de recurrencia de una tarea con fecha límite.
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @param recurrence Regla de recurrencia
+     * @return ResponseEntity con la tarea actualizada
+     */
+    @PutMapping("/{taskId}/user/{userId}/recurrence")
+    @Operation(summary = "Establecer recurrencia", description = "Hace recurrente una tarea: DAILY, WEEKLY (daysOfWeek) o MONTHLY (dayOfMonth), cada 'interval' periodos y opcionalmente hasta 'until'")
+    public ResponseEntity<TaskResponse> setTaskRecurrence(
+            @Parameter(description = "ID de la tarea") @PathVariable Long taskId,
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @RequestBody RecurrenceRule recurrence) {
+        Task task = taskService.setTaskRecurrence(taskId, userId, recurrence);
+        return ResponseEntity.ok(new TaskResponse(task));
+    }
+    
+    /**
+     * Quita la regla de recurrencia de una tarea; conserva la ocurrencia actual.
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @return ResponseEntity con la tarea actualizada
+     */
+    @DeleteMapping("/{taskId}/user/{userId}/recurrence")
+    @Operation(summary = "Quitar recurrencia", description = "Convierte una tarea recurrente en una tarea única con la fecha de su ocurrencia actual")
+    public ResponseEntity<TaskResponse> clearTaskRecurrence(
+            @Parameter(description = "ID de la tarea") @PathVariable Long taskId,
+            @Parameter(description = "ID del usuario") @PathVariable Long userId) {
+        Task task = taskService.setTaskRecurrence(taskId, userId, null);
+        return ResponseEntity.ok(new TaskResponse(task));
+    }
+    
+    /**
+     * Añade una tarea a "Mi Día" hasta el cambio de fecha.
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @return ResponseEntity con la tarea actualizada
+     */
+    @PutMapping("/{taskId}/user/{userId}/my-day")
+    @Operation(summary = "Añadir a Mi Día", description = "Añade la tarea a Mi Día; al cambiar de fecha sale de la lista automáticamente")
+    public ResponseEntity<TaskResponse> addTaskToMyDay(
+            @Parameter(description = "ID de la tarea") @PathVariable Long taskId,
+            @Parameter(description = "ID del usuario") @PathVariable Long userId) {
+        Task task = taskService.setTaskInMyDay(taskId, userId, true);
+        return ResponseEntity.ok(new TaskResponse(task));
+    }
+    
+    /**
+     * Quita una tarea de "Mi Día".
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @return ResponseEntity con la tarea actualizada
+     */
+    @DeleteMapping("/{taskId}/user/{userId}/my-day")
+    @Operation(summary = "Quitar de Mi Día", description = "Quita la tarea de Mi Día; las tareas que vencen hoy siguen apareciendo")
+    public ResponseEntity<TaskResponse> removeTaskFromMyDay(
+            @Parameter(description = "ID de la tarea") @PathVariable Long taskId,
+            @Parameter(description = "ID del usuario") @PathVariable Long userId) {
+        Task task = taskService.setTaskInMyDay(taskId, userId, false);
+        return ResponseEntity.ok(new TaskResponse(task));
+    }
+    
+    /**
+     * Reemplaza las etiquetas de una tarea.
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @param tags Nuevas etiquetas
+     * @return ResponseEntity con la tarea actualizada
+     */
+    @PutMapping("/{taskId}/user/{userId}/tags")
+    @Operation(summary = "Establecer etiquetas", description = "Reemplaza las etiquetas de una tarea; se filtran con tag:nombre o #nombre en la búsqueda")
+    public ResponseEntity<TaskResponse> setTaskTags(
+            @Parameter(description = "ID de la tarea") @PathVariable Long taskId,
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @RequestBody List<String> tags) {
+        Task task = taskService.setTaskTags(taskId, userId, tags);
+        return ResponseEntity.ok(new TaskResponse(task));
+    }
+    
+    /**
+     * Obtiene las etiquetas de un usuario con el número de tareas de cada una.
+     * 
+     * @param userId ID del usuario
+     * @param request Petición en curso, para responder 304 si no hubo cambios
+     * @return ResponseEntity con las etiquetas y sus conteos
+     */
+    @GetMapping("/user/{userId}/tags")
+    @Operation(summary = "Etiquetas del usuario", description = "Lista las etiquetas del usuario con el número de tareas de cada una")
+    public ResponseEntity<Map<String, Integer>> getTagCounts(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            WebRequest request) {
+        if (resourceVersions.userNotModified(userId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(taskService.getTagCounts(userId));
+    }
+    
+    /**
+     * Obtiene el historial de cambios de una tarea (modo event sourcing).
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @return ResponseEntity con los eventos de la tarea en orden
+     */
+    @GetMapping("/{taskId}/user/{userId}/history")
+    @Operation(summary = "Historial de tarea", description = "Obtiene todos los estados de una tarea desde el registro de eventos (requiere todoapp.event-sourcing.enabled=true)")
+    public ResponseEntity<List<DomainEvent>> getTaskHistory(
+            @Parameter(description = "ID de la tarea") @PathVariable Long taskId,
+            @Parameter(description = "ID del usuario") @PathVariable Long userId) {
+        return ResponseEntity.ok(taskService.getTaskHistory(taskId, userId));
+    }
+    
     /**
      * Elimina una tarea específica del usuario.
      * 
@@ -145,6 +506,10 @@ public class TaskController {
         
         private Boolean isImportant = false;
         
+        private RecurrenceRule recurrence;
+        
+        private List<String> tags;
+        
         public String getTitle() { return title; }
         public void setTitle(String title) { this.title = title; }
         
@@ -159,6 +524,12 @@ public class TaskController {
         
         public Boolean getIsImportant() { return isImportant; }
         public void setIsImportant(Boolean isImportant) { this.isImportant = isImportant; }
+        
+        public RecurrenceRule getRecurrence() { return recurrence; }
+        public void setRecurrence(RecurrenceRule recurrence) { this.recurrence = recurrence; }
+        
+        public List<String> getTags() { return tags; }
+        public void setTags(List<String> tags) { this.tags = tags; }
     }
     
     /**
@@ -174,6 +545,9 @@ public class TaskController {
         private LocalDateTime dueDate;
         private LocalDateTime createdAt;
         private Boolean isImportant;
+        private RecurrenceRule recurrence;
+        private List<String> tags;
+        private LocalDate myDay;
         private Long taskListId;
         private String taskListName;
         
@@ -191,6 +565,9 @@ public class TaskController {
             this.dueDate = task.getDueDate();
             this.createdAt = task.getCreatedAt();
             this.isImportant = task.getIsImportant();
+            this.recurrence = task.getRecurrence();
+            this.tags = task.getTags();
+            this.myDay = task.getMyDay();
             this.taskListId = task.getTaskList().getId();
             this.taskListName = task.getTaskList().getName();
         }
@@ -219,6 +596,15 @@ public class TaskController {
         public Boolean getIsImportant() { return isImportant; }
         public void setIsImportant(Boolean isImportant) { this.isImportant = isImportant; }
         
+        public RecurrenceRule getRecurrence() { return recurrence; }
+        public void setRecurrence(RecurrenceRule recurrence) { this.recurrence = recurrence; }
+        
+        public List<String> getTags() { return tags; }
+        public void setTags(List<String> tags) { this.tags = tags; }
+        
+        public LocalDate getMyDay() { return myDay; }
+        public void setMyDay(LocalDate myDay) { this.myDay = myDay; }
+        
         public Long getTaskListId() { return taskListId; }
         public void setTaskListId(Long taskListId) { this.taskListId = taskListId; }
         
@@ -1,17 +1,28 @@
 package com.todoapp.controller;
 
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.ResponseCache;
 import com.todoapp.entity.TaskList;
+import com.todoapp.idempotency.IdempotencyStore;
+import com.todoapp.query.Page;
 import com.todoapp.service.TaskListService;
+import com.todoapp.wire.WireFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,63 +35,101 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api/lists")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = { Page.NEXT_CURSOR_HEADER, HttpHeaders.ETAG, IdempotencyStore.REPLAYED_HEADER })
 @Tag(name = "Task Lists", description = "📋 Gestión básica de listas de tareas")
 public class TaskListController {
     
     @Autowired
     private TaskListService taskListService;
     
+    @Autowired
+    private ResourceVersions resourceVersions;
+    
+    @Autowired
+    private ResponseCache responseCache;
+    
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
     /**
      * Crea una nueva lista de tareas para el usuario especificado.
+     * Con {@code Idempotency-Key}, un reintento recibe la respuesta original
+     * sin crear otra lista.
      * 
      * @param userId ID del usuario propietario
+     * @param idempotencyKey Clave de idempotencia (opcional)
      * @param request Datos de la nueva lista
      * @return ResponseEntity con la lista creada
      */
     @PostMapping("/user/{userId}")
-    @Operation(summary = "Crear lista", description = "Crea una nueva lista de tareas")
+    @Operation(summary = "Crear lista", description = "Crea una nueva lista de tareas; con Idempotency-Key los reintentos devuelven la respuesta original")
     public ResponseEntity<TaskListResponse> createTaskList(
             @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Clave para que los reintentos no repitan el alta") @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody TaskListCreateRequest request) {
-        TaskList taskList = taskListService.createTaskList(
-                userId, 
-                request.getName(), 
-                request.getDescription(), 
-                request.getColor()
-        );
-        return ResponseEntity.status(HttpStatus.CREATED).body(new TaskListResponse(taskList));
+        return idempotencyStore.execute("list:" + userId, idempotencyKey, request, () -> {
+            TaskList taskList = taskListService.createTaskList(
+                    userId, 
+                    request.getName(), 
+                    request.getDescription(), 
+                    request.getColor()
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(new TaskListResponse(taskList));
+        });
     }
     
     /**
      * Obtiene una lista de tareas específica por su ID.
      * 
      * @param listId ID de la lista a buscar
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso, para responder 304 si no hubo cambios
      * @return ResponseEntity con la lista encontrada
      */
     @GetMapping("/{listId}")
     @Operation(summary = "Obtener lista", description = "Obtiene una lista de tareas específica")
-    public ResponseEntity<TaskListResponse> getTaskListById(
-            @Parameter(description = "ID de la lista") @PathVariable Long listId) {
+    @ApiResponse(responseCode = "200", content = { @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = TaskListResponse.class)), @Content(mediaType = WireFormat.MEDIA_TYPE_VALUE) })
+    public ResponseEntity<?> getTaskListById(
+            @Parameter(description = "ID de la lista") @PathVariable Long listId,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (resourceVersions.taskListNotModified(listId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         TaskList taskList = taskListService.getTaskListById(listId);
-        return ResponseEntity.ok(new TaskListResponse(taskList));
+        return responseCache.taskList(ResponseEntity.ok(), taskList, fields, request);
     }
     
     /**
-     * Obtiene todas las listas de tareas de un usuario específico.
+     * Obtiene las listas de tareas de un usuario específico.
+     * Admite paginación por cursor: con {@code limit} se devuelve una página y,
+     * si hay más, el cursor de la siguiente en la cabecera {@code X-Next-Cursor}.
      * 
      * @param userId ID del usuario
+     * @param cursor Cursor de la página anterior (opcional)
+     * @param limit Tamaño de página (opcional)
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso, para responder 304 si no hubo cambios
      * @return ResponseEntity con las listas del usuario
      */
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Obtener listas del usuario", description = "Obtiene todas las listas de un usuario")
-    public ResponseEntity<List<TaskListResponse>> getTaskListsByUserId(
-            @Parameter(description = "ID del usuario") @PathVariable Long userId) {
-        List<TaskList> taskLists = taskListService.getTaskListsByUserId(userId);
-        List<TaskListResponse> responses = taskLists.stream()
-                .map(TaskListResponse::new)
-                .toList();
-        return ResponseEntity.ok(responses);
+    @Operation(summary = "Obtener listas del usuario", description = "Obtiene las listas de un usuario, opcionalmente paginadas por cursor")
+    @ApiResponse(responseCode = "200", content = { @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskListResponse.class))), @Content(mediaType = WireFormat.MEDIA_TYPE_VALUE) })
+    public ResponseEntity<?> getTaskListsByUserId(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Cursor de la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (resourceVersions.userNotModified(userId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        Page<TaskList> page = taskListService.getTaskListsPageByUserId(userId, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(Page.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return responseCache.taskLists(response, page.getItems(), fields, request);
     }
     
     /**
@@ -1,18 +1,34 @@
 package com.todoapp.controller;
 
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.ResponseCache;
 import com.todoapp.entity.User;
+import com.todoapp.idempotency.IdempotencyStore;
+import com.todoapp.json.JsonBody;
+import com.todoapp.query.Page;
+import com.todoapp.service.ChangeFeedService;
+import com.todoapp.service.DataExportService;
 import com.todoapp.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador REST para la gestión de usuarios.
@@ -24,53 +40,138 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api/users")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = { Page.NEXT_CURSOR_HEADER, HttpHeaders.ETAG, IdempotencyStore.REPLAYED_HEADER })
 @Tag(name = "Users", description = "👥 Gestión básica de usuarios")
 public class UserController {
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private DataExportService dataExportService;
+    
+    @Autowired
+    private ChangeFeedService changeFeedService;
+    
+    @Autowired
+    private ResourceVersions resourceVersions;
+    
+    @Autowired
+    private ResponseCache responseCache;
+    
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
     /**
      * Registra un nuevo usuario en el sistema.
+     * Con {@code Idempotency-Key}, un reintento recibe la respuesta original
+     * en lugar de un error de email ya registrado. El hash de la contraseña
+     * se calcula de forma asíncrona: el hilo de la petición queda libre mientras tanto.
      * 
+     * @param idempotencyKey Clave de idempotencia (opcional)
      * @param request Datos del nuevo usuario
-     * @return ResponseEntity con el usuario creado
+     * @return ResponseEntity con el usuario creado, futuro
      */
     @PostMapping
-    @Operation(summary = "Crear usuario", description = "Registra un nuevo usuario en el sistema")
-    public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserCreateRequest request) {
-        User user = userService.createUser(request.getEmail(), request.getName(), request.getPassword());
-        return ResponseEntity.status(HttpStatus.CREATED).body(new UserResponse(user));
+    @Operation(summary = "Crear usuario", description = "Registra un nuevo usuario en el sistema; con Idempotency-Key los reintentos devuelven la respuesta original")
+    public CompletableFuture<ResponseEntity<UserResponse>> createUser(
+            @Parameter(description = "Clave para que los reintentos no repitan el alta") @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody UserCreateRequest request) {
+        return idempotencyStore.executeAsync("user", idempotencyKey, request, () ->
+                userService.createUser(request.getEmail(), request.getName(), request.getPassword())
+                        .thenApply(user -> ResponseEntity.status(HttpStatus.CREATED).body(new UserResponse(user))));
     }
     
     /**
      * Obtiene la información de un usuario específico por su ID.
      * 
      * @param userId ID del usuario a buscar
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso, para responder 304 si no hubo cambios
      * @return ResponseEntity con la información del usuario
      */
     @GetMapping("/{userId}")
     @Operation(summary = "Obtener usuario", description = "Obtiene la información de un usuario por ID")
-    public ResponseEntity<UserResponse> getUserById(
-            @Parameter(description = "ID del usuario") @PathVariable Long userId) {
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = UserResponse.class)))
+    public ResponseEntity<JsonBody> getUserById(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (resourceVersions.userNotModified(userId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         User user = userService.getUserById(userId);
-        return ResponseEntity.ok(new UserResponse(user));
+        return responseCache.json(ResponseEntity.ok(), responseCache.user(user, fields), request);
     }
     
     /**
-     * Obtiene la lista de todos los usuarios activos registrados en el sistema.
+     * Obtiene la lista de los usuarios activos registrados en el sistema.
+     * Admite paginación por cursor: con {@code limit} se devuelve una página y,
+     * si hay más, el cursor de la siguiente en la cabecera {@code X-Next-Cursor}.
      * 
+     * @param cursor Cursor de la página anterior (opcional)
+     * @param limit Tamaño de página (opcional)
+     * @param fields Campos a incluir, separados por comas (opcional)
+     * @param request Petición en curso, para responder 304 si no hubo cambios
      * @return ResponseEntity con la lista de usuarios activos
      */
     @GetMapping
-    @Operation(summary = "Listar usuarios", description = "Obtiene todos los usuarios registrados")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<User> users = userService.getAllActiveUsers();
-        List<UserResponse> userResponses = users.stream()
-                .map(UserResponse::new)
-                .toList();
-        return ResponseEntity.ok(userResponses);
+    @Operation(summary = "Listar usuarios", description = "Obtiene los usuarios registrados, opcionalmente paginados por cursor")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = UserResponse.class))))
+    public ResponseEntity<JsonBody> getAllUsers(
+            @Parameter(description = "Cursor de la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (resourceVersions.userDirectoryNotModified(request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        Page<User> page = userService.getActiveUsersPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(Page.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return responseCache.json(response, responseCache.users(page.getItems(), fields), request);
+    }
+    
+    /**
+     * Exporta todos los datos de un usuario (usuario, listas y tareas) en formato NDJSON.
+     * La respuesta se transmite a medida que se genera, con memoria constante,
+     * y opcionalmente comprimida con gzip.
+     * 
+     * @param userId ID del usuario a exportar
+     * @param gzip Si la exportación debe comprimirse con gzip
+     * @return ResponseEntity con el cuerpo transmitido
+     */
+    @GetMapping("/{userId}/export")
+    @Operation(summary = "Exportar datos del usuario", description = "Exporta usuario, listas y tareas en NDJSON (una línea JSON por registro)")
+    public ResponseEntity<StreamingResponseBody> exportUserData(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId,
+            @Parameter(description = "Comprimir con gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+        User user = dataExportService.getExportableUser(userId);
+        String fileName = "todo-export-user-" + userId + (gzip ? ".ndjson.gz" : ".ndjson");
+        StreamingResponseBody body = out -> dataExportService.writeUserExport(user, out, gzip);
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+    
+    /**
+     * Abre un flujo de Server-Sent Events con los cambios de los datos del usuario
+     * (tareas, listas y el propio usuario). El primer evento es {@code resync},
+     * tras el cual el cliente carga su estado y aplica los cambios recibidos.
+     * Si el cliente no consume a tiempo, recibe otro {@code resync}.
+     * 
+     * @param userId ID del usuario
+     * @return Emisor SSE de la suscripción
+     */
+    @GetMapping(value = "/{userId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a cambios", description = "Flujo SSE con los eventos de creación, modificación, movimiento y eliminación de los datos del usuario")
+    public SseEmitter streamUserEvents(
+            @Parameter(description = "ID del usuario") @PathVariable Long userId) {
+        User user = userService.getUserById(userId);
+        return changeFeedService.subscribe(user.getId());
     }
     
     /**
@@ -0,0 +1,208 @@
+package com.todoapp.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Regla de recurrencia de una tarea: diaria, semanal (en días concretos) o
+ * mensual, cada N periodos y opcionalmente hasta una fecha. Es inmutable, así
+ * que varias tareas (por ejemplo, una copia duplicada) pueden compartirla.
+ *
+ * La tarea recurrente se guarda una sola vez y su fecha límite es siempre la
+ * ocurrencia actual; las siguientes se calculan bajo demanda a partir de ella.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class RecurrenceRule {
+
+    /**
+     * Periodo base de la recurrencia.
+     */
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> daysOfWeek;
+    private final Integer dayOfMonth;
+    private final LocalDate until;
+
+    /**
+     * Crea una regla de recurrencia.
+     *
+     * @param frequency Periodo base (obligatorio)
+     * @param interval Cada cuántos periodos se repite (por defecto 1)
+     * @param daysOfWeek Días de la semana (solo WEEKLY; por defecto el de la primera ocurrencia)
+     * @param dayOfMonth Día del mes (solo MONTHLY; por defecto el de la primera ocurrencia)
+     * @param until Última fecha en que puede caer una ocurrencia (opcional)
+     */
+    @JsonCreator
+    public RecurrenceRule(@JsonProperty("frequency") Frequency frequency,
+                          @JsonProperty("interval") Integer interval,
+                          @JsonProperty("daysOfWeek") Set<DayOfWeek> daysOfWeek,
+                          @JsonProperty("dayOfMonth") Integer dayOfMonth,
+                          @JsonProperty("until") LocalDate until) {
+        this.frequency = frequency;
+        this.interval = interval != null ? interval : 1;
+        this.daysOfWeek = daysOfWeek == null || daysOfWeek.isEmpty()
+                ? null : Collections.unmodifiableSet(EnumSet.copyOf(daysOfWeek));
+        this.dayOfMonth = dayOfMonth;
+        this.until = until;
+    }
+
+    public Frequency getFrequency() { return frequency; }
+    public int getInterval() { return interval; }
+    public Set<DayOfWeek> getDaysOfWeek() { return daysOfWeek; }
+    public Integer getDayOfMonth() { return dayOfMonth; }
+    public LocalDate getUntil() { return until; }
+
+    /**
+     * Completa los valores por defecto a partir de la primera ocurrencia:
+     * el día de la semana (WEEKLY) o el día del mes (MONTHLY).
+     *
+     * @param first Primera ocurrencia (fecha límite de la tarea)
+     * @return Regla con los valores por defecto resueltos
+     */
+    public RecurrenceRule anchoredTo(LocalDateTime first) {
+        if (frequency == Frequency.WEEKLY && daysOfWeek == null) {
+            return new RecurrenceRule(frequency, interval, EnumSet.of(first.getDayOfWeek()), null, until);
+        }
+        if (frequency == Frequency.MONTHLY && dayOfMonth == null) {
+            return new RecurrenceRule(frequency, interval, null, first.getDayOfMonth(), until);
+        }
+        return this;
+    }
+
+    /**
+     * Calcula la ocurrencia siguiente a una dada.
+     *
+     * @param occurrence Ocurrencia actual
+     * @return Siguiente ocurrencia, o null si la regla ya terminó
+     */
+    public LocalDateTime nextAfter(LocalDateTime occurrence) {
+        LocalDateTime next;
+        switch (frequency) {
+            case WEEKLY:
+                next = nextWeekly(occurrence);
+                break;
+            case MONTHLY:
+                next = inMonth(occurrence.plusMonths(interval));
+                break;
+            case DAILY:
+            default:
+                next = occurrence.plusDays(interval);
+                break;
+        }
+        return until != null && next.toLocalDate().isAfter(until) ? null : next;
+    }
+
+    /**
+     * Recorre de forma perezosa las ocurrencias dentro de una ventana.
+     * Los periodos completos anteriores a la ventana se saltan de una vez,
+     * así que el coste no depende de cuán lejos esté la ventana.
+     *
+     * @param current Ocurrencia actual de la tarea (su fecha límite)
+     * @param from Inicio de la ventana (inclusivo)
+     * @param to Fin de la ventana (exclusivo)
+     * @return Stream de ocurrencias en orden
+     */
+    public Stream<LocalDateTime> occurrences(LocalDateTime current, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime first = firstOnOrAfter(current, from);
+        return Stream.iterate(first, occurrence -> occurrence != null && occurrence.isBefore(to), this::nextAfter);
+    }
+
+    private LocalDateTime firstOnOrAfter(LocalDateTime current, LocalDateTime from) {
+        if (!current.isBefore(from)) {
+            return current;
+        }
+        LocalDateTime candidate = current;
+        switch (frequency) {
+            case WEEKLY: {
+                LocalDateTime weekStart = current.minusDays(current.getDayOfWeek().getValue() - 1L);
+                long weeks = ChronoUnit.WEEKS.between(weekStart, from) / interval * interval;
+                if (weeks > 0) {
+                    DayOfWeek firstDay = daysOfWeek.iterator().next();
+                    candidate = weekStart.plusWeeks(weeks).plusDays(firstDay.getValue() - 1L);
+                }
+                break;
+            }
+            case MONTHLY: {
+                long months = ChronoUnit.MONTHS.between(current, from) / interval * interval;
+                if (months > 0) {
+                    candidate = inMonth(current.plusMonths(months));
+                }
+                break;
+            }
+            case DAILY:
+            default: {
+                long days = ChronoUnit.DAYS.between(current, from) / interval * interval;
+                candidate = current.plusDays(days);
+                break;
+            }
+        }
+        if (until != null && candidate.toLocalDate().isAfter(until)) {
+            return null;
+        }
+        while (candidate != null && candidate.isBefore(from)) {
+            candidate = nextAfter(candidate);
+        }
+        return candidate;
+    }
+
+    private LocalDateTime nextWeekly(LocalDateTime occurrence) {
+        int today = occurrence.getDayOfWeek().getValue();
+        for (DayOfWeek day : daysOfWeek) {
+            if (day.getValue() > today) {
+                return occurrence.plusDays(day.getValue() - (long) today);
+            }
+        }
+        DayOfWeek firstDay = daysOfWeek.iterator().next();
+        return occurrence.minusDays(today - 1L).plusWeeks(interval).plusDays(firstDay.getValue() - 1L);
+    }
+
+    private LocalDateTime inMonth(LocalDateTime dateInMonth) {
+        int day = Math.min(dayOfMonth, dateInMonth.toLocalDate().lengthOfMonth());
+        return dateInMonth.withDayOfMonth(day);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof RecurrenceRule)) return false;
+        RecurrenceRule that = (RecurrenceRule) other;
+        return interval == that.interval && frequency == that.frequency
+                && Objects.equals(daysOfWeek, that.daysOfWeek)
+                && Objects.equals(dayOfMonth, that.dayOfMonth)
+                && Objects.equals(until, that.until);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(frequency, interval, daysOfWeek, dayOfMonth, until);
+    }
+
+    @Override
+    public String toString() {
+        return "RecurrenceRule{" +
+                "frequency=" + frequency +
+                ", interval=" + interval +
+                ", daysOfWeek=" + daysOfWeek +
+                ", dayOfMonth=" + dayOfMonth +
+                ", until=" + until +
+                '}';
+    }
+}
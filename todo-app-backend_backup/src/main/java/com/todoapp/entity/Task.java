@@ -1,6 +1,8 @@
 package com.todoapp.entity;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Entidad que representa una Tarea en el sistema.
@@ -23,6 +25,9 @@ public class Task {
     private LocalDateTime updatedAt;
     private LocalDateTime completedAt;
     private Boolean isImportant;
+    private RecurrenceRule recurrence;
+    private List<String> tags;
+    private LocalDate myDay;
     private TaskList taskList;
     
     /**
@@ -34,6 +39,7 @@ public class Task {
         this.completed = false;
         this.priority = Priority.MEDIUM;
         this.isImportant = false;
+        this.tags = List.of();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -125,6 +131,54 @@ public class Task {
         this.updatedAt = LocalDateTime.now();
     }
     
+    public RecurrenceRule getRecurrence() { return recurrence; }
+    
+    /**
+     * Establece la regla de recurrencia de la tarea y actualiza la fecha de modificación.
+     * Con regla, la fecha límite es la ocurrencia actual de la serie.
+     * 
+     * @param recurrence Regla de recurrencia, o null para una tarea única
+     */
+    public void setRecurrence(RecurrenceRule recurrence) {
+        this.recurrence = recurrence;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Verifica si la tarea se repite.
+     * 
+     * @return true si la tarea tiene regla de recurrencia
+     */
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+    
+    public List<String> getTags() { return tags; }
+    
+    /**
+     * Establece las etiquetas de la tarea y actualiza la fecha de modificación.
+     * Se guarda una copia inmutable; las etiquetas deben llegar ya normalizadas.
+     * 
+     * @param tags Etiquetas de la tarea (null equivale a ninguna)
+     */
+    public void setTags(List<String> tags) {
+        this.tags = tags != null ? List.copyOf(tags) : List.of();
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public LocalDate getMyDay() { return myDay; }
+    
+    /**
+     * Establece el día en que la tarea se añadió a "Mi Día" y actualiza la
+     * fecha de modificación. La tarea solo aparece en "Mi Día" ese mismo día.
+     * 
+     * @param myDay Día en que se añadió, o null si no está en "Mi Día"
+     */
+    public void setMyDay(LocalDate myDay) {
+        this.myDay = myDay;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
     public TaskList getTaskList() { return taskList; }
     public void setTaskList(TaskList taskList) { this.taskList = taskList; }
     
@@ -171,4 +225,4 @@ public class Task {
                 ", isImportant=" + isImportant +
                 '}';
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.todoapp.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cambio compacto enviado a los clientes suscritos de un usuario.
+ * Incluye el estado nuevo de la entidad cuando existe, para que el cliente
+ * pueda aplicarlo sin volver a consultar la API.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class ChangeEvent {
+
+    private final long sequence;
+    private final ChangeType type;
+    private final Long id;
+    private final Long taskListId;
+    private final Object data;
+    private final LocalDateTime timestamp;
+
+    public ChangeEvent(long sequence, ChangeType type, Long id, Long taskListId, Object data) {
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+        this.taskListId = taskListId;
+        this.data = data;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public long getSequence() { return sequence; }
+    public String getType() { return type.getEventName(); }
+    public Long getId() { return id; }
+    public Long getTaskListId() { return taskListId; }
+    public Object getData() { return data; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    @JsonIgnore
+    public ChangeType getChangeType() { return type; }
+}
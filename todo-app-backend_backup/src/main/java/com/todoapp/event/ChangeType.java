@@ -0,0 +1,37 @@
+package com.todoapp.event;
+
+/**
+ * Tipos de cambio que se notifican a los clientes suscritos.
+ * Cada tipo tiene el nombre de evento con el que viaja por Server-Sent Events.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public enum ChangeType {
+
+    TASK_CREATED("task.created"),
+    TASK_UPDATED("task.updated"),
+    TASK_MOVED("task.moved"),
+    TASK_DELETED("task.deleted"),
+    LIST_CREATED("list.created"),
+    LIST_UPDATED("list.updated"),
+    LIST_DELETED("list.deleted"),
+    USER_UPDATED("user.updated"),
+    USER_DELETED("user.deleted"),
+
+    /**
+     * El cliente debe volver a cargar sus datos completos: se perdieron
+     * eventos (suscriptor lento o reconexión) o hubo un cambio masivo.
+     */
+    RESYNC("resync");
+
+    private final String eventName;
+
+    ChangeType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+}
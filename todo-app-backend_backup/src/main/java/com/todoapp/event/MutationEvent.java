@@ -0,0 +1,93 @@
+package com.todoapp.event;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del anillo de {@link MutationEventBus}.
+ * Las entradas se reservan una sola vez y se reutilizan en cada vuelta del
+ * anillo, por lo que publicar no reserva memoria. Un consumidor solo debe
+ * leer la entrada dentro de {@link MutationEventHandler#onEvent} y copiar lo
+ * que necesite conservar.
+ *
+ * Las entidades referenciadas son las mismas instancias del almacenamiento,
+ * así que al consumirse reflejan su estado más reciente, que puede ser
+ * posterior al que describe el tipo del evento (una tarea completada puede
+ * estar ya reabierta). Los consumidores que necesitan el estado del momento
+ * de la mutación usan los valores de la tarea copiados al publicar
+ * ({@link #isTaskCompleted()}, {@link #getTaskCreatedAt()},
+ * {@link #getTaskDueDate()} y {@link #getTaskCompletedAt()}).
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class MutationEvent {
+
+    private MutationType type;
+    private Long entityId;
+    private Long userId;
+    private Task task;
+    private TaskList taskList;
+    private User user;
+    private boolean taskCompleted;
+    private LocalDateTime taskCreatedAt;
+    private LocalDateTime taskDueDate;
+    private LocalDateTime taskCompletedAt;
+
+    MutationEvent() {
+    }
+
+    void setTask(MutationType type, Task task) {
+        this.type = type;
+        this.entityId = task.getId();
+        this.userId = task.getTaskList().getUser().getId();
+        this.task = task;
+        this.taskList = task.getTaskList();
+        this.user = null;
+        this.taskCompleted = Boolean.TRUE.equals(task.getCompleted());
+        this.taskCreatedAt = task.getCreatedAt();
+        this.taskDueDate = task.getDueDate();
+        this.taskCompletedAt = task.getCompletedAt();
+    }
+
+    void setTaskList(MutationType type, TaskList taskList) {
+        this.type = type;
+        this.entityId = taskList.getId();
+        this.userId = taskList.getUser().getId();
+        this.task = null;
+        this.taskList = taskList;
+        this.user = null;
+        clearTaskValues();
+    }
+
+    void setUser(MutationType type, User user) {
+        this.type = type;
+        this.entityId = user.getId();
+        this.userId = user.getId();
+        this.task = null;
+        this.taskList = null;
+        this.user = user;
+        clearTaskValues();
+    }
+
+    private void clearTaskValues() {
+        this.taskCompleted = false;
+        this.taskCreatedAt = null;
+        this.taskDueDate = null;
+        this.taskCompletedAt = null;
+    }
+
+    public MutationType getType() { return type; }
+    public Long getEntityId() { return entityId; }
+    public Long getUserId() { return userId; }
+    public Task getTask() { return task; }
+    public TaskList getTaskList() { return taskList; }
+    public User getUser() { return user; }
+    public boolean isTaskCompleted() { return taskCompleted; }
+    public LocalDateTime getTaskCreatedAt() { return taskCreatedAt; }
+    public LocalDateTime getTaskDueDate() { return taskDueDate; }
+    public LocalDateTime getTaskCompletedAt() { return taskCompletedAt; }
+}
@@ -0,0 +1,401 @@
+package com.todoapp.event;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bus de eventos de mutación en memoria sobre un anillo sin bloqueos.
+ * El almacenamiento publica un evento por cada alta, modificación o baja y
+ * los consumidores (recordatorios, notificaciones, etc.) lo procesan de forma
+ * asíncrona en sus propios hilos, sin alargar el camino de escritura.
+ *
+ * Publicar es reclamar una secuencia con una operación atómica, rellenar la
+ * entrada preasignada y marcarla como disponible: no reserva memoria ni toma
+ * bloqueos. Como las escrituras llegan desde cualquier hilo de petición, el
+ * reclamo admite varios productores y cada entrada lleva la vuelta del anillo
+ * en que se publicó, de modo que los consumidores solo avanzan sobre entradas
+ * contiguas ya publicadas. Si el anillo se llena, el productor espera a que el
+ * consumidor más lento libere espacio, pero como mucho
+ * {@link #MAX_CLAIM_WAIT_NANOS}: pasado ese tiempo desengancha a los
+ * consumidores rezagados y sigue, de modo que un consumidor lento o atascado
+ * nunca bloquea las escrituras. El consumidor desenganchado pierde los eventos
+ * sobrescritos, salta al evento más reciente y ejecuta su acción de
+ * recuperación (normalmente, resincronizarse desde el almacenamiento).
+ *
+ * Cada consumidor lleva su propia secuencia y procesa en lotes todo lo
+ * publicado desde la última vez. Un consumidor puede depender de otros
+ * (barrera de secuencia) para procesar cada evento solo después que ellos.
+ * Un error en el consumidor se registra y no detiene su hilo; si el hilo
+ * termina de todos modos, deja de retener a los productores.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class MutationEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(MutationEventBus.class);
+
+    /**
+     * Capacidad del anillo (potencia de dos).
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INDEX_MASK = BUFFER_SIZE - 1;
+    private static final int INDEX_SHIFT = Integer.numberOfTrailingZeros(BUFFER_SIZE);
+
+    /**
+     * Número máximo de eventos que se reclaman de una vez al publicar en bloque.
+     */
+    private static final int MAX_BATCH_SIZE = BUFFER_SIZE / 16;
+
+    private static final int SPIN_TRIES = 100;
+    private static final long MAX_PARK_NANOS = 10_000_000;
+
+    /**
+     * Espera máxima de un productor con el anillo lleno antes de desenganchar
+     * a los consumidores rezagados.
+     */
+    static final long MAX_CLAIM_WAIT_NANOS = 100_000_000;
+
+    private final MutationEvent[] entries = new MutationEvent[BUFFER_SIZE];
+    private final AtomicIntegerArray publishedRound = new AtomicIntegerArray(BUFFER_SIZE);
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile EventProcessor[] processors = new EventProcessor[0];
+
+    public MutationEventBus() {
+        for (int i = 0; i < BUFFER_SIZE; i++) {
+            entries[i] = new MutationEvent();
+            publishedRound.set(i, -1);
+        }
+    }
+
+    /**
+     * Publica una mutación de tarea.
+     *
+     * @param type Tipo de mutación
+     * @param task Tarea afectada
+     */
+    public void publishTask(MutationType type, Task task) {
+        long sequence = claim();
+        entries[index(sequence)].setTask(type, task);
+        publish(sequence);
+    }
+
+    /**
+     * Publica la misma mutación para un bloque de tareas, por ejemplo las de una
+     * importación. Las secuencias se reclaman por tramos de hasta
+     * {@link #MAX_BATCH_SIZE} con una sola operación atómica y los
+     * consumidores se despiertan una vez por tramo.
+     *
+     * @param type Tipo de mutación
+     * @param tasks Tareas afectadas, en el orden en que se publican
+     */
+    public void publishTasks(MutationType type, List<Task> tasks) {
+        for (int from = 0; from < tasks.size(); from += MAX_BATCH_SIZE) {
+            int count = Math.min(MAX_BATCH_SIZE, tasks.size() - from);
+            long first = claim(count) - count + 1;
+            for (int i = 0; i < count; i++) {
+                entries[index(first + i)].setTask(type, tasks.get(from + i));
+            }
+            for (int i = 0; i < count; i++) {
+                long sequence = first + i;
+                publishedRound.set(index(sequence), (int) (sequence >>> INDEX_SHIFT));
+            }
+            wakeSleepingConsumers();
+        }
+    }
+
+    /**
+     * Publica una mutación de lista de tareas.
+     *
+     * @param type Tipo de mutación
+     * @param taskList Lista afectada
+     */
+    public void publishTaskList(MutationType type, TaskList taskList) {
+        long sequence = claim();
+        entries[index(sequence)].setTaskList(type, taskList);
+        publish(sequence);
+    }
+
+    /**
+     * Publica una mutación de usuario.
+     *
+     * @param type Tipo de mutación
+     * @param user Usuario afectado
+     */
+    public void publishUser(MutationType type, User user) {
+        long sequence = claim();
+        entries[index(sequence)].setUser(type, user);
+        publish(sequence);
+    }
+
+    /**
+     * Registra un consumidor y arranca su hilo. El consumidor recibe los eventos
+     * publicados a partir de este momento.
+     *
+     * @param name Nombre del consumidor (se usa como nombre del hilo)
+     * @param handler Lógica de procesamiento
+     * @param dependencies Consumidores que deben procesar cada evento antes que este
+     * @return Procesador registrado, utilizable como dependencia de otros
+     */
+    public EventProcessor addConsumer(String name, MutationEventHandler handler, EventProcessor... dependencies) {
+        return addConsumer(name, handler, () -> { }, dependencies);
+    }
+
+    /**
+     * Registra un consumidor con una acción de recuperación y arranca su hilo.
+     *
+     * @param name Nombre del consumidor (se usa como nombre del hilo)
+     * @param handler Lógica de procesamiento
+     * @param onEventsLost Acción que se ejecuta en el hilo del consumidor si este
+     *                     se queda tan atrás que pierde eventos
+     * @param dependencies Consumidores que deben procesar cada evento antes que este
+     * @return Procesador registrado, utilizable como dependencia de otros
+     */
+    public synchronized EventProcessor addConsumer(String name, MutationEventHandler handler, Runnable onEventsLost,
+                                                   EventProcessor... dependencies) {
+        EventProcessor processor = new EventProcessor(name, handler, onEventsLost, dependencies, claimed.get());
+        for (EventProcessor dependency : dependencies) {
+            dependency.dependents = true;
+        }
+        EventProcessor[] updated = Arrays.copyOf(processors, processors.length + 1);
+        updated[processors.length] = processor;
+        processors = updated;
+        processor.thread.start();
+        return processor;
+    }
+
+    /**
+     * Obtiene la última secuencia reclamada por un productor.
+     *
+     * @return Secuencia del último evento (-1 si no se ha publicado ninguno)
+     */
+    public long getCursor() {
+        return claimed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (EventProcessor processor : processors) {
+            processor.running = false;
+            LockSupport.unpark(processor.thread);
+        }
+    }
+
+    private long claim() {
+        return claim(1);
+    }
+
+    /**
+     * Reclama un tramo de secuencias consecutivas.
+     *
+     * @return Última secuencia del tramo
+     */
+    private long claim(int count) {
+        long sequence = claimed.addAndGet(count);
+        long wrapPoint = sequence - BUFFER_SIZE;
+        if (wrapPoint > slowestConsumer()) {
+            awaitCapacity(wrapPoint);
+        }
+        return sequence;
+    }
+
+    /**
+     * Anillo lleno: se espera a que el consumidor más lento libere la entrada,
+     * y si tarda demasiado se le desengancha.
+     */
+    private void awaitCapacity(long wrapPoint) {
+        long deadline = System.nanoTime() + MAX_CLAIM_WAIT_NANOS;
+        int tries = 0;
+        while (wrapPoint > slowestConsumer()) {
+            if (++tries < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(1_000);
+            } else {
+                detachLagging(wrapPoint);
+            }
+        }
+    }
+
+    private void detachLagging(long wrapPoint) {
+        for (EventProcessor processor : processors) {
+            if (processor.sequence.get() < wrapPoint && processor.lagging.compareAndSet(false, true)) {
+                logger.warn("El consumidor {} no avanza desde el evento {}; se desengancha y perderá eventos",
+                        processor.name, processor.sequence.get());
+                LockSupport.unpark(processor.thread);
+            }
+        }
+    }
+
+    private void publish(long sequence) {
+        publishedRound.set(index(sequence), (int) (sequence >>> INDEX_SHIFT));
+        wakeSleepingConsumers();
+    }
+
+    private void wakeSleepingConsumers() {
+        for (EventProcessor processor : processors) {
+            if (processor.sleeping) {
+                LockSupport.unpark(processor.thread);
+            }
+        }
+    }
+
+    private boolean isPublished(long sequence) {
+        return publishedRound.get(index(sequence)) == (int) (sequence >>> INDEX_SHIFT);
+    }
+
+    private long slowestConsumer() {
+        long minimum = Long.MAX_VALUE;
+        for (EventProcessor processor : processors) {
+            if (!processor.lagging.get() && !processor.stopped) {
+                minimum = Math.min(minimum, processor.sequence.get());
+            }
+        }
+        return minimum;
+    }
+
+    private static int index(long sequence) {
+        return (int) (sequence & INDEX_MASK);
+    }
+
+    /**
+     * Consumidor registrado: hilo propio, secuencia procesada y dependencias.
+     */
+    public final class EventProcessor {
+        private final String name;
+        private final MutationEventHandler handler;
+        private final Runnable onEventsLost;
+        private final EventProcessor[] dependencies;
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private final AtomicBoolean lagging = new AtomicBoolean();
+        private volatile boolean running = true;
+        private volatile boolean sleeping;
+        private volatile boolean dependents;
+        private volatile boolean stopped;
+
+        private EventProcessor(String name, MutationEventHandler handler, Runnable onEventsLost,
+                               EventProcessor[] dependencies, long start) {
+            this.name = name;
+            this.handler = handler;
+            this.onEventsLost = onEventsLost;
+            this.dependencies = dependencies;
+            this.sequence = new AtomicLong(start);
+            this.thread = new Thread(this::run, name);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Obtiene la última secuencia procesada por este consumidor.
+         *
+         * @return Secuencia procesada
+         */
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        private long barrier() {
+            long limit = claimed.get();
+            for (EventProcessor dependency : dependencies) {
+                if (!dependency.stopped) {
+                    limit = Math.min(limit, dependency.sequence.get());
+                }
+            }
+            return limit;
+        }
+
+        private void run() {
+            try {
+                long next = sequence.get() + 1;
+                int idle = 0;
+                while (running) {
+                    if (lagging.get()) {
+                        next = skipLostEvents();
+                        continue;
+                    }
+                    long limit = barrier();
+                    long last = next - 1;
+                    while (last < limit && isPublished(last + 1)) {
+                        last++;
+                    }
+                    if (last < next) {
+                        idle = waitForEvents(idle, next);
+                        continue;
+                    }
+                    idle = 0;
+                    long processed = next - 1;
+                    // Desenganchado, las entradas siguientes pueden estar ya sobrescritas
+                    for (long current = next; current <= last && !lagging.get(); current++) {
+                        try {
+                            handler.onEvent(entries[index(current)], current, current == last);
+                        } catch (Throwable e) {
+                            logger.error("Error en el consumidor {} procesando el evento {}", name, current, e);
+                        }
+                        processed = current;
+                    }
+                    sequence.set(processed);
+                    next = processed + 1;
+                    if (dependents) {
+                        wakeSleepingConsumers();
+                    }
+                }
+            } finally {
+                stopped = true;
+                if (running) {
+                    logger.error("El consumidor {} se ha detenido", name);
+                }
+            }
+        }
+
+        /**
+         * Salta al último evento reclamado tras haber sido desenganchado y
+         * ejecuta la acción de recuperación. La secuencia avanza antes de volver
+         * a retener a los productores, para no desengancharse otra vez al momento.
+         *
+         * @return Siguiente secuencia a procesar
+         */
+        private long skipLostEvents() {
+            long resumeAfter = claimed.get();
+            long lost = resumeAfter - sequence.get();
+            sequence.set(resumeAfter);
+            lagging.set(false);
+            logger.warn("El consumidor {} ha perdido hasta {} eventos; se recupera", name, lost);
+            try {
+                onEventsLost.run();
+            } catch (Throwable e) {
+                logger.error("Error en la recuperación del consumidor {}", name, e);
+            }
+            return resumeAfter + 1;
+        }
+
+        /**
+         * Espera activa breve y luego bloqueo; los productores (o las
+         * dependencias, al avanzar) despiertan al consumidor dormido.
+         */
+        private int waitForEvents(int idle, long next) {
+            if (idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+                return idle + 1;
+            }
+            sleeping = true;
+            if (barrier() < next || !isPublished(next)) {
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            }
+            sleeping = false;
+            return idle;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.todoapp.event;
+
+/**
+ * Consumidor de los eventos de mutación publicados en {@link MutationEventBus}.
+ * Cada consumidor se ejecuta en su propio hilo y recibe los eventos en orden
+ * de secuencia, agrupados en lotes.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface MutationEventHandler {
+
+    /**
+     * Procesa un evento.
+     *
+     * @param event Entrada del anillo (solo válida durante la llamada)
+     * @param sequence Número de secuencia del evento
+     * @param endOfBatch true si es el último evento disponible del lote actual
+     */
+    void onEvent(MutationEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,22 @@
+package com.todoapp.event;
+
+/**
+ * Tipos de mutación que publica el almacenamiento en el bus de eventos.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public enum MutationType {
+
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_MOVED,
+    TASK_COMPLETED,
+    TASK_DELETED,
+    LIST_CREATED,
+    LIST_UPDATED,
+    LIST_DELETED,
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DELETED
+}
@@ -0,0 +1,130 @@
+package com.todoapp.eventsourcing;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Evento de dominio inmutable del registro de eventos.
+ * Guarda una copia del estado de la tarea o de la lista tras el comando que
+ * lo produjo, de modo que una proyección puede reconstruir cualquier estado
+ * intermedio sin consultar el almacenamiento.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class DomainEvent {
+
+    private final long sequence;
+    private final DomainEventType type;
+    private final long occurredAtMillis;
+    private final Long userId;
+    private final Long taskListId;
+    private final Long taskId;
+    private final TaskState task;
+    private final TaskListState taskList;
+
+    private DomainEvent(long sequence, DomainEventType type, Long userId, Long taskListId, Long taskId,
+                        TaskState task, TaskListState taskList) {
+        this.sequence = sequence;
+        this.type = type;
+        this.occurredAtMillis = System.currentTimeMillis();
+        this.userId = userId;
+        this.taskListId = taskListId;
+        this.taskId = taskId;
+        this.task = task;
+        this.taskList = taskList;
+    }
+
+    /**
+     * Crea un evento de tarea con una copia de su estado actual.
+     *
+     * @param sequence Posición del evento en el registro
+     * @param type Tipo de evento
+     * @param task Tarea afectada
+     * @return Evento inmutable
+     */
+    static DomainEvent ofTask(long sequence, DomainEventType type, Task task) {
+        TaskList taskList = task.getTaskList();
+        return new DomainEvent(sequence, type, taskList.getUser().getId(), taskList.getId(), task.getId(),
+                type == DomainEventType.TASK_DELETED ? null : new TaskState(task), null);
+    }
+
+    /**
+     * Crea un evento de lista con una copia de su estado actual.
+     *
+     * @param sequence Posición del evento en el registro
+     * @param type Tipo de evento
+     * @param taskList Lista afectada
+     * @return Evento inmutable
+     */
+    static DomainEvent ofTaskList(long sequence, DomainEventType type, TaskList taskList) {
+        return new DomainEvent(sequence, type, taskList.getUser().getId(), taskList.getId(), null,
+                null, type == DomainEventType.LIST_DELETED ? null : new TaskListState(taskList));
+    }
+
+    public long getSequence() { return sequence; }
+    public DomainEventType getType() { return type; }
+    public LocalDateTime getOccurredAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(occurredAtMillis), ZoneId.systemDefault());
+    }
+
+    public Long getUserId() { return userId; }
+    public Long getTaskListId() { return taskListId; }
+    public Long getTaskId() { return taskId; }
+    public TaskState getTask() { return task; }
+    public TaskListState getTaskList() { return taskList; }
+
+    /**
+     * Copia inmutable de los campos de una tarea.
+     */
+    public static final class TaskState {
+        private final String title;
+        private final String description;
+        private final Priority priority;
+        private final LocalDateTime dueDate;
+        private final boolean important;
+        private final boolean completed;
+
+        private TaskState(Task task) {
+            this.title = task.getTitle();
+            this.description = task.getDescription();
+            this.priority = task.getPriority();
+            this.dueDate = task.getDueDate();
+            this.important = Boolean.TRUE.equals(task.getIsImportant());
+            this.completed = Boolean.TRUE.equals(task.getCompleted());
+        }
+
+        public String getTitle() { return title; }
+        public String getDescription() { return description; }
+        public Priority getPriority() { return priority; }
+        public LocalDateTime getDueDate() { return dueDate; }
+        public boolean isImportant() { return important; }
+        public boolean isCompleted() { return completed; }
+    }
+
+    /**
+     * Copia inmutable de los campos de una lista de tareas.
+     */
+    public static final class TaskListState {
+        private final String name;
+        private final String description;
+        private final String color;
+
+        private TaskListState(TaskList taskList) {
+            this.name = taskList.getName();
+            this.description = taskList.getDescription();
+            this.color = taskList.getColor();
+        }
+
+        public String getName() { return name; }
+        public String getDescription() { return description; }
+        public String getColor() { return color; }
+    }
+}
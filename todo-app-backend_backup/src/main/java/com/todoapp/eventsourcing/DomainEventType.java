@@ -0,0 +1,22 @@
+package com.todoapp.eventsourcing;
+
+/**
+ * Tipos de evento de dominio registrados en el {@link EventStore}.
+ * A diferencia de las mutaciones del bus, distinguen completar y reabrir
+ * una tarea, porque las proyecciones reconstruyen su estado solo a partir
+ * de la secuencia de eventos.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public enum DomainEventType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_COMPLETED,
+    TASK_REOPENED,
+    TASK_MOVED,
+    TASK_DELETED,
+    LIST_CREATED,
+    LIST_UPDATED,
+    LIST_DELETED
+}
@@ -0,0 +1,179 @@
+package com.todoapp.eventsourcing;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registro de eventos de dominio en memoria, de solo anexado.
+ * Con el modo event sourcing activo ({@code todoapp.event-sourcing.enabled}),
+ * cada comando sobre tareas y listas anexa un {@link DomainEvent} inmutable;
+ * las proyecciones leen el registro a su ritmo y se pueden reconstruir desde
+ * el principio en cualquier momento. Con el modo desactivado, anexar no hace
+ * nada y el camino de escritura solo paga la comprobación del indicador.
+ *
+ * Los eventos se guardan en segmentos de tamaño fijo que nunca se mueven: el
+ * anexado se serializa para asignar posiciones contiguas, pero la lectura no
+ * toma bloqueos y solo ve las posiciones ya publicadas en {@link #size()}.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class EventStore {
+
+    private static final int SEGMENT_BITS = 14;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final boolean enabled;
+    private volatile DomainEvent[][] segments = new DomainEvent[16][];
+    private volatile long size;
+    private volatile Runnable[] listeners = new Runnable[0];
+
+    public EventStore(@Value("${todoapp.event-sourcing.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indica si el modo event sourcing está activo.
+     *
+     * @return true si los comandos anexan eventos
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Anexa un evento de tarea con el estado actual de la tarea.
+     *
+     * @param type Tipo de evento
+     * @param task Tarea afectada
+     */
+    public void appendTask(DomainEventType type, Task task) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            store(DomainEvent.ofTask(size, type, task));
+        }
+        notifyListeners();
+    }
+
+    /**
+     * Anexa el mismo tipo de evento para un bloque de tareas, por ejemplo las de
+     * una importación. Se toma el bloqueo y se avisa a los lectores una vez por
+     * segmento en lugar de una vez por tarea.
+     *
+     * @param type Tipo de evento
+     * @param tasks Tareas afectadas, en el orden en que se anexan
+     */
+    public void appendTasks(DomainEventType type, List<Task> tasks) {
+        if (!enabled) {
+            return;
+        }
+        for (int from = 0; from < tasks.size(); from += SEGMENT_SIZE) {
+            int to = Math.min(from + SEGMENT_SIZE, tasks.size());
+            synchronized (this) {
+                long position = size;
+                for (int i = from; i < to; i++) {
+                    place(DomainEvent.ofTask(position++, type, tasks.get(i)));
+                }
+                size = position;
+            }
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Anexa un evento de lista con el estado actual de la lista.
+     *
+     * @param type Tipo de evento
+     * @param taskList Lista afectada
+     */
+    public void appendTaskList(DomainEventType type, TaskList taskList) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            store(DomainEvent.ofTaskList(size, type, taskList));
+        }
+        notifyListeners();
+    }
+
+    /**
+     * Obtiene el evento de una posición del registro.
+     *
+     * @param position Posición (menor que {@link #size()})
+     * @return Evento, o null si el registro se vació desde que se leyó el tamaño
+     */
+    public DomainEvent get(long position) {
+        DomainEvent[][] current = segments;
+        int segment = (int) (position >>> SEGMENT_BITS);
+        if (position >= size || segment >= current.length || current[segment] == null) {
+            return null;
+        }
+        return current[segment][(int) (position & SEGMENT_MASK)];
+    }
+
+    /**
+     * Obtiene el número de eventos publicados.
+     *
+     * @return Tamaño del registro
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Vacía el registro. Las proyecciones deben reconstruirse a continuación.
+     */
+    public synchronized void clear() {
+        segments = new DomainEvent[16][];
+        size = 0;
+    }
+
+    /**
+     * Registra una acción que se ejecuta tras cada anexado, en el hilo que anexa.
+     * Debe ser inmediata (por ejemplo, despertar un hilo lector).
+     *
+     * @param listener Acción a ejecutar
+     */
+    public synchronized void addListener(Runnable listener) {
+        Runnable[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    private void store(DomainEvent event) {
+        place(event);
+        size = event.getSequence() + 1;
+    }
+
+    /**
+     * Coloca un evento en su posición sin publicarlo todavía en {@link #size}.
+     */
+    private void place(DomainEvent event) {
+        long position = event.getSequence();
+        int segment = (int) (position >>> SEGMENT_BITS);
+        DomainEvent[][] current = segments;
+        if (segment >= current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[segment] == null) {
+            current[segment] = new DomainEvent[SEGMENT_SIZE];
+        }
+        current[segment][(int) (position & SEGMENT_MASK)] = event;
+        segments = current;
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.todoapp.eventsourcing;
+
+/**
+ * Vista de lectura construida exclusivamente a partir del {@link EventStore}.
+ * Cada proyección se alimenta en su propio hilo, en orden de registro, así
+ * que {@link #apply(DomainEvent)} y {@link #reset()} nunca se ejecutan en
+ * paralelo consigo mismas; las lecturas desde peticiones sí pueden ser
+ * concurrentes y la proyección debe publicar su estado de forma segura.
+ *
+ * Añadir una vista nueva consiste en declarar un bean que implemente esta
+ * interfaz: no requiere cambios en el camino de escritura.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public interface Projection {
+
+    /**
+     * Obtiene el nombre de la proyección (también el de su hilo).
+     *
+     * @return Nombre de la proyección
+     */
+    String getName();
+
+    /**
+     * Descarta todo el estado antes de una reconstrucción.
+     */
+    void reset();
+
+    /**
+     * Aplica un evento al estado de la proyección.
+     *
+     * @param event Evento del registro
+     */
+    void apply(DomainEvent event);
+}
@@ -0,0 +1,55 @@
+package com.todoapp.eventsourcing;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proyección con el historial completo de cada tarea: todos sus estados,
+ * incluidos los intermedios y la baja, en orden de registro. Cada historial
+ * es un arreglo que se reemplaza entero al añadir un evento, así que las
+ * lecturas concurrentes siempre ven una copia completa y sin bloqueos.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class TaskHistoryProjection implements Projection {
+
+    private final Map<Long, DomainEvent[]> historyByTask = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return "task-history";
+    }
+
+    @Override
+    public void reset() {
+        historyByTask.clear();
+    }
+
+    @Override
+    public void apply(DomainEvent event) {
+        if (event.getTaskId() != null) {
+            historyByTask.merge(event.getTaskId(), new DomainEvent[] {event}, (previous, added) -> {
+                DomainEvent[] history = Arrays.copyOf(previous, previous.length + 1);
+                history[previous.length] = event;
+                return history;
+            });
+        }
+    }
+
+    /**
+     * Obtiene el historial de una tarea, incluso si ya fue eliminada.
+     *
+     * @param taskId ID de la tarea
+     * @return Eventos de la tarea en orden (vacío si no hay registro)
+     */
+    public List<DomainEvent> getHistory(Long taskId) {
+        DomainEvent[] history = historyByTask.get(taskId);
+        return history != null ? List.of(history) : List.of();
+    }
+}
@@ -0,0 +1,32 @@
+// ServiceOverloadedException.java
+package com.todoapp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando un recurso acotado del servidor está saturado
+ * Retorna HTTP 503 Service Unavailable con cabecera Retry-After
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException {
+    
+    private long retryAfterSeconds = 1;
+    
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+    
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public ServiceOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
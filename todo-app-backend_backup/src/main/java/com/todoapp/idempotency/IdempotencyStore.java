@@ -0,0 +1,274 @@
+package com.todoapp.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.exception.BusinessLogicException;
+import com.todoapp.exception.InvalidDataException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Tabla de deduplicación para las altas con cabecera {@code Idempotency-Key}.
+ * La primera petición con una clave registra una respuesta futura y ejecuta
+ * el alta; los reintentos con la misma clave y el mismo cuerpo reciben esa
+ * misma respuesta, marcada con {@code Idempotent-Replayed: true}, sin volver
+ * a crear nada. Si el reintento llega mientras el alta original sigue en
+ * curso, espera su resultado en lugar de ejecutarla otra vez. Las altas que
+ * responden de forma asíncrona usan {@link #executeAsync}, cuyos reintentos
+ * reciben el futuro de la original sin bloquear el hilo de la petición.
+ *
+ * Solo se guardan las respuestas correctas: si el alta falla, la clave se
+ * libera y el cliente puede reintentar. Reutilizar una clave con otro cuerpo
+ * es un error del cliente (422); para detectarlo se compara el SHA-256 del
+ * cuerpo serializado, de modo que dos cuerpos distintos no pueden pasar por
+ * el mismo.
+ *
+ * Las claves caducan a las {@link #TTL_HOURS} horas y la tabla guarda como
+ * mucho {@link #MAX_ENTRIES}; como todas viven lo mismo, se descartan en
+ * orden de llegada.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class IdempotencyStore {
+
+    /**
+     * Cabecera con la clave de idempotencia.
+     */
+    public static final String HEADER = "Idempotency-Key";
+
+    /**
+     * Cabecera que marca una respuesta repetida.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Horas durante las que se recuerda una clave.
+     */
+    public static final long TTL_HOURS = 24;
+
+    /**
+     * Número máximo de claves recordadas.
+     */
+    public static final int MAX_ENTRIES = 10_000;
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long TTL = TimeUnit.HOURS.toNanos(TTL_HOURS);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> arrivals = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Ejecuta un alta una sola vez por clave.
+     *
+     * @param scope Operación y recurso padre (por ejemplo, la lista y el usuario de la tarea)
+     * @param key Valor de la cabecera {@value #HEADER}; sin clave el alta se ejecuta sin más
+     * @param body Cuerpo de la petición, para detectar claves reutilizadas con otros datos
+     * @param action Alta
+     * @param <T> Tipo del cuerpo de la respuesta
+     * @return Respuesta del alta, original o repetida
+     * @throws InvalidDataException si la clave está vacía o es demasiado larga
+     * @throws BusinessLogicException si la clave ya se usó con otro cuerpo
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String key, Object body, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        Entry entry = newEntry(scope, key, body);
+        Entry current = claim(entry, key);
+        if (current != null) {
+            return (ResponseEntity<T>) replay(await(current.response));
+        }
+        try {
+            ResponseEntity<T> response = action.get();
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            release(entry, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Ejecuta una sola vez por clave un alta que responde de forma asíncrona.
+     * Un reintento mientras el alta original sigue en curso recibe un futuro
+     * que se completa con la respuesta original, sin esperar en su hilo.
+     *
+     * @param scope Operación y recurso padre
+     * @param key Valor de la cabecera {@value #HEADER}; sin clave el alta se ejecuta sin más
+     * @param body Cuerpo de la petición, para detectar claves reutilizadas con otros datos
+     * @param action Alta
+     * @param <T> Tipo del cuerpo de la respuesta
+     * @return Respuesta del alta, original o repetida, futura
+     * @throws InvalidDataException si la clave está vacía o es demasiado larga
+     * @throws BusinessLogicException si la clave ya se usó con otro cuerpo
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<ResponseEntity<T>> executeAsync(String scope, String key, Object body,
+                                                                 Supplier<CompletableFuture<ResponseEntity<T>>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        Entry entry = newEntry(scope, key, body);
+        Entry current = claim(entry, key);
+        if (current != null) {
+            return current.response.thenApply(response -> (ResponseEntity<T>) replay(response));
+        }
+        CompletableFuture<ResponseEntity<T>> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            release(entry, e);
+            throw e;
+        }
+        return response.whenComplete((result, error) -> {
+            if (error != null) {
+                release(entry, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else {
+                entry.response.complete(result);
+            }
+        });
+    }
+
+    /**
+     * Olvida todas las claves. Se usa cuando el almacenamiento se reinicia por
+     * completo, ya que los IDs de las respuestas guardadas se reutilizan.
+     */
+    public void clear() {
+        Entry evicted;
+        while ((evicted = arrivals.poll()) != null) {
+            queued.decrementAndGet();
+            entries.remove(evicted.key, evicted);
+        }
+        entries.clear();
+    }
+
+    private Entry newEntry(String scope, String key, Object body) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidDataException(HEADER, key, "debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+        }
+        return new Entry(scope + ' ' + key, fingerprint(body), System.nanoTime());
+    }
+
+    /**
+     * Registra la clave de un alta nueva.
+     *
+     * @return null si la clave queda registrada para esta alta; si no, la entrada del alta original
+     * @throws BusinessLogicException si la clave ya se usó con otro cuerpo
+     */
+    private Entry claim(Entry entry, String key) {
+        long now = entry.createdAt;
+        evict(now);
+        Entry current = entries.putIfAbsent(entry.key, entry);
+        if (current != null && current.isExpired(now)) {
+            entries.remove(current.key, current);
+            current = entries.putIfAbsent(entry.key, entry);
+        }
+        if (current != null) {
+            if (!MessageDigest.isEqual(current.fingerprint, entry.fingerprint)) {
+                throw new BusinessLogicException("idempotencia", "clave-reutilizada",
+                        "La clave " + key + " ya se usó con otros datos");
+            }
+            return current;
+        }
+        arrivals.add(entry);
+        queued.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Libera la clave de un alta fallida; los reintentos que la esperaban reciben el mismo error.
+     */
+    private void release(Entry entry, Throwable error) {
+        entries.remove(entry.key, entry);
+        entry.response.completeExceptionally(error);
+    }
+
+    /**
+     * Descarta las claves caducadas y, si hay demasiadas, las más antiguas.
+     */
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = arrivals.peek()) != null && (oldest.isExpired(now) || queued.get() >= MAX_ENTRIES)) {
+            // Con otro hilo descartando a la vez puede salir una posterior a la comprobada
+            Entry evicted = arrivals.poll();
+            if (evicted == null) {
+                break;
+            }
+            queued.decrementAndGet();
+            entries.remove(evicted.key, evicted);
+        }
+    }
+
+    private byte[] fingerprint(Object body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar el cuerpo de la petición", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static ResponseEntity<?> replay(ResponseEntity<?> original) {
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    /**
+     * Espera la respuesta del alta original; si falló, el reintento recibe el mismo error.
+     */
+    private static ResponseEntity<?> await(CompletableFuture<ResponseEntity<?>> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final byte[] fingerprint;
+        private final long createdAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(String key, byte[] fingerprint, long createdAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - createdAt >= TTL;
+        }
+    }
+}
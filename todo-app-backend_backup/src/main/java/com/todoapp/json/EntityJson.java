@@ -0,0 +1,214 @@
+package com.todoapp.json;
+
+import com.todoapp.entity.RecurrenceRule;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Escritura directa de tareas, listas y usuarios desde las entidades.
+ * Produce exactamente el mismo JSON que Jackson con los DTO de respuesta de
+ * los controladores ({@code TaskResponse}, {@code TaskListResponse} y
+ * {@code UserResponse}): mismos campos, mismo orden y campos nulos omitidos.
+ * Un campo nuevo en esos DTO debe añadirse también aquí. Los esquemas de
+ * campos sirven además para las respuestas parciales con {@code fields=}.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class EntityJson {
+
+    private static final byte[] FREQUENCY = JsonWriter.field("frequency", true);
+    private static final byte[] INTERVAL = JsonWriter.field("interval", false);
+    private static final byte[] DAYS_OF_WEEK = JsonWriter.field("daysOfWeek", false);
+    private static final byte[] DAY_OF_MONTH = JsonWriter.field("dayOfMonth", false);
+    private static final byte[] UNTIL = JsonWriter.field("until", false);
+
+    /**
+     * Campos de {@code TaskResponse}.
+     */
+    public static final JsonProjection.Schema<Task> TASK_FIELDS = new JsonProjection.Schema<Task>()
+            .field("id", (writer, task, name) -> writeLong(writer, name, task.getId()))
+            .field("title", (writer, task, name) -> writeString(writer, name, task.getTitle()))
+            .field("description", (writer, task, name) -> writeString(writer, name, task.getDescription()))
+            .field("completed", (writer, task, name) -> writeBoolean(writer, name, task.getCompleted()))
+            .field("priority", (writer, task, name) ->
+                    writeString(writer, name, task.getPriority() != null ? task.getPriority().name() : null))
+            .field("dueDate", (writer, task, name) -> writeDateTime(writer, name, task.getDueDate()))
+            .field("createdAt", (writer, task, name) -> writeDateTime(writer, name, task.getCreatedAt()))
+            .field("isImportant", (writer, task, name) -> writeBoolean(writer, name, task.getIsImportant()))
+            .field("recurrence", (writer, task, name) -> {
+                if (task.getRecurrence() == null) {
+                    return false;
+                }
+                writer.writeRaw(name);
+                writeRecurrence(writer, task.getRecurrence());
+                return true;
+            })
+            .field("tags", (writer, task, name) -> {
+                if (task.getTags() == null) {
+                    return false;
+                }
+                writer.writeRaw(name);
+                writeStrings(writer, task.getTags());
+                return true;
+            })
+            .field("myDay", (writer, task, name) -> {
+                if (task.getMyDay() == null) {
+                    return false;
+                }
+                writer.writeRaw(name);
+                writer.writeDate(task.getMyDay());
+                return true;
+            })
+            .field("taskListId", (writer, task, name) -> writeLong(writer, name, task.getTaskList().getId()))
+            .field("taskListName", (writer, task, name) -> writeString(writer, name, task.getTaskList().getName()));
+
+    /**
+     * Campos de {@code TaskListResponse}.
+     */
+    public static final JsonProjection.Schema<TaskList> TASK_LIST_FIELDS = new JsonProjection.Schema<TaskList>()
+            .field("id", (writer, taskList, name) -> writeLong(writer, name, taskList.getId()))
+            .field("name", (writer, taskList, name) -> writeString(writer, name, taskList.getName()))
+            .field("description", (writer, taskList, name) -> writeString(writer, name, taskList.getDescription()))
+            .field("color", (writer, taskList, name) -> writeString(writer, name, taskList.getColor()))
+            .field("createdAt", (writer, taskList, name) -> writeDateTimeText(writer, name, taskList.getCreatedAt()))
+            .field("userId", (writer, taskList, name) -> writeLong(writer, name, taskList.getUser().getId()))
+            .field("userName", (writer, taskList, name) -> writeString(writer, name, taskList.getUser().getName()));
+
+    /**
+     * Campos de {@code UserResponse}.
+     */
+    public static final JsonProjection.Schema<User> USER_FIELDS = new JsonProjection.Schema<User>()
+            .field("id", (writer, user, name) -> writeLong(writer, name, user.getId()))
+            .field("email", (writer, user, name) -> writeString(writer, name, user.getEmail()))
+            .field("name", (writer, user, name) -> writeString(writer, name, user.getName()))
+            .field("createdAt", (writer, user, name) -> writeDateTimeText(writer, name, user.getCreatedAt()));
+
+    private EntityJson() {
+    }
+
+    /**
+     * Escribe una tarea como {@code TaskResponse}.
+     *
+     * @param writer Escritor
+     * @param task Tarea
+     * @throws IOException si falla la escritura
+     */
+    public static void writeTask(JsonWriter writer, Task task) throws IOException {
+        TASK_FIELDS.all().write(writer, task);
+    }
+
+    /**
+     * Escribe una lista de tareas como {@code TaskListResponse}.
+     *
+     * @param writer Escritor
+     * @param taskList Lista de tareas
+     * @throws IOException si falla la escritura
+     */
+    public static void writeTaskList(JsonWriter writer, TaskList taskList) throws IOException {
+        TASK_LIST_FIELDS.all().write(writer, taskList);
+    }
+
+    /**
+     * Escribe un usuario como {@code UserResponse}.
+     *
+     * @param writer Escritor
+     * @param user Usuario
+     * @throws IOException si falla la escritura
+     */
+    public static void writeUser(JsonWriter writer, User user) throws IOException {
+        USER_FIELDS.all().write(writer, user);
+    }
+
+    private static void writeRecurrence(JsonWriter writer, RecurrenceRule rule) throws IOException {
+        writer.writeByte('{');
+        writer.writeRaw(FREQUENCY);
+        writer.writeString(rule.getFrequency().name());
+        writer.writeRaw(INTERVAL);
+        writer.writeLong(rule.getInterval());
+        if (rule.getDaysOfWeek() != null) {
+            writer.writeRaw(DAYS_OF_WEEK);
+            writer.writeByte('[');
+            boolean first = true;
+            for (DayOfWeek day : rule.getDaysOfWeek()) {
+                if (!first) {
+                    writer.writeByte(',');
+                }
+                writer.writeString(day.name());
+                first = false;
+            }
+            writer.writeByte(']');
+        }
+        if (rule.getDayOfMonth() != null) {
+            writer.writeRaw(DAY_OF_MONTH);
+            writer.writeLong(rule.getDayOfMonth());
+        }
+        if (rule.getUntil() != null) {
+            writer.writeRaw(UNTIL);
+            writer.writeDate(rule.getUntil());
+        }
+        writer.writeByte('}');
+    }
+
+    private static void writeStrings(JsonWriter writer, List<String> values) throws IOException {
+        writer.writeByte('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.writeByte(',');
+            }
+            writer.writeString(values.get(i));
+        }
+        writer.writeByte(']');
+    }
+
+    private static boolean writeString(JsonWriter writer, byte[] name, String value) throws IOException {
+        if (value == null) {
+            return false;
+        }
+        writer.writeRaw(name);
+        writer.writeString(value);
+        return true;
+    }
+
+    private static boolean writeLong(JsonWriter writer, byte[] name, Long value) throws IOException {
+        if (value == null) {
+            return false;
+        }
+        writer.writeRaw(name);
+        writer.writeLong(value);
+        return true;
+    }
+
+    private static boolean writeBoolean(JsonWriter writer, byte[] name, Boolean value) throws IOException {
+        if (value == null) {
+            return false;
+        }
+        writer.writeRaw(name);
+        writer.writeBoolean(value);
+        return true;
+    }
+
+    private static boolean writeDateTime(JsonWriter writer, byte[] name, LocalDateTime value) throws IOException {
+        if (value == null) {
+            return false;
+        }
+        writer.writeRaw(name);
+        writer.writeDateTime(value);
+        return true;
+    }
+
+    private static boolean writeDateTimeText(JsonWriter writer, byte[] name, LocalDateTime value) throws IOException {
+        if (value == null) {
+            return false;
+        }
+        writer.writeRaw(name);
+        writer.writeDateTimeText(value);
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+package com.todoapp.json;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Cuerpo de respuesta que se escribe directamente con un {@link JsonWriter}
+ * en lugar de pasar por Jackson. Los controladores lo devuelven dentro de un
+ * {@code ResponseEntity} y {@link JsonBodyHttpMessageConverter} lo vuelca en
+ * la respuesta con el escritor reutilizable del hilo.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface JsonBody {
+
+    /**
+     * Escribe el cuerpo.
+     *
+     * @param writer Escritor abierto sobre la respuesta
+     * @throws IOException si falla la escritura
+     */
+    void writeTo(JsonWriter writer) throws IOException;
+
+    /**
+     * Longitud del cuerpo si se conoce de antemano.
+     *
+     * @return Número de bytes, o -1 si no se conoce (se envía por bloques)
+     */
+    default long contentLength() {
+        return -1;
+    }
+
+    /**
+     * Escritura de un elemento de un array.
+     *
+     * @param <T> Tipo de los elementos
+     */
+    @FunctionalInterface
+    interface ItemWriter<T> {
+        void write(JsonWriter writer, T item) throws IOException;
+    }
+
+    /**
+     * Crea un array JSON que escribe cada elemento al volcarse.
+     *
+     * @param items Elementos en el orden de la respuesta
+     * @param itemWriter Escritura de cada elemento
+     * @param <T> Tipo de los elementos
+     * @return Cuerpo del array
+     */
+    static <T> JsonBody array(List<T> items, ItemWriter<? super T> itemWriter) {
+        return writer -> {
+            writer.writeByte('[');
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    writer.writeByte(',');
+                }
+                itemWriter.write(writer, items.get(i));
+            }
+            writer.writeByte(']');
+        };
+    }
+
+    /**
+     * Crea un cuerpo con bytes ya codificados (JSON o su versión comprimida).
+     *
+     * @param bytes Bytes del cuerpo
+     * @return Cuerpo de longitud conocida
+     */
+    static JsonBody of(byte[] bytes) {
+        return new JsonBody() {
+            @Override
+            public void writeTo(JsonWriter writer) throws IOException {
+                writer.writeRaw(bytes);
+            }
+
+            @Override
+            public long contentLength() {
+                return bytes.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.todoapp.json;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Conversor que vuelca un {@link JsonBody} en la respuesta.
+ * Cada hilo reutiliza su propio {@link JsonWriter}, así que escribir una
+ * respuesta no reserva memoria en función del número de elementos. Spring
+ * Boot registra este conversor por ser un bean.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class JsonBodyHttpMessageConverter extends AbstractHttpMessageConverter<JsonBody> {
+
+    private static final ThreadLocal<JsonWriter> WRITERS = ThreadLocal.withInitial(JsonWriter::new);
+
+    public JsonBodyHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonBody readInternal(Class<? extends JsonBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("JsonBody solo se usa en respuestas", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(JsonBody body, MediaType contentType) {
+        long length = body.contentLength();
+        return length >= 0 ? length : null;
+    }
+
+    @Override
+    protected void writeInternal(JsonBody body, HttpOutputMessage outputMessage) throws IOException {
+        JsonWriter writer = WRITERS.get();
+        writer.open(outputMessage.getBody());
+        try {
+            body.writeTo(writer);
+        } finally {
+            writer.close();
+        }
+    }
+}
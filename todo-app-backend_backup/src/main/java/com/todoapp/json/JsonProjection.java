@@ -0,0 +1,160 @@
+package com.todoapp.json;
+
+import com.todoapp.exception.InvalidDataException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Escritura de un objeto JSON con solo algunos de sus campos.
+ * Un {@link Schema} describe todos los campos de un tipo de respuesta, en el
+ * orden del DTO; {@link Schema#compile(String)} traduce un parámetro
+ * {@code fields=id,title} a una proyección con solo las funciones de esos
+ * campos, de modo que al escribir no se lee ni se serializa nada más. Cada
+ * combinación distinta se compila una sola vez y se reutiliza.
+ *
+ * @param <T> Tipo de la entidad
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class JsonProjection<T> {
+
+    private final Field<T>[] fields;
+
+    private JsonProjection(Field<T>[] fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Escribe el objeto con los campos de la proyección; los campos nulos se omiten.
+     *
+     * @param writer Escritor
+     * @param item Entidad
+     * @throws IOException si falla la escritura
+     */
+    public void write(JsonWriter writer, T item) throws IOException {
+        writer.writeByte('{');
+        boolean first = true;
+        for (Field<T> field : fields) {
+            if (field.writer.write(writer, item, first ? field.firstName : field.name)) {
+                first = false;
+            }
+        }
+        writer.writeByte('}');
+    }
+
+    /**
+     * Escritura de un campo: si el valor no es nulo, escribe el nombre recibido y el valor.
+     *
+     * @param <T> Tipo de la entidad
+     */
+    @FunctionalInterface
+    public interface FieldWriter<T> {
+        boolean write(JsonWriter writer, T item, byte[] name) throws IOException;
+    }
+
+    private static final class Field<T> {
+        private final byte[] firstName;
+        private final byte[] name;
+        private final FieldWriter<T> writer;
+
+        private Field(String name, FieldWriter<T> writer) {
+            this.firstName = JsonWriter.field(name, true);
+            this.name = JsonWriter.field(name, false);
+            this.writer = writer;
+        }
+    }
+
+    /**
+     * Campos disponibles de un tipo de respuesta y proyecciones ya compiladas.
+     *
+     * @param <T> Tipo de la entidad
+     */
+    public static final class Schema<T> {
+
+        /**
+         * Límite de combinaciones guardadas; las siguientes se compilan en cada petición.
+         */
+        private static final int MAX_CACHED = 256;
+
+        private final Map<String, Field<T>> fields = new LinkedHashMap<>();
+        private final Map<String, JsonProjection<T>> compiled = new ConcurrentHashMap<>();
+        private JsonProjection<T> all;
+
+        /**
+         * Añade un campo al final del esquema.
+         *
+         * @param name Nombre del campo en el JSON
+         * @param writer Escritura del campo
+         * @return Este esquema
+         */
+        public Schema<T> field(String name, FieldWriter<T> writer) {
+            fields.put(name, new Field<>(name, writer));
+            all = null;
+            return this;
+        }
+
+        /**
+         * Proyección con todos los campos, equivalente al DTO completo.
+         *
+         * @return Proyección completa
+         */
+        public JsonProjection<T> all() {
+            JsonProjection<T> projection = all;
+            if (projection == null) {
+                projection = toProjection(new ArrayList<>(fields.values()));
+                all = projection;
+            }
+            return projection;
+        }
+
+        /**
+         * Compila un parámetro {@code fields}. Los campos se escriben en el orden
+         * del DTO, no en el de la petición, y los repetidos cuentan una vez.
+         *
+         * @param spec Nombres de campo separados por comas
+         * @return Proyección, o null si no se pidió ningún campo (respuesta completa)
+         * @throws InvalidDataException si algún nombre no es un campo del tipo
+         */
+        public JsonProjection<T> compile(String spec) {
+            if (spec == null || spec.isBlank()) {
+                return null;
+            }
+            JsonProjection<T> projection = compiled.get(spec);
+            if (projection != null) {
+                return projection;
+            }
+            List<String> requested = new ArrayList<>();
+            for (String name : spec.split(",")) {
+                String trimmed = name.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                if (!fields.containsKey(trimmed)) {
+                    throw new InvalidDataException("fields", trimmed, "los campos disponibles son " + String.join(", ", fields.keySet()));
+                }
+                requested.add(trimmed);
+            }
+            List<Field<T>> selected = new ArrayList<>();
+            fields.forEach((name, field) -> {
+                if (requested.contains(name)) {
+                    selected.add(field);
+                }
+            });
+            projection = toProjection(selected);
+            if (compiled.size() < MAX_CACHED) {
+                compiled.putIfAbsent(spec, projection);
+            }
+            return projection;
+        }
+
+        @SuppressWarnings("unchecked")
+        private JsonProjection<T> toProjection(List<Field<T>> selected) {
+            return new JsonProjection<>((Field<T>[]) selected.toArray(new Field<?>[0]));
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.todoapp.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Escritor de JSON en UTF-8 sobre un buffer de bytes reutilizable.
+ * Con un destino abierto ({@link #open(OutputStream)}) vuelca el buffer cada
+ * vez que se llena, de modo que escribir una respuesta de cualquier tamaño no
+ * reserva memoria; sin destino, el buffer crece y su contenido se obtiene con
+ * {@link #toByteArray()}.
+ *
+ * Los nombres de campo se codifican una sola vez con {@link #field(String, boolean)}
+ * y los valores (números, fechas, cadenas) se escriben directamente como
+ * bytes, con el mismo formato que la configuración de Jackson de la
+ * aplicación. Una instancia no es thread-safe: se usa una por hilo.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class JsonWriter {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int STRING_CHUNK = 1024;
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private OutputStream sink;
+
+    /**
+     * Codifica un nombre de campo listo para escribir con {@link #writeRaw(byte[])}.
+     *
+     * @param name Nombre del campo
+     * @param first true si es el primer campo del objeto (sin coma delante)
+     * @return Bytes de {@code ,"name":} o de {@code "name":}
+     */
+    public static byte[] field(String name, boolean first) {
+        return ((first ? "\"" : ",\"") + name + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Empieza a escribir hacia un destino, volcando el buffer cuando se llena.
+     *
+     * @param out Destino de los bytes
+     */
+    public void open(OutputStream out) {
+        this.sink = out;
+        this.position = 0;
+    }
+
+    /**
+     * Vuelca lo pendiente y suelta el destino.
+     *
+     * @throws IOException si falla la escritura en el destino
+     */
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Descarta el contenido para empezar a escribir en memoria. Si el buffer
+     * creció para algún contenido muy largo, vuelve a su tamaño inicial.
+     */
+    public void reset() {
+        sink = null;
+        position = 0;
+        if (buffer.length > BUFFER_SIZE * 4) {
+            buffer = new byte[BUFFER_SIZE];
+        }
+    }
+
+    /**
+     * Copia el contenido escrito en memoria.
+     *
+     * @return Bytes escritos desde el último {@link #reset()}
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public void writeRaw(byte[] bytes) throws IOException {
+        if (sink != null && bytes.length > buffer.length / 2) {
+            drain();
+            sink.write(bytes);
+            return;
+        }
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public void writeByte(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        writeRaw(value ? TRUE : FALSE);
+    }
+
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    /**
+     * Escribe una cadena entre comillas con los mismos escapes que Jackson.
+     *
+     * @param value Cadena
+     * @throws IOException si falla la escritura en el destino
+     */
+    public void writeString(String value) throws IOException {
+        writeByte('"');
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            int end = Math.min(length, i + STRING_CHUNK);
+            // Peor caso: 6 bytes por carácter escapado
+            ensure((end - i) * 6);
+            byte[] buf = buffer;
+            int pos = position;
+            while (i < end) {
+                char c = value.charAt(i++);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        buf[pos++] = (byte) c;
+                    } else {
+                        pos = escape(buf, pos, c);
+                    }
+                } else if (c < 0x800) {
+                    buf[pos++] = (byte) (0xC0 | (c >> 6));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Como Jackson: los caracteres fuera del BMP se escriben como dos escapes
+                    pos = escapeUnicode(buf, pos, c);
+                } else {
+                    buf[pos++] = (byte) (0xE0 | (c >> 12));
+                    buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            position = pos;
+        }
+        writeByte('"');
+    }
+
+    /**
+     * Escribe una fecha y hora como Jackson ({@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}):
+     * siempre con segundos y con la fracción mínima.
+     *
+     * @param value Fecha y hora
+     * @throws IOException si falla la escritura en el destino
+     */
+    public void writeDateTime(LocalDateTime value) throws IOException {
+        if (!hasFourDigitYear(value.getYear())) {
+            writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        ensure(32);
+        buffer[position++] = '"';
+        writeDateTimeDigits(value, true);
+        int nano = value.getNano();
+        if (nano > 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            writeDigits(nano, digits);
+        }
+        buffer[position++] = '"';
+    }
+
+    /**
+     * Escribe una fecha y hora en el formato de {@link LocalDateTime#toString()}:
+     * sin segundos si son cero y con la fracción en grupos de tres cifras.
+     *
+     * @param value Fecha y hora
+     * @throws IOException si falla la escritura en el destino
+     */
+    public void writeDateTimeText(LocalDateTime value) throws IOException {
+        if (!hasFourDigitYear(value.getYear())) {
+            writeString(value.toString());
+            return;
+        }
+        ensure(32);
+        buffer[position++] = '"';
+        int nano = value.getNano();
+        writeDateTimeDigits(value, value.getSecond() > 0 || nano > 0);
+        if (nano > 0) {
+            buffer[position++] = '.';
+            if (nano % 1_000_000 == 0) {
+                writeDigits(nano / 1_000_000, 3);
+            } else if (nano % 1000 == 0) {
+                writeDigits(nano / 1000, 6);
+            } else {
+                writeDigits(nano, 9);
+            }
+        }
+        buffer[position++] = '"';
+    }
+
+    /**
+     * Escribe una fecha como Jackson ({@link DateTimeFormatter#ISO_LOCAL_DATE}).
+     *
+     * @param value Fecha
+     * @throws IOException si falla la escritura en el destino
+     */
+    public void writeDate(LocalDate value) throws IOException {
+        if (!hasFourDigitYear(value.getYear())) {
+            writeString(value.toString());
+            return;
+        }
+        ensure(12);
+        buffer[position++] = '"';
+        writeDateDigits(value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+        buffer[position++] = '"';
+    }
+
+    private void writeDateTimeDigits(LocalDateTime value, boolean seconds) {
+        writeDateDigits(value.getYear(), value.getMonthValue(), value.getDayOfMonth());
+        buffer[position++] = 'T';
+        writeDigits(value.getHour(), 2);
+        buffer[position++] = ':';
+        writeDigits(value.getMinute(), 2);
+        if (seconds) {
+            buffer[position++] = ':';
+            writeDigits(value.getSecond(), 2);
+        }
+    }
+
+    private void writeDateDigits(int year, int month, int day) {
+        writeDigits(year, 4);
+        buffer[position++] = '-';
+        writeDigits(month, 2);
+        buffer[position++] = '-';
+        writeDigits(day, 2);
+    }
+
+    private void writeDigits(int value, int digits) {
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private static boolean hasFourDigitYear(int year) {
+        return year >= 0 && year <= 9999;
+    }
+
+    private static int escape(byte[] buf, int pos, char c) {
+        buf[pos++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buf[pos++] = (byte) c;
+                return pos;
+            case '\b':
+                buf[pos++] = 'b';
+                return pos;
+            case '\f':
+                buf[pos++] = 'f';
+                return pos;
+            case '\n':
+                buf[pos++] = 'n';
+                return pos;
+            case '\r':
+                buf[pos++] = 'r';
+                return pos;
+            case '\t':
+                buf[pos++] = 't';
+                return pos;
+            default:
+                return escapeUnicode(buf, pos - 1, c);
+        }
+    }
+
+    private static int escapeUnicode(byte[] buf, int pos, char c) {
+        buf[pos++] = '\\';
+        buf[pos++] = 'u';
+        buf[pos++] = HEX[c >> 12];
+        buf[pos++] = HEX[(c >> 8) & 0xF];
+        buf[pos++] = HEX[(c >> 4) & 0xF];
+        buf[pos++] = HEX[c & 0xF];
+        return pos;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (position + length <= buffer.length) {
+            return;
+        }
+        if (sink != null) {
+            drain();
+            if (length <= buffer.length) {
+                return;
+            }
+        }
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+    }
+
+    private void drain() throws IOException {
+        if (sink != null && position > 0) {
+            sink.write(buffer, 0, position);
+        }
+        position = 0;
+    }
+}
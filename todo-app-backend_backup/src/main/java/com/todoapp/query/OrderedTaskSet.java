@@ -0,0 +1,98 @@
+package com.todoapp.query;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conjunto concurrente de tareas mantenido en el orden de {@link TaskKey}.
+ * Permite recorrer las tareas ya ordenadas y reanudar el recorrido desde
+ * cualquier clave sin materializar ni ordenar el resultado completo.
+ * Lleva un contador propio porque el tamaño de un skip list es O(n).
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class OrderedTaskSet {
+
+    private final ConcurrentSkipListSet<TaskKey> keys = new ConcurrentSkipListSet<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    void add(TaskKey key) {
+        if (keys.add(key)) {
+            size.incrementAndGet();
+        }
+    }
+
+    void remove(TaskKey key) {
+        if (keys.remove(key)) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Obtiene el número de tareas del conjunto en O(1).
+     *
+     * @return Número de tareas
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    /**
+     * Obtiene las claves en orden, empezando justo después de la clave dada.
+     *
+     * @param after Última clave ya entregada, o null para empezar desde el principio
+     * @return Vista ordenada de las claves restantes
+     */
+    public NavigableSet<TaskKey> keysAfter(TaskKey after) {
+        return after == null ? keys : keys.tailSet(after, false);
+    }
+
+    /**
+     * Obtiene una vista de los IDs de tareas en orden.
+     *
+     * @return Colección (vista) de IDs de tareas
+     */
+    public Collection<Long> ids() {
+        return idView(keys);
+    }
+
+    /**
+     * Obtiene una vista de los IDs de tareas en orden inverso
+     * (fecha de creación ascendente).
+     *
+     * @return Colección (vista) de IDs de tareas
+     */
+    public Collection<Long> reversedIds() {
+        return idView(keys.descendingSet());
+    }
+
+    private Collection<Long> idView(NavigableSet<TaskKey> view) {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Long> iterator() {
+                Iterator<TaskKey> iterator = view.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() { return iterator.hasNext(); }
+
+                    @Override
+                    public Long next() { return iterator.next().getTaskId(); }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.todoapp.query;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida con paginación por cursor (keyset).
+ * Contiene los elementos de la página y el cursor opaco para pedir la siguiente,
+ * que es null cuando ya no quedan más elementos.
+ *
+ * @param <T> Tipo de los elementos de la página
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class Page<T> {
+
+    /**
+     * Cabecera HTTP en la que se devuelve el cursor de la siguiente página.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Tamaño de página usado cuando se envía un cursor sin límite.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Tamaño máximo de página permitido.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+
+    /**
+     * Indica si hay más elementos después de esta página.
+     *
+     * @return true si existe una página siguiente
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
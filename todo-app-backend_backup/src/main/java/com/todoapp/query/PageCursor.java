@@ -0,0 +1,163 @@
+package com.todoapp.query;
+
+import com.todoapp.exception.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Codificación de los cursores opacos de paginación.
+ * Un cursor guarda la clave de orden y el ID del último elemento entregado,
+ * de modo que la siguiente página se obtiene reanudando el índice ordenado
+ * justo después de esa clave. Los clientes deben tratarlo como un texto opaco.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class PageCursor {
+
+    private static final String TASK_PREFIX = "t|";
+    private static final String ID_PREFIX = "i|";
+    private static final String SMART_PREFIX = "s|";
+    private static final String NO_DATE = "-";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Codifica el cursor de una página de tareas.
+     *
+     * @param key Clave de orden de la última tarea entregada
+     * @return Cursor opaco
+     */
+    public static String encodeTask(TaskKey key) {
+        return encode(TASK_PREFIX + key.getCreatedAt() + "|" + key.getTaskId());
+    }
+
+    /**
+     * Decodifica el cursor de una página de tareas.
+     *
+     * @param cursor Cursor opaco (null para la primera página)
+     * @return Clave de orden desde la que continuar, o null
+     * @throws InvalidDataException si el cursor no es válido
+     */
+    public static TaskKey decodeTask(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = decode(cursor);
+        String[] parts = value.split("\\|");
+        if (!value.startsWith(TASK_PREFIX) || parts.length != 3) {
+            throw invalid(cursor);
+        }
+        try {
+            return new TaskKey(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    /**
+     * Codifica el cursor de una página ordenada por ID.
+     *
+     * @param id ID del último elemento entregado
+     * @return Cursor opaco
+     */
+    public static String encodeId(Long id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    /**
+     * Decodifica el cursor de una página ordenada por ID.
+     *
+     * @param cursor Cursor opaco (null para la primera página)
+     * @return ID desde el que continuar, o null
+     * @throws InvalidDataException si el cursor no es válido
+     */
+    public static Long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = decode(cursor);
+        if (!value.startsWith(ID_PREFIX)) {
+            throw invalid(cursor);
+        }
+        try {
+            return Long.parseLong(value.substring(ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    /**
+     * Codifica el cursor de una página de una lista inteligente.
+     *
+     * @param key Clave de orden de la última tarea entregada
+     * @return Cursor opaco
+     */
+    public static String encodeSmart(SmartListKey key) {
+        String dueDate = key.getDueDate() != null ? key.getDueDate().toString() : NO_DATE;
+        return encode(SMART_PREFIX + dueDate + "|" + key.getPriorityRank() + "|" + key.getTaskId());
+    }
+
+    /**
+     * Decodifica el cursor de una página de una lista inteligente.
+     *
+     * @param cursor Cursor opaco (null para la primera página)
+     * @return Clave de orden desde la que continuar, o null
+     * @throws InvalidDataException si el cursor no es válido
+     */
+    public static SmartListKey decodeSmart(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = decode(cursor);
+        String[] parts = value.split("\\|");
+        if (!value.startsWith(SMART_PREFIX) || parts.length != 4) {
+            throw invalid(cursor);
+        }
+        try {
+            LocalDateTime dueDate = NO_DATE.equals(parts[1]) ? null : LocalDateTime.parse(parts[1]);
+            return new SmartListKey(dueDate, Integer.parseInt(parts[2]), Long.parseLong(parts[3]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    /**
+     * Normaliza el tamaño de página solicitado.
+     * Sin límite ni cursor se devuelve todo el resultado, como antes de la paginación.
+     *
+     * @param limit Límite solicitado (puede ser null)
+     * @param cursor Cursor recibido (puede ser null)
+     * @return Tamaño de página efectivo
+     * @throws InvalidDataException si el límite no es positivo
+     */
+    public static int effectiveLimit(Integer limit, String cursor) {
+        if (limit == null) {
+            return cursor == null || cursor.isBlank() ? Integer.MAX_VALUE : Page.DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new InvalidDataException("limit", limit, "debe ser mayor que cero");
+        }
+        return Math.min(limit, Page.MAX_LIMIT);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static InvalidDataException invalid(String cursor) {
+        return new InvalidDataException("cursor", cursor, "cursor de paginación inválido");
+    }
+}
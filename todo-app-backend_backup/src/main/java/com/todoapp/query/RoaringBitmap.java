@@ -0,0 +1,584 @@
+package com.todoapp.query;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Mapa de bits comprimido de enteros no negativos al estilo Roaring.
+ * El espacio se divide en bloques de 65536 valores según los 16 bits altos;
+ * cada bloque no vacío se guarda como un arreglo ordenado de los 16 bits bajos
+ * si tiene pocos elementos (hasta 4096) o como un mapa de bits de 8 KB si
+ * tiene más. Así un conjunto disperso ocupa unos 2 bytes por elemento y uno
+ * denso, un bit por elemento, y las operaciones AND, OR y AND NOT trabajan
+ * bloque a bloque sin descomprimir.
+ *
+ * No es seguro para uso concurrente: quien lo comparta debe sincronizarlo.
+ * Las operaciones binarias devuelven un mapa nuevo y no modifican los operandos.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class RoaringBitmap {
+
+    /**
+     * Máximo de elementos de un bloque en forma de arreglo; por encima,
+     * el mapa de bits (8 KB) ocupa menos.
+     */
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public RoaringBitmap() {
+        this.keys = new char[4];
+        this.containers = new Container[4];
+    }
+
+    private RoaringBitmap(int capacity) {
+        this.keys = new char[Math.max(capacity, 1)];
+        this.containers = new Container[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Añade un valor.
+     *
+     * @param value Valor no negativo
+     * @return true si el valor no estaba
+     */
+    public boolean add(int value) {
+        char high = (char) (value >>> 16);
+        int index = indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            insertAt(index, high, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) value);
+        return containers[index].cardinality() > before;
+    }
+
+    /**
+     * Quita un valor.
+     *
+     * @param value Valor no negativo
+     * @return true si el valor estaba
+     */
+    public boolean remove(int value) {
+        int index = indexOf((char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        Container updated = container.remove((char) value);
+        if (updated.cardinality() == 0) {
+            removeAt(index);
+        } else {
+            containers[index] = updated;
+        }
+        return updated.cardinality() < before;
+    }
+
+    /**
+     * Indica si el mapa contiene un valor.
+     *
+     * @param value Valor no negativo
+     * @return true si el valor está presente
+     */
+    public boolean contains(int value) {
+        int index = indexOf((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Obtiene el número de valores del mapa.
+     *
+     * @return Cardinalidad
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Recorre los valores en orden ascendente.
+     *
+     * @param action Acción a ejecutar con cada valor
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Obtiene una copia independiente del mapa.
+     *
+     * @return Copia
+     */
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap(size);
+        for (int i = 0; i < size; i++) {
+            copy.keys[i] = keys[i];
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Intersección de dos mapas.
+     *
+     * @param first Primer operando
+     * @param second Segundo operando
+     * @return Valores presentes en ambos
+     */
+    public static RoaringBitmap and(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap(Math.min(first.size, second.size));
+        int i = 0;
+        int j = 0;
+        while (i < first.size && j < second.size) {
+            char a = first.keys[i];
+            char b = second.keys[j];
+            if (a < b) {
+                i++;
+            } else if (a > b) {
+                j++;
+            } else {
+                Container container = first.containers[i].and(second.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.append(a, container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Unión de dos mapas.
+     *
+     * @param first Primer operando
+     * @param second Segundo operando
+     * @return Valores presentes en alguno
+     */
+    public static RoaringBitmap or(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap(first.size + second.size);
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            if (j >= second.size || (i < first.size && first.keys[i] < second.keys[j])) {
+                result.append(first.keys[i], first.containers[i].copy());
+                i++;
+            } else if (i >= first.size || second.keys[j] < first.keys[i]) {
+                result.append(second.keys[j], second.containers[j].copy());
+                j++;
+            } else {
+                result.append(first.keys[i], first.containers[i].or(second.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Diferencia de dos mapas.
+     *
+     * @param first Minuendo
+     * @param second Sustraendo
+     * @return Valores del primero que no están en el segundo
+     */
+    public static RoaringBitmap andNot(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap(first.size);
+        int j = 0;
+        for (int i = 0; i < first.size; i++) {
+            char key = first.keys[i];
+            while (j < second.size && second.keys[j] < key) {
+                j++;
+            }
+            Container container = j < second.size && second.keys[j] == key
+                    ? first.containers[i].andNot(second.containers[j])
+                    : first.containers[i].copy();
+            if (container.cardinality() > 0) {
+                result.append(key, container);
+            }
+        }
+        return result;
+    }
+
+    private int indexOf(char key) {
+        // Acceso secuencial frecuente (ordinales crecientes): se prueba primero el último bloque
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char current = keys[middle];
+            if (current < key) {
+                low = middle + 1;
+            } else if (current > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertAt(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private void append(char key, Container container) {
+        insertAt(size, key, container);
+    }
+
+    /**
+     * Bloque de 65536 valores. Las operaciones que cambian la forma óptima
+     * del bloque devuelven un contenedor nuevo.
+     */
+    private abstract static class Container {
+        abstract Container add(char value);
+        abstract Container remove(char value);
+        abstract boolean contains(char value);
+        abstract int cardinality();
+        abstract void forEach(int base, IntConsumer action);
+        abstract Container copy();
+        abstract Container and(Container other);
+        abstract Container or(Container other);
+        abstract Container andNot(Container other);
+    }
+
+    /**
+     * Bloque disperso: arreglo ordenado de los 16 bits bajos.
+     */
+    private static final class ArrayContainer extends Container {
+        private char[] content;
+        private int cardinality;
+
+        private ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        private ArrayContainer(char[] content, int cardinality) {
+            this.content = content;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = search(value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality >= ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == content.length) {
+                content = Arrays.copyOf(content, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(content, index, content, index + 1, cardinality - index);
+            content[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = search(value);
+            if (index >= 0) {
+                System.arraycopy(content, index + 1, content, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return search(value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | content[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(content, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    char a = content[i];
+                    char b = array.content[j];
+                    if (a < b) {
+                        i++;
+                    } else if (a > b) {
+                        j++;
+                    } else {
+                        result[count++] = a;
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(content[i])) {
+                        result[count++] = content[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            if (cardinality + array.cardinality > ARRAY_MAX) {
+                BitmapContainer bitmap = toBitmap();
+                for (int j = 0; j < array.cardinality; j++) {
+                    bitmap.set(array.content[j]);
+                }
+                return bitmap.cardinality <= ARRAY_MAX ? bitmap.toArray() : bitmap;
+            }
+            char[] result = new char[Math.max(cardinality + array.cardinality, 1)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j >= array.cardinality || (i < cardinality && content[i] < array.content[j])) {
+                    result[count++] = content[i++];
+                } else if (i >= cardinality || array.content[j] < content[i]) {
+                    result[count++] = array.content[j++];
+                } else {
+                    result[count++] = content[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            char[] result = new char[Math.max(cardinality, 1)];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(content[i])) {
+                    result[count++] = content[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        private int search(char value) {
+            return Arrays.binarySearch(content, 0, cardinality, value);
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.set(content[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * Bloque denso: un bit por cada uno de los 65536 valores.
+     */
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer() {
+            this(new long[BITMAP_WORDS], 0);
+        }
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        private void set(char value) {
+            long mask = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                cardinality++;
+            }
+        }
+
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long mask = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & mask) != 0) {
+                words[word] &= ~mask;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX / 2) {
+                    // Margen para no alternar de forma entre altas y bajas seguidas
+                    return toArray();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    action.accept(base | (word << 6) | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                result[word] = words[word] & otherWords[word];
+                count += Long.bitCount(result[word]);
+            }
+            return shrink(new BitmapContainer(result, count));
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    result.set(array.content[i]);
+                }
+                return result;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                result.words[word] |= otherWords[word];
+                count += Long.bitCount(result.words[word]);
+            }
+            result.cardinality = count;
+            return result;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    char value = array.content[i];
+                    long mask = 1L << value;
+                    int word = value >>> 6;
+                    if ((result.words[word] & mask) != 0) {
+                        result.words[word] &= ~mask;
+                        result.cardinality--;
+                    }
+                }
+                return shrink(result);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                result.words[word] &= ~otherWords[word];
+                count += Long.bitCount(result.words[word]);
+            }
+            result.cardinality = count;
+            return shrink(result);
+        }
+
+        private static Container shrink(BitmapContainer bitmap) {
+            return bitmap.cardinality <= ARRAY_MAX ? bitmap.toArray() : bitmap;
+        }
+
+        private ArrayContainer toArray() {
+            char[] content = new char[Math.max(cardinality, 1)];
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    content[count++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return new ArrayContainer(content, count);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.todoapp.query;
+
+import com.todoapp.exception.InvalidDataException;
+
+/**
+ * Listas inteligentes de la pantalla principal, al estilo de Microsoft To-Do.
+ * Todas contienen solo tareas pendientes y se ordenan por fecha límite
+ * (las tareas sin fecha al final) y después por prioridad descendente.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public enum SmartList {
+
+    /**
+     * Tareas marcadas como importantes.
+     */
+    IMPORTANT("important"),
+
+    /**
+     * Tareas con fecha límite.
+     */
+    PLANNED("planned"),
+
+    /**
+     * Tareas que vencen hoy o que el usuario añadió a "Mi Día" hoy.
+     */
+    MY_DAY("my-day"),
+
+    /**
+     * Tareas cuya fecha límite ya pasó.
+     */
+    OVERDUE("overdue");
+
+    private final String path;
+
+    SmartList(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Obtiene el nombre de la lista usado en las URLs.
+     *
+     * @return Nombre de la lista en la URL
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Obtiene la lista inteligente a partir de su nombre en la URL.
+     *
+     * @param path Nombre en la URL, por ejemplo {@code my-day}
+     * @return Lista inteligente
+     * @throws InvalidDataException si el nombre no corresponde a ninguna lista
+     */
+    public static SmartList fromPath(String path) {
+        for (SmartList list : values()) {
+            if (list.path.equalsIgnoreCase(path)) {
+                return list;
+            }
+        }
+        throw new InvalidDataException("list", path, "debe ser important, planned, my-day u overdue");
+    }
+}
@@ -0,0 +1,276 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+
+/**
+ * Vistas materializadas de las listas inteligentes de cada usuario.
+ * Mantiene por usuario las tareas pendientes importantes, planificadas (con
+ * fecha límite) y de "Mi Día", ya ordenadas por {@link SmartListKey}, y las
+ * actualiza en cada guardado o eliminación de una tarea, de modo que leer una
+ * página cuesta lo que mide la página y no lo que mide la lista.
+ *
+ * "Mi Día" depende de la fecha actual, así que al cambiar de día hay que
+ * llamar a {@link #rollOver(LocalDate)}: se retiran las tareas del día
+ * anterior y se añaden las que vencen el nuevo día. Las tareas vencidas no
+ * necesitan vista propia: son el tramo de las planificadas anterior al
+ * instante actual.
+ *
+ * Lo mantiene {@link TaskIndex}: la instantánea que ya guarda de cada tarea
+ * incluye su {@link Member}, así que las vistas no necesitan un mapa propio
+ * por tarea para retirar las entradas antiguas.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class SmartListIndex {
+
+    private static final NavigableSet<SmartListKey> EMPTY = Collections.emptyNavigableSet();
+
+    private final Map<Long, UserViews> viewsByUser = new ConcurrentHashMap<>();
+    private final LongFunction<Member> members;
+
+    // Las actualizaciones comparten el bloqueo; el cambio de día lo toma en exclusiva
+    private final ReadWriteLock dayLock = new ReentrantReadWriteLock();
+    private volatile LocalDate today;
+
+    /**
+     * Constructor que fija el día de referencia de "Mi Día".
+     *
+     * @param today Día actual
+     * @param members Función que obtiene el miembro indexado de una tarea por su ID
+     */
+    SmartListIndex(LocalDate today, LongFunction<Member> members) {
+        this.today = today;
+        this.members = members;
+    }
+
+    /**
+     * Sustituye las entradas de una tarea. El llamador serializa las
+     * actualizaciones de una misma tarea.
+     *
+     * @param previous Miembro indexado anterior, o null
+     * @param current Miembro nuevo, o null si la tarea ya no está en ninguna vista
+     */
+    void update(Member previous, Member current) {
+        dayLock.readLock().lock();
+        try {
+            if (previous != null) {
+                unlink(previous);
+            }
+            if (current != null) {
+                link(current);
+            }
+        } finally {
+            dayLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Limpia todas las vistas.
+     */
+    void clear() {
+        dayLock.writeLock().lock();
+        try {
+            viewsByUser.clear();
+        } finally {
+            dayLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el día de referencia actual de "Mi Día".
+     *
+     * @return Día actual de las vistas
+     */
+    LocalDate getToday() {
+        return today;
+    }
+
+    /**
+     * Cambia el día de referencia de "Mi Día". Solo recorre las tareas que
+     * estaban en "Mi Día" y las que vencen el nuevo día, no todas las tareas.
+     *
+     * @param day Nuevo día
+     */
+    void rollOver(LocalDate day) {
+        dayLock.writeLock().lock();
+        try {
+            if (day.equals(today)) {
+                return;
+            }
+            today = day;
+            LocalDateTime start = day.atStartOfDay();
+            LocalDateTime end = day.plusDays(1).atStartOfDay();
+            for (UserViews views : viewsByUser.values()) {
+                View myDay = views.get(SmartList.MY_DAY);
+                for (SmartListKey key : myDay.keys) {
+                    Member member = members.apply(key.getTaskId());
+                    if (member == null || !member.inMyDay(day)) {
+                        myDay.remove(key);
+                    }
+                }
+                for (SmartListKey key : views.get(SmartList.PLANNED).keys
+                        .subSet(SmartListKey.before(start), true, SmartListKey.before(end), false)) {
+                    myDay.add(key);
+                }
+            }
+        } finally {
+            dayLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene las claves de una lista inteligente en orden, empezando justo
+     * después de la clave dada.
+     *
+     * @param userId ID del usuario
+     * @param list Lista inteligente
+     * @param after Última clave ya entregada, o null para empezar desde el principio
+     * @param now Instante actual, que delimita las tareas vencidas
+     * @return Vista ordenada de las claves restantes
+     */
+    NavigableSet<SmartListKey> keysAfter(Long userId, SmartList list, SmartListKey after, LocalDateTime now) {
+        UserViews views = viewsByUser.get(userId);
+        if (views == null) {
+            return EMPTY;
+        }
+        NavigableSet<SmartListKey> keys = list == SmartList.OVERDUE
+                ? views.get(SmartList.PLANNED).keys.headSet(SmartListKey.before(now), false)
+                : views.get(list).keys;
+        return after == null ? keys : keys.tailSet(after, false);
+    }
+
+    /**
+     * Cuenta las tareas de cada lista inteligente de un usuario. Las listas
+     * materializadas se cuentan en O(1); las vencidas, recorriendo su tramo.
+     *
+     * @param userId ID del usuario
+     * @param now Instante actual, que delimita las tareas vencidas
+     * @return Número de tareas por lista inteligente
+     */
+    Map<SmartList, Integer> counts(Long userId, LocalDateTime now) {
+        Map<SmartList, Integer> counts = new EnumMap<>(SmartList.class);
+        UserViews views = viewsByUser.get(userId);
+        for (SmartList list : SmartList.values()) {
+            int count = 0;
+            if (views != null) {
+                count = list == SmartList.OVERDUE
+                        ? views.get(SmartList.PLANNED).keys.headSet(SmartListKey.before(now), false).size()
+                        : views.get(list).size();
+            }
+            counts.put(list, count);
+        }
+        return counts;
+    }
+
+    private void link(Member member) {
+        UserViews views = viewsByUser.computeIfAbsent(member.userId, id -> new UserViews());
+        if (member.important) {
+            views.get(SmartList.IMPORTANT).add(member.key);
+        }
+        if (member.key.getDueDate() != null) {
+            views.get(SmartList.PLANNED).add(member.key);
+        }
+        if (member.inMyDay(today)) {
+            views.get(SmartList.MY_DAY).add(member.key);
+        }
+    }
+
+    private void unlink(Member member) {
+        UserViews views = viewsByUser.get(member.userId);
+        if (views == null) {
+            return;
+        }
+        // Se retira de todas: "Mi Día" pudo cambiar de día desde que se indexó
+        views.get(SmartList.IMPORTANT).remove(member.key);
+        views.get(SmartList.PLANNED).remove(member.key);
+        views.get(SmartList.MY_DAY).remove(member.key);
+    }
+
+    /**
+     * Vistas materializadas de un usuario.
+     */
+    private static final class UserViews {
+        private final View[] views = {new View(), new View(), new View()};
+
+        private View get(SmartList list) {
+            return views[list.ordinal()];
+        }
+    }
+
+    /**
+     * Conjunto ordenado de claves con contador propio, porque el tamaño de un
+     * skip list es O(n).
+     */
+    private static final class View {
+        private final ConcurrentSkipListSet<SmartListKey> keys = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private void add(SmartListKey key) {
+            if (keys.add(key)) {
+                size.incrementAndGet();
+            }
+        }
+
+        private void remove(SmartListKey key) {
+            if (keys.remove(key)) {
+                size.decrementAndGet();
+            }
+        }
+
+        private int size() {
+            return size.get();
+        }
+    }
+
+    /**
+     * Instantánea de los campos de una tarea pendiente que deciden sus vistas.
+     */
+    static final class Member {
+        private final Long userId;
+        private final SmartListKey key;
+        private final boolean important;
+        private final LocalDate myDay;
+
+        private Member(Long userId, SmartListKey key, boolean important, LocalDate myDay) {
+            this.userId = userId;
+            this.key = key;
+            this.important = important;
+            this.myDay = myDay;
+        }
+
+        /**
+         * Crea el miembro de una tarea.
+         *
+         * @param task Tarea
+         * @param userId ID del usuario propietario
+         * @return Miembro de la tarea, o null si no puede aparecer en ninguna vista
+         */
+        static Member of(Task task, Long userId) {
+            boolean important = Boolean.TRUE.equals(task.getIsImportant());
+            if (userId == null || Boolean.TRUE.equals(task.getCompleted())
+                    || (!important && task.getDueDate() == null && task.getMyDay() == null)) {
+                return null;
+            }
+            return new Member(userId, SmartListKey.of(task), important, task.getMyDay());
+        }
+
+        private boolean inMyDay(LocalDate day) {
+            return day.equals(myDay)
+                    || (key.getDueDate() != null && key.getDueDate().toLocalDate().equals(day));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Clave de orden de una tarea dentro de las listas inteligentes.
+ * Ordena por fecha límite ascendente (las tareas sin fecha al final), después
+ * por prioridad descendente y, a igualdad, por ID ascendente.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class SmartListKey implements Comparable<SmartListKey> {
+
+    private static final Comparator<SmartListKey> ORDER = Comparator
+            .comparing((SmartListKey key) -> key.dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(key -> key.priorityRank, Comparator.reverseOrder())
+            .thenComparing(key -> key.taskId);
+
+    private final LocalDateTime dueDate;
+    private final int priorityRank;
+    private final long taskId;
+
+    public SmartListKey(LocalDateTime dueDate, int priorityRank, long taskId) {
+        this.dueDate = dueDate;
+        this.priorityRank = priorityRank;
+        this.taskId = taskId;
+    }
+
+    /**
+     * Crea la clave de orden de una tarea.
+     *
+     * @param task Tarea
+     * @return Clave de orden
+     */
+    public static SmartListKey of(Task task) {
+        Priority priority = task.getPriority() != null ? task.getPriority() : Priority.MEDIUM;
+        return new SmartListKey(task.getDueDate(), priority.ordinal(), task.getId());
+    }
+
+    /**
+     * Crea una clave anterior a todas las tareas con la fecha límite dada.
+     * Sirve de límite para obtener las tareas que vencen antes de esa fecha.
+     *
+     * @param dueDate Fecha límite
+     * @return Clave límite
+     */
+    static SmartListKey before(LocalDateTime dueDate) {
+        return new SmartListKey(dueDate, Integer.MAX_VALUE, Long.MIN_VALUE);
+    }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+    public int getPriorityRank() { return priorityRank; }
+    public long getTaskId() { return taskId; }
+
+    @Override
+    public int compareTo(SmartListKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SmartListKey)) return false;
+        SmartListKey other = (SmartListKey) o;
+        return taskId == other.taskId && priorityRank == other.priorityRank
+                && Objects.equals(dueDate, other.dueDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dueDate, priorityRank, taskId);
+    }
+}
@@ -0,0 +1,866 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índices secundarios en memoria sobre las tareas del sistema.
+ * Mantiene índices por lista, por usuario, por fecha límite y por texto
+ * (palabras del título y la descripción) para que las consultas no tengan
+ * que recorrer todas las tareas almacenadas. Para buscar un término dentro
+ * de las palabras sin recorrer todo el vocabulario, cada palabra se indexa
+ * también por sus fragmentos de hasta {@value #GRAM_LENGTH} caracteres: un
+ * término solo se compara con las palabras que comparten su fragmento menos
+ * frecuente. Los índices por lista y por
+ * usuario se mantienen ordenados por fecha de creación descendente
+ * (ver {@link TaskKey}) para poder paginar sin ordenar.
+ *
+ * Además, cada usuario tiene sus propios mapas de bits comprimidos
+ * ({@link RoaringBitmap}) por etiqueta, prioridad, completado e importancia
+ * sobre ordinales internos densos de sus tareas (los ordinales de las tareas
+ * eliminadas se reutilizan), de modo que los filtros combinados se resuelven
+ * con operaciones AND, OR y AND NOT en lugar de recorrer tareas. Cada usuario
+ * protege sus mapas de bits con su propio bloqueo, que se toma fuera de la
+ * actualización de la instantánea: las escrituras de usuarios distintos no
+ * se esperan entre sí ni esperan a las consultas de otros usuarios.
+ *
+ * También mantiene las vistas ordenadas de las listas inteligentes
+ * ({@link SmartListIndex}) de cada usuario.
+ *
+ * Como las entidades se modifican en sitio antes de guardarse, el índice
+ * conserva una instantánea de las claves indexadas de cada tarea para poder
+ * retirar las entradas antiguas cuando la tarea cambia y para saber qué tipo
+ * de cambio se guardó.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class TaskIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private static final OrderedTaskSet EMPTY = new OrderedTaskSet();
+    private static final RoaringBitmap EMPTY_BITMAP = new RoaringBitmap();
+    private static final BitmapSelection NO_TASKS = new BitmapSelection(0, List.of());
+    
+    private final Map<Long, OrderedTaskSet> tasksByList = new ConcurrentHashMap<>();
+    private final Map<Long, OrderedTaskSet> tasksByUser = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDateTime, Set<Long>> tasksByDueDate = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<Long>> tasksByToken = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tokensByGram = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedKeys> indexedKeys = new ConcurrentHashMap<>();
+    private final AtomicInteger tasksWithDueDate = new AtomicInteger();
+    private final SmartListIndex smartLists = new SmartListIndex(LocalDate.now(), this::smartListMember);
+    private final Map<Long, UserBitmaps> bitmapsByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Tipo de cambio de una tarea respecto a su instantánea indexada anterior.
+     */
+    public enum Change {
+        CREATED, MOVED, COMPLETED, REOPENED, UPDATED
+    }
+
+    /**
+     * Indexa una tarea o actualiza sus entradas si ya estaba indexada.
+     * Las actualizaciones de una misma tarea se serializan entre sí; los mapas
+     * de bits se ajustan después a la instantánea más reciente de la tarea.
+     *
+     * @param task Tarea a indexar
+     * @return Tipo de cambio, deducido de la instantánea anterior de la tarea
+     */
+    public Change index(Task task) {
+        Change[] change = new Change[1];
+        Long[] previousUser = new Long[1];
+        IndexedKeys current = indexKeys(task, change, previousUser);
+        syncBitmaps(task.getId(), previousUser[0], current.userId);
+        return change[0];
+    }
+
+    /**
+     * Indexa un bloque de tareas, por ejemplo las de una importación. Las
+     * entradas por clave se actualizan en paralelo y después los mapas de bits
+     * de cada usuario se ajustan a todo el bloque con una sola toma de su bloqueo.
+     *
+     * @param tasks Tareas a indexar
+     */
+    public void indexAll(List<Task> tasks) {
+        tasks.parallelStream().forEach(task -> {
+            Long[] previousUser = new Long[1];
+            IndexedKeys current = indexKeys(task, new Change[1], previousUser);
+            if (previousUser[0] != null && !previousUser[0].equals(current.userId)) {
+                syncBitmaps(task.getId(), previousUser[0], null);
+            }
+        });
+        Map<Long, List<Long>> taskIdsByUser = new HashMap<>();
+        for (Task task : tasks) {
+            IndexedKeys keys = indexedKeys.get(task.getId());
+            if (keys != null && keys.userId != null) {
+                taskIdsByUser.computeIfAbsent(keys.userId, userId -> new ArrayList<>()).add(task.getId());
+            }
+        }
+        taskIdsByUser.forEach((userId, taskIds) ->
+                bitmapsByUser.computeIfAbsent(userId, UserBitmaps::new).syncAll(taskIds));
+    }
+
+    /**
+     * Actualiza todas las entradas de una tarea salvo los mapas de bits.
+     */
+    private IndexedKeys indexKeys(Task task, Change[] change, Long[] previousUser) {
+        return indexedKeys.compute(task.getId(), (id, previous) -> {
+            IndexedKeys keys = IndexedKeys.of(task);
+            if (previous != null) {
+                unlink(id, previous, keys);
+            }
+            link(id, keys, previous);
+            if (previous != null || keys.smartList != null) {
+                smartLists.update(previous != null ? previous.smartList : null, keys.smartList);
+            }
+            change[0] = classify(previous, keys);
+            previousUser[0] = previous != null ? previous.userId : null;
+            return keys;
+        });
+    }
+
+    /**
+     * Elimina todas las entradas de índice de una tarea.
+     *
+     * @param taskId ID de la tarea a retirar
+     */
+    public void remove(Long taskId) {
+        Long[] previousUser = new Long[1];
+        indexedKeys.computeIfPresent(taskId, (id, previous) -> {
+            unlink(id, previous, null);
+            smartLists.update(previous.smartList, null);
+            previousUser[0] = previous.userId;
+            return null;
+        });
+        syncBitmaps(taskId, previousUser[0], null);
+    }
+
+    /**
+     * Limpia todos los índices.
+     */
+    public void clear() {
+        bitmapsByUser.clear();
+        indexedKeys.clear();
+        smartLists.clear();
+        tasksByList.clear();
+        tasksByUser.clear();
+        tasksByDueDate.clear();
+        tasksByToken.clear();
+        tokensByGram.clear();
+        tasksWithDueDate.set(0);
+    }
+
+    /**
+     * Obtiene la lista en la que está indexada una tarea.
+     *
+     * @param taskId ID de la tarea
+     * @return ID de la lista, o null si la tarea no está indexada
+     */
+    public Long taskListIdOf(Long taskId) {
+        IndexedKeys keys = indexedKeys.get(taskId);
+        return keys != null ? keys.taskListId : null;
+    }
+
+    /**
+     * Obtiene los IDs de las tareas de una lista, por fecha de creación descendente.
+     *
+     * @param taskListId ID de la lista
+     * @return Colección (vista concurrente) de IDs de tareas
+     */
+    public Collection<Long> taskIdsByList(Long taskListId) {
+        return orderedByList(taskListId).ids();
+    }
+
+    /**
+     * Obtiene los IDs de las tareas de todas las listas de un usuario,
+     * por fecha de creación descendente.
+     *
+     * @param userId ID del usuario
+     * @return Colección (vista concurrente) de IDs de tareas
+     */
+    public Collection<Long> taskIdsByUser(Long userId) {
+        return orderedByUser(userId).ids();
+    }
+
+    /**
+     * Obtiene el índice ordenado de las tareas de una lista.
+     *
+     * @param taskListId ID de la lista
+     * @return Conjunto ordenado de tareas (vacío si la lista no tiene tareas)
+     */
+    public OrderedTaskSet orderedByList(Long taskListId) {
+        return tasksByList.getOrDefault(taskListId, EMPTY);
+    }
+
+    /**
+     * Obtiene el índice ordenado de las tareas de un usuario.
+     *
+     * @param userId ID del usuario
+     * @return Conjunto ordenado de tareas (vacío si el usuario no tiene tareas)
+     */
+    public OrderedTaskSet orderedByUser(Long userId) {
+        return tasksByUser.getOrDefault(userId, EMPTY);
+    }
+
+    /**
+     * Obtiene los IDs de las tareas cuya fecha límite está en el rango dado.
+     * Cualquiera de los extremos puede ser null para indicar un rango abierto.
+     *
+     * @param from Límite inferior (inclusivo) o null
+     * @param to Límite superior (exclusivo) o null
+     * @return Lista de IDs de tareas ordenados por fecha límite
+     */
+    public List<Long> taskIdsByDueDate(LocalDateTime from, LocalDateTime to) {
+        List<Long> ids = new ArrayList<>();
+        dueRange(from, to).values().forEach(ids::addAll);
+        return ids;
+    }
+
+    /**
+     * Estima cuántas tareas tienen fecha límite en el rango dado.
+     * Deja de contar al superar el tope, ya que solo se usa para comparar
+     * contra el mejor índice encontrado hasta el momento.
+     *
+     * @param from Límite inferior (inclusivo) o null
+     * @param to Límite superior (exclusivo) o null
+     * @param cap Valor a partir del cual se detiene el conteo
+     * @return Número estimado de tareas en el rango (como máximo cap + 1)
+     */
+    public int estimateDueDateRange(LocalDateTime from, LocalDateTime to, int cap) {
+        if (from == null && to == null) {
+            return tasksWithDueDate.get();
+        }
+        int count = 0;
+        for (Set<Long> ids : dueRange(from, to).values()) {
+            count += ids.size();
+            if (count > cap) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Obtiene los IDs de las tareas cuyo título o descripción contiene el término
+     * dentro de alguna de sus palabras.
+     *
+     * @param term Término de búsqueda sin espacios, en minúsculas
+     * @return Conjunto de IDs candidatos
+     */
+    public Set<Long> taskIdsByText(String term) {
+        Set<Long> ids = new HashSet<>();
+        for (String token : tokensContaining(term)) {
+            ids.addAll(tasksByToken.getOrDefault(token, Collections.emptySet()));
+        }
+        return ids;
+    }
+
+    /**
+     * Estima cuántas tareas contienen el término (cota superior).
+     *
+     * @param term Término de búsqueda sin espacios, en minúsculas
+     * @param cap Valor a partir del cual se detiene el conteo
+     * @return Número estimado de tareas candidatas (como máximo cap + 1)
+     */
+    public int estimateText(String term, int cap) {
+        int count = 0;
+        for (String token : tokensContaining(term)) {
+            count += tasksByToken.getOrDefault(token, Collections.emptySet()).size();
+            if (count > cap) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Resuelve con los mapas de bits los filtros de una consulta que los admiten:
+     * usuario, etiquetas (incluidas y excluidas), completado, importancia y
+     * rango de prioridad. El resultado es exacto para esos filtros. Los mapas
+     * se combinan una sola vez: el número de tareas sirve de costo al
+     * planificador y los IDs, de candidatos si elige este índice.
+     *
+     * @param userId ID del usuario
+     * @param query Consulta analizada
+     * @param maxCount Número de tareas a partir del cual no se obtienen los IDs,
+     *                 porque el planificador ya tiene un índice igual o mejor
+     * @return Número de tareas que cumplen los filtros y, si son menos de maxCount,
+     *         sus IDs en orden de ordinal
+     */
+    public BitmapSelection selectByBitmaps(Long userId, TaskQuery query, int maxCount) {
+        UserBitmaps bitmaps = bitmapsByUser.get(userId);
+        return bitmaps != null ? bitmaps.select(query, maxCount) : NO_TASKS;
+    }
+
+    /**
+     * Obtiene las claves de una lista inteligente de un usuario en orden,
+     * empezando justo después de la clave dada.
+     *
+     * @param userId ID del usuario
+     * @param list Lista inteligente
+     * @param after Última clave ya entregada, o null para empezar desde el principio
+     * @param now Instante actual, que delimita las tareas vencidas
+     * @return Vista ordenada de las claves restantes
+     */
+    public NavigableSet<SmartListKey> smartListKeysAfter(Long userId, SmartList list, SmartListKey after,
+                                                         LocalDateTime now) {
+        return smartLists.keysAfter(userId, list, after, now);
+    }
+
+    /**
+     * Cuenta las tareas de cada lista inteligente de un usuario.
+     *
+     * @param userId ID del usuario
+     * @param now Instante actual, que delimita las tareas vencidas
+     * @return Número de tareas por lista inteligente
+     */
+    public Map<SmartList, Integer> smartListCounts(Long userId, LocalDateTime now) {
+        return smartLists.counts(userId, now);
+    }
+
+    /**
+     * Obtiene el día de referencia de "Mi Día" en las listas inteligentes.
+     *
+     * @return Día actual de las listas inteligentes
+     */
+    public LocalDate getSmartListDay() {
+        return smartLists.getToday();
+    }
+
+    /**
+     * Cambia el día de referencia de "Mi Día" en las listas inteligentes.
+     *
+     * @param day Nuevo día
+     */
+    public void rollOverSmartLists(LocalDate day) {
+        smartLists.rollOver(day);
+    }
+
+    /**
+     * Cuenta las tareas de un usuario por etiqueta.
+     *
+     * @param userId ID del usuario
+     * @return Número de tareas por etiqueta, en orden alfabético
+     */
+    public SortedMap<String, Integer> tagCountsByUser(Long userId) {
+        UserBitmaps bitmaps = bitmapsByUser.get(userId);
+        return bitmaps != null ? bitmaps.tagCounts() : new TreeMap<>();
+    }
+
+    /**
+     * Divide un texto en las palabras que usa el índice de texto.
+     *
+     * @param text Texto a dividir (puede ser null)
+     * @return Conjunto de palabras en minúsculas
+     */
+    public static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> tokens = new HashSet<>();
+        for (String token : text.toLowerCase().split("\\s+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Obtiene las palabras del vocabulario que contienen el término. Los
+     * términos cortos son ellos mismos un fragmento indexado; los largos se
+     * comparan solo con las palabras de su fragmento menos frecuente.
+     */
+    private Collection<String> tokensContaining(String term) {
+        if (term.length() <= GRAM_LENGTH) {
+            return tokensByGram.getOrDefault(term, Collections.emptySet());
+        }
+        Set<String> rarest = null;
+        for (int start = 0; start + GRAM_LENGTH <= term.length(); start++) {
+            Set<String> tokens = tokensByGram.get(term.substring(start, start + GRAM_LENGTH));
+            if (tokens == null) {
+                return Collections.emptySet();
+            }
+            if (rarest == null || tokens.size() < rarest.size()) {
+                rarest = tokens;
+            }
+        }
+        List<String> matching = new ArrayList<>();
+        for (String token : rarest) {
+            if (token.contains(term)) {
+                matching.add(token);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Obtiene los fragmentos distintos de hasta {@link #GRAM_LENGTH} caracteres de una palabra.
+     */
+    private static Set<String> grams(String token) {
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int start = 0; start + length <= token.length(); start++) {
+                grams.add(token.substring(start, start + length));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Añade una tarea a las de una palabra; si la palabra es nueva en el
+     * vocabulario, la indexa también por sus fragmentos.
+     */
+    private void addTokenPosting(String token, Long taskId) {
+        tasksByToken.compute(token, (key, ids) -> {
+            Set<Long> postings = ids;
+            if (postings == null) {
+                postings = ConcurrentHashMap.newKeySet();
+                for (String gram : grams(token)) {
+                    addPosting(tokensByGram, gram, token);
+                }
+            }
+            postings.add(taskId);
+            return postings;
+        });
+    }
+
+    /**
+     * Retira una tarea de las de una palabra; si la palabra ya no aparece en
+     * ninguna tarea, la retira también de sus fragmentos.
+     */
+    private void removeTokenPosting(String token, Long taskId) {
+        tasksByToken.computeIfPresent(token, (key, ids) -> {
+            ids.remove(taskId);
+            if (!ids.isEmpty()) {
+                return ids;
+            }
+            for (String gram : grams(token)) {
+                removePosting(tokensByGram, gram, token);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Ajusta los mapas de bits de los usuarios afectados por un cambio de una
+     * tarea a su instantánea más reciente. Cada usuario lee la instantánea con
+     * su bloqueo tomado, así que si dos cambios de la misma tarea llegan aquí
+     * en otro orden, el último en ajustarse ve igualmente el estado final.
+     */
+    private void syncBitmaps(Long taskId, Long previousUser, Long currentUser) {
+        if (previousUser != null && !previousUser.equals(currentUser)) {
+            UserBitmaps previous = bitmapsByUser.get(previousUser);
+            if (previous != null) {
+                previous.sync(taskId);
+            }
+        }
+        if (currentUser != null) {
+            bitmapsByUser.computeIfAbsent(currentUser, UserBitmaps::new).sync(taskId);
+        }
+    }
+
+    private static <K> void removeBit(Map<K, RoaringBitmap> bitmaps, K key, int ordinal) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private static void setBit(RoaringBitmap bitmap, int ordinal, boolean value) {
+        if (value) {
+            bitmap.add(ordinal);
+        } else {
+            bitmap.remove(ordinal);
+        }
+    }
+
+    private SmartListIndex.Member smartListMember(long taskId) {
+        IndexedKeys keys = indexedKeys.get(taskId);
+        return keys != null ? keys.smartList : null;
+    }
+
+    private static Change classify(IndexedKeys previous, IndexedKeys current) {
+        if (previous == null) {
+            return Change.CREATED;
+        }
+        if (!Objects.equals(previous.taskListId, current.taskListId)) {
+            return Change.MOVED;
+        }
+        if (current.completed && !previous.completed) {
+            return Change.COMPLETED;
+        }
+        if (previous.completed && !current.completed) {
+            return Change.REOPENED;
+        }
+        return Change.UPDATED;
+    }
+
+    private NavigableMap<LocalDateTime, Set<Long>> dueRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null) {
+            return from.isBefore(to) ? tasksByDueDate.subMap(from, true, to, false) : Collections.emptyNavigableMap();
+        }
+        if (from != null) {
+            return tasksByDueDate.tailMap(from, true);
+        }
+        if (to != null) {
+            return tasksByDueDate.headMap(to, false);
+        }
+        return tasksByDueDate;
+    }
+
+    private void link(Long taskId, IndexedKeys keys, IndexedKeys previous) {
+        TaskKey taskKey = new TaskKey(keys.createdAt, taskId);
+        boolean reordered = previous == null || !previous.createdAt.equals(keys.createdAt);
+        if (reordered || !Objects.equals(previous.taskListId, keys.taskListId)) {
+            addOrdered(tasksByList, keys.taskListId, taskKey);
+        }
+        if (reordered || !Objects.equals(previous.userId, keys.userId)) {
+            addOrdered(tasksByUser, keys.userId, taskKey);
+        }
+        if (keys.dueDate != null && (previous == null || !keys.dueDate.equals(previous.dueDate))) {
+            addPosting(tasksByDueDate, keys.dueDate, taskId);
+            tasksWithDueDate.incrementAndGet();
+        }
+        for (String token : keys.tokens) {
+            if (previous == null || !previous.tokens.contains(token)) {
+                addTokenPosting(token, taskId);
+            }
+        }
+    }
+
+    private void unlink(Long taskId, IndexedKeys previous, IndexedKeys current) {
+        TaskKey taskKey = new TaskKey(previous.createdAt, taskId);
+        boolean reordered = current == null || !previous.createdAt.equals(current.createdAt);
+        if (reordered || !Objects.equals(previous.taskListId, current.taskListId)) {
+            removeOrdered(tasksByList, previous.taskListId, taskKey);
+        }
+        if (reordered || !Objects.equals(previous.userId, current.userId)) {
+            removeOrdered(tasksByUser, previous.userId, taskKey);
+        }
+        if (previous.dueDate != null && (current == null || !previous.dueDate.equals(current.dueDate))) {
+            removePosting(tasksByDueDate, previous.dueDate, taskId);
+            tasksWithDueDate.decrementAndGet();
+        }
+        for (String token : previous.tokens) {
+            if (current == null || !current.tokens.contains(token)) {
+                removeTokenPosting(token, taskId);
+            }
+        }
+    }
+
+    private static void addOrdered(Map<Long, OrderedTaskSet> index, Long key, TaskKey taskKey) {
+        if (key != null) {
+            index.compute(key, (k, set) -> {
+                OrderedTaskSet ordered = set != null ? set : new OrderedTaskSet();
+                ordered.add(taskKey);
+                return ordered;
+            });
+        }
+    }
+
+    private static void removeOrdered(Map<Long, OrderedTaskSet> index, Long key, TaskKey taskKey) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, set) -> {
+                set.remove(taskKey);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private static <K, V> void addPosting(Map<K, Set<V>> index, K key, V value) {
+        if (key != null) {
+            index.compute(key, (k, values) -> {
+                Set<V> postings = values != null ? values : ConcurrentHashMap.newKeySet();
+                postings.add(value);
+                return postings;
+            });
+        }
+    }
+
+    private static <K, V> void removePosting(Map<K, Set<V>> index, K key, V value) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, values) -> {
+                values.remove(value);
+                return values.isEmpty() ? null : values;
+            });
+        }
+    }
+
+    /**
+     * Resultado de resolver los filtros de una consulta con los mapas de bits.
+     */
+    public static final class BitmapSelection {
+        private final int count;
+        private final List<Long> taskIds;
+
+        private BitmapSelection(int count, List<Long> taskIds) {
+            this.count = count;
+            this.taskIds = taskIds;
+        }
+
+        /**
+         * Obtiene el número exacto de tareas que cumplen los filtros.
+         *
+         * @return Número de tareas
+         */
+        public int getCount() { return count; }
+
+        /**
+         * Obtiene los IDs de las tareas que cumplen los filtros.
+         *
+         * @return IDs en orden de ordinal, o null si había demasiadas tareas para obtenerlos
+         */
+        public List<Long> getTaskIds() { return taskIds; }
+    }
+
+    /**
+     * Mapas de bits de las tareas de un usuario sobre sus propios ordinales.
+     * Cada ordinal conserva la instantánea con la que se marcaron sus bits.
+     */
+    private final class UserBitmaps {
+        private final Long userId;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+        private final RoaringBitmap[] byPriority = new RoaringBitmap[Priority.values().length];
+        private final RoaringBitmap completed = new RoaringBitmap();
+        private final RoaringBitmap important = new RoaringBitmap();
+        private IndexedKeys[] applied = new IndexedKeys[64];
+        private long[] taskIds = new long[64];
+        private int ordinalCount;
+        private int[] freeOrdinals = new int[16];
+        private int freeOrdinalCount;
+
+        private UserBitmaps(Long userId) {
+            this.userId = userId;
+        }
+
+        private void sync(Long taskId) {
+            lock.writeLock().lock();
+            try {
+                apply(taskId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void syncAll(List<Long> taskIds) {
+            lock.writeLock().lock();
+            try {
+                for (Long taskId : taskIds) {
+                    apply(taskId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private BitmapSelection select(TaskQuery query, int maxCount) {
+            lock.readLock().lock();
+            try {
+                RoaringBitmap selected = combine(query);
+                int count = selected.cardinality();
+                if (count >= maxCount) {
+                    return new BitmapSelection(count, null);
+                }
+                List<Long> ids = new ArrayList<>(count);
+                selected.forEach(ordinal -> ids.add(taskIds[ordinal]));
+                return new BitmapSelection(count, ids);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private SortedMap<String, Integer> tagCounts() {
+            SortedMap<String, Integer> counts = new TreeMap<>();
+            lock.readLock().lock();
+            try {
+                byTag.forEach((tag, tagged) -> counts.put(tag, tagged.cardinality()));
+                return counts;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Combina los mapas de bits de la consulta, empezando por las etiquetas
+         * (normalmente los más pequeños). Debe llamarse con el bloqueo tomado.
+         */
+        private RoaringBitmap combine(TaskQuery query) {
+            RoaringBitmap selected = all;
+            for (String tag : query.getTags()) {
+                selected = RoaringBitmap.and(byTag.getOrDefault(tag, EMPTY_BITMAP), selected);
+            }
+            for (String tag : query.getExcludedTags()) {
+                selected = RoaringBitmap.andNot(selected, byTag.getOrDefault(tag, EMPTY_BITMAP));
+            }
+            if (query.getCompleted() != null) {
+                selected = query.getCompleted()
+                        ? RoaringBitmap.and(selected, completed)
+                        : RoaringBitmap.andNot(selected, completed);
+            }
+            if (query.getImportant() != null) {
+                selected = query.getImportant()
+                        ? RoaringBitmap.and(selected, important)
+                        : RoaringBitmap.andNot(selected, important);
+            }
+            if (query.getMinPriority() != null || query.getMaxPriority() != null) {
+                int min = query.getMinPriority() != null ? query.getMinPriority().ordinal() : 0;
+                int max = query.getMaxPriority() != null ? query.getMaxPriority().ordinal() : byPriority.length - 1;
+                RoaringBitmap priorities = EMPTY_BITMAP;
+                for (int level = min; level <= max; level++) {
+                    if (byPriority[level] != null) {
+                        priorities = RoaringBitmap.or(priorities, byPriority[level]);
+                    }
+                }
+                selected = RoaringBitmap.and(selected, priorities);
+            }
+            return selected;
+        }
+
+        /**
+         * Ajusta los bits de una tarea a su instantánea actual, o los retira si
+         * la tarea ya no está indexada o es de otro usuario. Debe llamarse con
+         * el bloqueo de escritura tomado.
+         */
+        private void apply(Long taskId) {
+            IndexedKeys latest = indexedKeys.get(taskId);
+            if (latest != null && !userId.equals(latest.userId)) {
+                latest = null;
+            }
+            Integer ordinal = ordinals.get(taskId);
+            if (latest == null) {
+                if (ordinal != null) {
+                    updateBits(ordinal, applied[ordinal], null);
+                    applied[ordinal] = null;
+                    ordinals.remove(taskId);
+                    releaseOrdinal(ordinal);
+                }
+                return;
+            }
+            if (ordinal == null) {
+                ordinal = allocateOrdinal(taskId);
+                ordinals.put(taskId, ordinal);
+            }
+            if (applied[ordinal] != latest) {
+                updateBits(ordinal, applied[ordinal], latest);
+                applied[ordinal] = latest;
+            }
+        }
+
+        /**
+         * Retira los bits de la instantánea anterior que ya no aplican y añade los nuevos.
+         */
+        private void updateBits(int ordinal, IndexedKeys previous, IndexedKeys current) {
+            setBit(all, ordinal, current != null);
+            List<String> oldTags = previous != null ? previous.tags : List.of();
+            List<String> newTags = current != null ? current.tags : List.of();
+            for (String tag : oldTags) {
+                if (!newTags.contains(tag)) {
+                    removeBit(byTag, tag, ordinal);
+                }
+            }
+            for (String tag : newTags) {
+                if (!oldTags.contains(tag)) {
+                    byTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinal);
+                }
+            }
+            Priority oldPriority = previous != null ? previous.priority : null;
+            Priority newPriority = current != null ? current.priority : null;
+            if (oldPriority != newPriority) {
+                if (oldPriority != null) {
+                    byPriority[oldPriority.ordinal()].remove(ordinal);
+                }
+                if (newPriority != null) {
+                    if (byPriority[newPriority.ordinal()] == null) {
+                        byPriority[newPriority.ordinal()] = new RoaringBitmap();
+                    }
+                    byPriority[newPriority.ordinal()].add(ordinal);
+                }
+            }
+            setBit(completed, ordinal, current != null && current.completed);
+            setBit(important, ordinal, current != null && current.important);
+        }
+
+        private int allocateOrdinal(Long taskId) {
+            int ordinal;
+            if (freeOrdinalCount > 0) {
+                ordinal = freeOrdinals[--freeOrdinalCount];
+            } else {
+                ordinal = ordinalCount++;
+                if (ordinal == taskIds.length) {
+                    taskIds = Arrays.copyOf(taskIds, ordinal * 2);
+                    applied = Arrays.copyOf(applied, ordinal * 2);
+                }
+            }
+            taskIds[ordinal] = taskId;
+            return ordinal;
+        }
+
+        private void releaseOrdinal(int ordinal) {
+            if (freeOrdinalCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinalCount * 2);
+            }
+            freeOrdinals[freeOrdinalCount++] = ordinal;
+        }
+    }
+
+    /**
+     * Instantánea de las claves con las que una tarea quedó indexada.
+     */
+    private static final class IndexedKeys {
+        private final Long taskListId;
+        private final Long userId;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime dueDate;
+        private final Priority priority;
+        private final boolean completed;
+        private final boolean important;
+        private final Set<String> tokens;
+        private final List<String> tags;
+        private final SmartListIndex.Member smartList;
+
+        private IndexedKeys(Long taskListId, Long userId, LocalDateTime createdAt,
+                            LocalDateTime dueDate, Priority priority, boolean completed, boolean important,
+                            Set<String> tokens, List<String> tags, SmartListIndex.Member smartList) {
+            this.taskListId = taskListId;
+            this.userId = userId;
+            this.createdAt = createdAt;
+            this.dueDate = dueDate;
+            this.priority = priority;
+            this.completed = completed;
+            this.important = important;
+            this.tokens = tokens;
+            this.tags = tags;
+            this.smartList = smartList;
+        }
+
+        private static IndexedKeys of(Task task) {
+            Long taskListId = task.getTaskList() != null ? task.getTaskList().getId() : null;
+            Long userId = task.getTaskList() != null && task.getTaskList().getUser() != null
+                    ? task.getTaskList().getUser().getId() : null;
+            Set<String> tokens = new HashSet<>(tokenize(task.getTitle()));
+            tokens.addAll(tokenize(task.getDescription()));
+            return new IndexedKeys(taskListId, userId, task.getCreatedAt(), task.getDueDate(),
+                    task.getPriority(), Boolean.TRUE.equals(task.getCompleted()),
+                    Boolean.TRUE.equals(task.getIsImportant()), tokens, task.getTags(),
+                    SmartListIndex.Member.of(task, userId));
+        }
+    }
+}
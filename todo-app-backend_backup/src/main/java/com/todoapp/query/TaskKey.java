@@ -0,0 +1,61 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Clave de orden de una tarea dentro de los índices ordenados.
+ * Ordena por fecha de creación descendente y, a igual fecha, por ID descendente,
+ * que es el orden en que la API devuelve las tareas de usuarios y listas.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class TaskKey implements Comparable<TaskKey> {
+
+    private static final Comparator<TaskKey> ORDER = Comparator
+            .comparing((TaskKey key) -> key.createdAt, Comparator.reverseOrder())
+            .thenComparing(key -> key.taskId, Comparator.reverseOrder());
+
+    private final LocalDateTime createdAt;
+    private final Long taskId;
+
+    public TaskKey(LocalDateTime createdAt, Long taskId) {
+        this.createdAt = createdAt;
+        this.taskId = taskId;
+    }
+
+    /**
+     * Crea la clave de orden de una tarea.
+     *
+     * @param task Tarea
+     * @return Clave de orden
+     */
+    public static TaskKey of(Task task) {
+        return new TaskKey(task.getCreatedAt(), task.getId());
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getTaskId() { return taskId; }
+
+    @Override
+    public int compareTo(TaskKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TaskKey)) return false;
+        TaskKey other = (TaskKey) o;
+        return createdAt.equals(other.createdAt) && taskId.equals(other.taskId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, taskId);
+    }
+}
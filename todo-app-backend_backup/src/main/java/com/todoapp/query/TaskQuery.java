@@ -0,0 +1,216 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Representación de una consulta de tareas ya analizada.
+ * Se construye con {@link TaskQueryParser} a partir de una expresión compacta
+ * como {@code list:5 tag:casa priority>=HIGH due<7d important !done sort:due}.
+ * Todos los filtros presentes se combinan con AND.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class TaskQuery {
+
+    /**
+     * Criterios de ordenamiento disponibles para los resultados.
+     */
+    public enum SortField {
+        CREATED, DUE, PRIORITY, TITLE
+    }
+
+    private Long taskListId;
+    private Priority minPriority;
+    private Priority maxPriority;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+    private Boolean hasDueDate;
+    private Boolean important;
+    private Boolean completed;
+    private final List<String> textTerms = new ArrayList<>();
+    private final List<String> tags = new ArrayList<>();
+    private final List<String> excludedTags = new ArrayList<>();
+    private SortField sortField = SortField.CREATED;
+    private boolean descending = true;
+
+    public Long getTaskListId() { return taskListId; }
+    void setTaskListId(Long taskListId) { this.taskListId = taskListId; }
+
+    public Priority getMinPriority() { return minPriority; }
+    void setMinPriority(Priority minPriority) { this.minPriority = minPriority; }
+
+    public Priority getMaxPriority() { return maxPriority; }
+    void setMaxPriority(Priority maxPriority) { this.maxPriority = maxPriority; }
+
+    public LocalDateTime getDueFrom() { return dueFrom; }
+    void setDueFrom(LocalDateTime dueFrom) { this.dueFrom = dueFrom; }
+
+    public LocalDateTime getDueTo() { return dueTo; }
+    void setDueTo(LocalDateTime dueTo) { this.dueTo = dueTo; }
+
+    public Boolean getHasDueDate() { return hasDueDate; }
+    void setHasDueDate(Boolean hasDueDate) { this.hasDueDate = hasDueDate; }
+
+    public Boolean getImportant() { return important; }
+    void setImportant(Boolean important) { this.important = important; }
+
+    public Boolean getCompleted() { return completed; }
+    void setCompleted(Boolean completed) { this.completed = completed; }
+
+    public List<String> getTextTerms() { return Collections.unmodifiableList(textTerms); }
+    void addTextTerm(String term) { this.textTerms.add(term); }
+
+    public List<String> getTags() { return Collections.unmodifiableList(tags); }
+    void addTag(String tag) { this.tags.add(tag); }
+
+    public List<String> getExcludedTags() { return Collections.unmodifiableList(excludedTags); }
+    void addExcludedTag(String tag) { this.excludedTags.add(tag); }
+
+    public SortField getSortField() { return sortField; }
+    public boolean isDescending() { return descending; }
+
+    void setSort(SortField sortField, boolean descending) {
+        this.sortField = sortField;
+        this.descending = descending;
+    }
+
+    /**
+     * Indica si la consulta restringe la fecha límite a un rango.
+     *
+     * @return true si hay límite inferior o superior de fecha límite
+     */
+    public boolean hasDueRange() {
+        return dueFrom != null || dueTo != null;
+    }
+
+    /**
+     * Indica si la consulta tiene filtros que se pueden resolver con los
+     * mapas de bits del índice (etiquetas, completado, importancia o prioridad).
+     *
+     * @return true si hay algún filtro resoluble con mapas de bits
+     */
+    public boolean hasBitmapFilters() {
+        return !tags.isEmpty() || !excludedTags.isEmpty() || completed != null || important != null
+                || minPriority != null || maxPriority != null;
+    }
+
+    /**
+     * Evalúa todos los filtros de la consulta sobre una tarea.
+     * Además de los filtros, verifica que la tarea pertenezca al usuario.
+     *
+     * @param task Tarea a evaluar
+     * @param userId ID del usuario que realiza la consulta
+     * @return true si la tarea cumple todos los filtros
+     */
+    public boolean matches(Task task, Long userId) {
+        if (!task.getTaskList().getUser().getId().equals(userId)) {
+            return false;
+        }
+        if (taskListId != null && !taskListId.equals(task.getTaskList().getId())) {
+            return false;
+        }
+        if (minPriority != null && task.getPriority().compareTo(minPriority) < 0) {
+            return false;
+        }
+        if (maxPriority != null && task.getPriority().compareTo(maxPriority) > 0) {
+            return false;
+        }
+        LocalDateTime dueDate = task.getDueDate();
+        if (hasDueDate != null && hasDueDate != (dueDate != null)) {
+            return false;
+        }
+        if (hasDueRange()) {
+            if (dueDate == null) return false;
+            if (dueFrom != null && dueDate.isBefore(dueFrom)) return false;
+            if (dueTo != null && !dueDate.isBefore(dueTo)) return false;
+        }
+        if (important != null && !important.equals(task.getIsImportant())) {
+            return false;
+        }
+        if (completed != null && !completed.equals(task.getCompleted())) {
+            return false;
+        }
+        for (String tag : tags) {
+            if (!task.getTags().contains(tag)) {
+                return false;
+            }
+        }
+        for (String tag : excludedTags) {
+            if (task.getTags().contains(tag)) {
+                return false;
+            }
+        }
+        for (String term : textTerms) {
+            boolean inTitle = task.getTitle().toLowerCase().contains(term);
+            boolean inDescription = task.getDescription() != null && task.getDescription().toLowerCase().contains(term);
+            if (!inTitle && !inDescription) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ordena tareas según el ordenamiento de la consulta, en el mismo orden que
+     * {@link #comparator()}. Salvo por título, se ordena por claves primitivas
+     * con {@link TaskSort}: primero por ID (el desempate) y después, de forma
+     * estable, por el campo pedido.
+     *
+     * @param tasks Tareas a ordenar (no se modifica)
+     * @return Nueva lista ordenada
+     */
+    public List<Task> sort(List<Task> tasks) {
+        ToLongFunction<Task> id = descending ? TaskSort.reversed(TaskSort::idKey) : TaskSort::idKey;
+        switch (sortField) {
+            case DUE:
+                // Por fecha el desempate por ID es siempre ascendente
+                return TaskSort.byTime(TaskSort.byKey(tasks, TaskSort::idKey), Task::getDueDate, descending);
+            case PRIORITY:
+                return TaskSort.byPriority(TaskSort.byKey(tasks, id), descending);
+            case CREATED:
+                return TaskSort.byTime(TaskSort.byKey(tasks, id), Task::getCreatedAt, descending);
+            case TITLE:
+            default:
+                List<Task> sorted = new ArrayList<>(tasks);
+                sorted.sort(comparator());
+                return sorted;
+        }
+    }
+
+    /**
+     * Obtiene el comparador correspondiente al ordenamiento de la consulta.
+     * Las tareas sin fecha límite quedan siempre al final al ordenar por fecha.
+     *
+     * @return Comparador de tareas
+     */
+    public Comparator<Task> comparator() {
+        Comparator<Task> comparator;
+        switch (sortField) {
+            case DUE:
+                Comparator<LocalDateTime> dueOrder = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+                return Comparator.comparing(Task::getDueDate, Comparator.nullsLast(dueOrder))
+                        .thenComparing(Task::getId);
+            case PRIORITY:
+                comparator = Comparator.comparing(Task::getPriority);
+                break;
+            case TITLE:
+                comparator = Comparator.comparing(task -> task.getTitle().toLowerCase());
+                break;
+            case CREATED:
+            default:
+                comparator = Comparator.comparing(Task::getCreatedAt);
+                break;
+        }
+        comparator = comparator.thenComparing(Task::getId);
+        return descending ? comparator.reversed() : comparator;
+    }
+}
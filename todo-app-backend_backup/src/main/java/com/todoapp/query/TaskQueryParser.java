@@ -0,0 +1,303 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.exception.InvalidDataException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Analizador del lenguaje compacto de consultas de tareas.
+ *
+ * Términos soportados (separados por espacios, todos combinados con AND):
+ * - {@code list:5} tareas de la lista 5
+ * - {@code tag:casa} o {@code #casa} tareas con la etiqueta; {@code !tag:casa} sin ella
+ * - {@code priority>=HIGH} (también {@code :}, {@code =}, {@code >}, {@code <}, {@code <=})
+ * - {@code due<7d}, {@code due>=2025-06-20}, {@code due:today}, {@code due:none}, {@code due:any}
+ *   (valores relativos en h, d o w, fechas ISO, {@code now}, {@code today}, {@code tomorrow})
+ * - {@code important}, {@code done}, {@code pending}, {@code overdue} y sus negaciones con {@code !}
+ * - {@code sort:due}, {@code sort:-created}, {@code sort:priority}, {@code sort:title}
+ * - {@code text:palabra}, {@code "texto con espacios"} o cualquier palabra suelta
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class TaskQueryParser {
+
+    private static final Pattern COMPARISON = Pattern.compile("^(priority|due)(>=|<=|:|=|>|<)(.+)$");
+    private static final Pattern RELATIVE = Pattern.compile("^([+-]?\\d+)([hdw])$");
+
+    private TaskQueryParser() {
+    }
+
+    /**
+     * Analiza una expresión de consulta.
+     *
+     * @param expression Expresión a analizar (null o vacía equivale a "todas las tareas")
+     * @param now Instante de referencia para los valores relativos de fecha
+     * @return Consulta analizada
+     * @throws InvalidDataException si la expresión contiene términos inválidos
+     */
+    public static TaskQuery parse(String expression, LocalDateTime now) {
+        TaskQuery query = new TaskQuery();
+        if (expression == null || expression.isBlank()) {
+            return query;
+        }
+        for (String term : split(expression)) {
+            parseTerm(query, term, now);
+        }
+        return query;
+    }
+
+    private static void parseTerm(TaskQuery query, String term, LocalDateTime now) {
+        if (term.startsWith("\"")) {
+            addText(query, term.substring(1));
+            return;
+        }
+
+        String lower = term.toLowerCase(Locale.ROOT);
+        boolean negated = lower.startsWith("!");
+        String flag = negated ? lower.substring(1) : lower;
+        switch (flag) {
+            case "important":
+                query.setImportant(!negated);
+                return;
+            case "done":
+            case "completed":
+                query.setCompleted(!negated);
+                return;
+            case "pending":
+                query.setCompleted(negated);
+                return;
+            case "overdue":
+                if (negated) {
+                    throw new InvalidDataException("q", term, "'overdue' no admite negación");
+                }
+                query.setCompleted(false);
+                query.setDueTo(min(query.getDueTo(), now));
+                return;
+            default:
+                break;
+        }
+        if (flag.startsWith("#") || flag.startsWith("tag:")) {
+            String tag = flag.substring(flag.startsWith("#") ? 1 : 4);
+            if (tag.isEmpty()) {
+                throw new InvalidDataException("q", term, "falta el nombre de la etiqueta");
+            }
+            if (negated) {
+                query.addExcludedTag(tag);
+            } else {
+                query.addTag(tag);
+            }
+            return;
+        }
+        if (negated) {
+            throw new InvalidDataException("q", term, "solo se pueden negar important, done, pending y etiquetas");
+        }
+
+        Matcher comparison = COMPARISON.matcher(lower);
+        if (comparison.matches()) {
+            if (comparison.group(1).equals("priority")) {
+                parsePriority(query, term, comparison.group(2), comparison.group(3));
+            } else {
+                parseDue(query, term, comparison.group(2), comparison.group(3), now);
+            }
+            return;
+        }
+
+        int colon = lower.indexOf(':');
+        if (colon < 0) {
+            addText(query, lower);
+            return;
+        }
+        String key = lower.substring(0, colon);
+        String value = lower.substring(colon + 1);
+        switch (key) {
+            case "list":
+                parseList(query, term, value);
+                break;
+            case "sort":
+                parseSort(query, term, value);
+                break;
+            case "text":
+                addText(query, value);
+                break;
+            default:
+                throw new InvalidDataException("q", term, "filtro desconocido '" + key + "'");
+        }
+    }
+
+    private static void parseList(TaskQuery query, String term, String value) {
+        Long listId;
+        try {
+            listId = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidDataException("q", term, "el ID de lista debe ser numérico");
+        }
+        if (query.getTaskListId() != null && !query.getTaskListId().equals(listId)) {
+            throw new InvalidDataException("q", term, "solo se puede filtrar por una lista");
+        }
+        query.setTaskListId(listId);
+    }
+
+    private static void parsePriority(TaskQuery query, String term, String operator, String value) {
+        Priority priority;
+        try {
+            priority = Priority.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("q", term, "prioridad desconocida '" + value + "'");
+        }
+        Priority[] levels = Priority.values();
+        int ordinal = priority.ordinal();
+        int min = 0;
+        int max = levels.length - 1;
+        switch (operator) {
+            case ">=": min = ordinal; break;
+            case ">": min = ordinal + 1; break;
+            case "<=": max = ordinal; break;
+            case "<": max = ordinal - 1; break;
+            default: min = ordinal; max = ordinal; break;
+        }
+        if (query.getMinPriority() != null) min = Math.max(min, query.getMinPriority().ordinal());
+        if (query.getMaxPriority() != null) max = Math.min(max, query.getMaxPriority().ordinal());
+        if (min > max) {
+            // Rango vacío: ninguna prioridad puede cumplirlo
+            query.setMinPriority(levels[levels.length - 1]);
+            query.setMaxPriority(levels[0]);
+            return;
+        }
+        query.setMinPriority(levels[min]);
+        query.setMaxPriority(levels[max]);
+    }
+
+    private static void parseDue(TaskQuery query, String term, String operator, String value, LocalDateTime now) {
+        if (operator.equals(":") || operator.equals("=")) {
+            if (value.equals("none")) {
+                query.setHasDueDate(false);
+                return;
+            }
+            if (value.equals("any")) {
+                query.setHasDueDate(true);
+                return;
+            }
+        }
+        LocalDateTime[] bounds = parseInstant(term, value, now);
+        switch (operator) {
+            case "<": query.setDueTo(min(query.getDueTo(), bounds[0])); break;
+            case "<=": query.setDueTo(min(query.getDueTo(), bounds[1])); break;
+            case ">": query.setDueFrom(max(query.getDueFrom(), bounds[1])); break;
+            case ">=": query.setDueFrom(max(query.getDueFrom(), bounds[0])); break;
+            default:
+                query.setDueFrom(max(query.getDueFrom(), bounds[0]));
+                query.setDueTo(min(query.getDueTo(), bounds[1]));
+                break;
+        }
+    }
+
+    /**
+     * Convierte un valor de fecha en un intervalo [inicio, fin).
+     * Las fechas sin hora cubren el día completo; los instantes, un único nanosegundo.
+     */
+    private static LocalDateTime[] parseInstant(String term, String value, LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        switch (value) {
+            case "now":
+                return new LocalDateTime[] { now, now.plusNanos(1) };
+            case "today":
+                return new LocalDateTime[] { today.atStartOfDay(), today.plusDays(1).atStartOfDay() };
+            case "tomorrow":
+                return new LocalDateTime[] { today.plusDays(1).atStartOfDay(), today.plusDays(2).atStartOfDay() };
+            default:
+                break;
+        }
+        Matcher relative = RELATIVE.matcher(value);
+        if (relative.matches()) {
+            long amount = Long.parseLong(relative.group(1));
+            LocalDateTime instant;
+            switch (relative.group(2)) {
+                case "h": instant = now.plusHours(amount); break;
+                case "w": instant = now.plusWeeks(amount); break;
+                default: instant = now.plusDays(amount); break;
+            }
+            return new LocalDateTime[] { instant, instant.plusNanos(1) };
+        }
+        try {
+            if (value.length() <= 10) {
+                LocalDate date = LocalDate.parse(value);
+                return new LocalDateTime[] { date.atStartOfDay(), date.plusDays(1).atStartOfDay() };
+            }
+            LocalDateTime instant = LocalDateTime.parse(value.toUpperCase(Locale.ROOT));
+            return new LocalDateTime[] { instant, instant.plusNanos(1) };
+        } catch (DateTimeParseException e) {
+            throw new InvalidDataException("q", term, "fecha inválida '" + value + "'");
+        }
+    }
+
+    private static void parseSort(TaskQuery query, String term, String value) {
+        boolean descending = value.startsWith("-");
+        String field = descending ? value.substring(1) : value;
+        switch (field) {
+            case "due": query.setSort(TaskQuery.SortField.DUE, descending); break;
+            case "created": query.setSort(TaskQuery.SortField.CREATED, descending); break;
+            case "priority": query.setSort(TaskQuery.SortField.PRIORITY, descending); break;
+            case "title": query.setSort(TaskQuery.SortField.TITLE, descending); break;
+            default:
+                throw new InvalidDataException("q", term, "ordenamiento desconocido '" + field + "'");
+        }
+    }
+
+    private static void addText(TaskQuery query, String text) {
+        for (String token : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (!token.isEmpty()) {
+                query.addTextTerm(token);
+            }
+        }
+    }
+
+    /**
+     * Divide la expresión por espacios respetando los textos entre comillas.
+     * Los términos entre comillas se devuelven con la comilla inicial como marca.
+     */
+    private static List<String> split(String expression) {
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (char c : expression.toCharArray()) {
+            if (c == '"') {
+                if (quoted) {
+                    terms.add("\"" + current);
+                    current.setLength(0);
+                } else if (current.length() > 0) {
+                    terms.add(current.toString());
+                    current.setLength(0);
+                }
+                quoted = !quoted;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (current.length() > 0) {
+                    terms.add(current.toString());
+                    current.setLength(0);
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (current.length() > 0) {
+            terms.add(quoted ? "\"" + current : current.toString());
+        }
+        return terms;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a == null || b.isBefore(a) ? b : a;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a == null || b.isAfter(a) ? b : a;
+    }
+}
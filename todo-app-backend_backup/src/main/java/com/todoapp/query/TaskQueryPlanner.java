@@ -0,0 +1,137 @@
+package com.todoapp.query;
+
+import java.util.Collection;
+
+/**
+ * Planificador de consultas de tareas.
+ * Elige el índice más selectivo disponible (lista, usuario, fecha límite, texto
+ * o mapas de bits) para obtener el conjunto inicial de candidatos; el resto de filtros se evalúa
+ * después únicamente sobre esos candidatos. Cuando el índice elegido ya está
+ * en el orden pedido, los candidatos se entregan en ese orden para que la
+ * consulta pueda detenerse al reunir los primeros resultados.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class TaskQueryPlanner {
+
+    /**
+     * Índices que puede usar el planificador como punto de partida.
+     */
+    public enum AccessPath {
+        LIST, USER, DUE_DATE, TEXT, BITMAP
+    }
+
+    private final TaskIndex index;
+
+    /**
+     * Constructor que recibe los índices sobre los que se planifica.
+     *
+     * @param index Índices secundarios de tareas
+     */
+    public TaskQueryPlanner(TaskIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Planifica una consulta para un usuario.
+     * El índice por usuario siempre está disponible y sirve de referencia;
+     * los demás solo se consideran cuando la consulta los restringe.
+     *
+     * @param query Consulta analizada
+     * @param userId ID del usuario que consulta
+     * @return Plan con el índice elegido y sus candidatos
+     */
+    public QueryPlan plan(TaskQuery query, Long userId) {
+        AccessPath best = AccessPath.USER;
+        int bestCost = index.taskIdsByUser(userId).size();
+
+        if (query.getTaskListId() != null) {
+            int cost = index.taskIdsByList(query.getTaskListId()).size();
+            if (cost < bestCost) {
+                best = AccessPath.LIST;
+                bestCost = cost;
+            }
+        }
+        if (query.hasDueRange()) {
+            int cost = index.estimateDueDateRange(query.getDueFrom(), query.getDueTo(), bestCost);
+            if (cost < bestCost) {
+                best = AccessPath.DUE_DATE;
+                bestCost = cost;
+            }
+        }
+        String textTerm = null;
+        for (String term : query.getTextTerms()) {
+            int cost = index.estimateText(term, bestCost);
+            if (cost < bestCost) {
+                best = AccessPath.TEXT;
+                bestCost = cost;
+                textTerm = term;
+            }
+        }
+
+        TaskIndex.BitmapSelection bitmapSelection = null;
+        if (query.hasBitmapFilters()) {
+            // El conteo es exacto: combinar los mapas de bits es barato frente a recorrer candidatos
+            bitmapSelection = index.selectByBitmaps(userId, query, bestCost);
+            if (bitmapSelection.getCount() < bestCost) {
+                best = AccessPath.BITMAP;
+                bestCost = bitmapSelection.getCount();
+            }
+        }
+
+        Collection<Long> candidates;
+        boolean presorted = false;
+        switch (best) {
+            case BITMAP:
+                candidates = bitmapSelection.getTaskIds();
+                break;
+            case LIST:
+                OrderedTaskSet listTasks = index.orderedByList(query.getTaskListId());
+                presorted = query.getSortField() == TaskQuery.SortField.CREATED;
+                candidates = presorted && !query.isDescending() ? listTasks.reversedIds() : listTasks.ids();
+                break;
+            case DUE_DATE:
+                candidates = index.taskIdsByDueDate(query.getDueFrom(), query.getDueTo());
+                break;
+            case TEXT:
+                candidates = index.taskIdsByText(textTerm);
+                break;
+            case USER:
+            default:
+                OrderedTaskSet userTasks = index.orderedByUser(userId);
+                presorted = query.getSortField() == TaskQuery.SortField.CREATED;
+                candidates = presorted && !query.isDescending() ? userTasks.reversedIds() : userTasks.ids();
+                break;
+        }
+        return new QueryPlan(best, bestCost, candidates, presorted);
+    }
+
+    /**
+     * Resultado de la planificación: índice elegido, costo estimado y candidatos.
+     */
+    public static class QueryPlan {
+        private final AccessPath accessPath;
+        private final int estimatedCost;
+        private final Collection<Long> candidateIds;
+        private final boolean presorted;
+
+        public QueryPlan(AccessPath accessPath, int estimatedCost, Collection<Long> candidateIds, boolean presorted) {
+            this.accessPath = accessPath;
+            this.estimatedCost = estimatedCost;
+            this.candidateIds = candidateIds;
+            this.presorted = presorted;
+        }
+
+        public AccessPath getAccessPath() { return accessPath; }
+        public int getEstimatedCost() { return estimatedCost; }
+        public Collection<Long> getCandidateIds() { return candidateIds; }
+
+        /**
+         * Indica si los candidatos ya vienen en el orden pedido por la consulta.
+         *
+         * @return true si no hace falta ordenar los resultados
+         */
+        public boolean isPresorted() { return presorted; }
+    }
+}
@@ -0,0 +1,217 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Ordenación de tareas por claves primitivas precalculadas.
+ * En lugar de comparar {@link LocalDateTime} y {@link Priority} con
+ * comparadores que comprueban nulos en cada comparación, se calcula una vez
+ * por tarea una clave {@code long} y se empaqueta junto con la posición de la
+ * tarea en un único {@code long}: ordenar ese array de primitivos deja las
+ * tareas en orden, y la posición en los bits bajos hace la ordenación estable.
+ * Las tareas sin clave ({@link #NO_KEY}) quedan al final en su orden original.
+ *
+ * Los órdenes con desempate se componen ordenando primero por el criterio
+ * menos significativo y después, de forma estable, por el más significativo.
+ * La prioridad solo tiene cuatro valores y se ordena por cubetas.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class TaskSort {
+
+    /**
+     * Clave de las tareas que deben quedar al final (por ejemplo, sin fecha límite).
+     */
+    public static final long NO_KEY = Long.MAX_VALUE;
+
+    private static final int PRIORITIES = Priority.values().length;
+
+    private TaskSort() {
+    }
+
+    /**
+     * Ordena de forma estable por una clave primitiva ascendente.
+     *
+     * @param items Elementos a ordenar (no se modifica)
+     * @param key Clave de cada elemento; {@link #NO_KEY} lo deja al final
+     * @param <T> Tipo de los elementos
+     * @return Nueva lista ordenada
+     */
+    public static <T> List<T> byKey(List<T> items, ToLongFunction<? super T> key) {
+        int n = items.size();
+        if (n < 2) {
+            return new ArrayList<>(items);
+        }
+        long[] keys = new long[n];
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        int keyed = 0;
+        for (int i = 0; i < n; i++) {
+            long value = key.applyAsLong(items.get(i));
+            keys[i] = value;
+            if (value != NO_KEY) {
+                keyed++;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        }
+        int[] order = keyed == 0 ? identity(n) : sortedPositions(keys, keyed, min, max);
+        List<T> sorted = new ArrayList<>(n);
+        for (int position : order) {
+            sorted.add(items.get(position));
+        }
+        return sorted;
+    }
+
+    /**
+     * Invierte el sentido de una clave, manteniendo al final las tareas sin clave.
+     *
+     * @param key Clave ascendente
+     * @param <T> Tipo de los elementos
+     * @return Clave descendente
+     */
+    public static <T> ToLongFunction<T> reversed(ToLongFunction<T> key) {
+        return item -> {
+            long value = key.applyAsLong(item);
+            return value == NO_KEY ? NO_KEY : -value;
+        };
+    }
+
+    /**
+     * Ordena de forma estable por una fecha, con las tareas sin fecha al final.
+     * La clave empaquetada va en milisegundos (hora local tomada como UTC) para
+     * que quepan rangos de años junto a la posición; si alguna fecha tiene
+     * fracción por debajo del milisegundo, como las de {@code now()}, se ordena
+     * antes por esa fracción y el resultado es el mismo que comparar las
+     * fechas completas.
+     *
+     * @param tasks Tareas a ordenar (no se modifica)
+     * @param time Fecha de cada tarea (puede ser null)
+     * @param descending true para empezar por la fecha más reciente
+     * @return Nueva lista ordenada
+     */
+    public static List<Task> byTime(List<Task> tasks, Function<Task, LocalDateTime> time, boolean descending) {
+        List<Task> sorted = tasks;
+        for (Task task : tasks) {
+            LocalDateTime value = time.apply(task);
+            if (value != null && value.getNano() % 1_000_000 != 0) {
+                ToLongFunction<Task> fraction = item -> {
+                    LocalDateTime itemTime = time.apply(item);
+                    return itemTime == null ? NO_KEY : itemTime.getNano() % 1_000_000;
+                };
+                sorted = byKey(tasks, descending ? reversed(fraction) : fraction);
+                break;
+            }
+        }
+        ToLongFunction<Task> millis = item -> millisOf(time.apply(item));
+        return byKey(sorted, descending ? reversed(millis) : millis);
+    }
+
+    /**
+     * Ordena de forma estable por prioridad con cuatro cubetas, sin comparaciones.
+     *
+     * @param tasks Tareas a ordenar (no se modifica)
+     * @param descending true para empezar por la prioridad más alta
+     * @return Nueva lista ordenada
+     */
+    public static List<Task> byPriority(List<Task> tasks, boolean descending) {
+        int[] counts = new int[PRIORITIES + 1];
+        for (Task task : tasks) {
+            counts[bucketOf(task, descending) + 1]++;
+        }
+        for (int bucket = 1; bucket <= PRIORITIES; bucket++) {
+            counts[bucket] += counts[bucket - 1];
+        }
+        Task[] sorted = new Task[tasks.size()];
+        for (Task task : tasks) {
+            sorted[counts[bucketOf(task, descending)]++] = task;
+        }
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    /**
+     * Clave de ID de la tarea, usada como desempate.
+     *
+     * @param task Tarea
+     * @return ID de la tarea
+     */
+    public static long idKey(Task task) {
+        return task.getId();
+    }
+
+    private static long millisOf(LocalDateTime time) {
+        if (time == null) {
+            return NO_KEY;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000L + time.getNano() / 1_000_000;
+    }
+
+    private static int bucketOf(Task task, boolean descending) {
+        int ordinal = (task.getPriority() != null ? task.getPriority() : Priority.MEDIUM).ordinal();
+        return descending ? PRIORITIES - 1 - ordinal : ordinal;
+    }
+
+    /**
+     * Obtiene las posiciones en orden de clave. Si la clave relativa al mínimo
+     * y la posición caben juntas en 63 bits se ordena un único array de
+     * {@code long}; si no (rangos de fechas enormes), se ordenan las posiciones
+     * comparando las claves primitivas.
+     */
+    private static int[] sortedPositions(long[] keys, int keyed, long min, long max) {
+        int n = keys.length;
+        int positionBits = 64 - Long.numberOfLeadingZeros(n - 1);
+        long range = max - min;
+        int[] order = new int[n];
+        int tail = keyed;
+        if (range >= 0 && 64 - Long.numberOfLeadingZeros(range) + positionBits <= 63) {
+            long[] packed = new long[keyed];
+            int next = 0;
+            for (int i = 0; i < n; i++) {
+                if (keys[i] == NO_KEY) {
+                    order[tail++] = i;
+                } else {
+                    packed[next++] = ((keys[i] - min) << positionBits) | i;
+                }
+            }
+            Arrays.sort(packed);
+            long positionMask = (1L << positionBits) - 1;
+            for (int i = 0; i < keyed; i++) {
+                order[i] = (int) (packed[i] & positionMask);
+            }
+            return order;
+        }
+        Integer[] positions = new Integer[keyed];
+        int next = 0;
+        for (int i = 0; i < n; i++) {
+            if (keys[i] == NO_KEY) {
+                order[tail++] = i;
+            } else {
+                positions[next++] = i;
+            }
+        }
+        Arrays.sort(positions, Comparator.comparingLong((Integer position) -> keys[position]));
+        for (int i = 0; i < keyed; i++) {
+            order[i] = positions[i];
+        }
+        return order;
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,59 @@
+package com.todoapp.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selección de los K primeros elementos según un comparador.
+ * Mantiene un montículo acotado a K elementos cuya cima es el peor de los
+ * seleccionados, de modo que cada candidato se descarta o entra en O(log K)
+ * y nunca se ordena el resultado completo: O(n log K) en lugar de O(n log n).
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * Selecciona los primeros elementos de una secuencia.
+     * Si el límite no acota el resultado (por ejemplo {@link Integer#MAX_VALUE})
+     * se ordenan todos los elementos.
+     *
+     * @param elements Elementos candidatos
+     * @param order Orden del resultado; debe ser total para que el resultado sea determinista
+     * @param limit Número máximo de elementos a devolver
+     * @param <T> Tipo de los elementos
+     * @return Los primeros elementos, ya ordenados
+     */
+    public static <T> List<T> select(Iterator<T> elements, Comparator<? super T> order, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (limit == Integer.MAX_VALUE) {
+            List<T> all = new ArrayList<>();
+            elements.forEachRemaining(all::add);
+            all.sort(order);
+            return all;
+        }
+        Comparator<? super T> worstFirst = order.reversed();
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(limit, 1024), worstFirst);
+        while (elements.hasNext()) {
+            T element = elements.next();
+            if (heap.size() < limit) {
+                heap.add(element);
+            } else if (order.compare(element, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(element);
+            }
+        }
+        List<T> selected = new ArrayList<>(heap);
+        selected.sort(order);
+        return selected;
+    }
+}
@@ -0,0 +1,299 @@
+package com.todoapp.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Rueda de temporización jerárquica para vencimientos programados.
+ * Cada nivel tiene 64 ranuras; el nivel 0 avanza una ranura por tick y cada
+ * nivel superior cubre 64 veces el rango del anterior. Un vencimiento se
+ * guarda en el nivel más bajo que lo puede representar y baja de nivel
+ * (cascada) a medida que se acerca, por lo que programar y cancelar son O(1)
+ * sin importar cuántos vencimientos haya pendientes.
+ *
+ * Programar y cancelar son seguros desde cualquier hilo: solo encolan la
+ * operación, que aplica el hilo propio de la rueda al inicio de cada tick.
+ * Los vencimientos se entregan en ese mismo hilo.
+ *
+ * @param <T> Tipo del dato asociado a cada vencimiento
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchicalTimingWheel.class);
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /**
+     * Con ticks de un segundo, seis niveles cubren más de dos mil años.
+     * Los vencimientos más lejanos se guardan en el último nivel y se
+     * recolocan cada vez que su ranura pasa, hasta que entran en rango.
+     */
+    private static final int LEVELS = 6;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Consumer<T> onExpired;
+    private final Bucket<T>[][] wheels;
+    private final Queue<Timeout<T>> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread worker;
+    private volatile boolean running;
+
+    /**
+     * Último tick procesado. Solo lo modifica el hilo de la rueda.
+     */
+    private long currentTick;
+
+    /**
+     * Crea una rueda detenida.
+     *
+     * @param name Nombre del hilo de la rueda
+     * @param tickMillis Duración de un tick en milisegundos (resolución de los vencimientos)
+     * @param onExpired Acción a ejecutar con el dato de cada vencimiento
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HierarchicalTimingWheel(String name, long tickMillis, Consumer<T> onExpired) {
+        this.tickMillis = tickMillis;
+        this.startMillis = System.currentTimeMillis();
+        this.onExpired = onExpired;
+        this.wheels = new Bucket[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                wheels[level][slot] = new Bucket<>();
+            }
+        }
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Arranca el hilo de la rueda.
+     */
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    /**
+     * Detiene el hilo de la rueda. Los vencimientos pendientes se descartan.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * Programa un vencimiento. Si la fecha ya pasó, vence en el siguiente tick.
+     *
+     * @param payload Dato que se entregará al vencer
+     * @param deadlineMillis Instante de vencimiento en milisegundos desde la época
+     * @return Manejador con el que se puede cancelar el vencimiento
+     */
+    public Timeout<T> schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.max(0, Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis));
+        Timeout<T> timeout = new Timeout<>(this, payload, deadlineTick);
+        pending.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Obtiene el número de vencimientos programados que aún no han vencido
+     * ni se han cancelado.
+     *
+     * @return Número de vencimientos pendientes
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    private void run() {
+        while (running) {
+            long targetTick = (System.currentTimeMillis() - startMillis) / tickMillis;
+            while (currentTick < targetTick) {
+                drainPending();
+                advance(currentTick + 1);
+            }
+            drainPending();
+            long nextTickMillis = startMillis + (currentTick + 1) * tickMillis;
+            long sleepMillis = nextTickMillis - System.currentTimeMillis();
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void drainPending() {
+        Timeout<T> timeout;
+        while ((timeout = pendingAdds.poll()) != null) {
+            if (timeout.isPending()) {
+                place(timeout, currentTick + 1);
+            }
+        }
+        while ((timeout = pendingCancels.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.unlink(timeout);
+            }
+        }
+    }
+
+    private void advance(long tick) {
+        currentTick = tick;
+        int highest = 0;
+        while (highest + 1 < LEVELS && (tick & ((1L << (WHEEL_BITS * (highest + 1))) - 1)) == 0) {
+            highest++;
+        }
+        for (int level = highest; level >= 1; level--) {
+            // Se separa la ranura antes de recolocar porque un vencimiento
+            // fuera de rango puede volver a caer en la misma ranura
+            Timeout<T> timeout = wheels[level][slotOf(tick, level)].detachAll();
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.clearLinks();
+                if (timeout.isPending()) {
+                    place(timeout, tick);
+                }
+                timeout = next;
+            }
+        }
+        Timeout<T> timeout = wheels[0][slotOf(tick, 0)].detachAll();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.clearLinks();
+            if (timeout.deadlineTick > tick) {
+                place(timeout, tick);
+            } else if (timeout.expire()) {
+                pending.decrementAndGet();
+                try {
+                    onExpired.accept(timeout.payload);
+                } catch (RuntimeException e) {
+                    logger.error("Error procesando un vencimiento", e);
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Coloca un vencimiento en el nivel más bajo donde su tick difiere del tick base.
+     * Los vencimientos anteriores al tick base se tratan como si vencieran en él.
+     */
+    private void place(Timeout<T> timeout, long baseTick) {
+        long tick = Math.max(timeout.deadlineTick, baseTick);
+        long differing = tick ^ currentTick;
+        int level = differing == 0 ? 0 : (63 - Long.numberOfLeadingZeros(differing)) / WHEEL_BITS;
+        level = Math.min(level, LEVELS - 1);
+        wheels[level][slotOf(tick, level)].add(timeout);
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    }
+
+    /**
+     * Manejador de un vencimiento programado.
+     *
+     * @param <T> Tipo del dato asociado
+     */
+    public static final class Timeout<T> {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T payload;
+        private final long deadlineTick;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Enlaces de la ranura; solo los usa el hilo de la rueda
+        private Bucket<T> bucket;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T payload, long deadlineTick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() { return payload; }
+
+        public boolean isPending() {
+            return state.get() == PENDING;
+        }
+
+        /**
+         * Cancela el vencimiento si todavía no ha vencido.
+         *
+         * @return true si se canceló; false si ya había vencido o estaba cancelado
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.pendingCancels.add(this);
+            return true;
+        }
+
+        private void clearLinks() {
+            bucket = null;
+            previous = null;
+            next = null;
+        }
+
+        private boolean expire() {
+            return state.compareAndSet(PENDING, EXPIRED);
+        }
+    }
+
+    /**
+     * Ranura de la rueda: lista doblemente enlazada para desenlazar en O(1).
+     */
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        private void unlink(Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.clearLinks();
+        }
+
+        private Timeout<T> detachAll() {
+            Timeout<T> first = head;
+            head = null;
+            return first;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.todoapp.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Destino de recordatorios que los registra en el log de la aplicación.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class LoggingReminderSink implements ReminderSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void onTaskDue(TaskReminder reminder) {
+        logger.info("Tarea {} del usuario {} vencida: '{}' ({})",
+                reminder.getTaskId(), reminder.getUserId(), reminder.getTitle(), reminder.getDueDate());
+    }
+}
@@ -0,0 +1,20 @@
+package com.todoapp.reminder;
+
+/**
+ * Destino de los recordatorios de vencimiento.
+ * Cualquier bean que implemente esta interfaz recibe los recordatorios que
+ * vencen. Se invoca desde el hilo de la rueda de temporización, por lo que
+ * las implementaciones deben ser rápidas y delegar el trabajo costoso.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public interface ReminderSink {
+
+    /**
+     * Recibe un recordatorio cuya fecha límite acaba de llegar.
+     *
+     * @param reminder Recordatorio vencido
+     */
+    void onTaskDue(TaskReminder reminder);
+}
@@ -0,0 +1,52 @@
+package com.todoapp.reminder;
+
+import com.todoapp.entity.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recordatorio de vencimiento de una tarea.
+ * Instantánea inmutable de los datos de la tarea en el momento en que se
+ * programó el recordatorio; se entrega a los {@link ReminderSink} al vencer.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class TaskReminder {
+
+    private final Long taskId;
+    private final Long taskListId;
+    private final Long userId;
+    private final String title;
+    private final LocalDateTime dueDate;
+
+    public TaskReminder(Long taskId, Long taskListId, Long userId, String title, LocalDateTime dueDate) {
+        this.taskId = taskId;
+        this.taskListId = taskListId;
+        this.userId = userId;
+        this.title = title;
+        this.dueDate = dueDate;
+    }
+
+    /**
+     * Crea el recordatorio correspondiente a la fecha límite actual de una tarea.
+     *
+     * @param task Tarea con fecha límite
+     * @return Recordatorio de la tarea
+     */
+    public static TaskReminder of(Task task) {
+        return new TaskReminder(task.getId(), task.getTaskList().getId(),
+                task.getTaskList().getUser().getId(), task.getTitle(), task.getDueDate());
+    }
+
+    public Long getTaskId() { return taskId; }
+    public Long getTaskListId() { return taskListId; }
+    public Long getUserId() { return userId; }
+    public String getTitle() { return title; }
+    public LocalDateTime getDueDate() { return dueDate; }
+
+    @Override
+    public String toString() {
+        return "TaskReminder{taskId=" + taskId + ", userId=" + userId + ", dueDate=" + dueDate + "}";
+    }
+}
@@ -0,0 +1,120 @@
+package com.todoapp.service;
+
+import com.todoapp.analytics.ActivityReport;
+import com.todoapp.analytics.Granularity;
+import com.todoapp.analytics.UserActivity;
+import com.todoapp.event.MutationEvent;
+import com.todoapp.event.MutationEventBus;
+import com.todoapp.exception.InvalidDataException;
+import com.todoapp.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio de analítica de productividad.
+ * Mantiene por usuario contadores por hora, día y semana de las tareas creadas
+ * y completadas, actualizados al consumir el {@link MutationEventBus}, de modo
+ * que las tendencias se responden recorriendo periodos y no tareas.
+ *
+ * Los contadores registran eventos: eliminar o reabrir una tarea no descuenta
+ * lo ya registrado, y volver a completarla cuenta como otro completado. Los
+ * datos de ejemplo que se cargan al arrancar no generan eventos.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Service
+public class AnalyticsService {
+
+    private static final UserActivity EMPTY_ACTIVITY = new UserActivity();
+
+    @Autowired
+    private MemoryStorageService storageService;
+
+    @Autowired
+    private MutationEventBus eventBus;
+
+    private final Map<Long, UserActivity> activityByUser = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        eventBus.addConsumer("analytics", this::onMutation);
+    }
+
+    /**
+     * Obtiene la actividad de un usuario en un rango de fechas.
+     * Sin inicio se devuelven los últimos periodos por defecto de la resolución
+     * (24 horas, 7 días o 12 semanas) hasta el fin indicado.
+     *
+     * @param userId ID del usuario
+     * @param granularity Resolución de los periodos
+     * @param from Inicio del rango (opcional)
+     * @param to Fin del rango (opcional, por defecto ahora)
+     * @return Informe con la actividad de cada periodo y el total
+     * @throws ResourceNotFoundException si el usuario no existe
+     * @throws InvalidDataException si el rango no es válido o supera los periodos conservados
+     */
+    public ActivityReport getActivity(Long userId, Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        storageService.findUserById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con ID: " + userId));
+        long toBucket = granularity.bucketOf(to != null ? to : LocalDateTime.now());
+        long fromBucket = from != null ? granularity.bucketOf(from) : toBucket - granularity.getDefaultSpan() + 1;
+        if (fromBucket > toBucket) {
+            throw new InvalidDataException("from", from, "El inicio debe ser anterior al fin");
+        }
+        if (toBucket - fromBucket + 1 > granularity.getCapacity()) {
+            throw new InvalidDataException("from", from,
+                    "El rango no puede superar " + granularity.getCapacity() + " periodos");
+        }
+        UserActivity activity = activityByUser.getOrDefault(userId, EMPTY_ACTIVITY);
+        return new ActivityReport(userId, granularity, activity.range(granularity, fromBucket, toBucket));
+    }
+
+    /**
+     * Descarta todos los contadores. Se usa cuando el almacenamiento se reinicia por completo.
+     */
+    public void clear() {
+        activityByUser.clear();
+    }
+
+    private void onMutation(MutationEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case TASK_CREATED:
+                taskCreated(event);
+                break;
+            case TASK_COMPLETED:
+                taskCompleted(event);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Registra una tarea nueva. Las que ya llegan completadas (ocurrencias de
+     * tareas recurrentes o tareas importadas) cuentan solo como completadas.
+     * Se usan los valores copiados al publicar: la tarea puede haber cambiado
+     * desde entonces.
+     */
+    private void taskCreated(MutationEvent event) {
+        if (event.isTaskCompleted()) {
+            taskCompleted(event);
+            return;
+        }
+        activityOf(event.getUserId()).recordCreated(event.getTaskCreatedAt());
+    }
+
+    private void taskCompleted(MutationEvent event) {
+        LocalDateTime completedAt = event.getTaskCompletedAt() != null ? event.getTaskCompletedAt() : LocalDateTime.now();
+        activityOf(event.getUserId()).recordCompleted(event.getTaskCreatedAt(), completedAt, event.getTaskDueDate());
+    }
+
+    private UserActivity activityOf(Long userId) {
+        return activityByUser.computeIfAbsent(userId, id -> new UserActivity());
+    }
+}
@@ -0,0 +1,85 @@
+package com.todoapp.service;
+
+import com.todoapp.auth.PasswordHasher;
+import com.todoapp.auth.SessionTokens;
+import com.todoapp.auth.SessionTokens.SessionToken;
+import com.todoapp.entity.User;
+import com.todoapp.exception.AuthenticationException;
+import com.todoapp.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Servicio de inicio de sesión.
+ * Verifica la contraseña en el pool de {@link PasswordHasher} sin ocupar el
+ * hilo de la petición y, si es correcta, emite un token de
+ * {@link SessionTokens} que las peticiones siguientes presentan en lugar de
+ * las credenciales.
+ *
+ * Las contraseñas que aún están en claro, o con menos iteraciones de las
+ * configuradas, se sustituyen por un hash nuevo tras el primer login correcto.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Service
+public class AuthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
+    @Autowired
+    private MemoryStorageService storageService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private SessionTokens sessionTokens;
+
+    /**
+     * Inicia sesión con email y contraseña.
+     *
+     * @param email Email del usuario
+     * @param password Contraseña en claro
+     * @return Token de sesión, futuro; termina con {@link AuthenticationException} si las
+     *         credenciales no son válidas o el usuario está desactivado
+     * @throws ServiceOverloadedException si el pool de hash está saturado
+     */
+    public CompletableFuture<SessionToken> login(String email, String password) {
+        User user = storageService.findUserByEmail(email.toLowerCase().trim()).orElse(null);
+        String encoded = user != null ? user.getPassword() : null;
+        return passwordHasher.verify(password, encoded).thenApply(valid -> {
+            if (!valid || !Boolean.TRUE.equals(user.getIsActive())) {
+                throw new AuthenticationException(email, "Email o contraseña incorrectos");
+            }
+            if (passwordHasher.needsRehash(encoded)) {
+                upgradePassword(user, password, encoded);
+            }
+            return sessionTokens.issue(user.getId());
+        });
+    }
+
+    /**
+     * Sustituye el hash guardado en segundo plano, salvo que la contraseña
+     * haya cambiado entretanto. Si el pool está saturado se deja para el
+     * próximo login.
+     */
+    private void upgradePassword(User user, String password, String previous) {
+        try {
+            passwordHasher.hash(password).thenAccept(hash -> {
+                synchronized (user) {
+                    if (previous.equals(user.getPassword())) {
+                        user.setPassword(hash);
+                        storageService.saveUser(user);
+                    }
+                }
+            });
+        } catch (ServiceOverloadedException e) {
+            logger.debug("Actualización del hash del usuario {} aplazada: {}", user.getId(), e.getMessage());
+        }
+    }
+}
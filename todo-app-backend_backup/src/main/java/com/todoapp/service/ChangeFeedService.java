@@ -0,0 +1,403 @@
+package com.todoapp.service;
+
+import com.todoapp.controller.TaskController.TaskResponse;
+import com.todoapp.controller.TaskListController.TaskListResponse;
+import com.todoapp.controller.UserController.UserResponse;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.event.ChangeEvent;
+import com.todoapp.event.ChangeType;
+import com.todoapp.event.MutationEvent;
+import com.todoapp.event.MutationEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio de notificación de cambios por Server-Sent Events.
+ * Cada suscriptor tiene un búfer acotado: publicar un cambio solo lo encola
+ * y un hilo de envío lo escribe en la conexión, de modo que un cliente lento
+ * nunca bloquea las escrituras. Si el búfer se llena, se descartan los
+ * eventos pendientes y se envía un único evento {@code resync} para que el
+ * cliente vuelva a cargar sus datos. Los cambios se obtienen consumiendo el
+ * {@link MutationEventBus}, así que cualquier escritura del almacenamiento
+ * se notifica sin que los servicios tengan que hacerlo explícitamente.
+ *
+ * Escribir en la conexión bloquea hasta que el cliente lee, así que cada
+ * suscriptor escribe en un solo hilo a la vez y los hilos de envío no se
+ * comparten en cola: un cliente atascado retiene como mucho un hilo y no
+ * retrasa a los demás. A un suscriptor con una escritura en curso no se le
+ * programa nada más (tampoco el heartbeat); si la escritura supera
+ * {@link #SEND_TIMEOUT_MILLIS} se le da de baja y, cuando la conexión se
+ * libere, recibe un {@code resync} y se cierra. Si el consumidor del bus se
+ * queda tan atrás que pierde eventos, todos los suscriptores reciben un
+ * {@code resync}.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    /**
+     * Eventos pendientes que admite cada suscriptor antes de pasar a resync.
+     */
+    private static final int SUBSCRIBER_BUFFER_SIZE = 256;
+
+    /**
+     * Duración máxima de una conexión; el cliente EventSource reconecta solo.
+     */
+    private static final long EMITTER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    /**
+     * Tiempo máximo de una escritura antes de dar de baja al suscriptor.
+     */
+    private static final long SEND_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final long WATCHDOG_MILLIS = 1000;
+
+    /**
+     * Hilos de envío como máximo, es decir, escrituras simultáneas.
+     */
+    private static final int MAX_SENDERS = 64;
+
+    @Autowired
+    private MutationEventBus eventBus;
+
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicInteger senderCount = new AtomicInteger();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Hilos de envío sin cola: si todos están ocupados el envío se rechaza y
+     * la siguiente vuelta del vigilante lo vuelve a programar.
+     */
+    private final ThreadPoolExecutor senders = new ThreadPoolExecutor(2, MAX_SENDERS, 30, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "change-feed-" + senderCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    @PostConstruct
+    public void start() {
+        timer.scheduleAtFixedRate(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        timer.scheduleAtFixedRate(this::watchSenders, WATCHDOG_MILLIS, WATCHDOG_MILLIS, TimeUnit.MILLISECONDS);
+        eventBus.addConsumer("change-feed", this::onMutation, this::resyncAll);
+    }
+
+    /**
+     * Abre una suscripción a los cambios de un usuario.
+     * El primer evento es siempre {@code resync}: los eventos anteriores a la
+     * conexión (o perdidos durante una reconexión) no se conservan, así que el
+     * cliente carga su estado tras suscribirse y luego aplica los cambios.
+     *
+     * @param userId ID del usuario
+     * @return Emisor SSE de la suscripción
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribersByUser.compute(userId, (id, subscribers) -> {
+            Set<Subscriber> current = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        subscriber.requestResync();
+        return emitter;
+    }
+
+    /**
+     * Obtiene el número de conexiones abiertas.
+     *
+     * @return Número de suscriptores
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        senders.shutdownNow();
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Traduce una mutación del almacenamiento al evento que reciben los clientes.
+     * Solo se construye el evento si algún suscriptor del usuario lo va a
+     * recibir: los que ya esperan un resync descartarían el evento igualmente.
+     */
+    private void onMutation(MutationEvent event, long sequence, boolean endOfBatch) {
+        if (!expectsEvents(event.getUserId())) {
+            return;
+        }
+        switch (event.getType()) {
+            case TASK_CREATED:
+                taskChanged(ChangeType.TASK_CREATED, event.getTask());
+                break;
+            case TASK_UPDATED:
+            case TASK_COMPLETED:
+                taskChanged(ChangeType.TASK_UPDATED, event.getTask());
+                break;
+            case TASK_MOVED:
+                taskChanged(ChangeType.TASK_MOVED, event.getTask());
+                break;
+            case TASK_DELETED:
+                publish(event.getUserId(), ChangeType.TASK_DELETED, event.getEntityId(),
+                        event.getTaskList().getId(), null);
+                break;
+            case LIST_CREATED:
+                listChanged(ChangeType.LIST_CREATED, event.getTaskList());
+                break;
+            case LIST_UPDATED:
+                listChanged(ChangeType.LIST_UPDATED, event.getTaskList());
+                break;
+            case LIST_DELETED:
+                publish(event.getUserId(), ChangeType.LIST_DELETED, event.getEntityId(), event.getEntityId(), null);
+                break;
+            case USER_UPDATED:
+                publish(event.getUserId(), ChangeType.USER_UPDATED, event.getEntityId(), null,
+                        new UserResponse(event.getUser()));
+                break;
+            case USER_DELETED:
+                publish(event.getUserId(), ChangeType.USER_DELETED, event.getEntityId(), null, null);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private boolean expectsEvents(Long userId) {
+        Set<Subscriber> subscribers = subscribersByUser.get(userId);
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.resync) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void taskChanged(ChangeType type, Task task) {
+        publish(task.getTaskList().getUser().getId(), type, task.getId(), task.getTaskList().getId(),
+                new TaskResponse(task));
+    }
+
+    private void listChanged(ChangeType type, TaskList taskList) {
+        publish(taskList.getUser().getId(), type, taskList.getId(), taskList.getId(), new TaskListResponse(taskList));
+    }
+
+    private void publish(Long userId, ChangeType type, Long id, Long taskListId, Object data) {
+        Set<Subscriber> subscribers = subscribersByUser.get(userId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        ChangeEvent event = new ChangeEvent(sequence.incrementAndGet(), type, id, taskListId, data);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    private void resyncAll() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(Subscriber::requestResync));
+    }
+
+    private void sendHeartbeats() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+    }
+
+    /**
+     * Da de baja a los suscriptores con una escritura atascada y reprograma
+     * los envíos que se rechazaron por falta de hilos.
+     */
+    private void watchSenders() {
+        long now = System.currentTimeMillis();
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > SEND_TIMEOUT_MILLIS) {
+                logger.debug("Suscriptor del usuario {} atascado {} ms; se da de baja", subscriber.userId, now - since);
+                subscriber.stall();
+            } else if (subscriber.hasPending()) {
+                subscriber.scheduleDrain();
+            }
+        }));
+    }
+
+    /**
+     * Conexión SSE de un cliente con su búfer de eventos pendientes.
+     */
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<ChangeEvent> buffer = new ArrayBlockingQueue<>(SUBSCRIBER_BUFFER_SIZE);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean resync;
+        private volatile boolean heartbeatDue;
+        private volatile boolean stalled;
+
+        /**
+         * Inicio de la escritura en curso, o 0 si no hay ninguna.
+         */
+        private volatile long sendingSince;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(ChangeEvent event) {
+            if (!buffer.offer(event)) {
+                requestResync();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void requestResync() {
+            buffer.clear();
+            resync = true;
+            scheduleDrain();
+        }
+
+        private boolean hasPending() {
+            return resync || heartbeatDue || !buffer.isEmpty();
+        }
+
+        /**
+         * Programa un envío salvo que ya haya uno programado o en curso.
+         */
+        private void scheduleDrain() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        /**
+         * Escribe los eventos pendientes. Al resincronizar se descartan también
+         * los eventos encolados, porque el cliente recargará un estado posterior.
+         */
+        private void drain() {
+            try {
+                while (!closed.get()) {
+                    ChangeEvent event;
+                    if (resync) {
+                        resync = false;
+                        buffer.clear();
+                        event = new ChangeEvent(sequence.get(), ChangeType.RESYNC, null, null, null);
+                    } else {
+                        event = buffer.poll();
+                    }
+                    if (event == null) {
+                        if (heartbeatDue) {
+                            heartbeatDue = false;
+                            send(SseEmitter.event().comment("keepalive"));
+                        }
+                        break;
+                    }
+                    heartbeatDue = false;
+                    send(event);
+                }
+                if (stalled) {
+                    // La escritura atascada terminó: se pide al cliente que recargue y se cierra
+                    send(new ChangeEvent(sequence.get(), ChangeType.RESYNC, null, null, null));
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Suscriptor del usuario {} desconectado: {}", userId, e.getMessage());
+                close();
+            } finally {
+                sendingSince = 0;
+                scheduled.set(false);
+            }
+            if (!closed.get() && hasPending()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(ChangeEvent event) throws IOException {
+            send(SseEmitter.event()
+                    .id(Long.toString(event.getSequence()))
+                    .name(event.getType())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendingSince = System.currentTimeMillis();
+            emitter.send(event);
+        }
+
+        /**
+         * El keepalive se envía en el hilo de envío; si hay una escritura en curso no hace falta.
+         */
+        private void heartbeat() {
+            heartbeatDue = true;
+            scheduleDrain();
+        }
+
+        /**
+         * Da de baja a un suscriptor cuya escritura no avanza: deja de recibir
+         * eventos y, si la escritura llega a terminar, el hilo de envío le
+         * manda un resync y cierra la conexión.
+         */
+        private void stall() {
+            stalled = true;
+            close();
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                buffer.clear();
+                subscribersByUser.computeIfPresent(userId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+                if (!stalled) {
+                    emitter.complete();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servicio de exportación de datos de usuario en formato NDJSON.
+ * Escribe un registro JSON por línea (usuario, listas y tareas) directamente
+ * sobre el stream de salida, recorriendo el almacenamiento de forma perezosa,
+ * por lo que el consumo de memoria es constante sin importar cuántas tareas
+ * tenga el usuario.
+ * 
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Service
+public class DataExportService {
+    
+    /**
+     * Cada cuántas tareas se fuerza el envío de los datos escritos al cliente.
+     */
+    private static final int FLUSH_INTERVAL = 1000;
+    
+    @Autowired
+    private MemoryStorageService storageService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Obtiene el usuario a exportar validando que exista.
+     * Se llama antes de empezar a transmitir para poder responder 404.
+     * 
+     * @param userId ID del usuario
+     * @return Usuario a exportar
+     * @throws ResourceNotFoundException si el usuario no existe
+     */
+    public User getExportableUser(Long userId) {
+        return storageService.findUserById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con ID: " + userId));
+    }
+    
+    /**
+     * Escribe la exportación completa de un usuario en formato NDJSON.
+     * El primer registro (usuario) se envía inmediatamente; luego las listas
+     * y las tareas se escriben a medida que se recorren.
+     * 
+     * @param user Usuario a exportar
+     * @param out Stream de salida de la respuesta
+     * @param gzip Si la salida debe comprimirse con gzip
+     * @throws IOException si falla la escritura
+     */
+    public void writeUserExport(User user, OutputStream out, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192, true) : out;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            
+            writeUser(generator, user);
+            generator.flush();
+            
+            Iterator<TaskList> taskLists = storageService.streamAllTaskListsByUserId(user.getId()).iterator();
+            while (taskLists.hasNext()) {
+                writeTaskList(generator, taskLists.next());
+            }
+            
+            Iterator<Task> tasks = storageService.streamTasksByUserId(user.getId()).iterator();
+            int written = 0;
+            while (tasks.hasNext()) {
+                writeTask(generator, tasks.next());
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+    
+    private void writeUser(JsonGenerator generator, User user) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "user");
+        generator.writeNumberField("id", user.getId());
+        writeString(generator, "email", user.getEmail());
+        writeString(generator, "name", user.getName());
+        writeDate(generator, "createdAt", user.getCreatedAt());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+    
+    private void writeTaskList(JsonGenerator generator, TaskList taskList) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "list");
+        generator.writeNumberField("id", taskList.getId());
+        writeString(generator, "name", taskList.getName());
+        writeString(generator, "description", taskList.getDescription());
+        writeString(generator, "color", taskList.getColor());
+        generator.writeBooleanField("isActive", Boolean.TRUE.equals(taskList.getIsActive()));
+        writeDate(generator, "createdAt", taskList.getCreatedAt());
+        writeDate(generator, "updatedAt", taskList.getUpdatedAt());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+    
+    private void writeTask(JsonGenerator generator, Task task) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "task");
+        generator.writeNumberField("id", task.getId());
+        generator.writeNumberField("taskListId", task.getTaskList().getId());
+        writeString(generator, "title", task.getTitle());
+        writeString(generator, "description", task.getDescription());
+        generator.writeBooleanField("completed", Boolean.TRUE.equals(task.getCompleted()));
+        writeString(generator, "priority", task.getPriority() != null ? task.getPriority().name() : null);
+        generator.writeBooleanField("isImportant", Boolean.TRUE.equals(task.getIsImportant()));
+        writeDate(generator, "dueDate", task.getDueDate());
+        if (task.getRecurrence() != null) {
+            generator.writeObjectField("recurrence", task.getRecurrence());
+        }
+        if (!task.getTags().isEmpty()) {
+            generator.writeArrayFieldStart("tags");
+            for (String tag : task.getTags()) {
+                generator.writeString(tag);
+            }
+            generator.writeEndArray();
+        }
+        writeDate(generator, "createdAt", task.getCreatedAt());
+        writeDate(generator, "updatedAt", task.getUpdatedAt());
+        writeDate(generator, "completedAt", task.getCompletedAt());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+    
+    private void writeString(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+    
+    private void writeDate(JsonGenerator generator, String field, LocalDateTime value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+}
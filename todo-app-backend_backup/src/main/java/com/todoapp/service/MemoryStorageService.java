@@ -1,19 +1,51 @@
 package com.todoapp.service;
 
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.ResponseCache;
 import com.todoapp.entity.User;
 import com.todoapp.entity.TaskList;
 import com.todoapp.entity.Task;
+import com.todoapp.event.MutationEventBus;
+import com.todoapp.event.MutationType;
+import com.todoapp.eventsourcing.DomainEventType;
+import com.todoapp.eventsourcing.EventStore;
+import com.todoapp.query.OrderedTaskSet;
+import com.todoapp.query.Page;
+import com.todoapp.query.PageCursor;
+import com.todoapp.query.SmartList;
+import com.todoapp.query.SmartListKey;
+import com.todoapp.query.TaskIndex;
+import com.todoapp.query.TaskKey;
+import com.todoapp.query.TaskQuery;
+import com.todoapp.query.TaskQueryParser;
+import com.todoapp.query.TaskQueryPlanner;
+import com.todoapp.query.TaskSort;
+import com.todoapp.query.TopK;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Servicio de almacenamiento en memoria para simular una base de datos.
  * Utiliza estructuras de datos thread-safe para garantizar la consistencia
  * en entornos concurrentes. Proporciona operaciones CRUD básicas para
- * todas las entidades del sistema.
+ * todas las entidades del sistema y publica cada alta, modificación o baja
+ * en el {@link MutationEventBus}. En modo event sourcing, además, anexa los
+ * cambios de tareas y listas al {@link EventStore}. Cada mutación avanza
+ * también, de forma síncrona, las {@link ResourceVersions} del usuario y de la
+ * lista afectados, de modo que un ETag nunca valida datos ya modificados, y
+ * desaloja de la {@link ResponseCache} el JSON de las entidades que cambian
+ * (antes de avanzar la versión, para que la nueva no se sirva con JSON viejo).
  * 
  * @author TodoApp Team
  * @version 1.0.0
@@ -21,14 +53,39 @@ import java.util.concurrent.atomic.AtomicLong;
 @Service
 public class MemoryStorageService {
     
-    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private static final int IMPORT_BATCH_SIZE = 50_000;
+    
+    /**
+     * Valor del índice de emails para un email reservado cuyo usuario aún no se ha guardado.
+     */
+    private static final Long RESERVED_EMAIL = -1L;
+    
+    private final ConcurrentSkipListMap<Long, User> users = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+    private final Map<Long, String> indexedEmails = new ConcurrentHashMap<>();
     private final Map<Long, TaskList> taskLists = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> taskListIdsByUser = new ConcurrentHashMap<>();
     private final Map<Long, Task> tasks = new ConcurrentHashMap<>();
     
     private final AtomicLong userIdGenerator = new AtomicLong(1);
     private final AtomicLong taskListIdGenerator = new AtomicLong(1);
     private final AtomicLong taskIdGenerator = new AtomicLong(1);
     
+    @Autowired
+    private MutationEventBus eventBus;
+    
+    @Autowired
+    private EventStore eventStore;
+    
+    @Autowired
+    private ResourceVersions resourceVersions;
+    
+    @Autowired
+    private ResponseCache responseCache;
+    
+    private final TaskIndex taskIndex = new TaskIndex();
+    private final TaskQueryPlanner queryPlanner = new TaskQueryPlanner(taskIndex);
+    
     /**
      * Constructor que inicializa el servicio con datos de ejemplo.
      */
@@ -39,15 +96,26 @@ public class MemoryStorageService {
     /**
      * Guarda un usuario en el almacenamiento.
      * Si el usuario no tiene ID, se le asigna uno nuevo automáticamente.
+     * El email queda asociado al usuario en el índice de emails; para que
+     * dos usuarios no acaben con el mismo email, resérvelo antes con
+     * {@link #reserveEmail(String)}.
      * 
      * @param user Usuario a guardar
      * @return Usuario guardado con ID asignado
      */
     public User saveUser(User user) {
-        if (user.getId() == null) {
+        boolean created = user.getId() == null;
+        if (created) {
             user.setId(userIdGenerator.getAndIncrement());
         }
         users.put(user.getId(), user);
+        indexEmail(user);
+        if (!created) {
+            evictTaskListResponses(user.getId());
+        }
+        resourceVersions.touchUser(user.getId());
+        eventBus.publishUser(created ? MutationType.USER_CREATED
+                : user.getIsActive() ? MutationType.USER_UPDATED : MutationType.USER_DELETED, user);
         return user;
     }
     
@@ -69,9 +137,8 @@ public class MemoryStorageService {
      * @return Optional conteniendo el usuario si existe
      */
     public Optional<User> findUserByEmail(String email) {
-        return users.values().stream()
-                .filter(user -> user.getEmail().equalsIgnoreCase(email))
-                .findFirst();
+        Long userId = userIdsByEmail.get(normalizeEmail(email));
+        return userId != null ? Optional.ofNullable(users.get(userId)) : Optional.empty();
     }
     
     /**
@@ -85,15 +152,51 @@ public class MemoryStorageService {
                 .toList();
     }
     
+    /**
+     * Obtiene una página de usuarios activos ordenados por ID.
+     * La página se obtiene reanudando el mapa ordenado de usuarios desde el cursor.
+     * 
+     * @param cursor Cursor opaco de la página anterior (null para la primera)
+     * @param limit Número máximo de usuarios de la página
+     * @return Página de usuarios activos
+     */
+    public Page<User> findActiveUsersPage(String cursor, int limit) {
+        Long after = PageCursor.decodeId(cursor);
+        Collection<User> remaining = after == null ? users.values() : users.tailMap(after, false).values();
+        return page(remaining, Function.identity(), User::getIsActive, limit, user -> PageCursor.encodeId(user.getId()));
+    }
+    
     /**
      * Verifica si existe un usuario con el email especificado.
+     * Un email reservado cuenta como existente.
      * 
      * @param email Email a verificar
      * @return true si el email ya existe, false en caso contrario
      */
     public boolean existsByEmail(String email) {
-        return users.values().stream()
-                .anyMatch(user -> user.getEmail().equalsIgnoreCase(email));
+        return userIdsByEmail.containsKey(normalizeEmail(email));
+    }
+    
+    /**
+     * Reserva un email de forma atómica para un usuario que se va a guardar.
+     * De varias reservas simultáneas del mismo email solo una tiene éxito.
+     * La reserva pasa al usuario al guardarlo con {@link #saveUser(User)};
+     * si el alta no llega a completarse, debe liberarse con {@link #releaseEmail(String)}.
+     * 
+     * @param email Email a reservar
+     * @return true si se reservó, false si ya estaba registrado o reservado
+     */
+    public boolean reserveEmail(String email) {
+        return userIdsByEmail.putIfAbsent(normalizeEmail(email), RESERVED_EMAIL) == null;
+    }
+    
+    /**
+     * Libera un email reservado que no llegó a asociarse a ningún usuario.
+     * 
+     * @param email Email reservado con {@link #reserveEmail(String)}
+     */
+    public void releaseEmail(String email) {
+        userIdsByEmail.remove(normalizeEmail(email), RESERVED_EMAIL);
     }
     
     /**
@@ -102,7 +205,16 @@ public class MemoryStorageService {
      * @param id ID del usuario a eliminar
      */
     public void deleteUser(Long id) {
-        users.remove(id);
+        User removed = users.remove(id);
+        if (removed != null) {
+            String email = indexedEmails.remove(id);
+            if (email != null) {
+                userIdsByEmail.remove(email, id);
+            }
+            evictTaskListResponses(id);
+            resourceVersions.touchUser(id);
+            eventBus.publishUser(MutationType.USER_DELETED, removed);
+        }
     }
     
     /**
@@ -113,10 +225,24 @@ public class MemoryStorageService {
      * @return Lista de tareas guardada con ID asignado
      */
     public TaskList saveTaskList(TaskList taskList) {
-        if (taskList.getId() == null) {
+        boolean created = taskList.getId() == null;
+        if (created) {
             taskList.setId(taskListIdGenerator.getAndIncrement());
         }
         taskLists.put(taskList.getId(), taskList);
+        taskListIdsByUser.compute(taskList.getUser().getId(), (userId, listIds) -> {
+            NavigableSet<Long> ids = listIds != null ? listIds : new ConcurrentSkipListSet<>();
+            ids.add(taskList.getId());
+            return ids;
+        });
+        if (!created) {
+            evictTaskListResponse(taskList.getId());
+        }
+        resourceVersions.touchTaskList(taskList.getUser().getId(), taskList.getId());
+        eventBus.publishTaskList(created ? MutationType.LIST_CREATED
+                : taskList.getIsActive() ? MutationType.LIST_UPDATED : MutationType.LIST_DELETED, taskList);
+        eventStore.appendTaskList(created ? DomainEventType.LIST_CREATED
+                : taskList.getIsActive() ? DomainEventType.LIST_UPDATED : DomainEventType.LIST_DELETED, taskList);
         return taskList;
     }
     
@@ -137,24 +263,64 @@ public class MemoryStorageService {
      * @return Lista de listas de tareas del usuario
      */
     public List<TaskList> findTaskListsByUserId(Long userId) {
-        return taskLists.values().stream()
-                .filter(list -> list.getUser().getId().equals(userId))
+        return taskListIdsByUser.getOrDefault(userId, Collections.emptyNavigableSet()).stream()
+                .map(taskLists::get)
+                .filter(Objects::nonNull)
                 .filter(TaskList::getIsActive)
                 .toList();
     }
     
+    /**
+     * Recorre de forma perezosa todas las listas de un usuario, incluidas las inactivas.
+     * 
+     * @param userId ID del usuario propietario
+     * @return Stream perezoso de listas ordenadas por ID
+     */
+    public Stream<TaskList> streamAllTaskListsByUserId(Long userId) {
+        return taskListIdsByUser.getOrDefault(userId, Collections.emptyNavigableSet()).stream()
+                .map(taskLists::get)
+                .filter(Objects::nonNull);
+    }
+    
+    /**
+     * Obtiene una página de las listas activas de un usuario ordenadas por ID.
+     * 
+     * @param userId ID del usuario propietario
+     * @param cursor Cursor opaco de la página anterior (null para la primera)
+     * @param limit Número máximo de listas de la página
+     * @return Página de listas de tareas del usuario
+     */
+    public Page<TaskList> findTaskListsPageByUserId(Long userId, String cursor, int limit) {
+        Long after = PageCursor.decodeId(cursor);
+        NavigableSet<Long> listIds = taskListIdsByUser.getOrDefault(userId, Collections.emptyNavigableSet());
+        NavigableSet<Long> remaining = after == null ? listIds : listIds.tailSet(after, false);
+        return page(remaining, taskLists::get, TaskList::getIsActive, limit, list -> PageCursor.encodeId(list.getId()));
+    }
+    
     /**
      * Elimina una lista de tareas del almacenamiento.
      * 
      * @param id ID de la lista a eliminar
      */
     public void deleteTaskList(Long id) {
-        taskLists.remove(id);
+        TaskList removed = taskLists.remove(id);
+        if (removed != null) {
+            taskListIdsByUser.computeIfPresent(removed.getUser().getId(), (userId, listIds) -> {
+                listIds.remove(id);
+                return listIds.isEmpty() ? null : listIds;
+            });
+            evictTaskListResponse(id);
+            resourceVersions.touchTaskList(removed.getUser().getId(), id);
+            eventBus.publishTaskList(MutationType.LIST_DELETED, removed);
+            eventStore.appendTaskList(DomainEventType.LIST_DELETED, removed);
+        }
     }
     
     /**
      * Guarda una tarea en el almacenamiento.
      * Si la tarea no tiene ID, se le asigna uno nuevo automáticamente.
+     * Actualiza los índices secundarios de la tarea y publica el tipo de cambio
+     * que deducen (alta, movimiento, completado o modificación).
      * 
      * @param task Tarea a guardar
      * @return Tarea guardada con ID asignado
@@ -164,9 +330,56 @@ public class MemoryStorageService {
             task.setId(taskIdGenerator.getAndIncrement());
         }
         tasks.put(task.getId(), task);
+        Long previousTaskListId = taskIndex.taskListIdOf(task.getId());
+        TaskIndex.Change change = taskIndex.index(task);
+        responseCache.evictTask(task.getId());
+        Long userId = task.getTaskList().getUser().getId();
+        resourceVersions.touchTaskList(userId, task.getTaskList().getId());
+        if (change == TaskIndex.Change.MOVED && previousTaskListId != null) {
+            resourceVersions.touchTaskList(userId, previousTaskListId);
+        }
+        eventBus.publishTask(mutationTypeOf(change), task);
+        eventStore.appendTask(domainEventTypeOf(change), task);
         return task;
     }
     
+    /**
+     * Reserva un bloque consecutivo de IDs de tareas.
+     * Permite que una importación masiva asigne IDs sin contención por tarea.
+     * 
+     * @param count Número de IDs a reservar
+     * @return Primer ID del bloque reservado
+     */
+    public long reserveTaskIds(int count) {
+        return taskIdGenerator.getAndAdd(count);
+    }
+    
+    /**
+     * Guarda tareas importadas masivamente que ya tienen ID asignado.
+     * Las tareas se insertan en lotes grandes; los índices secundarios, los
+     * eventos de mutación y los de dominio se actualizan al final por bloques
+     * en lugar de hacerlo tarea por tarea.
+     * 
+     * @param imported Tareas a guardar, con IDs reservados con {@link #reserveTaskIds(int)}
+     */
+    public void saveImportedTasks(List<Task> imported) {
+        for (int from = 0; from < imported.size(); from += IMPORT_BATCH_SIZE) {
+            List<Task> batch = imported.subList(from, Math.min(from + IMPORT_BATCH_SIZE, imported.size()));
+            Map<Long, Task> byId = new HashMap<>(batch.size() * 2);
+            for (Task task : batch) {
+                byId.put(task.getId(), task);
+            }
+            tasks.putAll(byId);
+        }
+        taskIndex.indexAll(imported);
+        imported.stream()
+                .map(Task::getTaskList)
+                .distinct()
+                .forEach(taskList -> resourceVersions.touchTaskList(taskList.getUser().getId(), taskList.getId()));
+        eventBus.publishTasks(MutationType.TASK_CREATED, imported);
+        eventStore.appendTasks(DomainEventType.TASK_CREATED, imported);
+    }
+    
     /**
      * Busca una tarea por su ID.
      * 
@@ -185,12 +398,24 @@ public class MemoryStorageService {
      * @return Lista de tareas ordenadas por fecha de creación
      */
     public List<Task> findTasksByTaskListId(Long taskListId) {
-        return tasks.values().stream()
-                .filter(task -> task.getTaskList().getId().equals(taskListId))
-                .sorted((t1, t2) -> t2.getCreatedAt().compareTo(t1.getCreatedAt()))
+        return tasksOf(taskIndex.taskIdsByList(taskListId))
                 .toList();
     }
     
+    /**
+     * Obtiene una página de las tareas de una lista.
+     * Las tareas se ordenan por fecha de creación descendente y la página se
+     * obtiene reanudando el índice ordenado de la lista desde el cursor.
+     * 
+     * @param taskListId ID de la lista de tareas
+     * @param cursor Cursor opaco de la página anterior (null para la primera)
+     * @param limit Número máximo de tareas de la página
+     * @return Página de tareas de la lista
+     */
+    public Page<Task> findTasksPageByTaskListId(Long taskListId, String cursor, int limit) {
+        return taskPage(taskIndex.orderedByList(taskListId), cursor, limit);
+    }
+    
     /**
      * Obtiene todas las tareas pendientes de una lista específica.
      * Las tareas se ordenan por fecha límite, con las que no tienen fecha al final.
@@ -199,16 +424,9 @@ public class MemoryStorageService {
      * @return Lista de tareas pendientes ordenadas por fecha límite
      */
     public List<Task> findPendingTasksByTaskListId(Long taskListId) {
-        return tasks.values().stream()
-                .filter(task -> task.getTaskList().getId().equals(taskListId))
+        return TaskSort.byTime(tasksOf(taskIndex.taskIdsByList(taskListId))
                 .filter(task -> !task.getCompleted())
-                .sorted((t1, t2) -> {
-                    if (t1.getDueDate() == null && t2.getDueDate() == null) return 0;
-                    if (t1.getDueDate() == null) return 1;
-                    if (t2.getDueDate() == null) return -1;
-                    return t1.getDueDate().compareTo(t2.getDueDate());
-                })
-                .toList();
+                .toList(), Task::getDueDate, false);
     }
     
     /**
@@ -219,16 +437,9 @@ public class MemoryStorageService {
      * @return Lista de tareas completadas ordenadas por fecha de completado
      */
     public List<Task> findCompletedTasksByTaskListId(Long taskListId) {
-        return tasks.values().stream()
-                .filter(task -> task.getTaskList().getId().equals(taskListId))
+        return TaskSort.byTime(tasksOf(taskIndex.taskIdsByList(taskListId))
                 .filter(Task::getCompleted)
-                .sorted((t1, t2) -> {
-                    if (t1.getCompletedAt() == null && t2.getCompletedAt() == null) return 0;
-                    if (t1.getCompletedAt() == null) return 1;
-                    if (t2.getCompletedAt() == null) return -1;
-                    return t2.getCompletedAt().compareTo(t1.getCompletedAt());
-                })
-                .toList();
+                .toList(), Task::getCompletedAt, true);
     }
     
     /**
@@ -239,28 +450,82 @@ public class MemoryStorageService {
      * @return Lista de tareas importantes pendientes
      */
     public List<Task> findImportantTasksByUserId(Long userId) {
-        return tasks.values().stream()
-                .filter(task -> task.getTaskList().getUser().getId().equals(userId))
-                .filter(Task::getIsImportant)
-                .filter(task -> !task.getCompleted())
-                .sorted((t1, t2) -> {
-                    if (t1.getDueDate() == null && t2.getDueDate() == null) {
-                        return t2.getPriority().compareTo(t1.getPriority());
-                    }
-                    if (t1.getDueDate() == null) return 1;
-                    if (t2.getDueDate() == null) return -1;
-                    return t1.getDueDate().compareTo(t2.getDueDate());
-                })
+        return findImportantTasksByUserId(userId, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Obtiene las primeras tareas importantes y pendientes de un usuario.
+     * Se leen de la vista materializada de importantes, que ya está ordenada.
+     * 
+     * @param userId ID del usuario
+     * @param limit Número máximo de tareas a devolver
+     * @return Lista de tareas importantes pendientes, en el mismo orden que
+     *         {@link #findImportantTasksByUserId(Long)}
+     */
+    public List<Task> findImportantTasksByUserId(Long userId, int limit) {
+        return tasksOf(taskIndex.smartListKeysAfter(userId, SmartList.IMPORTANT, null, LocalDateTime.now()), SmartListKey::getTaskId)
+                .limit(limit)
                 .toList();
     }
     
+    /**
+     * Obtiene una página de una lista inteligente de un usuario directamente de
+     * su vista materializada, sin recorrer el resto de tareas del usuario.
+     * 
+     * @param userId ID del usuario
+     * @param list Lista inteligente
+     * @param cursor Cursor de la página anterior (null para la primera)
+     * @param limit Tamaño máximo de la página
+     * @return Página de tareas pendientes por fecha límite y prioridad
+     */
+    public Page<Task> findSmartListPage(Long userId, SmartList list, String cursor, int limit) {
+        SmartListKey after = PageCursor.decodeSmart(cursor);
+        return page(taskIndex.smartListKeysAfter(userId, list, after, LocalDateTime.now()), key -> tasks.get(key.getTaskId()),
+                task -> true, limit, task -> PageCursor.encodeSmart(SmartListKey.of(task)));
+    }
+    
+    /**
+     * Cuenta las tareas de cada lista inteligente de un usuario.
+     * 
+     * @param userId ID del usuario
+     * @return Número de tareas por lista inteligente
+     */
+    public Map<SmartList, Integer> countSmartLists(Long userId) {
+        return taskIndex.smartListCounts(userId, LocalDateTime.now());
+    }
+    
+    /**
+     * Obtiene el día de referencia de "Mi Día" en las vistas.
+     * 
+     * @return Día actual de las vistas
+     */
+    public LocalDate getSmartListDay() {
+        return taskIndex.getSmartListDay();
+    }
+    
+    /**
+     * Cambia el día de referencia de "Mi Día" en las vistas.
+     * 
+     * @param day Nuevo día
+     */
+    public void rollOverSmartLists(LocalDate day) {
+        taskIndex.rollOverSmartLists(day);
+    }
+    
     /**
      * Elimina una tarea del almacenamiento.
      * 
      * @param id ID de la tarea a eliminar
      */
     public void deleteTask(Long id) {
-        tasks.remove(id);
+        Task removed = tasks.remove(id);
+        taskIndex.remove(id);
+        if (removed != null) {
+            responseCache.evictTask(id);
+            resourceVersions.touchTaskList(removed.getTaskList().getUser().getId(), removed.getTaskList().getId());
+            eventBus.publishTask(MutationType.TASK_DELETED, removed);
+            eventStore.appendTask(DomainEventType.TASK_DELETED, removed);
+        }
     }
     
     /**
@@ -281,10 +546,7 @@ public class MemoryStorageService {
      * @return Número de listas activas del usuario
      */
     public long countTaskListsByUserId(Long userId) {
-        return taskLists.values().stream()
-                .filter(list -> list.getUser().getId().equals(userId))
-                .filter(TaskList::getIsActive)
-                .count();
+        return findTaskListsByUserId(userId).size();
     }
     
     /**
@@ -297,12 +559,11 @@ public class MemoryStorageService {
      */
     public List<Task> searchTasksByContent(Long userId, String searchTerm) {
         String lowerSearchTerm = searchTerm.toLowerCase();
-        return tasks.values().stream()
-                .filter(task -> task.getTaskList().getUser().getId().equals(userId))
+        TaskQuery query = TaskQueryParser.parse("\"" + lowerSearchTerm.replace("\"", " ") + "\"", LocalDateTime.now());
+        return findTasksByQuery(userId, query).stream()
                 .filter(task -> 
                     task.getTitle().toLowerCase().contains(lowerSearchTerm) ||
                     (task.getDescription() != null && task.getDescription().toLowerCase().contains(lowerSearchTerm)))
-                .sorted((t1, t2) -> t2.getCreatedAt().compareTo(t1.getCreatedAt()))
                 .toList();
     }
     
@@ -314,12 +575,208 @@ public class MemoryStorageService {
      * @return Lista de todas las tareas del usuario
      */
     public List<Task> findAllTasksByUserId(Long userId) {
-        return tasks.values().stream()
-                .filter(task -> task.getTaskList().getUser().getId().equals(userId))
-                .sorted((t1, t2) -> t2.getCreatedAt().compareTo(t1.getCreatedAt()))
+        return tasksOf(taskIndex.taskIdsByUser(userId))
                 .toList();
     }
     
+    /**
+     * Obtiene una página de las tareas de todas las listas de un usuario.
+     * Las tareas se ordenan por fecha de creación descendente y la página se
+     * obtiene reanudando el índice ordenado del usuario desde el cursor.
+     * 
+     * @param userId ID del usuario
+     * @param cursor Cursor opaco de la página anterior (null para la primera)
+     * @param limit Número máximo de tareas de la página
+     * @return Página de tareas del usuario
+     */
+    public Page<Task> findTasksPageByUserId(Long userId, String cursor, int limit) {
+        return taskPage(taskIndex.orderedByUser(userId), cursor, limit);
+    }
+    
+    /**
+     * Recorre de forma perezosa todas las tareas de un usuario.
+     * El stream lee el índice ordenado a medida que se consume, sin copiar
+     * las tareas en una colección intermedia.
+     * 
+     * @param userId ID del usuario
+     * @return Stream perezoso de tareas por fecha de creación descendente
+     */
+    public Stream<Task> streamTasksByUserId(Long userId) {
+        return tasksOf(taskIndex.taskIdsByUser(userId));
+    }
+    
+    /**
+     * Cuenta las tareas de un usuario por etiqueta usando los mapas de bits del índice.
+     * 
+     * @param userId ID del usuario
+     * @return Número de tareas por etiqueta, en orden alfabético
+     */
+    public SortedMap<String, Integer> countTagsByUserId(Long userId) {
+        return taskIndex.tagCountsByUser(userId);
+    }
+    
+    /**
+     * Recorre las tareas pendientes que tienen fecha límite, en orden de fecha límite.
+     * 
+     * @return Flujo de tareas pendientes con fecha límite
+     */
+    public Stream<Task> streamPendingTasksWithDueDate() {
+        return tasksOf(taskIndex.taskIdsByDueDate(null, null))
+                .filter(task -> !task.getCompleted());
+    }
+    
+    /**
+     * Ejecuta una consulta compuesta sobre las tareas de un usuario.
+     * El planificador elige el índice más selectivo como fuente de candidatos
+     * y el resto de filtros de la consulta se aplican sobre ellos.
+     * 
+     * @param userId ID del usuario
+     * @param query Consulta analizada
+     * @return Lista de tareas que cumplen la consulta, en el orden solicitado
+     */
+    public List<Task> findTasksByQuery(Long userId, TaskQuery query) {
+        return findTasksByQuery(userId, query, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Ejecuta una consulta compuesta y devuelve solo los primeros resultados.
+     * Si el índice elegido ya está en el orden pedido, el recorrido se detiene
+     * al reunir el límite; si no, se seleccionan con un montículo acotado, o se
+     * ordenan por claves primitivas cuando se piden todos.
+     * 
+     * @param userId ID del usuario
+     * @param query Consulta analizada
+     * @param limit Número máximo de tareas a devolver
+     * @return Lista de tareas que cumplen la consulta, en el orden solicitado
+     */
+    public List<Task> findTasksByQuery(Long userId, TaskQuery query, int limit) {
+        TaskQueryPlanner.QueryPlan plan = queryPlanner.plan(query, userId);
+        Stream<Task> matching = tasksOf(plan.getCandidateIds())
+                .filter(task -> query.matches(task, userId));
+        if (plan.isPresorted()) {
+            return matching.limit(limit).toList();
+        }
+        if (limit == Integer.MAX_VALUE) {
+            return query.sort(matching.toList());
+        }
+        return TopK.select(matching.iterator(), query.comparator(), limit);
+    }
+    
+    /**
+     * Desaloja el JSON de una lista y el de sus tareas, que incluye el nombre de la lista.
+     */
+    private void evictTaskListResponse(Long taskListId) {
+        responseCache.evictTaskList(taskListId);
+        taskIndex.taskIdsByList(taskListId).forEach(responseCache::evictTask);
+    }
+    
+    /**
+     * Desaloja el JSON de las listas de un usuario, que incluye el nombre del usuario.
+     */
+    private void evictTaskListResponses(Long userId) {
+        taskListIdsByUser.getOrDefault(userId, Collections.emptyNavigableSet())
+                .forEach(responseCache::evictTaskList);
+    }
+    
+    private static MutationType mutationTypeOf(TaskIndex.Change change) {
+        switch (change) {
+            case CREATED: return MutationType.TASK_CREATED;
+            case MOVED: return MutationType.TASK_MOVED;
+            case COMPLETED: return MutationType.TASK_COMPLETED;
+            case REOPENED:
+            case UPDATED:
+            default: return MutationType.TASK_UPDATED;
+        }
+    }
+    
+    private static DomainEventType domainEventTypeOf(TaskIndex.Change change) {
+        switch (change) {
+            case CREATED: return DomainEventType.TASK_CREATED;
+            case MOVED: return DomainEventType.TASK_MOVED;
+            case COMPLETED: return DomainEventType.TASK_COMPLETED;
+            case REOPENED: return DomainEventType.TASK_REOPENED;
+            case UPDATED:
+            default: return DomainEventType.TASK_UPDATED;
+        }
+    }
+    
+    /**
+     * Obtiene una página de tareas a partir de un índice ordenado.
+     * 
+     * @param ordered Índice ordenado de tareas
+     * @param cursor Cursor opaco de la página anterior (null para la primera)
+     * @param limit Número máximo de tareas de la página
+     * @return Página de tareas
+     */
+    private Page<Task> taskPage(OrderedTaskSet ordered, String cursor, int limit) {
+        TaskKey after = PageCursor.decodeTask(cursor);
+        return page(ordered.keysAfter(after), key -> tasks.get(key.getTaskId()), task -> true, limit,
+                task -> PageCursor.encodeTask(TaskKey.of(task)));
+    }
+    
+    /**
+     * Recorre claves ya ordenadas hasta llenar una página.
+     * Lee un elemento más del límite solo para saber si existe página siguiente,
+     * por lo que el costo depende del tamaño de la página y no de su posición.
+     * 
+     * @param keys Claves ordenadas restantes a partir del cursor
+     * @param resolver Función que obtiene el elemento de cada clave (null si ya no existe)
+     * @param filter Filtro que deben cumplir los elementos
+     * @param limit Número máximo de elementos de la página
+     * @param cursorEncoder Función que genera el cursor a partir del último elemento
+     * @return Página de elementos
+     */
+    private <K, T> Page<T> page(Iterable<K> keys, Function<K, T> resolver, Predicate<T> filter,
+                                int limit, Function<T, String> cursorEncoder) {
+        List<T> items = new ArrayList<>(Math.min(limit, Page.DEFAULT_LIMIT));
+        for (K key : keys) {
+            T item = resolver.apply(key);
+            if (item == null || !filter.test(item)) {
+                continue;
+            }
+            if (items.size() == limit) {
+                return new Page<>(items, cursorEncoder.apply(items.get(items.size() - 1)));
+            }
+            items.add(item);
+        }
+        return new Page<>(items, null);
+    }
+    
+    /**
+     * Resuelve un conjunto de IDs de tareas obtenido de un índice.
+     * Omite los IDs cuyas tareas fueron eliminadas mientras se recorría el índice.
+     * 
+     * @param taskIds IDs de tareas
+     * @return Stream de tareas existentes
+     */
+    private Stream<Task> tasksOf(Collection<Long> taskIds) {
+        return taskIds.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull);
+    }
+    
+    private <K> Stream<Task> tasksOf(Collection<K> keys, Function<K, Long> taskId) {
+        return keys.stream()
+                .map(key -> tasks.get(taskId.apply(key)))
+                .filter(Objects::nonNull);
+    }
+    
+    /**
+     * Asocia el email actual del usuario a su ID y retira el anterior si cambió.
+     */
+    private void indexEmail(User user) {
+        String email = normalizeEmail(user.getEmail());
+        String previous = indexedEmails.put(user.getId(), email);
+        if (previous != null && !previous.equals(email)) {
+            userIdsByEmail.remove(previous, user.getId());
+        }
+        userIdsByEmail.put(email, user.getId());
+    }
+    
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
     /**
      * Inicializa el sistema con datos de ejemplo para facilitar las pruebas.
      * Crea un usuario demo, una lista de ejemplo y varias tareas de muestra.
@@ -331,6 +788,7 @@ public class MemoryStorageService {
         sampleUser.setName("Usuario Demo");
         sampleUser.setPassword("demo123");
         users.put(1L, sampleUser);
+        indexEmail(sampleUser);
         
         TaskList sampleList = new TaskList();
         sampleList.setId(1L);
@@ -339,6 +797,7 @@ public class MemoryStorageService {
         sampleList.setColor("#007ACC");
         sampleList.setUser(sampleUser);
         taskLists.put(1L, sampleList);
+        taskListIdsByUser.computeIfAbsent(1L, id -> new ConcurrentSkipListSet<>()).add(1L);
         
         Task task1 = new Task();
         task1.setId(1L);
@@ -367,6 +826,8 @@ public class MemoryStorageService {
         task3.setTaskList(sampleList);
         tasks.put(3L, task3);
         
+        tasks.values().forEach(taskIndex::index);
+        
         userIdGenerator.set(2L);
         taskListIdGenerator.set(2L);
         taskIdGenerator.set(4L);
@@ -388,14 +849,34 @@ public class MemoryStorageService {
         return info;
     }
     
+    /**
+     * Registra el estado almacenado como eventos de alta en el {@link EventStore}:
+     * primero las listas y después las tareas, ambas en orden de ID. Sirve de
+     * punto de partida para las proyecciones cuando el registro está vacío.
+     */
+    public void recordCurrentState() {
+        taskLists.values().stream()
+                .sorted(Comparator.comparing(TaskList::getId))
+                .forEach(taskList -> eventStore.appendTaskList(DomainEventType.LIST_CREATED, taskList));
+        tasks.values().stream()
+                .sorted(Comparator.comparing(Task::getId))
+                .forEach(task -> eventStore.appendTask(DomainEventType.TASK_CREATED, task));
+    }
+    
     /**
      * Limpia todos los datos del almacenamiento y reinicia los generadores de ID.
      * Útil para pruebas y reinicio del sistema demo.
      */
     public void clearAllData() {
         users.clear();
+        userIdsByEmail.clear();
+        indexedEmails.clear();
         taskLists.clear();
+        taskListIdsByUser.clear();
         tasks.clear();
+        taskIndex.clear();
+        resourceVersions.clear();
+        responseCache.clear();
         userIdGenerator.set(1L);
         taskListIdGenerator.set(1L);
         taskIdGenerator.set(1L);
@@ -0,0 +1,222 @@
+package com.todoapp.service;
+
+import com.todoapp.eventsourcing.DomainEvent;
+import com.todoapp.eventsourcing.EventStore;
+import com.todoapp.eventsourcing.Projection;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Servicio que alimenta las {@link Projection} desde el {@link EventStore}.
+ * Cada proyección tiene su propio hilo y su propia posición en el registro:
+ * lee los eventos nuevos en cuanto se anexan y, al pedir una reconstrucción,
+ * descarta su estado y vuelve a leer desde el principio. Como los hilos son
+ * independientes, todas las proyecciones se reconstruyen en paralelo y una
+ * proyección lenta no retrasa a las demás ni a las escrituras.
+ *
+ * Al arrancar en modo event sourcing, el estado ya almacenado (los datos de
+ * ejemplo) se registra como eventos de alta para que las proyecciones lo vean.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Service
+public class ProjectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectionService.class);
+
+    private static final long MAX_PARK_NANOS = 100_000_000;
+
+    @Autowired
+    private EventStore eventStore;
+
+    @Autowired
+    private MemoryStorageService storageService;
+
+    @Autowired(required = false)
+    private List<Projection> projections = new ArrayList<>();
+
+    private final List<ProjectionRunner> runners = new ArrayList<>();
+
+    @PostConstruct
+    public void start() {
+        if (!eventStore.isEnabled()) {
+            return;
+        }
+        for (Projection projection : projections) {
+            runners.add(new ProjectionRunner(projection));
+        }
+        eventStore.addListener(this::wakeSleepingRunners);
+        storageService.recordCurrentState();
+        runners.forEach(runner -> runner.thread.start());
+        logger.info("Modo event sourcing activo: {} eventos iniciales, {} proyecciones",
+                eventStore.size(), runners.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (ProjectionRunner runner : runners) {
+            runner.running = false;
+            LockSupport.unpark(runner.thread);
+        }
+    }
+
+    /**
+     * Indica si el modo event sourcing está activo.
+     *
+     * @return true si hay registro de eventos y proyecciones
+     */
+    public boolean isEnabled() {
+        return eventStore.isEnabled();
+    }
+
+    /**
+     * Solicita la reconstrucción de todas las proyecciones desde el registro.
+     * Cada una se reconstruye en su propio hilo, en paralelo; la llamada no
+     * espera a que terminen (el progreso se consulta con {@link #getStatus()}).
+     *
+     * @return Estado de las proyecciones tras la solicitud
+     * @throws IllegalStateException si el modo event sourcing no está activo
+     */
+    public List<Map<String, Object>> rebuildAll() {
+        requireEnabled();
+        runners.forEach(ProjectionRunner::requestRebuild);
+        return getStatus();
+    }
+
+    /**
+     * Vacía el registro, vuelve a registrar el estado almacenado y reconstruye
+     * las proyecciones. Se usa cuando el almacenamiento se reinicia por completo.
+     */
+    public void resync() {
+        if (!eventStore.isEnabled()) {
+            return;
+        }
+        eventStore.clear();
+        runners.forEach(ProjectionRunner::requestRebuild);
+        storageService.recordCurrentState();
+    }
+
+    /**
+     * Obtiene la posición, el retraso y el estado de reconstrucción de cada proyección.
+     *
+     * @return Estado de cada proyección
+     */
+    public List<Map<String, Object>> getStatus() {
+        long size = eventStore.size();
+        List<Map<String, Object>> status = new ArrayList<>();
+        for (ProjectionRunner runner : runners) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", runner.projection.getName());
+            entry.put("position", runner.position);
+            entry.put("lag", Math.max(0, size - runner.position));
+            entry.put("rebuilding", runner.rebuildRequested || runner.rebuilding);
+            entry.put("lastRebuildMillis", runner.lastRebuildMillis);
+            status.add(entry);
+        }
+        return status;
+    }
+
+    /**
+     * Obtiene el número de eventos del registro.
+     *
+     * @return Tamaño del registro
+     */
+    public long getEventCount() {
+        return eventStore.size();
+    }
+
+    private void requireEnabled() {
+        if (!eventStore.isEnabled()) {
+            throw new IllegalStateException(
+                    "El modo event sourcing no está activo (todoapp.event-sourcing.enabled=false)");
+        }
+    }
+
+    private void wakeSleepingRunners() {
+        for (ProjectionRunner runner : runners) {
+            if (runner.sleeping) {
+                LockSupport.unpark(runner.thread);
+            }
+        }
+    }
+
+    /**
+     * Hilo lector de una proyección con su posición en el registro.
+     */
+    private final class ProjectionRunner {
+        private final Projection projection;
+        private final Thread thread;
+        private volatile long position;
+        private volatile boolean running = true;
+        private volatile boolean sleeping;
+        private volatile boolean rebuildRequested;
+        private volatile boolean rebuilding;
+        private volatile long rebuildStartedAt;
+        private volatile Long lastRebuildMillis;
+
+        private ProjectionRunner(Projection projection) {
+            this.projection = projection;
+            this.thread = new Thread(this::run, "projection-" + projection.getName());
+            this.thread.setDaemon(true);
+        }
+
+        private void requestRebuild() {
+            rebuildRequested = true;
+            LockSupport.unpark(thread);
+        }
+
+        private void run() {
+            while (running) {
+                if (rebuildRequested) {
+                    rebuildRequested = false;
+                    rebuilding = true;
+                    rebuildStartedAt = System.currentTimeMillis();
+                    projection.reset();
+                    position = 0;
+                }
+                long size = eventStore.size();
+                long next = position;
+                while (next < size && !rebuildRequested) {
+                    DomainEvent event = eventStore.get(next);
+                    if (event == null) {
+                        // El registro se vació; se espera la reconstrucción solicitada
+                        break;
+                    }
+                    try {
+                        projection.apply(event);
+                    } catch (RuntimeException e) {
+                        logger.error("Error en la proyección {} aplicando el evento {}",
+                                projection.getName(), next, e);
+                    }
+                    next++;
+                }
+                position = next;
+                if (next < size || rebuildRequested) {
+                    continue;
+                }
+                if (rebuilding) {
+                    rebuilding = false;
+                    lastRebuildMillis = System.currentTimeMillis() - rebuildStartedAt;
+                    logger.info("Proyección {} reconstruida con {} eventos en {} ms",
+                            projection.getName(), next, lastRebuildMillis);
+                }
+                sleeping = true;
+                if (eventStore.size() == position && !rebuildRequested) {
+                    LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+        }
+    }
+}
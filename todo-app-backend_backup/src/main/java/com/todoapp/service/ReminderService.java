@@ -0,0 +1,177 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.Task;
+import com.todoapp.event.MutationEvent;
+import com.todoapp.event.MutationEventBus;
+import com.todoapp.reminder.HierarchicalTimingWheel;
+import com.todoapp.reminder.ReminderSink;
+import com.todoapp.reminder.TaskReminder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio de recordatorios de fecha límite.
+ * Programa un vencimiento en una rueda de temporización jerárquica por cada
+ * tarea pendiente con fecha límite y, cuando llega la fecha, entrega el
+ * recordatorio a todos los {@link ReminderSink} registrados. Así los clientes
+ * no necesitan consultar periódicamente las tareas vencidas.
+ *
+ * Los recordatorios se mantienen al día consumiendo el {@link MutationEventBus}:
+ * se programan al crear, modificar, mover o reabrir una tarea y se cancelan al
+ * completarla o eliminarla. Si el consumidor se queda tan atrás que pierde
+ * eventos, vuelve a programar todo desde el almacenamiento.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Service
+public class ReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderService.class);
+
+    /**
+     * Resolución de los recordatorios en milisegundos.
+     */
+    private static final long TICK_MILLIS = 1000;
+
+    @Autowired
+    private MemoryStorageService storageService;
+
+    @Autowired
+    private MutationEventBus eventBus;
+
+    @Autowired(required = false)
+    private List<ReminderSink> sinks = new ArrayList<>();
+
+    private final HierarchicalTimingWheel<TaskReminder> wheel =
+            new HierarchicalTimingWheel<>("task-reminders", TICK_MILLIS, this::deliver);
+    private final Map<Long, HierarchicalTimingWheel.Timeout<TaskReminder>> armed = new ConcurrentHashMap<>();
+
+    /**
+     * Arranca la rueda, se suscribe a las mutaciones y programa las tareas
+     * pendientes ya almacenadas.
+     */
+    @PostConstruct
+    public void start() {
+        wheel.start();
+        eventBus.addConsumer("reminders", this::onMutation, this::resync);
+        armAll();
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+    }
+
+    /**
+     * Programa (o reprograma) el recordatorio de una tarea según su estado actual.
+     * Si la tarea está completada o no tiene fecha límite, se cancela cualquier
+     * recordatorio previo; si la fecha límite no cambió, se conserva el existente.
+     *
+     * @param task Tarea guardada
+     */
+    public void arm(Task task) {
+        if (task.getCompleted() || task.getDueDate() == null) {
+            cancel(task.getId());
+            return;
+        }
+        armed.compute(task.getId(), (taskId, previous) -> {
+            if (previous != null && previous.isPending()
+                    && previous.getPayload().getDueDate().equals(task.getDueDate())) {
+                return previous;
+            }
+            if (previous != null) {
+                previous.cancel();
+            }
+            long deadline = task.getDueDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return wheel.schedule(TaskReminder.of(task), deadline);
+        });
+    }
+
+    /**
+     * Cancela el recordatorio de una tarea, si lo tiene.
+     *
+     * @param taskId ID de la tarea
+     */
+    public void cancel(Long taskId) {
+        HierarchicalTimingWheel.Timeout<TaskReminder> previous = armed.remove(taskId);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Descarta todos los recordatorios y vuelve a programar los de las tareas
+     * almacenadas. Se usa cuando el almacenamiento se reinicia por completo.
+     */
+    public void resync() {
+        armed.keySet().forEach(this::cancel);
+        armAll();
+    }
+
+    /**
+     * Obtiene el número de recordatorios programados pendientes.
+     *
+     * @return Número de recordatorios pendientes
+     */
+    public int getPendingCount() {
+        return wheel.pendingCount();
+    }
+
+    private void onMutation(MutationEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case TASK_CREATED:
+            case TASK_UPDATED:
+            case TASK_MOVED:
+            case TASK_COMPLETED:
+                arm(event.getTask());
+                break;
+            case TASK_DELETED:
+                cancel(event.getEntityId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void armAll() {
+        storageService.streamPendingTasksWithDueDate().forEach(this::arm);
+        logger.info("Recordatorios programados: {}", wheel.pendingCount());
+    }
+
+    /**
+     * Entrega un recordatorio vencido. Se descarta si la tarea cambió desde que
+     * se programó (fue eliminada, completada o cambió su fecha límite) o si su
+     * lista fue eliminada.
+     */
+    private void deliver(TaskReminder reminder) {
+        armed.computeIfPresent(reminder.getTaskId(),
+                (taskId, timeout) -> timeout.getPayload() == reminder ? null : timeout);
+        boolean current = storageService.findTaskById(reminder.getTaskId())
+                .filter(task -> !task.getCompleted())
+                .filter(task -> Boolean.TRUE.equals(task.getTaskList().getIsActive()))
+                .filter(task -> Objects.equals(task.getDueDate(), reminder.getDueDate()))
+                .isPresent();
+        if (!current) {
+            return;
+        }
+        for (ReminderSink sink : sinks) {
+            try {
+                sink.onTaskDue(reminder);
+            } catch (RuntimeException e) {
+                logger.error("Error entregando el recordatorio de la tarea {}", reminder.getTaskId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.Task;
+import com.todoapp.query.Page;
+import com.todoapp.query.PageCursor;
+import com.todoapp.query.SmartList;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de las listas inteligentes de la pantalla principal
+ * (Importantes, Planificadas, Mi Día y Vencidas).
+ * Las listas se sirven desde vistas materializadas que el almacenamiento
+ * mantiene en cada escritura; este servicio además vigila el cambio de
+ * fecha para que "Mi Día" pase al nuevo día sin esperar a ninguna escritura.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Service
+public class SmartListService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmartListService.class);
+
+    /**
+     * Frecuencia con la que se comprueba si cambió la fecha; así también se
+     * detectan ajustes del reloj del sistema.
+     */
+    private static final long ROLLOVER_CHECK_SECONDS = 30;
+
+    @Autowired
+    private MemoryStorageService storageService;
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "smart-list-rollover");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::checkRollover, ROLLOVER_CHECK_SECONDS, ROLLOVER_CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Obtiene una página de una lista inteligente de un usuario.
+     *
+     * @param userId ID del usuario
+     * @param list Lista inteligente
+     * @param cursor Cursor de la página anterior (opcional)
+     * @param limit Tamaño de página (opcional)
+     * @return Página de tareas pendientes por fecha límite y prioridad
+     * @throws com.todoapp.exception.InvalidDataException si el cursor o el límite no son válidos
+     */
+    public Page<Task> getSmartList(Long userId, SmartList list, String cursor, Integer limit) {
+        checkRollover();
+        return storageService.findSmartListPage(userId, list, cursor, PageCursor.effectiveLimit(limit, cursor));
+    }
+
+    /**
+     * Obtiene el número de tareas de cada lista inteligente de un usuario.
+     *
+     * @param userId ID del usuario
+     * @return Número de tareas por lista, con el nombre usado en las URLs
+     */
+    public Map<String, Integer> getCounts(Long userId) {
+        checkRollover();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        storageService.countSmartLists(userId).forEach((list, count) -> counts.put(list.getPath(), count));
+        return counts;
+    }
+
+    /**
+     * Pasa las vistas al día actual si la fecha cambió. Las lecturas también
+     * lo comprueban para no servir "Mi Día" del día anterior entre dos ticks.
+     */
+    private void checkRollover() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(storageService.getSmartListDay())) {
+            try {
+                storageService.rollOverSmartLists(today);
+                logger.info("Listas inteligentes actualizadas al día {}", today);
+            } catch (RuntimeException e) {
+                logger.error("Error actualizando las listas inteligentes al día {}", today, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.event.MutationEvent;
+import com.todoapp.event.MutationEventBus;
+import com.todoapp.exception.InvalidDataException;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.sync.ChangeLog;
+import com.todoapp.sync.SyncDelta;
+import com.todoapp.sync.SyncKind;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio de sincronización incremental para clientes sin conexión.
+ * Consume el {@link MutationEventBus} y anota cada cambio en el
+ * {@link ChangeLog} compactado de su usuario, de modo que al reconectar el
+ * cliente recibe solo las entidades que cambiaron desde su token, una vez
+ * cada una y en su estado actual, más los IDs de las eliminadas. El coste
+ * depende de los cambios y no del tamaño de los datos.
+ *
+ * El token combina la época (cambia al arrancar y al reiniciar los datos,
+ * que reutilizan IDs) y la secuencia del último evento consumido. Se envía
+ * una resincronización completa sin token, con un token de otra época o con
+ * uno anterior a las entradas que conserva el registro del usuario. Si el
+ * consumidor se queda tan atrás que pierde eventos, se abre una época nueva:
+ * los registros estarían incompletos y todos los clientes se resincronizan.
+ *
+ * Una lista eliminada se notifica como baja pero sus tareas no: el cliente
+ * descarta las tareas de las listas eliminadas.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Service
+public class SyncService {
+
+    @Autowired
+    private MemoryStorageService storageService;
+
+    @Autowired
+    private MutationEventBus eventBus;
+
+    private final Map<Long, ChangeLog> logsByUser = new ConcurrentHashMap<>();
+
+    private volatile long epoch = System.currentTimeMillis();
+    private volatile long epochStart = -1;
+    private volatile long processed = -1;
+
+    @PostConstruct
+    public void start() {
+        eventBus.addConsumer("sync", this::onMutation, this::clear);
+    }
+
+    /**
+     * Obtiene los cambios de un usuario desde un token.
+     *
+     * @param userId ID del usuario
+     * @param since Token de la sincronización anterior (opcional)
+     * @return Cambios desde el token, o el estado completo si el token no sirve
+     * @throws ResourceNotFoundException si el usuario no existe
+     * @throws InvalidDataException si el token no tiene el formato esperado
+     */
+    public SyncDelta getChanges(Long userId, String since) {
+        User user = storageService.findUserById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con ID: " + userId));
+        // La posición se lee antes que el estado: lo que cambie mientras se
+        // lee llega también en la próxima sincronización
+        long currentEpoch = epoch;
+        long position = processed;
+        String token = Long.toString(currentEpoch, 36) + '.' + Long.toString(position, 36);
+
+        long[] keys = keysSince(userId, since, currentEpoch, position);
+        if (keys == null) {
+            List<TaskList> taskLists = storageService.findTaskListsByUserId(userId);
+            List<Task> tasks = storageService.findAllTasksByUserId(userId).stream()
+                    .filter(task -> Boolean.TRUE.equals(task.getTaskList().getIsActive()))
+                    .toList();
+            return new SyncDelta(token, true, user, taskLists, tasks, List.of(), List.of());
+        }
+
+        boolean userChanged = false;
+        List<TaskList> taskLists = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        List<Long> deletedTaskListIds = new ArrayList<>();
+        List<Long> deletedTaskIds = new ArrayList<>();
+        for (long key : keys) {
+            long id = ChangeLog.idOf(key);
+            switch (ChangeLog.kindOf(key)) {
+                case USER:
+                    userChanged = true;
+                    break;
+                case TASK_LIST:
+                    TaskList taskList = storageService.findTaskListById(id)
+                            .filter(list -> Boolean.TRUE.equals(list.getIsActive()))
+                            .filter(list -> Objects.equals(list.getUser().getId(), userId))
+                            .orElse(null);
+                    if (taskList != null) {
+                        taskLists.add(taskList);
+                    } else {
+                        deletedTaskListIds.add(id);
+                    }
+                    break;
+                case TASK:
+                    Task task = storageService.findTaskById(id)
+                            .filter(t -> Boolean.TRUE.equals(t.getTaskList().getIsActive()))
+                            .filter(t -> Objects.equals(t.getTaskList().getUser().getId(), userId))
+                            .orElse(null);
+                    if (task != null) {
+                        tasks.add(task);
+                    } else {
+                        deletedTaskIds.add(id);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new SyncDelta(token, false, userChanged ? user : null, taskLists, tasks, deletedTaskListIds, deletedTaskIds);
+    }
+
+    /**
+     * Descarta los registros y abre una época nueva, invalidando todos los tokens.
+     * Se usa cuando el almacenamiento se reinicia por completo.
+     */
+    public void clear() {
+        logsByUser.clear();
+        epochStart = processed;
+        epoch = Math.max(System.currentTimeMillis(), epoch + 1);
+    }
+
+    /**
+     * Claves cambiadas desde el token, o null si hace falta una resincronización completa.
+     */
+    private long[] keysSince(Long userId, String since, long currentEpoch, long position) {
+        if (since == null || since.isBlank()) {
+            return null;
+        }
+        long tokenEpoch;
+        long sequence;
+        try {
+            int separator = since.indexOf('.');
+            tokenEpoch = Long.parseLong(since.substring(0, separator), 36);
+            sequence = Long.parseLong(since.substring(separator + 1), 36);
+        } catch (RuntimeException e) {
+            throw new InvalidDataException("since", since, "no es un token de sincronización válido");
+        }
+        if (tokenEpoch != currentEpoch || sequence < epochStart || sequence > position) {
+            return null;
+        }
+        ChangeLog log = logsByUser.get(userId);
+        return log != null ? log.keysSince(sequence) : new long[0];
+    }
+
+    private void onMutation(MutationEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case TASK_CREATED:
+            case TASK_UPDATED:
+            case TASK_MOVED:
+            case TASK_COMPLETED:
+            case TASK_DELETED:
+                record(event.getUserId(), SyncKind.TASK, event.getEntityId(), sequence);
+                break;
+            case LIST_CREATED:
+            case LIST_UPDATED:
+            case LIST_DELETED:
+                record(event.getUserId(), SyncKind.TASK_LIST, event.getEntityId(), sequence);
+                break;
+            case USER_CREATED:
+            case USER_UPDATED:
+                record(event.getUserId(), SyncKind.USER, event.getEntityId(), sequence);
+                break;
+            case USER_DELETED:
+                if (storageService.findUserById(event.getUserId()).isPresent()) {
+                    record(event.getUserId(), SyncKind.USER, event.getEntityId(), sequence);
+                } else {
+                    logsByUser.remove(event.getUserId());
+                }
+                break;
+            default:
+                break;
+        }
+        processed = sequence;
+    }
+
+    private void record(Long userId, SyncKind kind, Long id, long sequence) {
+        logsByUser.computeIfAbsent(userId, key -> new ChangeLog(epochStart)).record(kind, id, sequence);
+    }
+}
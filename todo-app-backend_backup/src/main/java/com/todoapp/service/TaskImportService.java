@@ -0,0 +1,604 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.controller.TaskController.TaskCreateRequest;
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.exception.InvalidDataException;
+import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.exception.UnauthorizedAccessException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Servicio de importación masiva de tareas.
+ * Acepta NDJSON (incluida la exportación propia de la aplicación) o CSV
+ * (incluidas exportaciones estilo Microsoft To-Do), analiza los registros en
+ * bloques en paralelo, los valida con las mismas reglas que
+ * {@link TaskCreateRequest}, reserva de una vez el bloque de IDs necesario
+ * e inserta las tareas en lotes, actualizando los índices al final.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Service
+public class TaskImportService {
+
+    /**
+     * Número de registros que analiza cada tarea paralela.
+     */
+    private static final int CHUNK_SIZE = 10_000;
+
+    /**
+     * Número máximo de errores detallados incluidos en el resultado.
+     */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final DateTimeFormatter SPACED_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd H:mm[:ss]");
+    private static final DateTimeFormatter US_DATE = DateTimeFormatter.ofPattern("M/d/yyyy");
+    private static final DateTimeFormatter US_DATE_TIME = DateTimeFormatter.ofPattern("M/d/yyyy H:mm[:ss]");
+
+    /**
+     * Formatos de entrada soportados.
+     */
+    public enum ImportFormat {
+        NDJSON, CSV
+    }
+
+    @Autowired
+    private MemoryStorageService storageService;
+
+    @Autowired
+    private TaskListService taskListService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Importa tareas en una lista del usuario.
+     * Los registros inválidos se omiten y se informan en el resultado; los válidos
+     * se insertan en el orden del archivo con IDs consecutivos.
+     *
+     * @param taskListId ID de la lista destino
+     * @param userId ID del usuario propietario
+     * @param body Contenido a importar
+     * @param format Formato del contenido
+     * @return Resumen de la importación
+     * @throws ResourceNotFoundException si la lista no existe
+     * @throws UnauthorizedAccessException si el usuario no tiene permisos
+     * @throws InvalidDataException si el contenido no se puede leer
+     */
+    public ImportResult importTasks(Long taskListId, Long userId, InputStream body, ImportFormat format) {
+        long start = System.nanoTime();
+        TaskList taskList = taskListService.getTaskListByIdAndUserId(taskListId, userId);
+
+        RawRecords records = readRecords(body, format);
+        Map<String, Integer> columns = format == ImportFormat.CSV ? readCsvHeader(records) : Collections.emptyMap();
+        int firstRecord = format == ImportFormat.CSV ? 1 : 0;
+        int recordCount = records.values.size() - firstRecord;
+        int chunkCount = (recordCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        List<ParsedChunk> chunks = IntStream.range(0, chunkCount)
+                .parallel()
+                .mapToObj(chunk -> {
+                    int from = firstRecord + chunk * CHUNK_SIZE;
+                    int to = Math.min(from + CHUNK_SIZE, records.values.size());
+                    return parseChunk(records, from, to, format, columns, taskList);
+                })
+                .toList();
+
+        int imported = chunks.stream().mapToInt(chunk -> chunk.tasks.size()).sum();
+        List<Task> tasks = new ArrayList<>(imported);
+        List<ImportError> errors = new ArrayList<>();
+        int rejected = 0;
+        for (ParsedChunk chunk : chunks) {
+            tasks.addAll(chunk.tasks);
+            rejected += chunk.errors.size();
+            for (ImportError error : chunk.errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        Long firstTaskId = null;
+        Long lastTaskId = null;
+        if (!tasks.isEmpty()) {
+            long nextId = storageService.reserveTaskIds(tasks.size());
+            firstTaskId = nextId;
+            for (Task task : tasks) {
+                task.setId(nextId++);
+            }
+            lastTaskId = nextId - 1;
+            storageService.saveImportedTasks(tasks);
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        return new ImportResult(format, recordCount, imported, rejected, firstTaskId, lastTaskId, errors, durationMillis);
+    }
+
+    /**
+     * Determina el formato de la importación.
+     * Usa el parámetro explícito si existe; si no, el Content-Type de la petición.
+     *
+     * @param format Formato explícito (ndjson o csv), puede ser null
+     * @param contentType Content-Type de la petición, puede ser null
+     * @return Formato a usar
+     * @throws InvalidDataException si el formato no es soportado
+     */
+    public ImportFormat resolveFormat(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return ImportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidDataException("format", format, "formatos soportados: ndjson, csv");
+            }
+        }
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv")) {
+            return ImportFormat.CSV;
+        }
+        return ImportFormat.NDJSON;
+    }
+
+    /**
+     * Lee el contenido en registros lógicos de forma secuencial.
+     * En CSV un registro puede ocupar varias líneas si tiene campos entre comillas
+     * con saltos de línea (por ejemplo, notas de Microsoft To-Do).
+     */
+    private RawRecords readRecords(InputStream body, ImportFormat format) {
+        RawRecords records = new RawRecords();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 1 << 16)) {
+            String line;
+            int lineNumber = 0;
+            StringBuilder pending = null;
+            int pendingLine = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);
+                }
+                if (format == ImportFormat.NDJSON) {
+                    if (!line.isBlank()) {
+                        records.add(line, lineNumber);
+                    }
+                    continue;
+                }
+                if (pending != null) {
+                    pending.append('\n').append(line);
+                    if (hasBalancedQuotes(pending)) {
+                        records.add(pending.toString(), pendingLine);
+                        pending = null;
+                    }
+                } else if (!line.isBlank()) {
+                    if (hasBalancedQuotes(line)) {
+                        records.add(line, lineNumber);
+                    } else {
+                        pending = new StringBuilder(line);
+                        pendingLine = lineNumber;
+                    }
+                }
+            }
+            if (pending != null) {
+                throw new InvalidDataException("body", "línea " + pendingLine, "campo entre comillas sin cerrar");
+            }
+        } catch (IOException e) {
+            throw new InvalidDataException("No se pudo leer el contenido a importar", e);
+        }
+        if (records.values.isEmpty()) {
+            throw new InvalidDataException("El contenido a importar está vacío");
+        }
+        return records;
+    }
+
+    private Map<String, Integer> readCsvHeader(RawRecords records) {
+        List<String> header = parseCsvRecord(records.values.get(0));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = canonicalColumn(header.get(i));
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+        if (!columns.containsKey("title")) {
+            throw new InvalidDataException("body", header, "el CSV debe tener una columna de título (Title, Subject o Task)");
+        }
+        return columns;
+    }
+
+    private ParsedChunk parseChunk(RawRecords records, int from, int to, ImportFormat format,
+                                   Map<String, Integer> columns, TaskList taskList) {
+        ParsedChunk chunk = new ParsedChunk(to - from);
+        for (int i = from; i < to; i++) {
+            int lineNumber = records.lineNumbers[i];
+            try {
+                ImportedRow row = format == ImportFormat.CSV
+                        ? rowFromCsv(parseCsvRecord(records.values.get(i)), columns)
+                        : rowFromJson(records.values.get(i));
+                if (row == null) {
+                    continue;
+                }
+                String violations = validate(row.request);
+                if (violations != null) {
+                    chunk.errors.add(new ImportError(lineNumber, violations));
+                    continue;
+                }
+                chunk.tasks.add(toTask(row, taskList));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                chunk.errors.add(new ImportError(lineNumber, e.getMessage()));
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Analiza una línea NDJSON recorriendo sus tokens en lugar de construir el
+     * árbol completo, lo que reduce la memoria temporal por registro.
+     */
+    private ImportedRow rowFromJson(String line) {
+        Map<String, String> values = new HashMap<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Cada línea debe ser un objeto JSON");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                String value;
+                if (token == JsonToken.START_OBJECT) {
+                    value = nestedText(parser);
+                } else if (token == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    value = null;
+                } else {
+                    value = token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                }
+                if (value != null && !value.isBlank()) {
+                    values.put(name, value);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getMessage());
+        }
+        String type = values.get("type");
+        if (type != null && !"task".equals(type)) {
+            // Registros de usuario o lista de una exportación NDJSON propia
+            return null;
+        }
+        ImportedRow row = new ImportedRow();
+        row.request.setTitle(text(values, "title", "subject"));
+        row.request.setDescription(text(values, "description", "notes", "body"));
+        row.request.setPriority(parsePriority(text(values, "priority")));
+        row.request.setDueDate(parseDate(text(values, "dueDate", "dueDateTime")));
+        row.request.setIsImportant(parseImportant(text(values, "isImportant", "importance")));
+        row.completed = parseCompleted(text(values, "completed", "status"));
+        row.completedAt = parseDate(text(values, "completedAt", "completedDateTime"));
+        return row;
+    }
+
+    /**
+     * Extrae el valor útil de un objeto anidado de Microsoft Graph:
+     * {"dateTime": "...", "timeZone": "UTC"} o {"content": "...", "contentType": "text"}.
+     */
+    private static String nestedText(JsonParser parser) throws IOException {
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (token.isStructStart()) {
+                parser.skipChildren();
+            } else if (("dateTime".equals(name) || "content".equals(name)) && token != JsonToken.VALUE_NULL) {
+                value = parser.getValueAsString();
+            }
+        }
+        return value;
+    }
+
+    private ImportedRow rowFromCsv(List<String> fields, Map<String, Integer> columns) {
+        ImportedRow row = new ImportedRow();
+        row.request.setTitle(field(fields, columns, "title"));
+        row.request.setDescription(field(fields, columns, "description"));
+        row.request.setPriority(parsePriority(field(fields, columns, "priority")));
+        row.request.setDueDate(parseDate(field(fields, columns, "dueDate")));
+        row.request.setIsImportant(parseImportant(field(fields, columns, "important")));
+        row.completed = parseCompleted(field(fields, columns, "completed"));
+        row.completedAt = parseDate(field(fields, columns, "completedAt"));
+        return row;
+    }
+
+    private String validate(TaskCreateRequest request) {
+        Set<ConstraintViolation<TaskCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Construye la tarea con los mismos valores por defecto que TaskService.createTask.
+     */
+    private Task toTask(ImportedRow row, TaskList taskList) {
+        TaskCreateRequest request = row.request;
+        Task task = new Task();
+        task.setTitle(request.getTitle().trim());
+        task.setDescription(request.getDescription() != null ? request.getDescription().trim() : null);
+        task.setPriority(request.getPriority() != null ? request.getPriority() : Priority.MEDIUM);
+        task.setDueDate(request.getDueDate());
+        task.setIsImportant(request.getIsImportant() != null ? request.getIsImportant() : false);
+        task.setCompleted(row.completed);
+        if (row.completed && row.completedAt != null) {
+            task.setCompletedAt(row.completedAt);
+        }
+        task.setTaskList(taskList);
+        return task;
+    }
+
+    /**
+     * Normaliza el nombre de una columna CSV a su campo interno.
+     * Reconoce los nombres propios de la API y los de exportaciones de Microsoft To-Do.
+     */
+    private static String canonicalColumn(String header) {
+        String name = header.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_-]", "");
+        switch (name) {
+            case "title": case "subject": case "task": case "taskname": case "name":
+                return "title";
+            case "description": case "notes": case "body": case "content":
+                return "description";
+            case "priority":
+                return "priority";
+            case "duedate": case "due": case "duedatetime":
+                return "dueDate";
+            case "isimportant": case "important": case "importance":
+                return "important";
+            case "completed": case "iscompleted": case "status":
+                return "completed";
+            case "completedat": case "completeddate": case "completeddatetime":
+                return "completedAt";
+            default:
+                return null;
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String text(Map<String, String> values, String... names) {
+        for (String name : names) {
+            String value = values.get(name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static Priority parsePriority(String value) {
+        if (value == null) {
+            return Priority.MEDIUM;
+        }
+        for (Priority priority : Priority.values()) {
+            if (priority.name().equalsIgnoreCase(value) || priority.getDisplayName().equalsIgnoreCase(value)) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Prioridad desconocida: " + value);
+    }
+
+    private static Boolean parseImportant(String value) {
+        if (value == null) {
+            return false;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true": case "yes": case "si": case "sí": case "1": case "high":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean parseCompleted(String value) {
+        if (value == null) {
+            return false;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true": case "yes": case "si": case "sí": case "1": case "completed": case "done":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            if (trimmed.contains("/")) {
+                return trimmed.contains(":")
+                        ? LocalDateTime.parse(trimmed, US_DATE_TIME)
+                        : LocalDate.parse(trimmed, US_DATE).atStartOfDay();
+            }
+            if (trimmed.length() == 10) {
+                return LocalDate.parse(trimmed).atStartOfDay();
+            }
+            if (trimmed.indexOf(' ') == 10) {
+                return LocalDateTime.parse(trimmed, SPACED_DATE_TIME);
+            }
+            if (trimmed.endsWith("Z") || trimmed.lastIndexOf('+') > 10 || trimmed.lastIndexOf('-') > 10) {
+                return OffsetDateTime.parse(trimmed).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+            return LocalDateTime.parse(trimmed);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida: " + value);
+        }
+    }
+
+    private static boolean hasBalancedQuotes(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 0;
+    }
+
+    /**
+     * Divide un registro CSV (RFC 4180) en sus campos.
+     * Acepta coma o punto y coma como separador según el que aparezca primero fuera de comillas.
+     */
+    private static List<String> parseCsvRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        char separator = 0;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if ((separator == 0 && (c == ',' || c == ';')) || c == separator) {
+                separator = c;
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Registros lógicos leídos del contenido, con su número de línea inicial.
+     */
+    private static final class RawRecords {
+        private final List<String> values = new ArrayList<>();
+        private int[] lineNumbers = new int[1024];
+
+        private void add(String value, int lineNumber) {
+            if (values.size() == lineNumbers.length) {
+                lineNumbers = Arrays.copyOf(lineNumbers, lineNumbers.length * 2);
+            }
+            lineNumbers[values.size()] = lineNumber;
+            values.add(value);
+        }
+    }
+
+    /**
+     * Registro ya interpretado: datos de creación más el estado de completado.
+     */
+    private static final class ImportedRow {
+        private final TaskCreateRequest request = new TaskCreateRequest();
+        private boolean completed;
+        private LocalDateTime completedAt;
+    }
+
+    /**
+     * Resultado del análisis de un bloque de registros.
+     */
+    private static final class ParsedChunk {
+        private final List<Task> tasks;
+        private final List<ImportError> errors = new ArrayList<>();
+
+        private ParsedChunk(int capacity) {
+            this.tasks = new ArrayList<>(capacity);
+        }
+    }
+
+    /**
+     * Error de un registro rechazado durante la importación.
+     */
+    public static class ImportError {
+        private final int line;
+        private final String message;
+
+        public ImportError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+
+    /**
+     * Resumen de una importación masiva.
+     */
+    public static class ImportResult {
+        private final ImportFormat format;
+        private final int totalRecords;
+        private final int imported;
+        private final int rejected;
+        private final Long firstTaskId;
+        private final Long lastTaskId;
+        private final List<ImportError> errors;
+        private final long durationMillis;
+
+        public ImportResult(ImportFormat format, int totalRecords, int imported, int rejected,
+                            Long firstTaskId, Long lastTaskId, List<ImportError> errors, long durationMillis) {
+            this.format = format;
+            this.totalRecords = totalRecords;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.firstTaskId = firstTaskId;
+            this.lastTaskId = lastTaskId;
+            this.errors = errors;
+            this.durationMillis = durationMillis;
+        }
+
+        public ImportFormat getFormat() { return format; }
+        public int getTotalRecords() { return totalRecords; }
+        public int getImported() { return imported; }
+        public int getRejected() { return rejected; }
+        public Long getFirstTaskId() { return firstTaskId; }
+        public Long getLastTaskId() { return lastTaskId; }
+        public List<ImportError> getErrors() { return errors; }
+        public long getDurationMillis() { return durationMillis; }
+    }
+}
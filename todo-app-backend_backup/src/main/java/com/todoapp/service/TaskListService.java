@@ -1,10 +1,15 @@
 package com.todoapp.service;
 
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.SingleFlight;
 import com.todoapp.entity.TaskList;
 import com.todoapp.entity.User;
 import com.todoapp.entity.Task;
 import com.todoapp.exception.ResourceNotFoundException;
+import com.todoapp.exception.InvalidDataException;
 import com.todoapp.exception.UnauthorizedAccessException;
+import com.todoapp.query.Page;
+import com.todoapp.query.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +19,7 @@ import java.util.List;
  * Servicio de negocio para la gestión de listas de tareas.
  * Proporciona operaciones CRUD y funcionalidades específicas para listas,
  * incluyendo validaciones de seguridad y reglas de negocio.
+ * Las páginas de listas de un usuario se leen a través de {@link SingleFlight}.
  * 
  * @author TodoApp Team
  * @version 1.0.0
@@ -24,6 +30,12 @@ public class TaskListService {
     @Autowired
     private MemoryStorageService storageService;
     
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private ResourceVersions resourceVersions;
+    
     /**
      * Crea una nueva lista de tareas para el usuario especificado.
      * Valida que el usuario exista y que los datos sean válidos.
@@ -72,6 +84,26 @@ public class TaskListService {
         return storageService.findTaskListsByUserId(userId);
     }
     
+    /**
+     * Obtiene una página de las listas de tareas activas de un usuario.
+     * Las listas se ordenan por ID (orden de creación).
+     * 
+     * @param userId ID del usuario
+     * @param cursor Cursor opaco de la página anterior (null para la primera)
+     * @param limit Tamaño de página (null para devolver todo si no hay cursor)
+     * @return Página de listas de tareas del usuario
+     * @throws ResourceNotFoundException si el usuario no existe
+     * @throws InvalidDataException si el cursor o el límite no son válidos
+     */
+    public Page<TaskList> getTaskListsPageByUserId(Long userId, String cursor, Integer limit) {
+        storageService.findUserById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+        
+        int pageLimit = PageCursor.effectiveLimit(limit, cursor);
+        return singleFlight.execute("taskListsPageByUser", resourceVersions.userVersion(userId),
+                () -> storageService.findTaskListsPageByUserId(userId, cursor, pageLimit), userId, cursor, pageLimit);
+    }
+    
     /**
      * Obtiene una lista de tareas específica por su ID.
      * 
@@ -210,6 +242,8 @@ public class TaskListService {
             duplicatedTask.setPriority(originalTask.getPriority());
             duplicatedTask.setDueDate(originalTask.getDueDate());
             duplicatedTask.setIsImportant(originalTask.getIsImportant());
+            duplicatedTask.setRecurrence(originalTask.getRecurrence());
+            duplicatedTask.setTags(originalTask.getTags());
             duplicatedTask.setCompleted(false);
             duplicatedTask.setTaskList(savedList);
             
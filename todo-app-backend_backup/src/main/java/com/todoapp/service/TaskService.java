@@ -1,20 +1,43 @@
 package com.todoapp.service;
 
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.SingleFlight;
 import com.todoapp.entity.Task;
 import com.todoapp.entity.TaskList;
 import com.todoapp.entity.Priority;
+import com.todoapp.entity.RecurrenceRule;
+import com.todoapp.exception.InvalidDataException;
 import com.todoapp.exception.ResourceNotFoundException;
 import com.todoapp.exception.UnauthorizedAccessException;
+import com.todoapp.eventsourcing.DomainEvent;
+import com.todoapp.eventsourcing.EventStore;
+import com.todoapp.eventsourcing.TaskHistoryProjection;
+import com.todoapp.query.Page;
+import com.todoapp.query.PageCursor;
+import com.todoapp.query.TaskQuery;
+import com.todoapp.query.TaskQueryParser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Servicio de negocio para la gestión de tareas.
  * Proporciona operaciones CRUD y funcionalidades específicas para tareas,
  * incluyendo validaciones de seguridad y reglas de negocio.
+ * Las consultas de listados pasan por {@link SingleFlight}: las peticiones
+ * idénticas que coinciden en el tiempo comparten una sola ejecución. Los
+ * permisos se validan antes, en cada petición.
  * 
  * @author TodoApp Team
  * @version 1.0.0
@@ -22,9 +45,35 @@ import java.util.List;
 @Service
 public class TaskService {
     
+    private static final int MAX_RECURRENCE_INTERVAL = 999;
+    
+    private static final int MAX_TAGS_PER_TASK = 20;
+    
+    /**
+     * Formato de una etiqueta ya normalizada: letras, dígitos, '_' o '-'.
+     */
+    private static final Pattern TAG_PATTERN = Pattern.compile("[\\p{L}\\p{N}_-]{1,40}");
+    
+    /**
+     * Ventana máxima de una consulta de ocurrencias.
+     */
+    private static final Duration MAX_OCCURRENCE_WINDOW = Duration.ofDays(366);
+    
     @Autowired
     private MemoryStorageService storageService;
     
+    @Autowired
+    private EventStore eventStore;
+    
+    @Autowired
+    private TaskHistoryProjection taskHistory;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private ResourceVersions resourceVersions;
+    
     /**
      * Crea una nueva tarea en la lista especificada.
      * Valida que el usuario tenga permisos sobre la lista y que los datos sean válidos.
@@ -43,6 +92,50 @@ public class TaskService {
      */
     public Task createTask(Long taskListId, Long userId, String title, String description, 
                           Priority priority, LocalDateTime dueDate, Boolean isImportant) {
+        return createTask(taskListId, userId, title, description, priority, dueDate, isImportant, null, null);
+    }
+    
+    /**
+     * Crea una nueva tarea, opcionalmente recurrente.
+     * 
+     * @param taskListId ID de la lista donde crear la tarea
+     * @param userId ID del usuario propietario
+     * @param title Título de la tarea (obligatorio)
+     * @param description Descripción de la tarea (opcional)
+     * @param priority Prioridad de la tarea (por defecto MEDIUM)
+     * @param dueDate Fecha límite de la tarea (obligatoria si es recurrente)
+     * @param isImportant Si la tarea es importante (por defecto false)
+     * @param recurrence Regla de recurrencia (opcional)
+     * @return Tarea creada
+     */
+    public Task createTask(Long taskListId, Long userId, String title, String description, 
+                          Priority priority, LocalDateTime dueDate, Boolean isImportant,
+                          RecurrenceRule recurrence) {
+        return createTask(taskListId, userId, title, description, priority, dueDate, isImportant, recurrence, null);
+    }
+    
+    /**
+     * Crea una nueva tarea, opcionalmente recurrente y con etiquetas. Una tarea
+     * recurrente se guarda una sola vez: su fecha límite es la primera ocurrencia de la serie.
+     * 
+     * @param taskListId ID de la lista donde crear la tarea
+     * @param userId ID del usuario propietario
+     * @param title Título de la tarea (obligatorio)
+     * @param description Descripción de la tarea (opcional)
+     * @param priority Prioridad de la tarea (por defecto MEDIUM)
+     * @param dueDate Fecha límite de la tarea (obligatoria si es recurrente)
+     * @param isImportant Si la tarea es importante (por defecto false)
+     * @param recurrence Regla de recurrencia (opcional)
+     * @param tags Etiquetas de la tarea (opcional)
+     * @return Tarea creada
+     * @throws ResourceNotFoundException si la lista no existe
+     * @throws UnauthorizedAccessException si el usuario no tiene permisos
+     * @throws IllegalArgumentException si el título está vacío
+     * @throws InvalidDataException si la regla de recurrencia o las etiquetas no son válidas
+     */
+    public Task createTask(Long taskListId, Long userId, String title, String description, 
+                          Priority priority, LocalDateTime dueDate, Boolean isImportant,
+                          RecurrenceRule recurrence, List<String> tags) {
         
         TaskList taskList = validateTaskListAccess(taskListId, userId);
         
@@ -56,6 +149,8 @@ public class TaskService {
         task.setPriority(priority != null ? priority : Priority.MEDIUM);
         task.setDueDate(dueDate);
         task.setIsImportant(isImportant != null ? isImportant : false);
+        task.setRecurrence(validateRecurrence(recurrence, dueDate));
+        task.setTags(normalizeTags(tags));
         task.setCompleted(false);
         task.setTaskList(taskList);
         
@@ -77,6 +172,26 @@ public class TaskService {
         return storageService.findTasksByTaskListId(taskListId);
     }
     
+    /**
+     * Obtiene una página de las tareas de una lista específica.
+     * Valida que el usuario tenga permisos sobre la lista.
+     * 
+     * @param taskListId ID de la lista
+     * @param userId ID del usuario propietario
+     * @param cursor Cursor opaco de la página anterior (null para la primera)
+     * @param limit Tamaño de página (null para devolver todo si no hay cursor)
+     * @return Página de tareas ordenadas por fecha de creación
+     * @throws ResourceNotFoundException si la lista no existe
+     * @throws UnauthorizedAccessException si el usuario no tiene permisos
+     * @throws InvalidDataException si el cursor o el límite no son válidos
+     */
+    public Page<Task> getTasksPageByListId(Long taskListId, Long userId, String cursor, Integer limit) {
+        validateTaskListAccess(taskListId, userId);
+        int pageLimit = PageCursor.effectiveLimit(limit, cursor);
+        return singleFlight.execute("tasksPageByList", resourceVersions.taskListVersion(taskListId),
+                () -> storageService.findTasksPageByTaskListId(taskListId, cursor, pageLimit), taskListId, cursor, pageLimit);
+    }
+    
     /**
      * Obtiene todas las tareas pendientes de una lista específica.
      * Las tareas se ordenan por fecha límite.
@@ -153,6 +268,7 @@ public class TaskService {
      * @throws ResourceNotFoundException si la tarea no existe
      * @throws UnauthorizedAccessException si el usuario no tiene permisos
      * @throws IllegalArgumentException si el título está vacío
+     * @throws InvalidDataException si la nueva fecha límite no encaja en la recurrencia de la tarea
      */
     public Task updateTask(Long taskId, Long userId, String title, String description, 
                           Priority priority, LocalDateTime dueDate, Boolean isImportant) {
@@ -163,10 +279,17 @@ public class TaskService {
             throw new IllegalArgumentException("El título de la tarea no puede estar vacío");
         }
         
+        RecurrenceRule recurrence = task.getRecurrence();
+        if (task.isRecurring() && !Objects.equals(dueDate, task.getDueDate())) {
+            // La fecha límite es la ocurrencia actual: debe seguir encajando en la regla
+            recurrence = validateRecurrence(recurrence, dueDate);
+        }
+        
         task.setTitle(title.trim());
         task.setDescription(description != null ? description.trim() : null);
         task.setPriority(priority != null ? priority : task.getPriority());
         task.setDueDate(dueDate);
+        task.setRecurrence(recurrence);
         task.setIsImportant(isImportant != null ? isImportant : task.getIsImportant());
         
         return storageService.saveTask(task);
@@ -184,10 +307,76 @@ public class TaskService {
      */
     public Task toggleTaskCompletion(Long taskId, Long userId) {
         Task task = getTaskByIdAndUserId(taskId, userId);
+        if (task.isRecurring() && !task.getCompleted()) {
+            return completeOccurrence(task);
+        }
         task.setCompleted(!task.getCompleted());
         return storageService.saveTask(task);
     }
     
+    /**
+     * Establece o quita la regla de recurrencia de una tarea.
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @param recurrence Regla de recurrencia, o null para convertirla en tarea única
+     * @return Tarea actualizada
+     * @throws ResourceNotFoundException si la tarea no existe
+     * @throws UnauthorizedAccessException si el usuario no tiene permisos
+     * @throws InvalidDataException si la regla no es válida o la tarea no tiene fecha límite
+     */
+    public Task setTaskRecurrence(Long taskId, Long userId, RecurrenceRule recurrence) {
+        Task task = getTaskByIdAndUserId(taskId, userId);
+        task.setRecurrence(validateRecurrence(recurrence, task.getDueDate()));
+        return storageService.saveTask(task);
+    }
+    
+    /**
+     * Reemplaza las etiquetas de una tarea.
+     * Las etiquetas se guardan en minúsculas, sin '#' inicial, sin duplicados y ordenadas.
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @param tags Nuevas etiquetas (vacía o null para quitarlas todas)
+     * @return Tarea actualizada
+     * @throws ResourceNotFoundException si la tarea no existe
+     * @throws UnauthorizedAccessException si el usuario no tiene permisos
+     * @throws InvalidDataException si alguna etiqueta no es válida
+     */
+    public Task setTaskTags(Long taskId, Long userId, List<String> tags) {
+        Task task = getTaskByIdAndUserId(taskId, userId);
+        task.setTags(normalizeTags(tags));
+        return storageService.saveTask(task);
+    }
+    
+    /**
+     * Obtiene las etiquetas de un usuario con el número de tareas de cada una.
+     * 
+     * @param userId ID del usuario
+     * @return Etiquetas en orden alfabético con su número de tareas
+     */
+    public SortedMap<String, Integer> getTagCounts(Long userId) {
+        return singleFlight.execute("tagCounts", resourceVersions.userVersion(userId),
+                () -> storageService.countTagsByUserId(userId), userId);
+    }
+    
+    /**
+     * Añade una tarea a "Mi Día" o la quita. La tarea permanece en "Mi Día"
+     * hasta el cambio de fecha; las que vencen hoy aparecen en cualquier caso.
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @param inMyDay true para añadirla a "Mi Día", false para quitarla
+     * @return Tarea actualizada
+     * @throws ResourceNotFoundException si la tarea no existe
+     * @throws UnauthorizedAccessException si el usuario no tiene permisos
+     */
+    public Task setTaskInMyDay(Long taskId, Long userId, boolean inMyDay) {
+        Task task = getTaskByIdAndUserId(taskId, userId);
+        task.setMyDay(inMyDay ? LocalDate.now() : null);
+        return storageService.saveTask(task);
+    }
+    
     /**
      * Alterna el estado de importancia de una tarea.
      * Si es importante la marca como normal y viceversa.
@@ -256,6 +445,8 @@ public class TaskService {
         duplicatedTask.setPriority(originalTask.getPriority());
         duplicatedTask.setDueDate(originalTask.getDueDate());
         duplicatedTask.setIsImportant(originalTask.getIsImportant());
+        duplicatedTask.setRecurrence(originalTask.getRecurrence());
+        duplicatedTask.setTags(originalTask.getTags());
         duplicatedTask.setCompleted(false);
         duplicatedTask.setTaskList(originalTask.getTaskList());
         
@@ -273,6 +464,48 @@ public class TaskService {
         return storageService.findImportantTasksByUserId(userId);
     }
     
+    /**
+     * Obtiene las primeras tareas importantes y pendientes de un usuario,
+     * en el mismo orden que {@link #getImportantTasks(Long)}.
+     * 
+     * @param userId ID del usuario
+     * @param limit Número máximo de tareas (null para todas)
+     * @return Lista de tareas importantes pendientes
+     * @throws InvalidDataException si el límite no es válido
+     */
+    public List<Task> getImportantTasks(Long userId, Integer limit) {
+        int maxResults = PageCursor.effectiveLimit(limit, null);
+        return singleFlight.execute("importantTasks", resourceVersions.userVersion(userId),
+                () -> storageService.findImportantTasksByUserId(userId, maxResults), userId, maxResults);
+    }
+    
+    /**
+     * Obtiene el historial de cambios de una tarea desde la proyección del
+     * registro de eventos. Incluye los estados intermedios y, si la tarea fue
+     * eliminada, también su baja.
+     * 
+     * @param taskId ID de la tarea
+     * @param userId ID del usuario propietario
+     * @return Eventos de la tarea en orden
+     * @throws IllegalStateException si el modo event sourcing no está activo
+     * @throws ResourceNotFoundException si no hay historial de la tarea
+     * @throws UnauthorizedAccessException si la tarea es de otro usuario
+     */
+    public List<DomainEvent> getTaskHistory(Long taskId, Long userId) {
+        if (!eventStore.isEnabled()) {
+            throw new IllegalStateException(
+                    "El modo event sourcing no está activo (todoapp.event-sourcing.enabled=false)");
+        }
+        List<DomainEvent> history = taskHistory.getHistory(taskId);
+        if (history.isEmpty()) {
+            throw new ResourceNotFoundException("No hay historial de la tarea con ID: " + taskId);
+        }
+        if (!history.get(history.size() - 1).getUserId().equals(userId)) {
+            throw new UnauthorizedAccessException("No tienes permisos para acceder a esta tarea");
+        }
+        return history;
+    }
+    
     /**
      * Obtiene todas las tareas que vencen en el día actual.
      * Solo incluye tareas pendientes con fecha límite en el día de hoy.
@@ -311,6 +544,43 @@ public class TaskService {
                 .toList();
     }
     
+    /**
+     * Obtiene las ocurrencias de las tareas pendientes de un usuario dentro de
+     * una ventana de fechas. Las tareas únicas aparecen una vez; las recurrentes,
+     * una vez por cada ocurrencia de la ventana, calculada bajo demanda sin
+     * guardar copias.
+     * 
+     * @param userId ID del usuario
+     * @param from Inicio de la ventana (inclusivo)
+     * @param to Fin de la ventana (exclusivo)
+     * @return Ocurrencias ordenadas por fecha
+     * @throws InvalidDataException si la ventana no es válida
+     */
+    public List<TaskOccurrence> getOccurrences(Long userId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new InvalidDataException("to", to, "El fin de la ventana debe ser posterior al inicio");
+        }
+        if (Duration.between(from, to).compareTo(MAX_OCCURRENCE_WINDOW) > 0) {
+            throw new InvalidDataException("to", to, "La ventana no puede superar " + MAX_OCCURRENCE_WINDOW.toDays() + " días");
+        }
+        return singleFlight.execute("occurrences", resourceVersions.userVersion(userId),
+                () -> findOccurrences(userId, from, to), userId, from, to);
+    }
+    
+    private List<TaskOccurrence> findOccurrences(Long userId, LocalDateTime from, LocalDateTime to) {
+        return storageService.streamTasksByUserId(userId)
+                .filter(task -> !task.getCompleted() && task.getDueDate() != null)
+                .flatMap(task -> task.isRecurring()
+                        ? task.getRecurrence().occurrences(task.getDueDate(), from, to)
+                                .map(occurrence -> new TaskOccurrence(task, occurrence))
+                        : Stream.of(task.getDueDate())
+                                .filter(dueDate -> !dueDate.isBefore(from) && dueDate.isBefore(to))
+                                .map(dueDate -> new TaskOccurrence(task, dueDate)))
+                .sorted(Comparator.comparing(TaskOccurrence::getDueDate)
+                        .thenComparing(occurrence -> occurrence.getTask().getId()))
+                .toList();
+    }
+    
     /**
      * Obtiene todas las tareas de todas las listas de un usuario.
      * Las tareas se ordenan por fecha de creación descendente.
@@ -322,6 +592,152 @@ public class TaskService {
         return storageService.findAllTasksByUserId(userId);
     }
     
+    /**
+     * Obtiene una página de las tareas de todas las listas de un usuario.
+     * Las tareas se ordenan por fecha de creación descendente.
+     * 
+     * @param userId ID del usuario
+     * @param cursor Cursor opaco de la página anterior (null para la primera)
+     * @param limit Tamaño de página (null para devolver todo si no hay cursor)
+     * @return Página de tareas del usuario
+     * @throws InvalidDataException si el cursor o el límite no son válidos
+     */
+    public Page<Task> getTasksPageByUserId(Long userId, String cursor, Integer limit) {
+        int pageLimit = PageCursor.effectiveLimit(limit, cursor);
+        return singleFlight.execute("tasksPageByUser", resourceVersions.userVersion(userId),
+                () -> storageService.findTasksPageByUserId(userId, cursor, pageLimit), userId, cursor, pageLimit);
+    }
+    
+    /**
+     * Ejecuta una consulta compuesta sobre las tareas de un usuario.
+     * La expresión usa el lenguaje compacto de {@link TaskQueryParser},
+     * por ejemplo {@code list:5 priority>=HIGH due<7d important !done sort:due}.
+     * 
+     * @param userId ID del usuario
+     * @param expression Expresión de consulta (vacía para todas las tareas)
+     * @param limit Número máximo de resultados (null para todos)
+     * @return Lista de tareas que cumplen la consulta
+     * @throws InvalidDataException si la expresión o el límite no son válidos
+     * @throws ResourceNotFoundException si la lista filtrada no existe
+     * @throws UnauthorizedAccessException si la lista filtrada no pertenece al usuario
+     */
+    public List<Task> queryTasks(Long userId, String expression, Integer limit) {
+        TaskQuery query = TaskQueryParser.parse(expression, LocalDateTime.now());
+        int maxResults = PageCursor.effectiveLimit(limit, null);
+        if (query.getTaskListId() != null) {
+            validateTaskListAccess(query.getTaskListId(), userId);
+        }
+        return singleFlight.execute("queryTasks", resourceVersions.userVersion(userId),
+                () -> storageService.findTasksByQuery(userId, query, maxResults), userId, expression, maxResults);
+    }
+    
+    /**
+     * Completa la ocurrencia actual de una tarea recurrente: guarda una copia
+     * completada con la fecha de esa ocurrencia y adelanta la tarea a la
+     * siguiente. Si la serie terminó, la propia tarea queda completada.
+     * 
+     * @param task Tarea recurrente pendiente
+     * @return Tarea recurrente actualizada
+     */
+    private Task completeOccurrence(Task task) {
+        LocalDateTime next = task.getRecurrence().nextAfter(task.getDueDate());
+        if (next == null) {
+            task.setCompleted(true);
+            return storageService.saveTask(task);
+        }
+        Task completed = new Task();
+        completed.setTitle(task.getTitle());
+        completed.setDescription(task.getDescription());
+        completed.setPriority(task.getPriority());
+        completed.setDueDate(task.getDueDate());
+        completed.setIsImportant(task.getIsImportant());
+        completed.setTags(task.getTags());
+        completed.setCompleted(true);
+        completed.setTaskList(task.getTaskList());
+        storageService.saveTask(completed);
+        
+        task.setDueDate(next);
+        return storageService.saveTask(task);
+    }
+    
+    /**
+     * Valida una regla de recurrencia y completa sus valores por defecto.
+     * 
+     * @param recurrence Regla recibida (puede ser null)
+     * @param dueDate Fecha límite de la tarea (primera ocurrencia)
+     * @return Regla lista para guardar, o null si no hay regla
+     * @throws InvalidDataException si la regla no es válida
+     */
+    private RecurrenceRule validateRecurrence(RecurrenceRule recurrence, LocalDateTime dueDate) {
+        if (recurrence == null) {
+            return null;
+        }
+        if (recurrence.getFrequency() == null) {
+            throw new InvalidDataException("recurrence.frequency", null, "La frecuencia es obligatoria (DAILY, WEEKLY o MONTHLY)");
+        }
+        if (recurrence.getInterval() < 1 || recurrence.getInterval() > MAX_RECURRENCE_INTERVAL) {
+            throw new InvalidDataException("recurrence.interval", recurrence.getInterval(),
+                    "El intervalo debe estar entre 1 y " + MAX_RECURRENCE_INTERVAL);
+        }
+        if (recurrence.getDaysOfWeek() != null && recurrence.getFrequency() != RecurrenceRule.Frequency.WEEKLY) {
+            throw new InvalidDataException("recurrence.daysOfWeek", recurrence.getDaysOfWeek(),
+                    "Los días de la semana solo aplican a la frecuencia WEEKLY");
+        }
+        if (recurrence.getDayOfMonth() != null && (recurrence.getFrequency() != RecurrenceRule.Frequency.MONTHLY
+                || recurrence.getDayOfMonth() < 1 || recurrence.getDayOfMonth() > 31)) {
+            throw new InvalidDataException("recurrence.dayOfMonth", recurrence.getDayOfMonth(),
+                    "El día del mes debe estar entre 1 y 31 y solo aplica a la frecuencia MONTHLY");
+        }
+        if (dueDate == null) {
+            throw new InvalidDataException("dueDate", null, "Una tarea recurrente necesita fecha límite");
+        }
+        if (recurrence.getUntil() != null && recurrence.getUntil().isBefore(dueDate.toLocalDate())) {
+            throw new InvalidDataException("recurrence.until", recurrence.getUntil(),
+                    "La fecha de fin no puede ser anterior a la primera ocurrencia");
+        }
+        RecurrenceRule anchored = recurrence.anchoredTo(dueDate);
+        if (anchored.getDaysOfWeek() != null && !anchored.getDaysOfWeek().contains(dueDate.getDayOfWeek())) {
+            throw new InvalidDataException("dueDate", dueDate,
+                    "La fecha límite debe caer en uno de los días de la semana de la recurrencia");
+        }
+        if (anchored.getDayOfMonth() != null && dueDate.getDayOfMonth()
+                != Math.min(anchored.getDayOfMonth(), dueDate.toLocalDate().lengthOfMonth())) {
+            throw new InvalidDataException("dueDate", dueDate,
+                    "La fecha límite debe caer en el día del mes de la recurrencia");
+        }
+        return anchored;
+    }
+    
+    /**
+     * Normaliza y valida las etiquetas recibidas.
+     * 
+     * @param tags Etiquetas recibidas (puede ser null)
+     * @return Etiquetas normalizadas, sin duplicados y ordenadas
+     * @throws InvalidDataException si alguna etiqueta no es válida o hay demasiadas
+     */
+    private List<String> normalizeTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        TreeSet<String> normalized = new TreeSet<>();
+        for (String tag : tags) {
+            String value = tag != null ? tag.trim().toLowerCase(Locale.ROOT) : "";
+            if (value.startsWith("#")) {
+                value = value.substring(1);
+            }
+            if (!TAG_PATTERN.matcher(value).matches()) {
+                throw new InvalidDataException("tags", tag,
+                        "Las etiquetas deben tener entre 1 y 40 letras, dígitos, '_' o '-'");
+            }
+            normalized.add(value);
+        }
+        if (normalized.size() > MAX_TAGS_PER_TASK) {
+            throw new InvalidDataException("tags", normalized.size(),
+                    "Una tarea no puede tener más de " + MAX_TAGS_PER_TASK + " etiquetas");
+        }
+        return List.copyOf(normalized);
+    }
+    
     /**
      * Valida que un usuario tenga acceso a una lista de tareas específica.
      * 
@@ -341,4 +757,36 @@ public class TaskService {
         
         return taskList;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Ocurrencia de una tarea en una fecha concreta. Para las tareas
+     * recurrentes, todas las ocurrencias comparten la misma tarea guardada.
+     */
+    public static class TaskOccurrence {
+        private final Task task;
+        private final LocalDateTime dueDate;
+        
+        /**
+         * Constructor de una ocurrencia.
+         * 
+         * @param task Tarea guardada
+         * @param dueDate Fecha de la ocurrencia
+         */
+        public TaskOccurrence(Task task, LocalDateTime dueDate) {
+            this.task = task;
+            this.dueDate = dueDate;
+        }
+        
+        public Task getTask() { return task; }
+        public LocalDateTime getDueDate() { return dueDate; }
+        
+        /**
+         * Indica si es la ocurrencia actual, la que representa la tarea guardada.
+         * 
+         * @return true si la fecha coincide con la fecha límite de la tarea
+         */
+        public boolean isCurrent() {
+            return dueDate.equals(task.getDueDate());
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.todoapp.service;
 
+import com.todoapp.auth.PasswordHasher;
 import com.todoapp.entity.User;
 import com.todoapp.entity.TaskList;
 import com.todoapp.exception.ResourceNotFoundException;
 import com.todoapp.exception.EmailAlreadyExistsException;
+import com.todoapp.exception.InvalidDataException;
+import com.todoapp.query.Page;
+import com.todoapp.query.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Servicio de negocio para la gestión de usuarios.
  * Proporciona operaciones CRUD y funcionalidades específicas para usuarios,
- * incluyendo autenticación básica y gestión de cuentas.
+ * incluyendo autenticación básica y gestión de cuentas. Las contraseñas se
+ * guardan con el hash de {@link PasswordHasher}, que se calcula en su propio
+ * pool acotado: las operaciones con contraseñas devuelven un futuro y no
+ * ocupan el hilo de la petición mientras tanto.
  * 
  * @author TodoApp Team
  * @version 1.0.0
@@ -24,31 +32,53 @@ public class UserService {
     @Autowired
     private MemoryStorageService storageService;
     
+    @Autowired
+    private PasswordHasher passwordHasher;
+    
     /**
      * Crea un nuevo usuario en el sistema.
-     * Valida que el email no exista previamente y crea una lista de tareas predeterminada.
+     * Reserva el email de forma atómica antes de calcular el hash, de modo que
+     * de dos registros simultáneos con el mismo email solo uno sigue adelante,
+     * y crea una lista de tareas predeterminada. El guardado se hace fuera del
+     * pool de hash, que queda libre para la siguiente contraseña. Si el alta
+     * falla, el email se libera.
      * 
      * @param email Dirección de correo electrónico (debe ser única)
      * @param name Nombre completo del usuario
-     * @param password Contraseña del usuario (en producción se encriptaría)
-     * @return Usuario creado con lista predeterminada
-     * @throws EmailAlreadyExistsException si el email ya está registrado
+     * @param password Contraseña del usuario (se guarda su hash)
+     * @return Usuario creado con lista predeterminada, futuro
+     * @throws EmailAlreadyExistsException si el email ya está registrado o en proceso de registro
+     * @throws com.todoapp.exception.ServiceOverloadedException si el pool de hash está saturado
      */
-    public User createUser(String email, String name, String password) {
-        if (storageService.existsByEmail(email)) {
+    public CompletableFuture<User> createUser(String email, String name, String password) {
+        String normalizedEmail = email.toLowerCase().trim();
+        if (!storageService.reserveEmail(normalizedEmail)) {
             throw new EmailAlreadyExistsException("El email " + email + " ya está registrado");
         }
         
-        User user = new User();
-        user.setEmail(email.toLowerCase().trim());
-        user.setName(name.trim());
-        user.setPassword(password);
-        user.setIsActive(true);
-        
-        User savedUser = storageService.saveUser(user);
-        createDefaultTaskList(savedUser);
-        
-        return savedUser;
+        CompletableFuture<String> hash;
+        try {
+            hash = passwordHasher.hash(password);
+        } catch (RuntimeException e) {
+            storageService.releaseEmail(normalizedEmail);
+            throw e;
+        }
+        return hash.thenApplyAsync(encoded -> {
+            User user = new User();
+            user.setEmail(normalizedEmail);
+            user.setName(name.trim());
+            user.setPassword(encoded);
+            user.setIsActive(true);
+            
+            User savedUser = storageService.saveUser(user);
+            createDefaultTaskList(savedUser);
+            
+            return savedUser;
+        }).whenComplete((user, error) -> {
+            if (error != null) {
+                storageService.releaseEmail(normalizedEmail);
+            }
+        });
     }
     
     /**
@@ -85,6 +115,18 @@ public class UserService {
         return storageService.findAllActiveUsers();
     }
     
+    /**
+     * Obtiene una página de los usuarios activos del sistema ordenados por ID.
+     * 
+     * @param cursor Cursor opaco de la página anterior (null para la primera)
+     * @param limit Tamaño de página (null para devolver todo si no hay cursor)
+     * @return Página de usuarios activos
+     * @throws InvalidDataException si el cursor o el límite no son válidos
+     */
+    public Page<User> getActiveUsersPage(String cursor, Integer limit) {
+        return storageService.findActiveUsersPage(cursor, PageCursor.effectiveLimit(limit, cursor));
+    }
+    
     /**
      * Actualiza la información básica de un usuario.
      * Valida que el nuevo email no esté en uso por otro usuario.
@@ -98,13 +140,14 @@ public class UserService {
      */
     public User updateUser(Long id, String name, String email) {
         User user = getUserById(id);
+        String normalizedEmail = email.toLowerCase().trim();
         
-        if (!user.getEmail().equals(email.toLowerCase()) && storageService.existsByEmail(email)) {
+        if (!user.getEmail().equals(normalizedEmail) && !storageService.reserveEmail(normalizedEmail)) {
             throw new EmailAlreadyExistsException("El email " + email + " ya está en uso");
         }
         
         user.setName(name.trim());
-        user.setEmail(email.toLowerCase().trim());
+        user.setEmail(normalizedEmail);
         
         return storageService.saveUser(user);
     }
@@ -116,22 +159,32 @@ public class UserService {
      * @param userId ID del usuario
      * @param currentPassword Contraseña actual del usuario
      * @param newPassword Nueva contraseña
+     * @return Futuro que termina al guardar la contraseña, o con {@link IllegalArgumentException}
+     *         si la contraseña actual es incorrecta o la nueva es muy corta
      * @throws ResourceNotFoundException si el usuario no existe
-     * @throws IllegalArgumentException si la contraseña actual es incorrecta o la nueva es muy corta
+     * @throws com.todoapp.exception.ServiceOverloadedException si el pool de hash está saturado
      */
-    public void changePassword(Long userId, String currentPassword, String newPassword) {
+    public CompletableFuture<Void> changePassword(Long userId, String currentPassword, String newPassword) {
         User user = getUserById(userId);
         
-        if (!user.getPassword().equals(currentPassword)) {
-            throw new IllegalArgumentException("La contraseña actual es incorrecta");
-        }
-        
-        if (newPassword.length() < 6) {
-            throw new IllegalArgumentException("La nueva contraseña debe tener al menos 6 caracteres");
-        }
-        
-        user.setPassword(newPassword);
-        storageService.saveUser(user);
+        return passwordHasher.verify(currentPassword, user.getPassword())
+                .thenCompose(valid -> {
+                    if (!valid) {
+                        throw new IllegalArgumentException("La contraseña actual es incorrecta");
+                    }
+                    
+                    if (newPassword.length() < 6) {
+                        throw new IllegalArgumentException("La nueva contraseña debe tener al menos 6 caracteres");
+                    }
+                    
+                    return passwordHasher.hash(newPassword);
+                })
+                .thenAcceptAsync(hash -> {
+                    synchronized (user) {
+                        user.setPassword(hash);
+                        storageService.saveUser(user);
+                    }
+                });
     }
     
     /**
@@ -153,15 +206,14 @@ public class UserService {
      * 
      * @param email Email del usuario
      * @param password Contraseña proporcionada
-     * @return true si las credenciales son válidas, false en caso contrario
+     * @return true si las credenciales son válidas, false en caso contrario, futuro
+     * @throws com.todoapp.exception.ServiceOverloadedException si el pool de hash está saturado
      */
-    public boolean validateCredentials(String email, String password) {
+    public CompletableFuture<Boolean> validateCredentials(String email, String password) {
         Optional<User> userOpt = storageService.findUserByEmail(email.toLowerCase());
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            return user.getIsActive() && user.getPassword().equals(password);
-        }
-        return false;
+        // Sin usuario se verifica igualmente, para que la respuesta no revele si el email existe
+        return passwordHasher.verify(password, userOpt.map(User::getPassword).orElse(null))
+                .thenApply(valid -> valid && userOpt.get().getIsActive());
     }
     
     /**
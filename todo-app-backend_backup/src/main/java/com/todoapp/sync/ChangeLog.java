@@ -0,0 +1,91 @@
+package com.todoapp.sync;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Registro compactado de los cambios de un usuario.
+ * Guarda, para cada entidad modificada, solo la secuencia de su último
+ * cambio: una tarea editada diez veces ocupa una entrada, y al pedir los
+ * cambios desde una secuencia se recorren únicamente las entradas
+ * posteriores, en orden. El registro no guarda el estado de la entidad; quien
+ * lo consulta lee el estado actual, o una baja si ya no existe.
+ *
+ * Con más de {@link #MAX_ENTRIES} entidades se descartan las más antiguas y
+ * el suelo del registro sube a la secuencia de la última descartada: los
+ * cambios desde una secuencia anterior ya no se pueden reconstruir.
+ *
+ * Escribe un único hilo (el consumidor del bus) y leen los de las peticiones,
+ * así que los métodos están sincronizados.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class ChangeLog {
+
+    /**
+     * Entidades distintas que conserva el registro de un usuario.
+     */
+    public static final int MAX_ENTRIES = 10_000;
+
+    private static final int KIND_BITS = 2;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    private final NavigableMap<Long, Long> keysBySequence = new TreeMap<>();
+    private final Map<Long, Long> sequenceByKey = new HashMap<>();
+    private long floor;
+
+    /**
+     * Crea un registro vacío.
+     *
+     * @param floor Secuencia desde la que el registro está completo
+     */
+    public ChangeLog(long floor) {
+        this.floor = floor;
+    }
+
+    /**
+     * Registra el cambio de una entidad, sustituyendo el anterior de la misma entidad.
+     *
+     * @param kind Tipo de entidad
+     * @param id ID de la entidad
+     * @param sequence Secuencia del cambio
+     */
+    public synchronized void record(SyncKind kind, long id, long sequence) {
+        long key = (id << KIND_BITS) | kind.ordinal();
+        Long previous = sequenceByKey.put(key, sequence);
+        if (previous != null) {
+            keysBySequence.remove(previous);
+        }
+        keysBySequence.put(sequence, key);
+        while (keysBySequence.size() > MAX_ENTRIES) {
+            Map.Entry<Long, Long> oldest = keysBySequence.pollFirstEntry();
+            sequenceByKey.remove(oldest.getValue());
+            floor = oldest.getKey();
+        }
+    }
+
+    /**
+     * Obtiene las entidades cambiadas después de una secuencia, en orden de su último cambio.
+     *
+     * @param since Secuencia del último cambio que conoce el cliente
+     * @return Claves de las entidades, que se decodifican con {@link #kindOf} y {@link #idOf};
+     *         null si el registro ya no llega a esa secuencia y hace falta una resincronización completa
+     */
+    public synchronized long[] keysSince(long since) {
+        if (since < floor) {
+            return null;
+        }
+        return keysBySequence.tailMap(since, false).values().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public static SyncKind kindOf(long key) {
+        return SyncKind.values()[(int) (key & KIND_MASK)];
+    }
+
+    public static long idOf(long key) {
+        return key >>> KIND_BITS;
+    }
+}
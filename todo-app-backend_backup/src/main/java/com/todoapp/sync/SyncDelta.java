@@ -0,0 +1,56 @@
+package com.todoapp.sync;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+
+import java.util.List;
+
+/**
+ * Cambios que recibe un cliente al sincronizar.
+ * En una sincronización incremental contiene solo las entidades cambiadas
+ * desde su token, en su estado actual, y los IDs de las eliminadas; en una
+ * completa ({@link #isFull()}) contiene todo el estado del usuario y el
+ * cliente debe sustituir sus datos locales.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public class SyncDelta {
+
+    private final String token;
+    private final boolean full;
+    private final User user;
+    private final List<TaskList> taskLists;
+    private final List<Task> tasks;
+    private final List<Long> deletedTaskListIds;
+    private final List<Long> deletedTaskIds;
+
+    public SyncDelta(String token, boolean full, User user, List<TaskList> taskLists, List<Task> tasks,
+                     List<Long> deletedTaskListIds, List<Long> deletedTaskIds) {
+        this.token = token;
+        this.full = full;
+        this.user = user;
+        this.taskLists = taskLists;
+        this.tasks = tasks;
+        this.deletedTaskListIds = deletedTaskListIds;
+        this.deletedTaskIds = deletedTaskIds;
+    }
+
+    /**
+     * Token que el cliente debe enviar en la próxima sincronización.
+     */
+    public String getToken() { return token; }
+
+    public boolean isFull() { return full; }
+
+    /**
+     * Usuario, si cambió (siempre en una sincronización completa).
+     */
+    public User getUser() { return user; }
+
+    public List<TaskList> getTaskLists() { return taskLists; }
+    public List<Task> getTasks() { return tasks; }
+    public List<Long> getDeletedTaskListIds() { return deletedTaskListIds; }
+    public List<Long> getDeletedTaskIds() { return deletedTaskIds; }
+}
@@ -0,0 +1,14 @@
+package com.todoapp.sync;
+
+/**
+ * Tipos de entidad que registra el {@link ChangeLog}.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public enum SyncKind {
+
+    USER,
+    TASK_LIST,
+    TASK
+}
@@ -0,0 +1,24 @@
+package com.todoapp.wire;
+
+import java.io.IOException;
+
+/**
+ * Cuerpo de respuesta en el formato binario de {@link WireFormat}.
+ * Los controladores lo devuelven dentro de un {@code ResponseEntity} y
+ * {@link WireBodyHttpMessageConverter} lo vuelca en la respuesta con el
+ * escritor reutilizable del hilo.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface WireBody {
+
+    /**
+     * Escribe el cuerpo.
+     *
+     * @param writer Escritor abierto sobre la respuesta
+     * @throws IOException si falla la escritura
+     */
+    void writeTo(WireWriter writer) throws IOException;
+}
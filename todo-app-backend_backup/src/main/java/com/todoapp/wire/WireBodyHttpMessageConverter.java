@@ -0,0 +1,54 @@
+package com.todoapp.wire;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Conversor que vuelca un {@link WireBody} en la respuesta con el tipo
+ * {@value WireFormat#MEDIA_TYPE_VALUE}. Cada hilo reutiliza su propio
+ * {@link WireWriter}. Spring Boot registra este conversor por ser un bean.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@Component
+public class WireBodyHttpMessageConverter extends AbstractHttpMessageConverter<WireBody> {
+
+    private static final ThreadLocal<WireWriter> WRITERS = ThreadLocal.withInitial(WireWriter::new);
+
+    public WireBodyHttpMessageConverter() {
+        super(WireFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return WireBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected WireBody readInternal(Class<? extends WireBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("WireBody solo se usa en respuestas", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(WireBody body, HttpOutputMessage outputMessage) throws IOException {
+        WireWriter writer = WRITERS.get();
+        writer.open(outputMessage.getBody());
+        try {
+            body.writeTo(writer);
+        } finally {
+            writer.close();
+        }
+    }
+}
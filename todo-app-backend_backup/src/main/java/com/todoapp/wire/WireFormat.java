@@ -0,0 +1,265 @@
+package com.todoapp.wire;
+
+import com.todoapp.entity.RecurrenceRule;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formato binario compacto de tareas y listas para clientes móviles.
+ * Se sirve en lugar de JSON cuando la cabecera {@code Accept} pide
+ * {@value #MEDIA_TYPE_VALUE} por delante de JSON. Cada mensaje empieza por
+ * {@code 'T' 'D' 'B'}, la versión del formato (1) y el tipo de contenido:
+ *
+ * <pre>
+ * string   = varint(longitud en bytes UTF-8) bytes
+ * fecha    = svarint(milisegundos desde epoch en la zona del servidor)
+ * día      = svarint(días desde epoch)
+ *
+ * 1 tareas = varint(n) n × (varint(id lista) string(nombre))   diccionario de listas
+ *            varint(m) m × tarea
+ *   tarea  = varint(flags) varint(id) varint(índice de su lista en el diccionario)
+ *            [string título] [string descripción] [byte ordinal de prioridad]
+ *            [fecha límite] [fecha de creación] [recurrencia]
+ *            [varint(k) k × string etiqueta] [día de Mi Día]
+ *            flags: 1 completada, 2 importante, 4 título, 8 descripción, 16 prioridad,
+ *                   32 fecha límite, 64 creación, 128 recurrencia, 256 etiquetas, 512 Mi Día
+ *   recurrencia = byte(flags: 1 días, 2 día del mes, 4 hasta) byte(ordinal de frecuencia)
+ *            varint(intervalo) [byte(días: bit 0 = lunes)] [varint día del mes] [día hasta]
+ *
+ * 2 listas = varint(m) m × lista
+ *   lista  = varint(flags: 1 descripción, 2 color, 4 creación) varint(id) string(nombre)
+ *            [string descripción] [string color] [fecha de creación]
+ *            varint(id usuario) string(nombre usuario)
+ * </pre>
+ *
+ * Los nombres de lista se envían una vez en el diccionario en lugar de en
+ * cada tarea, y las fechas y prioridades como enteros en lugar de texto.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class WireFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.todoapp.binary";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int VERSION = 1;
+    private static final int KIND_TASKS = 1;
+    private static final int KIND_TASK_LISTS = 2;
+
+    private static final int TASK_COMPLETED = 1;
+    private static final int TASK_IMPORTANT = 1 << 1;
+    private static final int TASK_TITLE = 1 << 2;
+    private static final int TASK_DESCRIPTION = 1 << 3;
+    private static final int TASK_PRIORITY = 1 << 4;
+    private static final int TASK_DUE_DATE = 1 << 5;
+    private static final int TASK_CREATED_AT = 1 << 6;
+    private static final int TASK_RECURRENCE = 1 << 7;
+    private static final int TASK_TAGS = 1 << 8;
+    private static final int TASK_MY_DAY = 1 << 9;
+
+    private static final int RULE_DAYS = 1;
+    private static final int RULE_DAY_OF_MONTH = 1 << 1;
+    private static final int RULE_UNTIL = 1 << 2;
+
+    private static final int LIST_DESCRIPTION = 1;
+    private static final int LIST_COLOR = 1 << 1;
+    private static final int LIST_CREATED_AT = 1 << 2;
+
+    private static final ZoneRules ZONE = ZoneId.systemDefault().getRules();
+
+    private WireFormat() {
+    }
+
+    /**
+     * Indica si el cliente prefiere el formato binario a JSON.
+     * Solo lo elige un tipo explícito en {@code Accept}, nunca un comodín.
+     *
+     * @param request Petición en curso
+     * @return true si debe responderse en binario
+     */
+    public static boolean isPreferred(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(MEDIA_TYPE_VALUE)) {
+            return false;
+        }
+        try {
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType mediaType : accepted) {
+                if (mediaType.getQualityValue() == 0) {
+                    continue;
+                }
+                if (mediaType.equalsTypeAndSubtype(MEDIA_TYPE)) {
+                    return true;
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return false;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * Crea el mensaje de una colección de tareas.
+     *
+     * @param tasks Tareas en el orden de la respuesta
+     * @return Cuerpo del mensaje
+     */
+    public static WireBody tasks(List<Task> tasks) {
+        return writer -> {
+            writeHeader(writer, KIND_TASKS);
+            Map<Long, Integer> dictionary = new HashMap<>();
+            for (Task task : tasks) {
+                dictionary.putIfAbsent(task.getTaskList().getId(), dictionary.size());
+            }
+            writer.writeVarint(dictionary.size());
+            int next = 0;
+            for (Task task : tasks) {
+                TaskList taskList = task.getTaskList();
+                if (dictionary.get(taskList.getId()) == next) {
+                    writer.writeVarint(taskList.getId());
+                    writer.writeString(taskList.getName() != null ? taskList.getName() : "");
+                    next++;
+                }
+            }
+            writer.writeVarint(tasks.size());
+            for (Task task : tasks) {
+                writeTask(writer, task, dictionary.get(task.getTaskList().getId()));
+            }
+        };
+    }
+
+    /**
+     * Crea el mensaje de una colección de listas de tareas.
+     *
+     * @param taskLists Listas en el orden de la respuesta
+     * @return Cuerpo del mensaje
+     */
+    public static WireBody taskLists(List<TaskList> taskLists) {
+        return writer -> {
+            writeHeader(writer, KIND_TASK_LISTS);
+            writer.writeVarint(taskLists.size());
+            for (TaskList taskList : taskLists) {
+                writeTaskList(writer, taskList);
+            }
+        };
+    }
+
+    private static void writeHeader(WireWriter writer, int kind) throws IOException {
+        writer.writeByte('T');
+        writer.writeByte('D');
+        writer.writeByte('B');
+        writer.writeByte(VERSION);
+        writer.writeByte(kind);
+    }
+
+    private static void writeTask(WireWriter writer, Task task, int listIndex) throws IOException {
+        int flags = 0;
+        flags |= Boolean.TRUE.equals(task.getCompleted()) ? TASK_COMPLETED : 0;
+        flags |= Boolean.TRUE.equals(task.getIsImportant()) ? TASK_IMPORTANT : 0;
+        flags |= task.getTitle() != null ? TASK_TITLE : 0;
+        flags |= task.getDescription() != null ? TASK_DESCRIPTION : 0;
+        flags |= task.getPriority() != null ? TASK_PRIORITY : 0;
+        flags |= task.getDueDate() != null ? TASK_DUE_DATE : 0;
+        flags |= task.getCreatedAt() != null ? TASK_CREATED_AT : 0;
+        flags |= task.getRecurrence() != null ? TASK_RECURRENCE : 0;
+        flags |= task.getTags() != null ? TASK_TAGS : 0;
+        flags |= task.getMyDay() != null ? TASK_MY_DAY : 0;
+        writer.writeVarint(flags);
+        writer.writeVarint(task.getId());
+        writer.writeVarint(listIndex);
+        if (task.getTitle() != null) {
+            writer.writeString(task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            writer.writeString(task.getDescription());
+        }
+        if (task.getPriority() != null) {
+            writer.writeByte(task.getPriority().ordinal());
+        }
+        if (task.getDueDate() != null) {
+            writer.writeSignedVarint(epochMillis(task.getDueDate()));
+        }
+        if (task.getCreatedAt() != null) {
+            writer.writeSignedVarint(epochMillis(task.getCreatedAt()));
+        }
+        if (task.getRecurrence() != null) {
+            writeRecurrence(writer, task.getRecurrence());
+        }
+        if (task.getTags() != null) {
+            writer.writeVarint(task.getTags().size());
+            for (String tag : task.getTags()) {
+                writer.writeString(tag);
+            }
+        }
+        if (task.getMyDay() != null) {
+            writer.writeSignedVarint(task.getMyDay().toEpochDay());
+        }
+    }
+
+    private static void writeRecurrence(WireWriter writer, RecurrenceRule rule) throws IOException {
+        int flags = 0;
+        flags |= rule.getDaysOfWeek() != null ? RULE_DAYS : 0;
+        flags |= rule.getDayOfMonth() != null ? RULE_DAY_OF_MONTH : 0;
+        flags |= rule.getUntil() != null ? RULE_UNTIL : 0;
+        writer.writeByte(flags);
+        writer.writeByte(rule.getFrequency().ordinal());
+        writer.writeVarint(rule.getInterval());
+        if (rule.getDaysOfWeek() != null) {
+            int days = 0;
+            for (DayOfWeek day : rule.getDaysOfWeek()) {
+                days |= 1 << day.ordinal();
+            }
+            writer.writeByte(days);
+        }
+        if (rule.getDayOfMonth() != null) {
+            writer.writeVarint(rule.getDayOfMonth());
+        }
+        if (rule.getUntil() != null) {
+            writer.writeSignedVarint(rule.getUntil().toEpochDay());
+        }
+    }
+
+    private static void writeTaskList(WireWriter writer, TaskList taskList) throws IOException {
+        int flags = 0;
+        flags |= taskList.getDescription() != null ? LIST_DESCRIPTION : 0;
+        flags |= taskList.getColor() != null ? LIST_COLOR : 0;
+        flags |= taskList.getCreatedAt() != null ? LIST_CREATED_AT : 0;
+        writer.writeVarint(flags);
+        writer.writeVarint(taskList.getId());
+        writer.writeString(taskList.getName() != null ? taskList.getName() : "");
+        if (taskList.getDescription() != null) {
+            writer.writeString(taskList.getDescription());
+        }
+        if (taskList.getColor() != null) {
+            writer.writeString(taskList.getColor());
+        }
+        if (taskList.getCreatedAt() != null) {
+            writer.writeSignedVarint(epochMillis(taskList.getCreatedAt()));
+        }
+        writer.writeVarint(taskList.getUser().getId());
+        writer.writeString(taskList.getUser().getName() != null ? taskList.getUser().getName() : "");
+    }
+
+    private static long epochMillis(LocalDateTime value) {
+        return value.toEpochSecond(ZONE.getOffset(value)) * 1000L + value.getNano() / 1_000_000;
+    }
+}
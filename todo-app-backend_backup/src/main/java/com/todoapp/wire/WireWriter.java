@@ -0,0 +1,149 @@
+package com.todoapp.wire;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Escritor del formato binario sobre un buffer de bytes reutilizable.
+ * Igual que {@link com.todoapp.json.JsonWriter}, vuelca el buffer en el
+ * destino cada vez que se llena, así que una respuesta de cualquier tamaño
+ * no reserva memoria. Una instancia no es thread-safe: se usa una por hilo.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+public final class WireWriter {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private OutputStream sink;
+
+    /**
+     * Empieza a escribir hacia un destino.
+     *
+     * @param out Destino de los bytes
+     */
+    public void open(OutputStream out) {
+        this.sink = out;
+        this.position = 0;
+    }
+
+    /**
+     * Vuelca lo pendiente y suelta el destino. Si el buffer creció para
+     * alguna cadena muy larga, vuelve a su tamaño inicial.
+     *
+     * @throws IOException si falla la escritura en el destino
+     */
+    public void close() throws IOException {
+        try {
+            if (position > 0) {
+                sink.write(buffer, 0, position);
+            }
+        } finally {
+            sink = null;
+            position = 0;
+            if (buffer.length > BUFFER_SIZE * 4) {
+                buffer = new byte[BUFFER_SIZE];
+            }
+        }
+    }
+
+    public void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Escribe un entero sin signo en base 128 (7 bits por byte, el bit alto indica que sigue otro).
+     *
+     * @param value Valor no negativo
+     * @throws IOException si falla la escritura en el destino
+     */
+    public void writeVarint(long value) throws IOException {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Escribe un entero con signo en zigzag (0, -1, 1, -2...) y base 128.
+     *
+     * @param value Valor
+     * @throws IOException si falla la escritura en el destino
+     */
+    public void writeSignedVarint(long value) throws IOException {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Escribe una cadena como su longitud en bytes UTF-8 (varint) seguida de los bytes.
+     *
+     * @param value Cadena
+     * @throws IOException si falla la escritura en el destino
+     */
+    public void writeString(String value) throws IOException {
+        int length = value.length();
+        int utf8Length = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                utf8Length++;
+            } else if (c < 0x800) {
+                utf8Length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                utf8Length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                utf8Length++;
+            } else {
+                utf8Length += 3;
+            }
+        }
+        writeVarint(utf8Length);
+        ensure(utf8Length);
+        byte[] buf = buffer;
+        int pos = position;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        position = pos;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (position + length <= buffer.length) {
+            return;
+        }
+        if (sink != null && position > 0) {
+            sink.write(buffer, 0, position);
+            position = 0;
+            if (length <= buffer.length) {
+                return;
+            }
+        }
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+    }
+}
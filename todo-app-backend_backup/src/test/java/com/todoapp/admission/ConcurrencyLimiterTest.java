@@ -0,0 +1,138 @@
+package com.todoapp.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del límite adaptativo (AIMD) de {@link ConcurrencyLimiter}.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class ConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void rejectsOnceTheLimitIsInFlight() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(3, 1, 10, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+
+        limiter.release(-1);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void fastRequestsAtHighUtilisationRaiseTheLimitAdditively() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 12, 10);
+
+        // Una tanda completa (10 peticiones) con el límite ocupado sube una plaza
+        for (int round = 0; round < 10; round++) {
+            fill(limiter, 10);
+            for (int i = 0; i < 10; i++) {
+                limiter.release(FAST);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(12);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void slowRequestsLowerTheLimitAtMostOncePerCooldown() throws InterruptedException {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(100, 50, 200, 20);
+        Thread.sleep(25);
+
+        fill(limiter, 100);
+        for (int i = 0; i < 60; i++) {
+            limiter.release(SLOW);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo((int) (100 * ConcurrencyLimiter.BACKOFF));
+    }
+
+    @Test
+    void limitNeverDropsBelowTheMinimum() throws InterruptedException {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 9, 20, 1);
+        for (int round = 0; round < 5; round++) {
+            Thread.sleep(2);
+            fill(limiter, limiter.getLimit());
+            limiter.release(SLOW);
+            while (limiter.getInFlight() > 0) {
+                limiter.release(-1);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void lowUtilisationAndUnmeasuredRequestsDoNotMoveTheLimit() throws InterruptedException {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 20, 1);
+        Thread.sleep(2);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(i % 2 == 0 ? FAST : SLOW);
+        }
+        fill(limiter, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.release(-1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedTheLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, 8, 8, 1000);
+        int threads = 16;
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger current = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.tryAcquire()) {
+                        peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                        current.decrementAndGet();
+                        limiter.release(FAST);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(peak.get()).isBetween(1, 8);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private static void fill(ConcurrencyLimiter limiter, int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+    }
+}
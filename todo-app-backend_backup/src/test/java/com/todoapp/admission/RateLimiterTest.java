@@ -0,0 +1,122 @@
+package com.todoapp.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del GCRA de {@link RateLimiter} con instantes explícitos.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class RateLimiterTest {
+
+    private static final long INTERVAL = RouteClass.READ.getEmissionInterval();
+    private static final int BURST = (int) (RouteClass.READ.getBurstTolerance() / INTERVAL) + 1;
+
+    private final RateLimiter limiter = new RateLimiter();
+    private final long now = System.nanoTime();
+
+    @Test
+    void admitsAFullBurstThenReportsTheWait() {
+        for (int i = 0; i < BURST; i++) {
+            assertThat(limiter.tryAcquire(RouteClass.READ, "user:1", now)).as("petición %d", i).isZero();
+        }
+
+        assertThat(limiter.tryAcquire(RouteClass.READ, "user:1", now)).isEqualTo(INTERVAL);
+        assertThat(limiter.tryAcquire(RouteClass.READ, "user:1", now + INTERVAL / 2)).isEqualTo(INTERVAL / 2);
+        assertThat(limiter.tryAcquire(RouteClass.READ, "user:1", now + INTERVAL)).isZero();
+        assertThat(limiter.tryAcquire(RouteClass.READ, "user:1", now + INTERVAL)).isPositive();
+    }
+
+    @Test
+    void sustainedRateIsAlwaysAdmitted() {
+        for (int i = 0; i < 10 * BURST; i++) {
+            assertThat(limiter.tryAcquire(RouteClass.READ, "user:1", now + i * INTERVAL)).isZero();
+        }
+    }
+
+    @Test
+    void subjectsAndRouteClassesHaveSeparateBudgets() {
+        drain(RouteClass.READ, "user:1");
+
+        assertThat(limiter.tryAcquire(RouteClass.READ, "user:1", now)).isPositive();
+        assertThat(limiter.tryAcquire(RouteClass.READ, "user:2", now)).isZero();
+        assertThat(limiter.tryAcquire(RouteClass.WRITE, "user:1", now)).isZero();
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheBurst() throws Exception {
+        int threads = 16;
+        AtomicInteger admitted = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire(RouteClass.READ, "user:1", now) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(admitted).hasValue(BURST);
+    }
+
+    @Test
+    void idleSubjectsAreSweptOnceTheirBucketRefills() {
+        drain(RouteClass.READ, "user:1");
+        limiter.tryAcquire(RouteClass.WRITE, "user:2", now);
+        assertThat(limiter.getSubjectCount()).isEqualTo(2);
+
+        // Más de un segundo después ambos cubos están llenos: solo queda el sujeto nuevo
+        long later = now + TimeUnit.SECONDS.toNanos(5);
+        limiter.tryAcquire(RouteClass.READ, "user:3", later);
+
+        assertThat(limiter.getSubjectCount()).isEqualTo(1);
+        assertThat(limiter.tryAcquire(RouteClass.READ, "user:1", later)).isZero();
+    }
+
+    @Test
+    void subjectsBeyondTheTableShareTheOverflowBucket() {
+        for (int i = 0; i < RateLimiter.MAX_SUBJECTS; i++) {
+            limiter.tryAcquire(RouteClass.READ, "ip:" + i, now);
+        }
+
+        int admitted = 0;
+        for (int i = 0; i < 3 * BURST; i++) {
+            if (limiter.tryAcquire(RouteClass.READ, "invented:" + i, now) == 0) {
+                admitted++;
+            }
+        }
+
+        assertThat(admitted).isEqualTo(BURST);
+        assertThat(limiter.getSubjectCount()).isEqualTo(RateLimiter.MAX_SUBJECTS + 1);
+        // Los sujetos que ya estaban conservan su propio cubo
+        assertThat(limiter.tryAcquire(RouteClass.READ, "ip:0", now)).isZero();
+    }
+
+    private void drain(RouteClass routeClass, String subject) {
+        while (limiter.tryAcquire(routeClass, subject, now) == 0) {
+            // Se consume toda la ráfaga
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.todoapp.auth;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.exception.UnauthorizedAccessException;
+import com.todoapp.service.MemoryStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de {@link OwnershipGuard}: los usuarios, tareas y listas de la ruta
+ * deben ser del usuario del token, se escriban como se escriban sus IDs.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class OwnershipGuardTest {
+
+    private final MemoryStorageService storageService = mock(MemoryStorageService.class);
+    private final OwnershipGuard guard = new OwnershipGuard();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(guard, "storageService", storageService);
+        User owner = new User(1L, "ana@todoapp.com", "Ana", "secreto");
+        User other = new User(2L, "luis@todoapp.com", "Luis", "secreto");
+        TaskList ownList = new TaskList(10L, "Mía", "Lista propia", owner);
+        TaskList otherList = new TaskList(20L, "Ajena", "Lista de otro", other);
+        when(storageService.findTaskListById(anyLong())).thenReturn(Optional.empty());
+        when(storageService.findTaskById(anyLong())).thenReturn(Optional.empty());
+        when(storageService.findTaskListById(10L)).thenReturn(Optional.of(ownList));
+        when(storageService.findTaskListById(20L)).thenReturn(Optional.of(otherList));
+        when(storageService.findTaskById(100L)).thenReturn(Optional.of(new Task(100L, "Propia", ownList)));
+        when(storageService.findTaskById(200L)).thenReturn(Optional.of(new Task(200L, "Ajena", otherList)));
+    }
+
+    @Test
+    void requestsWithoutTokenAreNotChecked() {
+        guard.check(null, Map.of("userId", "2", "taskId", "200", "listId", "abc"));
+
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void ownResourcesAreAllowed() {
+        assertThatCode(() -> guard.check(1L, Map.of("userId", "1", "taskId", "100", "listId", "10")))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> guard.check(1L, Map.of("status", "pending"))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void missingResourcesAreLeftToTheController() {
+        assertThatCode(() -> guard.check(1L, Map.of("taskId", "999", "listId", "999")))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void otherUsersResourcesAreRejected() {
+        assertThatThrownBy(() -> guard.check(1L, Map.of("userId", "2")))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        assertThatThrownBy(() -> guard.check(1L, Map.of("taskId", "200")))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        assertThatThrownBy(() -> guard.check(1L, Map.of("listId", "20")))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        // La ruta de un usuario propio no vale para tocar la lista de otro
+        assertThatThrownBy(() -> guard.check(1L, Map.of("userId", "1", "listId", "20")))
+                .isInstanceOf(UnauthorizedAccessException.class);
+    }
+
+    @Test
+    void idsAreComparedByValueAsSpringConvertsThem() {
+        // Ceros a la izquierda, hexadecimal y espacios llegan al controlador como el mismo Long
+        for (String variant : new String[]{"02", "0x2", "#2", " 2 "}) {
+            assertThatThrownBy(() -> guard.check(1L, Map.of("userId", variant))).as(variant)
+                    .isInstanceOf(UnauthorizedAccessException.class);
+        }
+        assertThatThrownBy(() -> guard.check(1L, Map.of("taskId", "0200")))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        assertThatThrownBy(() -> guard.check(1L, Map.of("listId", "0x14")))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        assertThatCode(() -> guard.check(1L, Map.of("userId", "001", "listId", "0xA")))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void unparsableIdsAreRejected() {
+        for (String value : new String[]{"abc", "", "1.5", "99999999999999999999", "1;x"}) {
+            assertThatThrownBy(() -> guard.check(1L, Map.of("taskId", value))).as(value)
+                    .isInstanceOf(UnauthorizedAccessException.class);
+        }
+    }
+
+    @Test
+    void preHandleChecksTheResolvedPathVariables() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/200");
+        request.setAttribute(SessionFilter.USER_ID_ATTRIBUTE, 1L);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("taskId", "200"));
+        MockHttpServletRequest system = new MockHttpServletRequest("GET", "/api/system/health");
+        system.setAttribute(SessionFilter.USER_ID_ATTRIBUTE, 1L);
+
+        assertThatThrownBy(() -> guard.preHandle(request, new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        assertThat(guard.preHandle(system, new MockHttpServletResponse(), new Object())).isTrue();
+    }
+}
@@ -0,0 +1,97 @@
+package com.todoapp.auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de {@link PasswordHasher} con pocas iteraciones, para que sean rápidas.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class PasswordHasherTest {
+
+    private static final int ITERATIONS = 1000;
+
+    private final PasswordHasher hasher = new PasswordHasher(ITERATIONS);
+
+    @AfterEach
+    void tearDown() {
+        hasher.stop();
+    }
+
+    @Test
+    void hashesVerifyOnlyTheirPassword() throws Exception {
+        String hash = hash("contraseña");
+
+        assertThat(hash).startsWith("pbkdf2-sha256$" + ITERATIONS + "$");
+        assertThat(hash("contraseña")).as("sal aleatoria").isNotEqualTo(hash);
+        assertThat(verify("contraseña", hash)).isTrue();
+        assertThat(verify("Contraseña", hash)).isFalse();
+        assertThat(verify("", hash)).isFalse();
+    }
+
+    @Test
+    void hashesWithOtherIterationsStillVerifyButNeedRehash() throws Exception {
+        PasswordHasher weaker = new PasswordHasher(ITERATIONS / 2);
+        String oldHash;
+        try {
+            oldHash = weaker.hash("contraseña").get(5, TimeUnit.SECONDS);
+        } finally {
+            weaker.stop();
+        }
+
+        assertThat(verify("contraseña", oldHash)).isTrue();
+        assertThat(hasher.needsRehash(oldHash)).isTrue();
+        assertThat(hasher.needsRehash(hash("contraseña"))).isFalse();
+    }
+
+    @Test
+    void legacyPlaintextPasswordsAreComparedAndNeedRehash() throws Exception {
+        assertThat(verify("secreto", "secreto")).isTrue();
+        assertThat(verify("secreto2", "secreto")).isFalse();
+        assertThat(hasher.needsRehash("secreto")).isTrue();
+    }
+
+    @Test
+    void malformedHashesNeverMatchAndNeedRehash() throws Exception {
+        String[] malformed = {
+                "pbkdf2-sha256$abc$c2FsdHNhbHRzYWx0$aGFzaA",
+                "pbkdf2-sha256$0$c2FsdHNhbHRzYWx0$aGFzaA",
+                "pbkdf2-sha256$-5$c2FsdHNhbHRzYWx0$aGFzaA",
+                "pbkdf2-sha256$1000$!!!$aGFzaA",
+                "pbkdf2-sha256$1000$c2FsdHNhbHRzYWx0$%%%",
+                "pbkdf2-sha256$1000$$aGFzaA"
+        };
+        for (String encoded : malformed) {
+            assertThat(verify("contraseña", encoded)).as(encoded).isFalse();
+        }
+        for (String encoded : new String[]{malformed[0], "pbkdf2-sha256$1000$sal", "otro$1000$sal$hash"}) {
+            assertThat(hasher.needsRehash(encoded)).as(encoded).isTrue();
+        }
+    }
+
+    @Test
+    void unknownUsersNeverMatch() throws Exception {
+        assertThat(verify("dummy-password", null)).isFalse();
+    }
+
+    @Test
+    void iterationsMustBePositive() {
+        assertThatThrownBy(() -> new PasswordHasher(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PasswordHasher(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String hash(String password) throws Exception {
+        return hasher.hash(password).get(5, TimeUnit.SECONDS);
+    }
+
+    private boolean verify(String password, String encoded) throws Exception {
+        return hasher.verify(password, encoded).get(5, TimeUnit.SECONDS);
+    }
+}
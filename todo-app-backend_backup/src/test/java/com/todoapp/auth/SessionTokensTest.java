@@ -0,0 +1,89 @@
+package com.todoapp.auth;
+
+import com.todoapp.auth.SessionTokens.SessionToken;
+import com.todoapp.exception.AuthenticationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de {@link SessionTokens}: solo se aceptan tokens íntegros, firmados
+ * con el mismo secreto y sin expirar.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class SessionTokensTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final SessionTokens tokens = new SessionTokens(SECRET, 60);
+
+    @Test
+    void issuedTokensVerifyToTheirUser() {
+        Instant before = Instant.now();
+        SessionToken issued = tokens.issue(42L);
+
+        assertThat(issued.getUserId()).isEqualTo(42L);
+        assertThat(issued.getExpiresAt()).isAfterOrEqualTo(before.plusSeconds(3600).minusSeconds(1));
+        assertThat(issued.getToken()).startsWith("42.").matches("[0-9]+\\.[0-9]+\\.[A-Za-z0-9_-]+");
+        assertThat(tokens.verify(issued.getToken())).isEqualTo(42L);
+        assertThat(new SessionTokens(SECRET, 60).verify(issued.getToken())).isEqualTo(42L);
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        String token = tokens.issue(42L).getToken();
+        String[] parts = token.split("\\.");
+        char last = parts[2].charAt(parts[2].length() - 1);
+        String otherSignature = parts[2].substring(0, parts[2].length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        assertThatThrownBy(() -> tokens.verify("43." + parts[1] + "." + parts[2]))
+                .isInstanceOf(AuthenticationException.class).hasMessageContaining("no válido");
+        assertThatThrownBy(() -> tokens.verify(parts[0] + "." + (Long.parseLong(parts[1]) + 3600) + "." + parts[2]))
+                .isInstanceOf(AuthenticationException.class).hasMessageContaining("no válido");
+        assertThatThrownBy(() -> tokens.verify(parts[0] + "." + parts[1] + "." + otherSignature))
+                .isInstanceOf(AuthenticationException.class).hasMessageContaining("no válido");
+        assertThatThrownBy(() -> tokens.verify(token + "x"))
+                .isInstanceOf(AuthenticationException.class);
+    }
+
+    @Test
+    void tokensSignedWithAnotherSecretAreRejected() {
+        String token = new SessionTokens("fedcba9876543210fedcba9876543210", 60).issue(42L).getToken();
+
+        assertThatThrownBy(() -> tokens.verify(token)).isInstanceOf(AuthenticationException.class);
+        // Sin secreto configurado cada instancia genera el suyo
+        String random = new SessionTokens("", 60).issue(42L).getToken();
+        assertThatThrownBy(() -> new SessionTokens("", 60).verify(random)).isInstanceOf(AuthenticationException.class);
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        SessionTokens expiring = new SessionTokens(SECRET, 0);
+        String token = expiring.issue(42L).getToken();
+
+        assertThatThrownBy(() -> expiring.verify(token))
+                .isInstanceOf(AuthenticationException.class).hasMessageContaining("expirado");
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        for (String token : new String[]{"", "abc", "42", "42.123", ".123.firma", "42..", "..", "."}) {
+            assertThatThrownBy(() -> tokens.verify(token)).as("token '%s'", token)
+                    .isInstanceOf(AuthenticationException.class);
+        }
+    }
+
+    @Test
+    void shortSecretsAreRejected() {
+        assertThatThrownBy(() -> new SessionTokens("x".repeat(SessionTokens.MIN_SECRET_BYTES - 1), 60))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Cuentan los bytes UTF-8, no los caracteres
+        assertThat(new SessionTokens("ñ".repeat(SessionTokens.MIN_SECRET_BYTES / 2), 60).issue(1L)).isNotNull();
+        assertThat(new SessionTokens("x".repeat(SessionTokens.MIN_SECRET_BYTES), 60).issue(1L)).isNotNull();
+    }
+}
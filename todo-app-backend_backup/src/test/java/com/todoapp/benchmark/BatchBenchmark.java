@@ -0,0 +1,114 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.TodoAppApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Secuencia de arranque de un cliente (usuario, sus listas y sus tareas)
+ * como tres peticiones seguidas frente a una sola petición a
+ * {@code /api/batch}. Arranca la aplicación con los datos de demo en un
+ * puerto libre y sin control de admisión, para medir solo las idas y
+ * vueltas; el log va a {@code target/benchmark.log}.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="BatchBenchmark"
+ * </pre>
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Dspring.devtools.restart.enabled=false")
+public class BatchBenchmark {
+
+    private static final List<String> STARTUP_PATHS = List.of(
+            "/api/users/1", "/api/lists/user/1", "/api/tasks/user/1");
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private List<HttpRequest> separate;
+    private HttpRequest batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = SpringApplication.run(TodoAppApplication.class,
+                "--server.port=0",
+                "--todoapp.admission.enabled=false",
+                "--logging.file.name=target/benchmark.log",
+                "--logging.level.root=WARN",
+                "--logging.level.com.todoapp=WARN");
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        separate = new ArrayList<>();
+        StringBuilder items = new StringBuilder("[");
+        for (String path : STARTUP_PATHS) {
+            separate.add(HttpRequest.newBuilder(URI.create(base + path)).GET().build());
+            items.append(items.length() > 1 ? "," : "").append("{\"path\":\"").append(path).append("\"}");
+        }
+        batch = HttpRequest.newBuilder(URI.create(base + "/api/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(items.append(']').toString()))
+                .build();
+
+        for (HttpRequest request : separate) {
+            check(client.send(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        HttpResponse<String> response = check(client.send(batch, HttpResponse.BodyHandlers.ofString()));
+        if (response.body().contains("\"error\"")) {
+            throw new IllegalStateException("El batch devuelve errores: " + response.body());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int separateCalls() throws IOException, InterruptedException {
+        int length = 0;
+        for (HttpRequest request : separate) {
+            length += client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int batchCall() throws IOException, InterruptedException {
+        return client.send(batch, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+    private static <T> HttpResponse<T> check(HttpResponse<T> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(response.uri() + " devuelve " + response.statusCode());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,76 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Datos de prueba reproducibles para los benchmarks: siempre la misma semilla,
+ * así dos ejecuciones miden exactamente las mismas tareas.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    private static final String[] TAGS = {"trabajo", "casa", "compras", "urgente", "ideas"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Genera tareas repartidas en listas de un único usuario. Un tercio no
+     * tiene fecha límite y las fechas de creación se repiten, para que los
+     * desempates por ID cuenten en el orden.
+     *
+     * @param size Número de tareas
+     * @param lists Número de listas
+     * @return Tareas con IDs 1..size
+     */
+    static List<Task> tasks(int size, int lists) {
+        Random random = new Random(SEED);
+        User user = new User(1L, "bench@todoapp.com", "Bench", "bench");
+        List<TaskList> taskLists = new ArrayList<>(lists);
+        for (int i = 0; i < lists; i++) {
+            taskLists.add(new TaskList((long) i + 1, "Lista " + (i + 1), "Lista de benchmark", user));
+        }
+        Priority[] priorities = Priority.values();
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskList taskList = taskLists.get(random.nextInt(lists));
+            Task task = new Task((long) i + 1, "Tarea " + random.nextInt(size), taskList);
+            if (random.nextInt(4) == 0) {
+                task.setDescription("Descripción de la tarea " + (i + 1));
+            }
+            task.setPriority(priorities[random.nextInt(priorities.length)]);
+            // Como LocalDateTime.now(): con microsegundos
+            task.setCreatedAt(NOW.minusMinutes(random.nextInt(60 * 24 * 30)).plusNanos(random.nextInt(1000) * 1000L));
+            if (random.nextInt(3) != 0) {
+                task.setDueDate(NOW.plusHours(random.nextInt(24 * 60) - 24 * 7));
+            }
+            task.setIsImportant(random.nextInt(5) == 0);
+            if (random.nextInt(6) == 0) {
+                task.setCompleted(true);
+            }
+            if (random.nextBoolean()) {
+                task.setTags(List.of(TAGS[random.nextInt(TAGS.length)]));
+            }
+            if (random.nextInt(10) == 0) {
+                task.setMyDay(LocalDate.from(NOW));
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
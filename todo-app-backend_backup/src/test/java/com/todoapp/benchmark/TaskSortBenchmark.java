@@ -0,0 +1,76 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.entity.Task;
+import com.todoapp.query.TaskQuery;
+import com.todoapp.query.TaskQueryParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordenación de tareas: claves primitivas empaquetadas de {@code TaskSort}
+ * ({@link TaskQuery#sort(List)}) frente al comparador encadenado de
+ * {@link TaskQuery#comparator()}, con el mismo resultado.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="TaskSortBenchmark"
+ * </pre>
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSortBenchmark {
+
+    @Param("100000")
+    private int size;
+
+    @Param({"sort:due", "sort:-due", "sort:priority", "sort:-created"})
+    private String sort;
+
+    private List<Task> tasks;
+    private TaskQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = BenchmarkData.tasks(size, 20);
+        // El almacenamiento no devuelve las tareas por ID
+        Collections.shuffle(tasks, new Random(BenchmarkData.SEED));
+        query = TaskQueryParser.parse(sort, BenchmarkData.NOW);
+        if (!query.sort(tasks).equals(comparatorSort())) {
+            throw new IllegalStateException("TaskSort y el comparador no dan el mismo orden para " + sort);
+        }
+    }
+
+    @Benchmark
+    public List<Task> packedKeys() {
+        return query.sort(tasks);
+    }
+
+    @Benchmark
+    public List<Task> comparatorSort() {
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(query.comparator());
+        return sorted;
+    }
+}
@@ -0,0 +1,262 @@
+package com.todoapp.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+import com.todoapp.json.EntityJson;
+import com.todoapp.json.JsonBody;
+import com.todoapp.json.JsonWriter;
+import com.todoapp.wire.WireFormat;
+import com.todoapp.wire.WireWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tamaño y coste de una página de tareas en el formato binario de
+ * {@link WireFormat} frente al JSON que sirven los controladores
+ * ({@link EntityJson}). La decodificación binaria es la que haría un
+ * cliente; la JSON, Jackson sobre las mismas propiedades. Los tamaños, en
+ * bruto y comprimidos con gzip, se imprimen al preparar cada prueba.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="WireFormatBenchmark"
+ * </pre>
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private List<Task> tasks;
+    private byte[] binary;
+    private byte[] json;
+    private ObjectReader jsonReader;
+
+    private final WireWriter wireWriter = new WireWriter();
+    private final JsonWriter jsonWriter = new JsonWriter();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tasks = BenchmarkData.tasks(size, 5);
+        binary = encodeBinary();
+        json = encodeJson();
+        jsonReader = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readerForListOf(DecodedTask.class);
+        if (!decodeBinary().equals(decodeJson())) {
+            throw new IllegalStateException("El binario y el JSON no contienen las mismas tareas");
+        }
+        System.out.printf("%n%d tareas: binario %d bytes (gzip %d), JSON %d bytes (gzip %d)%n",
+                size, binary.length, gzip(binary), json.length, gzip(json));
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        wireWriter.open(out);
+        WireFormat.tasks(tasks).writeTo(wireWriter);
+        wireWriter.close();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        jsonWriter.reset();
+        JsonBody.array(tasks, EntityJson::writeTask).writeTo(jsonWriter);
+        return jsonWriter.toByteArray();
+    }
+
+    @Benchmark
+    public List<DecodedTask> decodeBinary() {
+        return new WireReader(binary).tasks();
+    }
+
+    @Benchmark
+    public List<DecodedTask> decodeJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    /**
+     * Tarea tal como la recibe un cliente, con los campos de {@code TaskResponse}
+     * que tienen los datos del benchmark (no hay recurrencias).
+     */
+    public static class DecodedTask {
+        public Long id;
+        public String title;
+        public String description;
+        public Boolean completed;
+        public Priority priority;
+        public LocalDateTime dueDate;
+        public LocalDateTime createdAt;
+        public Boolean isImportant;
+        public List<String> tags;
+        public LocalDate myDay;
+        public Long taskListId;
+        public String taskListName;
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DecodedTask)) {
+                return false;
+            }
+            DecodedTask other = (DecodedTask) o;
+            return Arrays.asList(id, title, description, completed, priority, dueDate, createdAt,
+                    isImportant, tags, myDay, taskListId, taskListName).equals(Arrays.asList(other.id,
+                    other.title, other.description, other.completed, other.priority, other.dueDate,
+                    other.createdAt, other.isImportant, other.tags, other.myDay, other.taskListId,
+                    other.taskListName));
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+
+    /**
+     * Lector del mensaje de tareas de {@link WireFormat}, como el de un cliente.
+     */
+    private static final class WireReader {
+
+        private final byte[] bytes;
+        private int position;
+
+        WireReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        List<DecodedTask> tasks() {
+            if (bytes[0] != 'T' || bytes[1] != 'D' || bytes[2] != 'B' || bytes[3] != 1 || bytes[4] != 1) {
+                throw new IllegalArgumentException("No es un mensaje de tareas");
+            }
+            position = 5;
+            int lists = (int) varint();
+            long[] listIds = new long[lists];
+            String[] listNames = new String[lists];
+            for (int i = 0; i < lists; i++) {
+                listIds[i] = varint();
+                listNames[i] = string();
+            }
+            Priority[] priorities = Priority.values();
+            int count = (int) varint();
+            List<DecodedTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                DecodedTask task = new DecodedTask();
+                int flags = (int) varint();
+                task.id = varint();
+                int list = (int) varint();
+                task.taskListId = listIds[list];
+                task.taskListName = listNames[list];
+                task.completed = (flags & 1) != 0;
+                task.isImportant = (flags & 2) != 0;
+                task.title = (flags & 4) != 0 ? string() : null;
+                task.description = (flags & 8) != 0 ? string() : null;
+                task.priority = (flags & 16) != 0 ? priorities[bytes[position++]] : null;
+                task.dueDate = (flags & 32) != 0 ? dateTime() : null;
+                task.createdAt = (flags & 64) != 0 ? dateTime() : null;
+                if ((flags & 128) != 0) {
+                    skipRecurrence();
+                }
+                if ((flags & 256) != 0) {
+                    int tags = (int) varint();
+                    task.tags = new ArrayList<>(tags);
+                    for (int t = 0; t < tags; t++) {
+                        task.tags.add(string());
+                    }
+                }
+                task.myDay = (flags & 512) != 0 ? LocalDate.ofEpochDay(signedVarint()) : null;
+                tasks.add(task);
+            }
+            return tasks;
+        }
+
+        private void skipRecurrence() {
+            int flags = bytes[position];
+            position += 2;
+            varint();
+            if ((flags & 1) != 0) {
+                position++;
+            }
+            if ((flags & 2) != 0) {
+                varint();
+            }
+            if ((flags & 4) != 0) {
+                signedVarint();
+            }
+        }
+
+        private LocalDateTime dateTime() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(signedVarint()), ZONE);
+        }
+
+        private String string() {
+            int length = (int) varint();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private long signedVarint() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long varint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.todoapp.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link ByteCache}: cada clave se calcula una vez hasta que se
+ * desaloja, y al superar el límite la caché baja a tres cuartas partes.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class ByteCacheTest {
+
+    @Test
+    void valuesAreLoadedOnceUntilEvicted() {
+        ByteCache<Long> cache = new ByteCache<>(1024);
+        AtomicInteger loads = new AtomicInteger();
+
+        byte[] first = cache.get(1L, () -> bytes(10, loads));
+        assertThat(cache.get(1L, () -> bytes(10, loads))).isSameAs(first);
+        assertThat(cache.peek(1L)).isSameAs(first);
+        assertThat(loads).hasValue(1);
+
+        cache.evict(1L);
+        assertThat(cache.peek(1L)).isNull();
+        assertThat(cache.get(1L, () -> bytes(10, loads))).isNotSameAs(first);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void exceedingTheLimitTrimsToThreeQuarters() {
+        ByteCache<Integer> cache = new ByteCache<>(1000);
+        AtomicInteger loads = new AtomicInteger();
+        for (int key = 0; key < 10; key++) {
+            cache.get(key, () -> bytes(100, loads));
+        }
+        assertThat(cached(cache, 11)).isEqualTo(10);
+
+        // La entrada que desborda se entrega aunque pueda quedar desalojada
+        assertThat(cache.get(10, () -> bytes(100, loads))).hasSize(100);
+        assertThat(cached(cache, 11)).isEqualTo(7);
+    }
+
+    @Test
+    void evictionsAndClearsReleaseTheirBytes() {
+        ByteCache<Integer> cache = new ByteCache<>(1000);
+        AtomicInteger loads = new AtomicInteger();
+        for (int key = 0; key < 10; key++) {
+            cache.get(key, () -> bytes(100, loads));
+        }
+        cache.evict(0);
+        cache.evict(0);
+        cache.get(10, () -> bytes(100, loads));
+        assertThat(cached(cache, 11)).as("cabe sin recortar").isEqualTo(10);
+
+        cache.clear();
+        assertThat(cached(cache, 11)).isZero();
+        for (int key = 0; key < 10; key++) {
+            cache.get(key, () -> bytes(100, loads));
+        }
+        assertThat(cached(cache, 11)).isEqualTo(10);
+    }
+
+    private static int cached(ByteCache<Integer> cache, int keys) {
+        int cached = 0;
+        for (int key = 0; key < keys; key++) {
+            if (cache.peek(key) != null) {
+                cached++;
+            }
+        }
+        return cached;
+    }
+
+    private static byte[] bytes(int length, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new byte[length];
+    }
+}
@@ -0,0 +1,102 @@
+package com.todoapp.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link ResourceVersions}: el ETag de un recurso cambia con cada
+ * mutación que lo afecta y nunca se repite, y una petición condicional con el
+ * ETag vigente se responde con 304.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class ResourceVersionsTest {
+
+    private final ResourceVersions versions = new ResourceVersions();
+
+    @Test
+    void theCurrentETagIsAnsweredWithNotModified() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(versions.userNotModified(1L, get(null, first))).isFalse();
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"u1-");
+        assertThat(first.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(versions.userNotModified(1L, get(eTag, second))).isTrue();
+        assertThat(second.getStatus()).isEqualTo(304);
+
+        versions.touchTaskList(1L, 10L);
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        assertThat(versions.userNotModified(1L, get(eTag, third))).isFalse();
+        assertThat(third.getStatus()).isEqualTo(200);
+        assertThat(third.getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void eTagsAreScopedToTheirResource() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        versions.taskListNotModified(10L, get(null, response));
+        String listETag = response.getHeader(HttpHeaders.ETAG);
+
+        assertThat(listETag).startsWith("W/\"l10-");
+        // La misma versión no valida otro recurso
+        assertThat(versions.taskListNotModified(11L, get(listETag, new MockHttpServletResponse()))).isFalse();
+        assertThat(versions.userDirectoryNotModified(get(listETag, new MockHttpServletResponse()))).isFalse();
+    }
+
+    @Test
+    void listChangesBumpTheListAndItsOwner() {
+        long userBefore = versions.userVersion(1L);
+        long otherBefore = versions.userVersion(2L);
+
+        versions.touchTaskList(1L, 10L);
+
+        assertThat(versions.taskListVersion(10L)).isGreaterThan(userBefore).isEqualTo(versions.currentVersion());
+        assertThat(versions.userVersion(1L)).isEqualTo(versions.taskListVersion(10L));
+        assertThat(versions.userVersion(2L)).isEqualTo(otherBefore);
+        assertThat(versions.taskListVersion(11L)).isLessThan(versions.taskListVersion(10L));
+    }
+
+    @Test
+    void userChangesBumpTheUserAndTheDirectoryButNotTheirLists() {
+        versions.touchTaskList(1L, 10L);
+        long listVersion = versions.taskListVersion(10L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        versions.userDirectoryNotModified(get(null, response));
+        String directoryETag = response.getHeader(HttpHeaders.ETAG);
+
+        versions.touchUser(1L);
+
+        assertThat(versions.userVersion(1L)).isGreaterThan(listVersion);
+        assertThat(versions.taskListVersion(10L)).isEqualTo(listVersion);
+        assertThat(versions.userDirectoryNotModified(get(directoryETag, new MockHttpServletResponse()))).isFalse();
+    }
+
+    @Test
+    void clearingNeverReusesAVersion() {
+        versions.touchTaskList(1L, 10L);
+        long beforeClear = versions.taskListVersion(10L);
+
+        versions.clear();
+
+        assertThat(versions.taskListVersion(10L)).isGreaterThan(beforeClear);
+        assertThat(versions.userVersion(1L)).isEqualTo(versions.taskListVersion(10L));
+        versions.touchTaskList(1L, 10L);
+        assertThat(versions.taskListVersion(10L)).isGreaterThan(versions.userVersion(2L));
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+}
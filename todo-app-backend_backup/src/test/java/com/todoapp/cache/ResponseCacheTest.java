@@ -0,0 +1,170 @@
+package com.todoapp.cache;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.json.JsonBody;
+import com.todoapp.json.JsonWriter;
+import com.todoapp.wire.WireBody;
+import com.todoapp.wire.WireFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link ResponseCache}: los fragmentos JSON se reutilizan hasta
+ * que se desalojan, y las respuestas con ETag se comprimen una sola vez por
+ * codificación, ETag y URI.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class ResponseCacheTest {
+
+    private final ResponseCache cache = new ResponseCache();
+    private final TaskList casa = new TaskList(10L, "Casa", null, new User(1L, "ana@todoapp.com", "Ana", "x"));
+
+    @Test
+    void fragmentsAreReusedUntilEvicted() {
+        Task task = new Task(1L, "Regar", casa);
+        byte[] fragment = cache.task(task);
+        assertThat(text(fragment)).contains("\"title\":\"Regar\"", "\"taskListName\":\"Casa\"");
+
+        task.setTitle("Regar plantas");
+        assertThat(cache.task(task)).as("sin desalojo se sirve el fragmento guardado").isSameAs(fragment);
+
+        cache.evictTask(1L);
+        assertThat(text(cache.task(task))).contains("\"title\":\"Regar plantas\"");
+
+        byte[] listFragment = cache.taskList(casa);
+        casa.setName("Hogar");
+        cache.evictTaskList(10L);
+        assertThat(cache.taskList(casa)).isNotSameAs(listFragment);
+        assertThat(text(cache.taskList(casa))).contains("\"name\":\"Hogar\"", "\"userName\":\"Ana\"");
+    }
+
+    @Test
+    void arraysAndProjectionsAreValidJson() throws IOException {
+        List<Task> tasks = List.of(new Task(1L, "Uno", casa), new Task(2L, "Dos", casa));
+
+        assertThat(render(cache.tasks(tasks, null)))
+                .startsWith("[{\"id\":1,").contains("},{\"id\":2,").endsWith("}]");
+        assertThat(render(cache.tasks(tasks, "id,title")))
+                .isEqualTo("[{\"id\":1,\"title\":\"Uno\"},{\"id\":2,\"title\":\"Dos\"}]");
+        assertThat(render(cache.tasks(List.of(), null))).isEqualTo("[]");
+    }
+
+    @Test
+    void responsesWithAnETagAreCompressedOnce() throws IOException {
+        List<Task> tasks = manyTasks();
+        String json = render(cache.tasks(tasks, null));
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        ResponseEntity<JsonBody> gzip = cache.json(ResponseEntity.ok(), cache.tasks(tasks, null),
+                request("gzip, deflate", "W/\"l10-5\"", first));
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        byte[] compressed = bytes(gzip.getBody());
+        assertThat(compressed.length).isLessThan(json.length());
+        assertThat(inflate(new GZIPInputStream(new ByteArrayInputStream(compressed)))).isEqualTo(json);
+
+        // Mismo ETag y URI: se reutiliza la compresión aunque el cuerpo pedido sea otro
+        ResponseEntity<JsonBody> again = cache.json(ResponseEntity.ok(), JsonBody.of(new byte[0]),
+                request("gzip", "W/\"l10-5\"", new MockHttpServletResponse()));
+        assertThat(bytes(again.getBody())).isEqualTo(compressed);
+
+        // Un ETag nuevo obliga a comprimir de nuevo
+        ResponseEntity<JsonBody> newVersion = cache.json(ResponseEntity.ok(), JsonBody.of(new byte[2048]),
+                request("gzip", "W/\"l10-6\"", new MockHttpServletResponse()));
+        assertThat(bytes(newVersion.getBody())).isNotEqualTo(compressed);
+    }
+
+    @Test
+    void compressionFollowsAcceptEncoding() throws IOException {
+        List<Task> tasks = manyTasks();
+        String json = render(cache.tasks(tasks, null));
+
+        ResponseEntity<JsonBody> deflate = cache.json(ResponseEntity.ok(), cache.tasks(tasks, null),
+                request("gzip;q=0, deflate", "W/\"l10-1\"", new MockHttpServletResponse()));
+        assertThat(deflate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("deflate");
+        assertThat(inflate(new InflaterInputStream(new ByteArrayInputStream(bytes(deflate.getBody()))))).isEqualTo(json);
+
+        assertThat(plain(cache.json(ResponseEntity.ok(), cache.tasks(tasks, null),
+                request("identity", "W/\"l10-1\"", new MockHttpServletResponse())), json)).isTrue();
+        assertThat(plain(cache.json(ResponseEntity.ok(), cache.tasks(tasks, null),
+                request("gzip", null, new MockHttpServletResponse())), json)).as("sin ETag").isTrue();
+        String small = render(cache.tasks(tasks.subList(0, 1), null));
+        assertThat(plain(cache.json(ResponseEntity.ok(), cache.tasks(tasks.subList(0, 1), null),
+                request("gzip", "W/\"l10-1\"", new MockHttpServletResponse())), small)).as("menos de 1 KiB").isTrue();
+    }
+
+    @Test
+    void theBinaryFormatIsServedWhenPreferred() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest request = request("gzip", "W/\"l10-1\"", response);
+        ((MockHttpServletRequest) request.getRequest()).addHeader(HttpHeaders.ACCEPT, WireFormat.MEDIA_TYPE_VALUE);
+
+        ResponseEntity<?> wire = cache.tasks(ResponseEntity.ok(), manyTasks(), null, request);
+
+        assertThat(wire.getBody()).isInstanceOf(WireBody.class);
+        assertThat(wire.getHeaders().getContentType()).isEqualTo(WireFormat.MEDIA_TYPE);
+        assertThat(wire.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+        assertThat(wire.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    private List<Task> manyTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            tasks.add(new Task(id, "Tarea número " + id, casa));
+        }
+        return tasks;
+    }
+
+    private static boolean plain(ResponseEntity<JsonBody> response, String json) throws IOException {
+        return response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING) == null
+                && render(response.getBody()).equals(json);
+    }
+
+    private static ServletWebRequest request(String acceptEncoding, String eTag, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasklists/10/tasks");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        if (eTag != null) {
+            response.setHeader(HttpHeaders.ETAG, eTag);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    private static String render(JsonBody body) throws IOException {
+        return text(bytes(body));
+    }
+
+    private static byte[] bytes(JsonBody body) throws IOException {
+        JsonWriter writer = new JsonWriter();
+        body.writeTo(writer);
+        return writer.toByteArray();
+    }
+
+    private static String inflate(InputStream in) throws IOException {
+        try (in) {
+            return text(in.readAllBytes());
+        }
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
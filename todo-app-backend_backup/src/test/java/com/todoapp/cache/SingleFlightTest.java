@@ -0,0 +1,130 @@
+package com.todoapp.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de {@link SingleFlight}: una sola ejecución por lectura idéntica
+ * concurrente, y ninguna reutilización fuera de ella.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalReadsShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        Supplier<List<String>> read = () -> {
+            executions.incrementAndGet();
+            await(release);
+            return List.of("resultado");
+        };
+        int callers = 8;
+        List<Future<List<String>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute("tasks", 1, read, 1L, "due")));
+        waitForStat("inFlight", 1);
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("tasks", 1, read, 1L, "due")));
+        }
+        waitForStat("shared", callers - 1);
+
+        release.countDown();
+
+        List<String> first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(singleFlight.getStats()).containsEntry("executions", 1L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void differentVersionsOrArgumentsRunSeparately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> blocked = executor.submit(() -> singleFlight.execute("tasks", 1, () -> {
+            await(release);
+            return "v1";
+        }, 1L));
+        waitForStat("inFlight", 1);
+
+        // Mientras la primera sigue en curso, las demás no se unen a ella
+        assertThat(singleFlight.execute("tasks", 2, () -> "v2", 1L)).isEqualTo("v2");
+        assertThat(singleFlight.execute("tasks", 1, () -> "otro usuario", 2L)).isEqualTo("otro usuario");
+        assertThat(singleFlight.execute("lists", 1, () -> "listas", 1L)).isEqualTo("listas");
+
+        release.countDown();
+        assertThat(blocked.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+        assertThat(singleFlight.getStats()).containsEntry("shared", 0L);
+    }
+
+    @Test
+    void failuresReachEveryWaiterAndAreNotRemembered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("fallo de prueba");
+        Supplier<String> failing = () -> {
+            await(release);
+            throw failure;
+        };
+        Future<String> leader = executor.submit(() -> singleFlight.execute("tasks", 1, failing));
+        waitForStat("inFlight", 1);
+        Future<String> follower = executor.submit(() -> singleFlight.execute("tasks", 1, failing));
+        waitForStat("shared", 1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThat(singleFlight.execute("tasks", 1, () -> "recuperado")).isEqualTo("recuperado");
+    }
+
+    @Test
+    void completedReadsAreNotCached() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("tasks", 1, executions::incrementAndGet, 1L);
+        singleFlight.execute("tasks", 1, executions::incrementAndGet, 1L);
+
+        assertThat(executions).hasValue(2);
+        assertThat(singleFlight.getStats()).containsEntry("inFlight", 0);
+    }
+
+    private void waitForStat(String name, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (((Number) singleFlight.getStats().get(name)).longValue() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.todoapp.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link RecurrenceRule}: la ocurrencia siguiente, el ajuste al
+ * último día del mes, la fecha de fin y el salto de periodos completos al
+ * buscar la primera ocurrencia de una ventana.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class RecurrenceRuleTest {
+
+    /** Lunes. */
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Test
+    void weeklyRulesVisitEveryDayOfTheActiveWeeks() {
+        RecurrenceRule rule = weekly(2, null, DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+
+        assertThat(rule.occurrences(MONDAY, MONDAY, LocalDateTime.of(2026, 3, 21, 0, 0))).containsExactly(
+                MONDAY, MONDAY.plusDays(2), MONDAY.plusDays(4),
+                MONDAY.plusDays(14), MONDAY.plusDays(16), MONDAY.plusDays(18));
+    }
+
+    @Test
+    void weeklyWindowsSkipWholeWeeksAndLandOnActiveOnes() {
+        RecurrenceRule rule = weekly(2, null, DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+
+        // El 8 de junio empieza la semana 14 desde la primera ocurrencia: es una semana activa
+        assertThat(rule.occurrences(MONDAY, LocalDateTime.of(2026, 6, 10, 0, 0), LocalDateTime.of(2026, 6, 23, 0, 0)))
+                .containsExactly(LocalDateTime.of(2026, 6, 10, 9, 0), LocalDateTime.of(2026, 6, 12, 9, 0),
+                        LocalDateTime.of(2026, 6, 22, 9, 0));
+        // La semana del 15 no lo es: se pasa a la siguiente activa
+        assertThat(rule.occurrences(MONDAY, LocalDateTime.of(2026, 6, 15, 0, 0), LocalDateTime.of(2026, 6, 23, 0, 0)))
+                .containsExactly(LocalDateTime.of(2026, 6, 22, 9, 0));
+    }
+
+    @Test
+    void monthlyRulesClampToTheLastDayOfShortMonths() {
+        RecurrenceRule rule = monthly(1, 31, null);
+        LocalDateTime january = LocalDateTime.of(2026, 1, 31, 10, 0);
+
+        assertThat(rule.nextAfter(january)).isEqualTo(LocalDateTime.of(2026, 2, 28, 10, 0));
+        // Tras un mes corto se vuelve al día 31 en cuanto el mes lo tiene
+        assertThat(rule.nextAfter(LocalDateTime.of(2026, 2, 28, 10, 0))).isEqualTo(LocalDateTime.of(2026, 3, 31, 10, 0));
+        assertThat(rule.nextAfter(LocalDateTime.of(2026, 3, 31, 10, 0))).isEqualTo(LocalDateTime.of(2026, 4, 30, 10, 0));
+        assertThat(monthly(2, 31, null).nextAfter(LocalDateTime.of(2027, 12, 31, 10, 0)))
+                .as("año bisiesto").isEqualTo(LocalDateTime.of(2028, 2, 29, 10, 0));
+        assertThat(monthly(2, 31, null).nextAfter(LocalDateTime.of(2028, 2, 29, 10, 0)))
+                .isEqualTo(LocalDateTime.of(2028, 4, 30, 10, 0));
+    }
+
+    @Test
+    void monthlyWindowsSkipWholePeriods() {
+        LocalDateTime january = LocalDateTime.of(2026, 1, 31, 10, 0);
+        assertThat(monthly(1, 31, null).occurrences(january,
+                LocalDateTime.of(2026, 4, 1, 0, 0), LocalDateTime.of(2026, 6, 1, 0, 0)))
+                .containsExactly(LocalDateTime.of(2026, 4, 30, 10, 0), LocalDateTime.of(2026, 5, 31, 10, 0));
+
+        // Cada tres meses desde enero: mayo cae fuera y la siguiente es julio
+        LocalDateTime fifteenth = LocalDateTime.of(2026, 1, 15, 8, 0);
+        assertThat(monthly(3, 15, null).occurrences(fifteenth,
+                LocalDateTime.of(2026, 5, 1, 0, 0), LocalDateTime.of(2026, 12, 31, 0, 0)))
+                .containsExactly(LocalDateTime.of(2026, 7, 15, 8, 0), LocalDateTime.of(2026, 10, 15, 8, 0));
+    }
+
+    @Test
+    void untilIsTheLastDayAnOccurrenceCanFallOn() {
+        RecurrenceRule daily = new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, null, null,
+                LocalDate.of(2026, 3, 5));
+
+        assertThat(daily.nextAfter(MONDAY.plusDays(2))).isEqualTo(MONDAY.plusDays(3));
+        assertThat(daily.nextAfter(MONDAY.plusDays(3))).isNull();
+        assertThat(daily.occurrences(MONDAY, LocalDateTime.of(2026, 3, 1, 0, 0), LocalDateTime.of(2026, 4, 1, 0, 0)))
+                .hasSize(4).last().isEqualTo(MONDAY.plusDays(3));
+        assertThat(daily.occurrences(MONDAY, LocalDateTime.of(2026, 3, 10, 0, 0), LocalDateTime.of(2026, 4, 1, 0, 0)))
+                .isEmpty();
+
+        RecurrenceRule weekly = weekly(1, LocalDate.of(2026, 3, 11), DayOfWeek.MONDAY, DayOfWeek.THURSDAY);
+        assertThat(weekly.occurrences(MONDAY, MONDAY, LocalDateTime.of(2026, 4, 1, 0, 0)))
+                .containsExactly(MONDAY, MONDAY.plusDays(3), MONDAY.plusDays(7));
+        assertThat(monthly(1, 31, LocalDate.of(2026, 4, 29)).occurrences(LocalDateTime.of(2026, 1, 31, 10, 0),
+                LocalDateTime.of(2026, 3, 1, 0, 0), LocalDateTime.of(2026, 12, 1, 0, 0)))
+                .containsExactly(LocalDateTime.of(2026, 3, 31, 10, 0));
+    }
+
+    @Test
+    void skippingAheadMatchesSteppingThroughEveryOccurrence() {
+        RecurrenceRule[] rules = {
+                new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 3, null, null, null),
+                weekly(3, null, DayOfWeek.MONDAY, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+                weekly(2, null, DayOfWeek.MONDAY),
+                monthly(2, 30, null),
+                monthly(5, 31, LocalDate.of(2030, 1, 1))};
+        for (RecurrenceRule rule : rules) {
+            for (int offset = 0; offset < 400; offset += 13) {
+                LocalDateTime from = MONDAY.plusDays(offset).withHour(0);
+                LocalDateTime to = from.plusDays(60);
+
+                assertThat(rule.occurrences(MONDAY, from, to)).as("%s desde %s", rule, from)
+                        .containsExactlyElementsOf(stepping(rule, MONDAY, from, to));
+            }
+        }
+    }
+
+    private static List<LocalDateTime> stepping(RecurrenceRule rule, LocalDateTime current,
+                                                LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        for (LocalDateTime occurrence = current; occurrence != null && occurrence.isBefore(to);
+                occurrence = rule.nextAfter(occurrence)) {
+            if (!occurrence.isBefore(from)) {
+                occurrences.add(occurrence);
+            }
+        }
+        return occurrences;
+    }
+
+    private static RecurrenceRule weekly(int interval, LocalDate until, DayOfWeek first, DayOfWeek... others) {
+        return new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, interval, EnumSet.of(first, others), null, until);
+    }
+
+    private static RecurrenceRule monthly(int interval, int dayOfMonth, LocalDate until) {
+        return new RecurrenceRule(RecurrenceRule.Frequency.MONTHLY, interval, null, dayOfMonth, until);
+    }
+}
@@ -0,0 +1,314 @@
+package com.todoapp.event;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.event.MutationEventBus.EventProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del anillo de {@link MutationEventBus} con varios productores.
+ * Se publican más eventos que la capacidad del anillo para que los
+ * productores den la vuelta y esperen al consumidor más lento, o lo
+ * desenganchen si no avanza.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class MutationEventBusTest {
+
+    private static final int RING_SIZE = 1 << 16;
+    private static final long PRODUCER_STRIDE = 1_000_000L;
+
+    private final MutationEventBus bus = new MutationEventBus();
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void deliversEveryEventOnceInSequenceAndProducerOrder() throws Exception {
+        int producers = 8;
+        int perProducer = 20_000;
+        int total = producers * perProducer;
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        AtomicLong expectedSequence = new AtomicLong();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(total);
+        bus.addConsumer("test-consumer", (event, sequence, endOfBatch) -> {
+            // Un solo hilo consumidor: no hace falta sincronizar lastSeen
+            if (sequence != expectedSequence.getAndIncrement()) {
+                errors.incrementAndGet();
+            }
+            int producer = (int) (event.getUserId() / PRODUCER_STRIDE);
+            long index = event.getUserId() % PRODUCER_STRIDE;
+            if (index != lastSeen[producer] + 1 || event.getType() != MutationType.USER_UPDATED) {
+                errors.incrementAndGet();
+            }
+            lastSeen[producer] = index;
+            done.countDown();
+        });
+
+        runProducers(producers, perProducer);
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(errors).hasValue(0);
+        assertThat(lastSeen).containsOnly(perProducer - 1);
+        assertThat(bus.getCursor()).isEqualTo(total - 1);
+    }
+
+    @Test
+    void dependentConsumerNeverOvertakesItsDependency() throws Exception {
+        int total = RING_SIZE + 10_000;
+        AtomicInteger overtakes = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(total);
+        EventProcessor first = bus.addConsumer("first", (event, sequence, endOfBatch) -> { });
+        bus.addConsumer("second", (event, sequence, endOfBatch) -> {
+            if (first.getSequence() < sequence) {
+                overtakes.incrementAndGet();
+            }
+            done.countDown();
+        }, first);
+
+        runProducers(4, total / 4);
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(overtakes).hasValue(0);
+        assertThat(first.getSequence()).isEqualTo(total - 1);
+    }
+
+    @Test
+    void fullRingMakesProducersWaitForTheSlowestConsumer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger consumed = new AtomicInteger();
+        bus.addConsumer("slow", (event, sequence, endOfBatch) -> {
+            if (sequence == 0) {
+                awaitQuietly(release);
+            }
+            consumed.incrementAndGet();
+        });
+        int total = RING_SIZE + 100;
+        AtomicBoolean finished = new AtomicBoolean();
+        Thread producer = new Thread(() -> {
+            User user = new User(1L, "a@todoapp.com", "A", "x");
+            for (int i = 0; i < total; i++) {
+                bus.publishUser(MutationType.USER_UPDATED, user);
+            }
+            finished.set(true);
+        });
+        producer.start();
+
+        // Se libera antes de agotar la espera máxima: no se pierde nada
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(MutationEventBus.MAX_CLAIM_WAIT_NANOS) / 4);
+        boolean finishedWhileBlocked = finished.get();
+        release.countDown();
+        producer.join(10_000);
+
+        assertThat(finishedWhileBlocked).isFalse();
+        assertThat(finished).isTrue();
+        waitUntil(() -> consumed.get() == total);
+    }
+
+    @Test
+    void stalledConsumerIsDetachedWithoutBlockingProducersOrOtherConsumers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger lost = new AtomicInteger();
+        List<Long> afterRecovery = new ArrayList<>();
+        bus.addConsumer("stalled", (event, sequence, endOfBatch) -> {
+            if (sequence == 0) {
+                awaitQuietly(release);
+            } else if (lost.get() > 0) {
+                synchronized (afterRecovery) {
+                    afterRecovery.add(sequence);
+                }
+            }
+        }, lost::incrementAndGet);
+        AtomicInteger healthy = new AtomicInteger();
+        bus.addConsumer("healthy", (event, sequence, endOfBatch) -> healthy.incrementAndGet());
+        int total = 3 * RING_SIZE;
+
+        long start = System.nanoTime();
+        runProducers(4, total / 4);
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(elapsed).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        waitUntil(() -> healthy.get() == total);
+
+        release.countDown();
+        waitUntil(() -> lost.get() == 1);
+        User user = new User(1L, "a@todoapp.com", "A", "x");
+        for (int i = 0; i < 3; i++) {
+            bus.publishUser(MutationType.USER_UPDATED, user);
+        }
+        waitUntil(() -> {
+            synchronized (afterRecovery) {
+                return afterRecovery.size() == 3;
+            }
+        });
+        synchronized (afterRecovery) {
+            assertThat(afterRecovery).containsExactly((long) total, total + 1L, total + 2L);
+        }
+        assertThat(lost).hasValue(1);
+    }
+
+    @Test
+    void errorsInAConsumerNeitherStopItNorBlockProducers() throws Exception {
+        AtomicInteger consumed = new AtomicInteger();
+        bus.addConsumer("failing", (event, sequence, endOfBatch) -> {
+            consumed.incrementAndGet();
+            if (sequence % 10_000 == 0) {
+                throw new StackOverflowError("fallo de prueba");
+            }
+        });
+        int total = 2 * RING_SIZE;
+
+        runProducers(2, total / 2);
+
+        waitUntil(() -> consumed.get() == total);
+    }
+
+    @Test
+    void taskEventsKeepTheValuesOfTheirMutation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> seen = new AtomicReference<>();
+        bus.addConsumer("snapshot", (event, sequence, endOfBatch) -> {
+            if (sequence == 0) {
+                awaitQuietly(release);
+                return;
+            }
+            seen.set(event.isTaskCompleted() + " " + (event.getTaskCompletedAt() != null)
+                    + " " + event.getTask().getCompleted());
+            done.countDown();
+        });
+        User user = new User(1L, "a@todoapp.com", "A", "x");
+        Task task = new Task(5L, "Tarea", new TaskList(3L, "Lista", "", user));
+        bus.publishUser(MutationType.USER_UPDATED, user);
+        task.setCompleted(true);
+        bus.publishTask(MutationType.TASK_COMPLETED, task);
+
+        // Se reabre antes de que el consumidor llegue al evento
+        task.setCompleted(false);
+        release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(seen.get()).isEqualTo("true true false");
+    }
+
+    @Test
+    void batchesLargerThanTheRingArriveInOrderBetweenSingleEvents() throws Exception {
+        int batch = 2 * RING_SIZE + 123;
+        int total = batch + 2;
+        AtomicLong expectedSequence = new AtomicLong();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(total);
+        bus.addConsumer("batch", (event, sequence, endOfBatch) -> {
+            long expectedEntity = sequence == 0 || sequence == total - 1 ? -1 : sequence - 1;
+            if (sequence != expectedSequence.getAndIncrement() || !event.getEntityId().equals(expectedEntity)) {
+                errors.incrementAndGet();
+            }
+            done.countDown();
+        });
+        User user = new User(1L, "a@todoapp.com", "A", "x");
+        TaskList taskList = new TaskList(3L, "Lista", "", user);
+        List<Task> tasks = new ArrayList<>(batch);
+        for (long id = 0; id < batch; id++) {
+            tasks.add(new Task(id, "Tarea " + id, taskList));
+        }
+
+        bus.publishTask(MutationType.TASK_CREATED, new Task(-1L, "Antes", taskList));
+        bus.publishTasks(MutationType.TASK_CREATED, tasks);
+        bus.publishTask(MutationType.TASK_CREATED, new Task(-1L, "Después", taskList));
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(errors).hasValue(0);
+        assertThat(bus.getCursor()).isEqualTo(total - 1);
+    }
+
+    @Test
+    void lateConsumerOnlySeesNewEventsAndFailuresDoNotStopIt() throws Exception {
+        User user = new User(7L, "b@todoapp.com", "B", "x");
+        for (int i = 0; i < 10; i++) {
+            bus.publishUser(MutationType.USER_CREATED, user);
+        }
+        List<Long> sequences = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        bus.addConsumer("late", (event, sequence, endOfBatch) -> {
+            synchronized (sequences) {
+                sequences.add(sequence);
+            }
+            done.countDown();
+            if (sequence == 10) {
+                throw new IllegalStateException("fallo de prueba");
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            bus.publishUser(MutationType.USER_UPDATED, user);
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        synchronized (sequences) {
+            assertThat(sequences).containsExactly(10L, 11L, 12L);
+        }
+    }
+
+    private void runProducers(int producers, int perProducer) throws InterruptedException {
+        CyclicBarrier start = new CyclicBarrier(producers);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            User[] users = new User[perProducer];
+            for (int i = 0; i < perProducer; i++) {
+                users[i] = new User(p * PRODUCER_STRIDE + i, "p" + p + "@todoapp.com", "P", "x");
+            }
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (User user : users) {
+                    bus.publishUser(MutationType.USER_UPDATED, user);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
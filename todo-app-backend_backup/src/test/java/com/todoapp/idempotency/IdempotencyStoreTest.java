@@ -0,0 +1,234 @@
+package com.todoapp.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.exception.BusinessLogicException;
+import com.todoapp.exception.InvalidDataException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de {@link IdempotencyStore}: un alta por clave aunque los
+ * reintentos lleguen a la vez, y la clave libre de nuevo si el alta falla.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "task 1 1";
+    private static final Map<String, String> BODY = Map.of("title", "Comprar pan");
+
+    private final IdempotencyStore store = new IdempotencyStore();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "objectMapper", new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void retriesReplayTheOriginalResponse() {
+        AtomicInteger executions = new AtomicInteger();
+
+        ResponseEntity<String> original = store.execute(SCOPE, "clave-1", BODY, () -> created(executions));
+        ResponseEntity<String> retry = store.execute(SCOPE, "clave-1", BODY, () -> created(executions));
+
+        assertThat(executions).hasValue(1);
+        assertThat(original.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getBody()).isEqualTo(original.getBody());
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getHeaders().getFirst("Location")).isEqualTo("/api/tasks/1");
+    }
+
+    @Test
+    void concurrentRetriesRunTheActionOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        Supplier<ResponseEntity<String>> action = () -> {
+            started.countDown();
+            await(release);
+            return created(executions);
+        };
+        List<Future<ResponseEntity<String>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> store.execute(SCOPE, "clave-1", BODY, action)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> store.execute(SCOPE, "clave-1", BODY, action)));
+        }
+
+        release.countDown();
+
+        int replayed = 0;
+        for (Future<ResponseEntity<String>> result : results) {
+            ResponseEntity<String> response = result.get(5, TimeUnit.SECONDS);
+            assertThat(response.getBody()).isEqualTo("tarea 1");
+            if (response.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)) {
+                replayed++;
+            }
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(replayed).isEqualTo(8);
+    }
+
+    @Test
+    void keysAreScopedAndRequestsWithoutKeyAlwaysRun() {
+        AtomicInteger executions = new AtomicInteger();
+
+        store.execute(SCOPE, "clave-1", BODY, () -> created(executions));
+        store.execute("task 2 1", "clave-1", BODY, () -> created(executions));
+        store.execute(SCOPE, null, BODY, () -> created(executions));
+        store.execute(SCOPE, null, BODY, () -> created(executions));
+
+        assertThat(executions).hasValue(4);
+    }
+
+    @Test
+    void reusingAKeyWithAnotherBodyIsRejected() {
+        AtomicInteger executions = new AtomicInteger();
+        store.execute(SCOPE, "clave-1", BODY, () -> created(executions));
+
+        assertThatThrownBy(() -> store.execute(SCOPE, "clave-1", Map.of("title", "Otra"), () -> created(executions)))
+                .isInstanceOf(BusinessLogicException.class)
+                .satisfies(e -> assertThat(((BusinessLogicException) e).getRule()).isEqualTo("clave-reutilizada"));
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void blankOrOverlongKeysAreRejected() {
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThatThrownBy(() -> store.execute(SCOPE, " ", BODY, () -> created(executions)))
+                .isInstanceOf(InvalidDataException.class);
+        assertThatThrownBy(() -> store.execute(SCOPE, "k".repeat(256), BODY, () -> created(executions)))
+                .isInstanceOf(InvalidDataException.class);
+        assertThat(store.execute(SCOPE, "k".repeat(255), BODY, () -> created(executions)).getBody())
+                .isEqualTo("tarea 1");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failedActionsReleaseTheKeyAndFailTheirWaiters() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("fallo de prueba");
+        Supplier<ResponseEntity<String>> failing = () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        };
+        Future<ResponseEntity<String>> leader = executor.submit(() -> store.execute(SCOPE, "clave-1", BODY, failing));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<ResponseEntity<String>> waiter = executor.submit(() -> store.execute(SCOPE, "clave-1", BODY, failing));
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        AtomicInteger executions = new AtomicInteger();
+        ResponseEntity<String> retry = store.execute(SCOPE, "clave-1", BODY, () -> created(executions));
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    void clearAndEvictionForgetKeys() {
+        AtomicInteger executions = new AtomicInteger();
+        store.execute(SCOPE, "clave-1", BODY, () -> created(executions));
+
+        store.clear();
+        store.execute(SCOPE, "clave-1", BODY, () -> created(executions));
+        assertThat(executions).hasValue(2);
+
+        // Al llenarse, la clave más antigua deja sitio a las nuevas
+        for (int i = 0; i < IdempotencyStore.MAX_ENTRIES; i++) {
+            store.execute(SCOPE, "otra-" + i, BODY, () -> ResponseEntity.ok("otra"));
+        }
+        store.execute(SCOPE, "clave-1", BODY, () -> created(executions));
+        assertThat(executions).hasValue(3);
+    }
+
+    @Test
+    void asyncRetriesWaitForTheOriginalWithoutRunningIt() throws Exception {
+        CompletableFuture<ResponseEntity<String>> pending = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+        Supplier<CompletableFuture<ResponseEntity<String>>> action = () -> {
+            executions.incrementAndGet();
+            return pending;
+        };
+
+        CompletableFuture<ResponseEntity<String>> original = store.executeAsync(SCOPE, "clave-1", BODY, action);
+        CompletableFuture<ResponseEntity<String>> retry = store.executeAsync(SCOPE, "clave-1", BODY, action);
+        assertThat(retry).isNotDone();
+
+        pending.complete(ResponseEntity.status(HttpStatus.CREATED).body("tarea 1"));
+
+        assertThat(original.get(5, TimeUnit.SECONDS).getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER))
+                .isFalse();
+        ResponseEntity<String> replayed = retry.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getBody()).isEqualTo("tarea 1");
+        assertThat(replayed.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failedAsyncActionsReleaseTheKey() throws Exception {
+        CompletableFuture<ResponseEntity<String>> pending = new CompletableFuture<>();
+        IllegalStateException failure = new IllegalStateException("fallo de prueba");
+
+        CompletableFuture<ResponseEntity<String>> original = store.executeAsync(SCOPE, "clave-1", BODY, () -> pending);
+        CompletableFuture<ResponseEntity<String>> retry = store.executeAsync(SCOPE, "clave-1", BODY, () -> pending);
+        pending.completeExceptionally(failure);
+
+        assertThatThrownBy(() -> original.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThatThrownBy(() -> retry.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCause(failure);
+        ResponseEntity<String> next = store.executeAsync(SCOPE, "clave-1", BODY,
+                () -> CompletableFuture.completedFuture(ResponseEntity.ok("tarea 2"))).get(5, TimeUnit.SECONDS);
+        assertThat(next.getBody()).isEqualTo("tarea 2");
+        assertThat(next.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+    }
+
+    private static ResponseEntity<String> created(AtomicInteger executions) {
+        int id = executions.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Location", "/api/tasks/" + id)
+                .body("tarea " + id);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.todoapp.query;
+
+import com.todoapp.exception.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de los cursores de paginación y de la paginación por clave sobre
+ * {@link OrderedTaskSet}.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class PageCursorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    @Test
+    void taskCursorRoundTripsIncludingFractionalSeconds() {
+        TaskKey key = new TaskKey(BASE.plusNanos(123_456_789), 42L);
+
+        TaskKey decoded = PageCursor.decodeTask(PageCursor.encodeTask(key));
+
+        assertThat(decoded).isEqualTo(key);
+        assertThat(decoded.compareTo(key)).isZero();
+    }
+
+    @Test
+    void idCursorRoundTrips() {
+        assertThat(PageCursor.decodeId(PageCursor.encodeId(7L))).isEqualTo(7L);
+        assertThat(PageCursor.decodeId(PageCursor.encodeId(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void smartCursorRoundTripsWithAndWithoutDueDate() {
+        SmartListKey dated = new SmartListKey(BASE.plusSeconds(30), 2, 9L);
+        SmartListKey undated = new SmartListKey(null, 0, 10L);
+
+        assertThat(PageCursor.decodeSmart(PageCursor.encodeSmart(dated))).isEqualTo(dated);
+        assertThat(PageCursor.decodeSmart(PageCursor.encodeSmart(undated))).isEqualTo(undated);
+    }
+
+    @Test
+    void cursorsAreUrlSafe() {
+        String cursor = PageCursor.encodeTask(new TaskKey(BASE.plusNanos(1), Long.MAX_VALUE));
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(PageCursor.decodeTask(null)).isNull();
+        assertThat(PageCursor.decodeTask(" ")).isNull();
+        assertThat(PageCursor.decodeId(null)).isNull();
+        assertThat(PageCursor.decodeSmart("")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String idCursor = PageCursor.encodeId(5L);
+
+        assertThatThrownBy(() -> PageCursor.decodeTask("%%%")).isInstanceOf(InvalidDataException.class);
+        assertThatThrownBy(() -> PageCursor.decodeTask(idCursor)).isInstanceOf(InvalidDataException.class);
+        assertThatThrownBy(() -> PageCursor.decodeId(encode("i|abc"))).isInstanceOf(InvalidDataException.class);
+        assertThatThrownBy(() -> PageCursor.decodeTask(encode("t|ayer|1"))).isInstanceOf(InvalidDataException.class);
+        assertThatThrownBy(() -> PageCursor.decodeTask(encode("t|" + BASE + "|1|2")))
+                .isInstanceOf(InvalidDataException.class);
+        assertThatThrownBy(() -> PageCursor.decodeSmart(encode("s|-|x|1"))).isInstanceOf(InvalidDataException.class);
+    }
+
+    @Test
+    void effectiveLimitDefaultsAndCaps() {
+        assertThat(PageCursor.effectiveLimit(null, null)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(PageCursor.effectiveLimit(null, PageCursor.encodeId(1L))).isEqualTo(Page.DEFAULT_LIMIT);
+        assertThat(PageCursor.effectiveLimit(10, null)).isEqualTo(10);
+        assertThat(PageCursor.effectiveLimit(Page.MAX_LIMIT + 1, null)).isEqualTo(Page.MAX_LIMIT);
+        assertThatThrownBy(() -> PageCursor.effectiveLimit(0, null)).isInstanceOf(InvalidDataException.class);
+    }
+
+    @Test
+    void pagesThroughOrderedSetWithoutGapsOrDuplicates() {
+        OrderedTaskSet set = new OrderedTaskSet();
+        List<TaskKey> all = new ArrayList<>();
+        for (long id = 1; id <= 103; id++) {
+            // Varias tareas comparten fecha de creación: el ID desempata
+            TaskKey key = new TaskKey(BASE.plusMinutes(id / 4), id);
+            set.add(key);
+            all.add(key);
+        }
+
+        List<TaskKey> seen = readAll(set, 10);
+
+        assertThat(seen).hasSize(all.size()).doesNotHaveDuplicates();
+        assertThat(seen).containsExactlyElementsOf(new ArrayList<>(set.keysAfter(null)));
+    }
+
+    @Test
+    void resumesAfterCursorWhenItsTaskWasRemoved() {
+        OrderedTaskSet set = new OrderedTaskSet();
+        for (long id = 1; id <= 20; id++) {
+            set.add(new TaskKey(BASE.plusMinutes(id), id));
+        }
+        List<TaskKey> first = firstPage(set, null, 5);
+        String cursor = PageCursor.encodeTask(first.get(first.size() - 1));
+
+        set.remove(first.get(first.size() - 1));
+        TaskKey inserted = new TaskKey(BASE.minusDays(1), 99L);
+        set.add(inserted);
+        List<TaskKey> next = firstPage(set, cursor, 5);
+
+        assertThat(next).hasSize(5).doesNotContainAnyElementsOf(first);
+        List<TaskKey> expected = new ArrayList<>(set.keysAfter(PageCursor.decodeTask(cursor))).subList(0, 5);
+        assertThat(next).containsExactlyElementsOf(expected);
+    }
+
+    private static List<TaskKey> readAll(OrderedTaskSet set, int limit) {
+        List<TaskKey> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            List<TaskKey> page = firstPage(set, cursor, limit);
+            assertThat(page.size()).isLessThanOrEqualTo(limit);
+            seen.addAll(page);
+            cursor = page.size() == limit ? PageCursor.encodeTask(page.get(page.size() - 1)) : null;
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static List<TaskKey> firstPage(OrderedTaskSet set, String cursor, int limit) {
+        List<TaskKey> page = new ArrayList<>(limit);
+        for (TaskKey key : set.keysAfter(PageCursor.decodeTask(cursor))) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(key);
+        }
+        return page;
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,184 @@
+package com.todoapp.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link RoaringBitmap} contra un {@link BitSet} de referencia,
+ * con bloques dispersos (arreglo), densos (mapa de bits) y que pasan de una
+ * forma a la otra.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class RoaringBitmapTest {
+
+    private static final int BLOCK = 1 << 16;
+
+    @Test
+    void addRemoveAndContainsMatchReference() {
+        Random random = new Random(1);
+        RoaringBitmap bitmap = new RoaringBitmap();
+        BitSet reference = new BitSet();
+        for (int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(8 * BLOCK);
+            if (random.nextInt(3) == 0) {
+                assertThat(bitmap.remove(value)).isEqualTo(reference.get(value));
+                reference.clear(value);
+            } else {
+                assertThat(bitmap.add(value)).isEqualTo(!reference.get(value));
+                reference.set(value);
+            }
+        }
+
+        assertSame(bitmap, reference);
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(9 * BLOCK);
+            assertThat(bitmap.contains(value)).isEqualTo(reference.get(value));
+        }
+    }
+
+    @Test
+    void blockSwitchesBetweenArrayAndBitmapWithoutLosingValues() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        BitSet reference = new BitSet();
+        // Un bloque supera los 4096 elementos (pasa a mapa de bits) y vuelve a bajar (arreglo)
+        for (int value = 0; value < 10_000; value += 2) {
+            bitmap.add(value);
+            reference.set(value);
+        }
+        assertSame(bitmap, reference);
+        for (int value = 0; value < 10_000; value += 4) {
+            assertThat(bitmap.remove(value)).isTrue();
+            reference.clear(value);
+        }
+        assertSame(bitmap, reference);
+
+        assertThat(bitmap.add(2)).isFalse();
+        assertThat(bitmap.remove(0)).isFalse();
+    }
+
+    @Test
+    void removingTheLastValueOfABlockDropsIt() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add(5);
+        bitmap.add(BLOCK + 5);
+
+        assertThat(bitmap.remove(5)).isTrue();
+        assertThat(bitmap.remove(BLOCK + 5)).isTrue();
+
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.cardinality()).isZero();
+        assertThat(bitmap.contains(5)).isFalse();
+    }
+
+    @Test
+    void handlesTheWholeNonNegativeRange() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add(Integer.MAX_VALUE);
+        bitmap.add(0);
+        bitmap.add(BLOCK - 1);
+        bitmap.add(BLOCK);
+
+        assertThat(values(bitmap)).containsExactly(0, BLOCK - 1, BLOCK, Integer.MAX_VALUE);
+        assertThat(bitmap.contains(Integer.MAX_VALUE)).isTrue();
+        assertThat(bitmap.contains(Integer.MAX_VALUE - 1)).isFalse();
+    }
+
+    @Test
+    void binaryOperationsMatchReferenceForEveryContainerPairing() {
+        Random random = new Random(2);
+        for (int round = 0; round < 20; round++) {
+            BitSet a = randomSet(random);
+            BitSet b = randomSet(random);
+            RoaringBitmap first = bitmapOf(a);
+            RoaringBitmap second = bitmapOf(b);
+
+            BitSet and = (BitSet) a.clone();
+            and.and(b);
+            BitSet or = (BitSet) a.clone();
+            or.or(b);
+            BitSet andNot = (BitSet) a.clone();
+            andNot.andNot(b);
+
+            assertSame(RoaringBitmap.and(first, second), and);
+            assertSame(RoaringBitmap.or(first, second), or);
+            assertSame(RoaringBitmap.andNot(first, second), andNot);
+            // Los operandos no cambian
+            assertSame(first, a);
+            assertSame(second, b);
+        }
+    }
+
+    @Test
+    void operationResultsAndCopiesAreIndependentOfTheirSources() {
+        RoaringBitmap first = new RoaringBitmap();
+        RoaringBitmap second = new RoaringBitmap();
+        for (int value = 0; value < 5000; value++) {
+            first.add(value);
+        }
+        second.add(BLOCK * 3);
+
+        RoaringBitmap union = RoaringBitmap.or(first, second);
+        RoaringBitmap copy = first.copy();
+        union.remove(10);
+        union.remove(BLOCK * 3);
+        copy.add(BLOCK * 5);
+
+        assertThat(first.contains(10)).isTrue();
+        assertThat(second.contains(BLOCK * 3)).isTrue();
+        assertThat(first.contains(BLOCK * 5)).isFalse();
+        assertThat(first.cardinality()).isEqualTo(5000);
+    }
+
+    @Test
+    void emptyOperandsGiveEmptyOrCopiedResults() {
+        RoaringBitmap empty = new RoaringBitmap();
+        RoaringBitmap some = bitmapOf(BitSet.valueOf(new long[]{0b1011L}));
+
+        assertThat(RoaringBitmap.and(empty, some).isEmpty()).isTrue();
+        assertThat(values(RoaringBitmap.or(empty, some))).containsExactly(0, 1, 3);
+        assertThat(values(RoaringBitmap.andNot(some, empty))).containsExactly(0, 1, 3);
+        assertThat(RoaringBitmap.andNot(some, some).isEmpty()).isTrue();
+    }
+
+    /**
+     * Conjunto con bloques vacíos, dispersos y densos mezclados al azar, para
+     * cruzar arreglo con arreglo, arreglo con mapa de bits y mapa con mapa.
+     */
+    private static BitSet randomSet(Random random) {
+        BitSet set = new BitSet();
+        for (int block = 0; block < 6; block++) {
+            int base = block * BLOCK;
+            int kind = random.nextInt(3);
+            int count = kind == 0 ? 0 : kind == 1 ? random.nextInt(4000) + 1 : 8000 + random.nextInt(40_000);
+            for (int i = 0; i < count; i++) {
+                set.set(base + random.nextInt(BLOCK));
+            }
+        }
+        return set;
+    }
+
+    private static RoaringBitmap bitmapOf(BitSet set) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        set.stream().forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static int[] values(RoaringBitmap bitmap) {
+        IntStream.Builder values = IntStream.builder();
+        bitmap.forEach(values::add);
+        return values.build().toArray();
+    }
+
+    private static void assertSame(RoaringBitmap bitmap, BitSet reference) {
+        assertThat(bitmap.cardinality()).isEqualTo(reference.cardinality());
+        assertThat(bitmap.isEmpty()).isEqualTo(reference.isEmpty());
+        assertThat(values(bitmap)).isEqualTo(reference.stream().toArray());
+    }
+}
@@ -0,0 +1,181 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Pruebas de {@link SmartListIndex} a través de {@link TaskIndex}: cada
+ * guardado, completado o borrado mueve la tarea entre las vistas, el cambio
+ * de día renueva "Mi Día" y las vencidas son el tramo de las planificadas
+ * anterior al instante actual.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class SmartListIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+    private static final LocalDateTime NOW = DAY.atTime(12, 0);
+
+    private final TaskIndex index = new TaskIndex();
+    private final TaskList ana = new TaskList(10L, "Casa", null, new User(1L, "ana@todoapp.com", "Ana", "x"));
+    private final TaskList luis = new TaskList(20L, "Otra", null, new User(2L, "luis@todoapp.com", "Luis", "x"));
+
+    @BeforeEach
+    void setUp() {
+        index.rollOverSmartLists(DAY);
+    }
+
+    @Test
+    void eachTaskLandsInTheViewsItsFieldsSelect() {
+        Task important = task(1L, ana, null);
+        important.setIsImportant(true);
+        save(important);
+        save(task(2L, ana, DAY.atTime(18, 0)));
+        save(task(3L, ana, DAY.plusDays(1).atTime(9, 0)));
+        Task myDay = task(4L, ana, null);
+        myDay.setMyDay(DAY);
+        save(myDay);
+        save(task(5L, ana, DAY.minusDays(2).atTime(9, 0)));
+        save(task(6L, ana, null));
+        save(task(7L, luis, DAY.atTime(9, 0)));
+
+        assertThat(ids(1L, SmartList.IMPORTANT)).containsExactly(1L);
+        assertThat(ids(1L, SmartList.PLANNED)).containsExactly(5L, 2L, 3L);
+        assertThat(ids(1L, SmartList.MY_DAY)).containsExactly(2L, 4L);
+        assertThat(ids(1L, SmartList.OVERDUE)).containsExactly(5L);
+        assertThat(index.smartListCounts(1L, NOW)).containsOnly(entry(SmartList.IMPORTANT, 1),
+                entry(SmartList.PLANNED, 3), entry(SmartList.MY_DAY, 2), entry(SmartList.OVERDUE, 1));
+        assertThat(ids(2L, SmartList.MY_DAY)).containsExactly(7L);
+        assertThat(index.smartListCounts(3L, NOW)).containsOnly(entry(SmartList.IMPORTANT, 0),
+                entry(SmartList.PLANNED, 0), entry(SmartList.MY_DAY, 0), entry(SmartList.OVERDUE, 0));
+    }
+
+    @Test
+    void updatesCompletionsAndDeletionsKeepTheViewsCurrent() {
+        Task task = save(task(1L, ana, DAY.plusDays(3).atTime(9, 0)));
+        save(task(2L, ana, DAY.atTime(18, 0)));
+        assertThat(ids(1L, SmartList.MY_DAY)).containsExactly(2L);
+
+        // Pasa a vencer hoy y a ser importante
+        task.setDueDate(DAY.atTime(18, 0));
+        task.setIsImportant(true);
+        task.setPriority(Priority.URGENT);
+        index.index(task);
+        assertThat(ids(1L, SmartList.IMPORTANT)).containsExactly(1L);
+        assertThat(ids(1L, SmartList.PLANNED)).as("a igual fecha, primero la prioridad más alta").containsExactly(1L, 2L);
+        assertThat(ids(1L, SmartList.MY_DAY)).containsExactly(1L, 2L);
+
+        // Sin fecha sigue en importantes pero sale de planificadas y de "Mi Día"
+        task.setDueDate(null);
+        index.index(task);
+        assertThat(ids(1L, SmartList.IMPORTANT)).containsExactly(1L);
+        assertThat(ids(1L, SmartList.PLANNED)).containsExactly(2L);
+        assertThat(ids(1L, SmartList.MY_DAY)).containsExactly(2L);
+
+        task.setCompleted(true);
+        index.index(task);
+        assertThat(ids(1L, SmartList.IMPORTANT)).isEmpty();
+
+        task.setCompleted(false);
+        index.index(task);
+        assertThat(ids(1L, SmartList.IMPORTANT)).containsExactly(1L);
+
+        index.remove(1L);
+        index.remove(2L);
+        assertThat(index.smartListCounts(1L, NOW)).containsOnly(entry(SmartList.IMPORTANT, 0),
+                entry(SmartList.PLANNED, 0), entry(SmartList.MY_DAY, 0), entry(SmartList.OVERDUE, 0));
+    }
+
+    @Test
+    void movingATaskToAnotherUserMovesItsEntries() {
+        Task task = task(1L, ana, DAY.atTime(9, 0));
+        task.setIsImportant(true);
+        save(task);
+
+        task.setTaskList(luis);
+        index.index(task);
+
+        assertThat(ids(1L, SmartList.IMPORTANT)).isEmpty();
+        assertThat(ids(1L, SmartList.MY_DAY)).isEmpty();
+        assertThat(ids(2L, SmartList.IMPORTANT)).containsExactly(1L);
+        assertThat(ids(2L, SmartList.MY_DAY)).containsExactly(1L);
+    }
+
+    @Test
+    void rollingOverRenewsMyDay() {
+        save(task(1L, ana, DAY.atTime(9, 0)));
+        save(task(2L, ana, DAY.plusDays(1).atTime(9, 0)));
+        Task addedToday = task(3L, ana, null);
+        addedToday.setMyDay(DAY);
+        save(addedToday);
+        save(task(5L, ana, DAY.plusDays(2).atTime(9, 0)));
+        assertThat(ids(1L, SmartList.MY_DAY)).containsExactly(1L, 3L);
+
+        index.rollOverSmartLists(DAY.plusDays(1));
+
+        assertThat(index.getSmartListDay()).isEqualTo(DAY.plusDays(1));
+        assertThat(ids(1L, SmartList.MY_DAY)).containsExactly(2L);
+        assertThat(ids(1L, SmartList.PLANNED)).as("las planificadas no dependen del día").containsExactly(1L, 2L, 5L);
+
+        // Lo indexado después del cambio usa ya el nuevo día
+        save(task(6L, ana, DAY.plusDays(1).atTime(8, 0)));
+        save(task(7L, ana, DAY.atTime(8, 0)));
+        addedToday.setMyDay(DAY.plusDays(1));
+        save(addedToday);
+        assertThat(ids(1L, SmartList.MY_DAY)).containsExactly(6L, 2L, 3L);
+
+        index.rollOverSmartLists(DAY.plusDays(2));
+        assertThat(ids(1L, SmartList.MY_DAY)).containsExactly(5L);
+    }
+
+    @Test
+    void overdueIsThePlannedSliceBeforeNow() {
+        save(task(1L, ana, NOW.minusDays(1)));
+        Task high = task(2L, ana, NOW.minusMinutes(1));
+        high.setPriority(Priority.HIGH);
+        save(high);
+        save(task(3L, ana, NOW.minusMinutes(1)));
+        save(task(4L, ana, NOW));
+        save(task(5L, ana, NOW.plusHours(1)));
+        Task done = task(6L, ana, NOW.minusHours(2));
+        done.setCompleted(true);
+        save(done);
+
+        assertThat(ids(1L, SmartList.OVERDUE)).as("lo que vence justo ahora aún no está vencido")
+                .containsExactly(1L, 2L, 3L);
+        assertThat(index.smartListCounts(1L, NOW)).containsEntry(SmartList.OVERDUE, 3);
+        assertThat(index.smartListCounts(1L, NOW.plusDays(1))).containsEntry(SmartList.OVERDUE, 5);
+
+        // Paginar desde la segunda clave no se sale del tramo de vencidas
+        SmartListKey second = SmartListKey.of(high);
+        assertThat(index.smartListKeysAfter(1L, SmartList.OVERDUE, second, NOW))
+                .extracting(SmartListKey::getTaskId).containsExactly(3L);
+    }
+
+    private Task save(Task task) {
+        index.index(task);
+        return task;
+    }
+
+    private List<Long> ids(Long userId, SmartList list) {
+        return index.smartListKeysAfter(userId, list, null, NOW).stream().map(SmartListKey::getTaskId).toList();
+    }
+
+    private static Task task(Long id, TaskList taskList, LocalDateTime dueDate) {
+        Task task = new Task(id, "Tarea " + id, taskList);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
@@ -0,0 +1,275 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link TaskIndex}: los mapas de bits de cada usuario deben dar
+ * el mismo resultado que filtrar todas sus tareas, aunque varios usuarios
+ * escriban a la vez o una tarea cambie de usuario, y el índice de texto debe
+ * encontrar los términos dentro de cualquier palabra.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class TaskIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+    private static final String[] TAGS = {"casa", "trabajo", "urgente", "compras"};
+
+    private final TaskIndex index = new TaskIndex();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void bitmapsAreScopedToEachUser() {
+        TaskList ana = list(10L, 1L);
+        TaskList luis = list(20L, 2L);
+        index.index(task(100L, ana, Priority.HIGH, true, "casa"));
+        index.index(task(101L, ana, Priority.LOW, false, "trabajo"));
+        index.index(task(200L, luis, Priority.HIGH, true, "casa"));
+
+        TaskIndex.BitmapSelection selection = select(1L, "important #casa");
+
+        assertThat(selection.getCount()).isEqualTo(1);
+        assertThat(selection.getTaskIds()).containsExactly(100L);
+        assertThat(select(3L, "important").getCount()).isZero();
+        assertThat(index.tagCountsByUser(1L)).containsOnly(Map.entry("casa", 1), Map.entry("trabajo", 1));
+    }
+
+    @Test
+    void idsAreOnlyResolvedWhenCheaperThanTheBestPath() {
+        TaskList ana = list(10L, 1L);
+        for (long id = 1; id <= 10; id++) {
+            index.index(task(id, ana, Priority.MEDIUM, false, "casa"));
+        }
+        TaskQuery query = TaskQueryParser.parse("#casa", NOW);
+
+        TaskIndex.BitmapSelection expensive = index.selectByBitmaps(1L, query, 10);
+        TaskIndex.BitmapSelection cheap = index.selectByBitmaps(1L, query, 11);
+
+        assertThat(expensive.getCount()).isEqualTo(10);
+        assertThat(expensive.getTaskIds()).isNull();
+        assertThat(cheap.getTaskIds()).hasSize(10);
+    }
+
+    @Test
+    void updatesAndRemovalsMoveTheBits() {
+        TaskList ana = list(10L, 1L);
+        TaskList luis = list(20L, 2L);
+        Task task = task(100L, ana, Priority.LOW, false, "casa");
+        index.index(task);
+
+        task.setTags(List.of("trabajo"));
+        task.setPriority(Priority.URGENT);
+        task.setCompleted(true);
+        index.index(task);
+        assertThat(select(1L, "#casa").getCount()).isZero();
+        assertThat(select(1L, "#trabajo done priority>=urgent").getTaskIds()).containsExactly(100L);
+
+        // Al pasar a una lista de otro usuario sale de los mapas del primero
+        task.setTaskList(luis);
+        index.index(task);
+        assertThat(select(1L, "done").getCount()).isZero();
+        assertThat(select(2L, "done").getTaskIds()).containsExactly(100L);
+        assertThat(index.tagCountsByUser(1L)).isEmpty();
+
+        index.remove(100L);
+        assertThat(select(2L, "done").getCount()).isZero();
+        assertThat(index.tagCountsByUser(2L)).isEmpty();
+    }
+
+    @Test
+    void concurrentWritersOfSeveralUsersMatchAFullScan() throws Exception {
+        int users = 4;
+        int tasksPerUser = 2000;
+        Map<Long, Task> tasks = new ConcurrentHashMap<>();
+        List<Future<?>> writers = new ArrayList<>();
+        for (long user = 1; user <= users; user++) {
+            long userId = user;
+            writers.add(executor.submit(() -> {
+                Random random = new Random(userId);
+                TaskList taskList = list(userId * 10, userId);
+                for (int i = 0; i < tasksPerUser * 3; i++) {
+                    long id = userId * 1_000_000 + random.nextInt(tasksPerUser);
+                    if (random.nextInt(10) == 0) {
+                        tasks.remove(id);
+                        index.remove(id);
+                        continue;
+                    }
+                    Task task = task(id, taskList, Priority.values()[random.nextInt(4)], random.nextBoolean(),
+                            TAGS[random.nextInt(TAGS.length)], TAGS[random.nextInt(TAGS.length)]);
+                    task.setCompleted(random.nextBoolean());
+                    tasks.put(id, task);
+                    index.index(task);
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+
+        for (String expression : new String[]{"#casa", "important !done", "#trabajo !#urgente priority>=high",
+                "done priority<=medium", "!important #compras"}) {
+            TaskQuery query = TaskQueryParser.parse(expression, NOW);
+            for (long user = 1; user <= users; user++) {
+                long userId = user;
+                List<Long> expected = tasks.values().stream()
+                        .filter(task -> query.matches(task, userId))
+                        .map(Task::getId)
+                        .sorted()
+                        .toList();
+                List<Long> selected = index.selectByBitmaps(userId, query, Integer.MAX_VALUE).getTaskIds();
+                assertThat(selected).as("%s para el usuario %d", expression, userId)
+                        .containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    void indexingABlockMatchesIndexingEachTask() {
+        TaskIndex single = new TaskIndex();
+        Random random = new Random(3);
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            TaskList taskList = list(10L + id % 3, 1L + id % 3);
+            Task task = task(id, taskList, Priority.values()[random.nextInt(4)], random.nextBoolean(),
+                    TAGS[random.nextInt(TAGS.length)]);
+            task.setCompleted(random.nextBoolean());
+            tasks.add(task);
+            single.index(task);
+        }
+
+        index.indexAll(tasks);
+
+        for (String expression : new String[]{"#casa", "important !done", "priority>=high !#trabajo"}) {
+            TaskQuery query = TaskQueryParser.parse(expression, NOW);
+            for (long user = 1; user <= 3; user++) {
+                assertThat(index.selectByBitmaps(user, query, Integer.MAX_VALUE).getTaskIds())
+                        .as("%s para el usuario %d", expression, user)
+                        .containsExactlyInAnyOrderElementsOf(
+                                single.selectByBitmaps(user, query, Integer.MAX_VALUE).getTaskIds());
+            }
+        }
+        assertThat(index.taskIdsByUser(2L)).containsExactlyInAnyOrderElementsOf(single.taskIdsByUser(2L));
+    }
+
+    @Test
+    void textTermsAreFoundInsideWordsOfAnyLength() {
+        TaskList ana = list(10L, 1L);
+        index.index(text(1L, ana, "Comprar pan", "en la panadería"));
+        index.index(text(2L, ana, "Llamar al banco", null));
+        index.index(text(3L, ana, "Pagar alquiler", "antes del día 5"));
+
+        assertThat(index.taskIdsByText("ompra")).containsExactly(1L);
+        assertThat(index.taskIdsByText("pan")).containsExactly(1L);
+        assertThat(index.taskIdsByText("al")).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(index.taskIdsByText("5")).containsExactly(3L);
+        assertThat(index.taskIdsByText("a")).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.taskIdsByText("panaderías")).isEmpty();
+        assertThat(index.taskIdsByText("xyz")).isEmpty();
+        // La estimación es una cota superior: cada tarea cuenta una vez por palabra que contiene el término
+        assertThat(index.estimateText("a", 100)).isEqualTo(11);
+        assertThat(index.estimateText("a", 1)).isEqualTo(2);
+    }
+
+    @Test
+    void wordsLeaveTheVocabularyWithTheirLastTask() {
+        TaskList ana = list(10L, 1L);
+        Task task = text(1L, ana, "Revisar presupuesto", null);
+        index.index(task);
+        index.index(text(2L, ana, "Enviar presupuesto", null));
+
+        task.setTitle("Revisar factura");
+        index.index(task);
+        assertThat(index.taskIdsByText("supuest")).containsExactly(2L);
+        assertThat(index.taskIdsByText("factur")).containsExactly(1L);
+
+        index.remove(2L);
+        assertThat(index.taskIdsByText("supuest")).isEmpty();
+        assertThat(index.estimateText("pre", 10)).isZero();
+
+        index.index(text(3L, ana, "Nuevo presupuesto", null));
+        assertThat(index.taskIdsByText("supuest")).containsExactly(3L);
+    }
+
+    @Test
+    void textLookupsMatchAScanOfTheWords() {
+        Random random = new Random(11);
+        TaskList ana = list(10L, 1L);
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            StringBuilder title = new StringBuilder();
+            for (int word = 0; word < 3; word++) {
+                title.append(randomWord(random)).append(' ');
+            }
+            Task task = text(id, ana, title.toString(), null);
+            tasks.add(task);
+            index.index(task);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String word = randomWord(random);
+            String term = word.substring(random.nextInt(word.length()));
+            List<Long> expected = tasks.stream()
+                    .filter(task -> task.getTitle().contains(term))
+                    .map(Task::getId)
+                    .toList();
+
+            assertThat(index.taskIdsByText(term)).as(term).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(index.estimateText(term, Integer.MAX_VALUE)).as(term).isGreaterThanOrEqualTo(expected.size());
+        }
+    }
+
+    private TaskIndex.BitmapSelection select(Long userId, String expression) {
+        return index.selectByBitmaps(userId, TaskQueryParser.parse(expression, NOW), Integer.MAX_VALUE);
+    }
+
+    private static TaskList list(Long id, Long userId) {
+        return new TaskList(id, "Lista " + id, null, new User(userId, "u" + userId + "@todoapp.com", "U", "x"));
+    }
+
+    private static Task text(Long id, TaskList taskList, String title, String description) {
+        Task task = new Task(id, title, taskList);
+        task.setDescription(description);
+        return task;
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 1 + random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            word.append("abcde".charAt(random.nextInt(5)));
+        }
+        return word.toString();
+    }
+
+    private static Task task(Long id, TaskList taskList, Priority priority, boolean important, String... tags) {
+        Task task = new Task(id, "Tarea " + id, taskList);
+        task.setPriority(priority);
+        task.setIsImportant(important);
+        task.setTags(List.of(tags).stream().distinct().toList());
+        return task;
+    }
+}
@@ -0,0 +1,192 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.exception.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de {@link TaskQueryParser}: cada término del lenguaje de consultas
+ * se traduce a su filtro y los términos inválidos se rechazan con el término
+ * que falló.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class TaskQueryParserTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    @Test
+    void emptyExpressionsMatchEverythingByNewestFirst() {
+        for (String expression : new String[]{null, "", "   "}) {
+            TaskQuery query = parse(expression);
+
+            assertThat(query.hasBitmapFilters()).isFalse();
+            assertThat(query.hasDueRange()).isFalse();
+            assertThat(query.getTextTerms()).isEmpty();
+            assertThat(query.getSortField()).isEqualTo(TaskQuery.SortField.CREATED);
+            assertThat(query.isDescending()).isTrue();
+        }
+    }
+
+    @Test
+    void listFiltersAcceptOneNumericList() {
+        assertThat(parse("list:5").getTaskListId()).isEqualTo(5L);
+        assertThat(parse("list:5 list:5").getTaskListId()).isEqualTo(5L);
+
+        assertInvalid("list:abc", "list:abc");
+        assertInvalid("list:5 list:6", "list:6");
+    }
+
+    @Test
+    void priorityComparisonsBecomeRanges() {
+        assertPriorities("priority>=high", Priority.HIGH, Priority.URGENT);
+        assertPriorities("priority>MEDIUM", Priority.HIGH, Priority.URGENT);
+        assertPriorities("priority<=medium", Priority.LOW, Priority.MEDIUM);
+        assertPriorities("priority<medium", Priority.LOW, Priority.LOW);
+        assertPriorities("priority:low", Priority.LOW, Priority.LOW);
+        assertPriorities("priority=urgent", Priority.URGENT, Priority.URGENT);
+        assertPriorities("priority>=medium priority<urgent", Priority.MEDIUM, Priority.HIGH);
+        // Un rango vacío queda invertido para que ninguna tarea lo cumpla
+        assertPriorities("priority>urgent", Priority.URGENT, Priority.LOW);
+
+        assertInvalid("priority>=altísima", "priority>=altísima");
+    }
+
+    @Test
+    void relativeDueDatesAreMeasuredFromNow() {
+        assertThat(parse("due<7d").getDueTo()).isEqualTo(NOW.plusDays(7));
+        assertThat(parse("due<=2w").getDueTo()).isEqualTo(NOW.plusWeeks(2).plusNanos(1));
+        assertThat(parse("due>=-3h").getDueFrom()).isEqualTo(NOW.minusHours(3));
+        assertThat(parse("due>+1d").getDueFrom()).isEqualTo(NOW.plusDays(1).plusNanos(1));
+
+        TaskQuery now = parse("due:now");
+        assertThat(now.getDueFrom()).isEqualTo(NOW);
+        assertThat(now.getDueTo()).isEqualTo(NOW.plusNanos(1));
+    }
+
+    @Test
+    void absoluteDueDatesCoverTheWholeDay() {
+        LocalDateTime day = LocalDateTime.of(2026, 3, 20, 0, 0);
+
+        assertThat(parse("due>=2026-03-20").getDueFrom()).isEqualTo(day);
+        assertThat(parse("due>2026-03-20").getDueFrom()).isEqualTo(day.plusDays(1));
+        assertThat(parse("due<2026-03-20").getDueTo()).isEqualTo(day);
+        assertThat(parse("due<=2026-03-20").getDueTo()).isEqualTo(day.plusDays(1));
+        assertThat(parse("due<2026-03-20t10:30").getDueTo()).isEqualTo(day.withHour(10).withMinute(30));
+
+        TaskQuery today = parse("due:today");
+        assertThat(today.getDueFrom()).isEqualTo(NOW.toLocalDate().atStartOfDay());
+        assertThat(today.getDueTo()).isEqualTo(NOW.toLocalDate().plusDays(1).atStartOfDay());
+        TaskQuery tomorrow = parse("due=tomorrow");
+        assertThat(tomorrow.getDueFrom()).isEqualTo(NOW.toLocalDate().plusDays(1).atStartOfDay());
+        assertThat(tomorrow.getDueTo()).isEqualTo(NOW.toLocalDate().plusDays(2).atStartOfDay());
+
+        // Varios límites se intersecan
+        TaskQuery range = parse("due>=2026-03-01 due<2026-04-01 due>=2026-03-15");
+        assertThat(range.getDueFrom()).isEqualTo(LocalDateTime.of(2026, 3, 15, 0, 0));
+        assertThat(range.getDueTo()).isEqualTo(LocalDateTime.of(2026, 4, 1, 0, 0));
+
+        assertInvalid("due<2026-13-01", "due<2026-13-01");
+        assertInvalid("due<pronto", "due<pronto");
+    }
+
+    @Test
+    void dueNoneAndAnyOnlyCheckForADueDate() {
+        assertThat(parse("due:none").getHasDueDate()).isFalse();
+        assertThat(parse("due=any").getHasDueDate()).isTrue();
+        assertThat(parse("due:any").hasDueRange()).isFalse();
+
+        assertInvalid("due<none", "due<none");
+    }
+
+    @Test
+    void flagsAndTheirNegations() {
+        assertThat(parse("done").getCompleted()).isTrue();
+        assertThat(parse("completed").getCompleted()).isTrue();
+        assertThat(parse("!done").getCompleted()).isFalse();
+        assertThat(parse("pending").getCompleted()).isFalse();
+        assertThat(parse("!pending").getCompleted()).isTrue();
+        assertThat(parse("IMPORTANT").getImportant()).isTrue();
+        assertThat(parse("!important").getImportant()).isFalse();
+
+        TaskQuery overdue = parse("overdue");
+        assertThat(overdue.getCompleted()).isFalse();
+        assertThat(overdue.getDueTo()).isEqualTo(NOW);
+
+        assertInvalid("!overdue", "!overdue");
+        assertInvalid("!list:5", "!list:5");
+        assertInvalid("!comprar", "!comprar");
+    }
+
+    @Test
+    void tagsAreIncludedOrExcluded() {
+        TaskQuery query = parse("#Casa tag:trabajo !tag:ocio !#viajes");
+
+        assertThat(query.getTags()).containsExactly("casa", "trabajo");
+        assertThat(query.getExcludedTags()).containsExactly("ocio", "viajes");
+        assertThat(query.hasBitmapFilters()).isTrue();
+
+        assertInvalid("#", "#");
+        assertInvalid("!tag:", "!tag:");
+    }
+
+    @Test
+    void sortFieldsAndDirection() {
+        assertSort("sort:due", TaskQuery.SortField.DUE, false);
+        assertSort("sort:-due", TaskQuery.SortField.DUE, true);
+        assertSort("sort:created", TaskQuery.SortField.CREATED, false);
+        assertSort("sort:-priority", TaskQuery.SortField.PRIORITY, true);
+        assertSort("SORT:Title", TaskQuery.SortField.TITLE, false);
+
+        assertInvalid("sort:tamaño", "sort:tamaño");
+        assertInvalid("sort:", "sort:");
+    }
+
+    @Test
+    void textTermsComeFromWordsQuotesAndTextFilters() {
+        TaskQuery query = parse("Comprar \"Pan  Integral\" text:Leche list:3");
+
+        assertThat(query.getTextTerms()).containsExactly("comprar", "pan", "integral", "leche");
+        assertThat(query.getTaskListId()).isEqualTo(3L);
+        // Dentro de comillas los filtros son texto
+        assertThat(parse("\"list:3 #casa\"").getTextTerms()).containsExactly("list:3", "#casa");
+        assertThat(parse("\"sin cerrar").getTextTerms()).containsExactly("sin", "cerrar");
+    }
+
+    @Test
+    void unknownFiltersAreRejected() {
+        assertInvalid("color:rojo", "color:rojo");
+        assertInvalid("comprar estado:hecho", "estado:hecho");
+    }
+
+    private static TaskQuery parse(String expression) {
+        return TaskQueryParser.parse(expression, NOW);
+    }
+
+    private static void assertPriorities(String expression, Priority min, Priority max) {
+        TaskQuery query = parse(expression);
+        assertThat(query.getMinPriority()).as(expression).isEqualTo(min);
+        assertThat(query.getMaxPriority()).as(expression).isEqualTo(max);
+    }
+
+    private static void assertSort(String expression, TaskQuery.SortField field, boolean descending) {
+        TaskQuery query = parse(expression);
+        assertThat(query.getSortField()).as(expression).isEqualTo(field);
+        assertThat(query.isDescending()).as(expression).isEqualTo(descending);
+    }
+
+    private static void assertInvalid(String expression, String term) {
+        assertThatThrownBy(() -> parse(expression)).as(expression)
+                .isInstanceOf(InvalidDataException.class)
+                .satisfies(e -> {
+                    assertThat(((InvalidDataException) e).getField()).isEqualTo("q");
+                    assertThat(((InvalidDataException) e).getValue()).isEqualTo(term);
+                });
+    }
+}
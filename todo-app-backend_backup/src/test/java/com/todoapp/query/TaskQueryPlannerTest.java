@@ -0,0 +1,123 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link TaskQueryPlanner}: se elige el índice con menos
+ * candidatos y sus candidatos incluyen siempre todas las tareas que cumplen
+ * la consulta.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class TaskQueryPlannerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final TaskIndex index = new TaskIndex();
+    private final TaskQueryPlanner planner = new TaskQueryPlanner(index);
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User ana = new User(1L, "ana@todoapp.com", "Ana", "x");
+        User luis = new User(2L, "luis@todoapp.com", "Luis", "x");
+        TaskList casa = new TaskList(10L, "Casa", null, ana);
+        TaskList trabajo = new TaskList(11L, "Trabajo", null, ana);
+        TaskList otra = new TaskList(20L, "Otra", null, luis);
+        for (long id = 1; id <= 100; id++) {
+            Task task = new Task(id, "Tarea " + id, id <= 90 ? casa : trabajo);
+            task.setCreatedAt(NOW.minusMinutes(id));
+            if (id % 30 == 0) {
+                task.setTags(List.of("raro"));
+            }
+            if (id % 20 == 0) {
+                task.setDueDate(NOW.plusHours(id / 20));
+            }
+            tasks.add(task);
+        }
+        tasks.get(41).setTitle("Llamar a xyzzy");
+        for (long id = 1001; id <= 1050; id++) {
+            Task task = new Task(id, "Tarea xyzzy " + id, otra);
+            task.setTags(List.of("raro"));
+            tasks.add(task);
+        }
+        tasks.forEach(index::index);
+    }
+
+    @Test
+    void withoutSelectiveFiltersTheUserIndexIsUsedInOrder() {
+        TaskQueryPlanner.QueryPlan plan = plan("");
+
+        assertThat(plan.getAccessPath()).isEqualTo(TaskQueryPlanner.AccessPath.USER);
+        assertThat(plan.getEstimatedCost()).isEqualTo(100);
+        assertThat(plan.isPresorted()).isTrue();
+        assertThat(plan.getCandidateIds()).hasSize(100).startsWith(1L, 2L, 3L);
+        assertThat(plan("sort:title").isPresorted()).isFalse();
+    }
+
+    @Test
+    void theSmallerListIndexWins() {
+        TaskQueryPlanner.QueryPlan plan = plan("list:11 sort:-created");
+
+        assertThat(plan.getAccessPath()).isEqualTo(TaskQueryPlanner.AccessPath.LIST);
+        assertThat(plan.getEstimatedCost()).isEqualTo(10);
+        assertThat(plan.isPresorted()).isTrue();
+        assertThat(plan.getCandidateIds()).startsWith(91L, 92L);
+        assertThat(plan("list:11 sort:created").getCandidateIds()).startsWith(100L, 99L);
+    }
+
+    @Test
+    void selectiveTagsUseTheBitmapsOfTheUser() {
+        TaskQueryPlanner.QueryPlan plan = plan("#raro");
+
+        assertThat(plan.getAccessPath()).isEqualTo(TaskQueryPlanner.AccessPath.BITMAP);
+        assertThat(plan.getEstimatedCost()).isEqualTo(3);
+        assertThat(plan.getCandidateIds()).containsExactlyInAnyOrder(30L, 60L, 90L);
+        // Si los mapas de bits no mejoran a la lista, se queda la lista
+        assertThat(plan("list:11 !done").getAccessPath()).isEqualTo(TaskQueryPlanner.AccessPath.LIST);
+    }
+
+    @Test
+    void rareTextTermsUseTheTextIndex() {
+        TaskQueryPlanner.QueryPlan plan = plan("tarea xyzz");
+
+        assertThat(plan.getAccessPath()).isEqualTo(TaskQueryPlanner.AccessPath.TEXT);
+        // El índice de texto es global: los candidatos de otros usuarios se descartan después
+        assertThat(plan.getCandidateIds()).contains(42L).hasSize(51);
+        assertThat(plan("tarea").getAccessPath()).isEqualTo(TaskQueryPlanner.AccessPath.USER);
+    }
+
+    @Test
+    void nearDueRangesUseTheDueDateIndex() {
+        TaskQueryPlanner.QueryPlan plan = plan("due<3h");
+
+        assertThat(plan.getAccessPath()).isEqualTo(TaskQueryPlanner.AccessPath.DUE_DATE);
+        assertThat(plan.getCandidateIds()).containsExactlyInAnyOrder(20L, 40L);
+    }
+
+    @Test
+    void candidatesAlwaysContainEveryMatchingTask() {
+        for (String expression : new String[]{"", "#raro", "list:10 #raro", "xyzzy", "due<3h", "due>=1h !#raro",
+                "list:11 pending", "zzz", "#raro !#raro", "llamar due:none"}) {
+            TaskQuery query = TaskQueryParser.parse(expression, NOW);
+            List<Long> expected = tasks.stream().filter(task -> query.matches(task, 1L)).map(Task::getId).toList();
+
+            assertThat(planner.plan(query, 1L).getCandidateIds()).as(expression).containsAll(expected);
+        }
+    }
+
+    private TaskQueryPlanner.QueryPlan plan(String expression) {
+        return planner.plan(TaskQueryParser.parse(expression, NOW), 1L);
+    }
+}
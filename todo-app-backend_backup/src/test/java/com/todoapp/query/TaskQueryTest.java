@@ -0,0 +1,164 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link TaskQuery}: cada filtro se evalúa sobre la tarea y los
+ * ordenamientos dejan las tareas sin fecha al final y desempatan por ID.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class TaskQueryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    private final User ana = new User(1L, "ana@todoapp.com", "Ana", "x");
+    private final TaskList casa = new TaskList(10L, "Casa", null, ana);
+    private final TaskList trabajo = new TaskList(11L, "Trabajo", null, ana);
+
+    @Test
+    void tasksOfOtherUsersNeverMatch() {
+        Task task = new Task(1L, "Comprar pan", casa);
+
+        assertThat(matches("", task)).isTrue();
+        assertThat(TaskQueryParser.parse("", NOW).matches(task, 2L)).isFalse();
+    }
+
+    @Test
+    void listPriorityAndFlagFilters() {
+        Task task = new Task(1L, "Informe", trabajo);
+        task.setPriority(Priority.HIGH);
+        task.setIsImportant(true);
+
+        assertThat(matches("list:11 priority>=high important pending", task)).isTrue();
+        assertThat(matches("list:10", task)).isFalse();
+        assertThat(matches("priority>high", task)).isFalse();
+        assertThat(matches("priority<=medium", task)).isFalse();
+        assertThat(matches("!important", task)).isFalse();
+        assertThat(matches("done", task)).isFalse();
+
+        task.setCompleted(true);
+        assertThat(matches("done", task)).isTrue();
+        assertThat(matches("!done", task)).isFalse();
+    }
+
+    @Test
+    void dueRangesIncludeTheirStartAndExcludeTheirEnd() {
+        Task task = new Task(1L, "Pagar luz", casa);
+
+        assertThat(matches("due:none", task)).isTrue();
+        assertThat(matches("due:any", task)).isFalse();
+        assertThat(matches("due<7d", task)).as("sin fecha no entra en un rango").isFalse();
+
+        task.setDueDate(LocalDateTime.of(2026, 3, 11, 9, 0));
+        assertThat(matches("due:any due:tomorrow due<7d", task)).isTrue();
+        assertThat(matches("due:today", task)).isFalse();
+        assertThat(matches("due>=2026-03-11t09:00", task)).isTrue();
+        assertThat(matches("due<2026-03-11t09:00", task)).isFalse();
+        assertThat(matches("overdue", task)).isFalse();
+
+        task.setDueDate(NOW.minusHours(1));
+        assertThat(matches("overdue", task)).isTrue();
+    }
+
+    @Test
+    void tagsMustAllBePresentAndExcludedOnesAbsent() {
+        Task task = new Task(1L, "Limpiar", casa);
+        task.setTags(List.of("casa", "semanal"));
+
+        assertThat(matches("#casa #semanal", task)).isTrue();
+        assertThat(matches("#casa #urgente", task)).isFalse();
+        assertThat(matches("#casa !#urgente", task)).isTrue();
+        assertThat(matches("!#semanal", task)).isFalse();
+    }
+
+    @Test
+    void textTermsMatchInsideTitleOrDescription() {
+        Task task = new Task(1L, "Comprar PAN integral", casa);
+        task.setDescription("En la panadería de la esquina");
+
+        assertThat(matches("comprar", task)).isTrue();
+        assertThat(matches("ntegra", task)).isTrue();
+        assertThat(matches("esquina pan", task)).isTrue();
+        assertThat(matches("\"pan leche\"", task)).isFalse();
+
+        task.setDescription(null);
+        assertThat(matches("esquina", task)).isFalse();
+    }
+
+    @Test
+    void dueOrderLeavesTasksWithoutDateLastInBothDirections() {
+        Task late = due(1L, NOW.plusDays(2));
+        Task none = due(2L, null);
+        Task early = due(3L, NOW.plusDays(1));
+        Task tie = due(4L, NOW.plusDays(1));
+        List<Task> tasks = List.of(late, none, early, tie);
+
+        assertThat(sorted("sort:due", tasks)).containsExactly(early, tie, late, none);
+        assertThat(sorted("sort:-due", tasks)).containsExactly(late, early, tie, none);
+    }
+
+    @Test
+    void otherOrdersBreakTiesById() {
+        Task low = new Task(1L, "beta", casa);
+        low.setPriority(Priority.LOW);
+        Task urgent = new Task(2L, "Alfa", casa);
+        urgent.setPriority(Priority.URGENT);
+        Task alsoLow = new Task(3L, "alfa", casa);
+        alsoLow.setPriority(Priority.LOW);
+        List<Task> tasks = List.of(low, urgent, alsoLow);
+
+        assertThat(sorted("sort:priority", tasks)).containsExactly(low, alsoLow, urgent);
+        assertThat(sorted("sort:-priority", tasks)).containsExactly(urgent, alsoLow, low);
+        assertThat(sorted("sort:title", tasks)).containsExactly(urgent, alsoLow, low);
+        assertThat(sorted("sort:-title", tasks)).containsExactly(low, alsoLow, urgent);
+    }
+
+    @Test
+    void sortAgreesWithTheComparator() {
+        Random random = new Random(7);
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            Task task = new Task(id, "Tarea " + random.nextInt(50), casa);
+            task.setPriority(Priority.values()[random.nextInt(4)]);
+            task.setCreatedAt(NOW.minusMinutes(random.nextInt(100)));
+            task.setDueDate(random.nextInt(4) == 0 ? null : NOW.plusHours(random.nextInt(100)));
+            tasks.add(task);
+        }
+
+        for (String expression : new String[]{"sort:due", "sort:-due", "sort:created", "sort:-created",
+                "sort:priority", "sort:-priority", "sort:title", "sort:-title"}) {
+            TaskQuery query = TaskQueryParser.parse(expression, NOW);
+            List<Task> expected = new ArrayList<>(tasks);
+            expected.sort(query.comparator());
+
+            assertThat(query.sort(tasks)).as(expression).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private Task due(Long id, LocalDateTime dueDate) {
+        Task task = new Task(id, "Tarea " + id, casa);
+        task.setDueDate(dueDate);
+        return task;
+    }
+
+    private static boolean matches(String expression, Task task) {
+        return TaskQueryParser.parse(expression, NOW).matches(task, 1L);
+    }
+
+    private static List<Task> sorted(String expression, List<Task> tasks) {
+        return TaskQueryParser.parse(expression, NOW).sort(tasks);
+    }
+}
@@ -0,0 +1,135 @@
+package com.todoapp.query;
+
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la ordenación por claves empaquetadas de {@link TaskSort}: debe
+ * dar exactamente el mismo orden que los comparadores de {@link TaskQuery}.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class TaskSortTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 9, 0);
+    private static final TaskList LIST = new TaskList(1L, "Lista", null, new User(1L, "a@todoapp.com", "A", "x"));
+
+    @Test
+    void querySortMatchesComparatorForEverySortMode() {
+        List<Task> tasks = randomTasks(new Random(3), 5_000);
+        for (String sort : List.of("due", "-due", "priority", "-priority", "created", "-created", "title", "-title")) {
+            TaskQuery query = TaskQueryParser.parse("sort:" + sort, BASE);
+            List<Task> expected = new ArrayList<>(tasks);
+            expected.sort(query.comparator());
+
+            assertThat(query.sort(tasks)).as(sort).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void byKeyIsStableAndKeepsTasksWithoutKeyLastInOriginalOrder() {
+        List<Long> items = List.of(5L, -1L, 3L, 5L + 100, -2L, 3L + 100, 1L);
+
+        List<Long> sorted = TaskSort.byKey(items, TaskSortTest::keyOf);
+
+        assertThat(sorted).containsExactly(1L, 3L, 103L, 5L, 105L, -1L, -2L);
+    }
+
+    @Test
+    void byKeyFallsBackWhenKeyRangeDoesNotFitThePackedLong() {
+        List<Long> keys = List.of(Long.MAX_VALUE - 1, Long.MIN_VALUE, 0L, Long.MIN_VALUE, TaskSort.NO_KEY, -5L);
+        List<Integer> positions = List.of(0, 1, 2, 3, 4, 5);
+
+        List<Integer> sorted = TaskSort.byKey(positions, keys::get);
+
+        assertThat(sorted).containsExactly(1, 3, 5, 2, 0, 4);
+    }
+
+    @Test
+    void reversedKeysKeepTasksWithoutKeyLast() {
+        List<Long> items = List.of(-1L, 2L, 9L, 4L);
+
+        List<Long> sorted = TaskSort.byKey(items, TaskSort.reversed(TaskSortTest::keyOf));
+
+        assertThat(sorted).containsExactly(9L, 4L, 2L, -1L);
+    }
+
+    @Test
+    void trivialInputsAreCopied() {
+        List<Long> single = new ArrayList<>(List.of(1L));
+
+        List<Long> sorted = TaskSort.byKey(single, TaskSortTest::keyOf);
+        sorted.add(2L);
+
+        assertThat(single).containsExactly(1L);
+        assertThat(TaskSort.byKey(List.of(-1L, -2L), TaskSortTest::keyOf)).containsExactly(-1L, -2L);
+    }
+
+    @Test
+    void byTimeOrdersSubMillisecondDifferences() {
+        // Mismo milisegundo: la fracción decide, no la posición ni el ID
+        Task later = task(1, BASE.plusNanos(900_000), null);
+        Task earlier = task(2, BASE.plusNanos(100_000), null);
+        Task undated = task(3, null, null);
+        List<Task> tasks = List.of(undated, later, earlier);
+
+        assertThat(TaskSort.byTime(tasks, Task::getCreatedAt, false)).containsExactly(earlier, later, undated);
+        assertThat(TaskSort.byTime(tasks, Task::getCreatedAt, true)).containsExactly(later, earlier, undated);
+    }
+
+    @Test
+    void byPriorityIsStableAndTreatsMissingPriorityAsMedium() {
+        Task low = task(1, BASE, Priority.LOW);
+        Task none = task(2, BASE, null);
+        Task urgent = task(3, BASE, Priority.URGENT);
+        Task medium = task(4, BASE, Priority.MEDIUM);
+        Task otherLow = task(5, BASE, Priority.LOW);
+        List<Task> tasks = List.of(low, none, urgent, medium, otherLow);
+
+        assertThat(TaskSort.byPriority(tasks, false)).containsExactly(low, otherLow, none, medium, urgent);
+        assertThat(TaskSort.byPriority(tasks, true)).containsExactly(urgent, none, medium, low, otherLow);
+    }
+
+    private static long keyOf(Long item) {
+        return item < 0 ? TaskSort.NO_KEY : item % 100;
+    }
+
+    /**
+     * Tareas con fechas repetidas, fechas límite nulas y fracciones por debajo
+     * del milisegundo, en orden de ID aleatorio.
+     */
+    private static List<Task> randomTasks(Random random, int size) {
+        Priority[] priorities = Priority.values();
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime created = BASE.plusSeconds(random.nextInt(500)).plusNanos(random.nextInt(3) * 1000L);
+            Task task = task(i + 1, created, priorities[random.nextInt(priorities.length)]);
+            task.setTitle("Tarea " + random.nextInt(200));
+            if (random.nextInt(4) != 0) {
+                task.setDueDate(BASE.plusMinutes(random.nextInt(300)).plusNanos(random.nextInt(2) * 500_000L));
+            }
+            tasks.add(task);
+        }
+        Collections.shuffle(tasks, random);
+        return tasks;
+    }
+
+    private static Task task(long id, LocalDateTime createdAt, Priority priority) {
+        Task task = new Task(id, "Tarea " + id, LIST);
+        task.setCreatedAt(createdAt);
+        task.setPriority(priority);
+        return task;
+    }
+}
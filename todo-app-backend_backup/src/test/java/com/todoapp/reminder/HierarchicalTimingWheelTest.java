@@ -0,0 +1,167 @@
+package com.todoapp.reminder;
+
+import com.todoapp.reminder.HierarchicalTimingWheel.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link HierarchicalTimingWheel} con ticks cortos y reloj real.
+ * Solo se comprueba que nada vence antes de su fecha y que todo acaba
+ * venciendo, nunca cuánto se retrasa.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class HierarchicalTimingWheelTest {
+
+    private HierarchicalTimingWheel<Long> wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void expiresEveryTimeoutNoEarlierThanItsDeadline() throws InterruptedException {
+        Map<Long, Long> firedAt = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(4);
+        wheel = start(1, deadline -> {
+            firedAt.put(deadline, System.currentTimeMillis());
+            done.countDown();
+        });
+        long now = System.currentTimeMillis();
+        // Nivel 0 (< 64 ticks), nivel 1 (< 4096) y nivel 2, que baja en cascada dos veces
+        for (long delay : new long[]{5, 50, 300, 4200}) {
+            wheel.schedule(now + delay, now + delay);
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(firedAt).hasSize(4);
+        firedAt.forEach((deadline, fired) -> assertThat(fired).isGreaterThanOrEqualTo(deadline));
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTick() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(2);
+        wheel = start(5, deadline -> done.countDown());
+
+        wheel.schedule(0L, 0L);
+        wheel.schedule(1L, System.currentTimeMillis() - 60_000);
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancelledTimeoutsNeverExpire() throws InterruptedException {
+        List<Long> fired = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        wheel = start(5, deadline -> {
+            synchronized (fired) {
+                fired.add(deadline);
+            }
+            done.countDown();
+        });
+        long now = System.currentTimeMillis();
+        Timeout<Long> cancelled = wheel.schedule(now + 50, now + 50);
+        Timeout<Long> kept = wheel.schedule(now + 300, now + 300);
+
+        // Se lee todo antes de afirmar: la primera afirmación puede tardar en cargar clases
+        boolean first = cancelled.cancel();
+        boolean second = cancelled.cancel();
+        int pendingAfterCancel = wheel.pendingCount();
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(pendingAfterCancel).isEqualTo(1);
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+
+        Thread.sleep(50);
+        synchronized (fired) {
+            assertThat(fired).containsExactly(now + 300);
+        }
+        assertThat(kept.isPending()).isFalse();
+        assertThat(kept.cancel()).isFalse();
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void concurrentScheduleAndCancelExpireEachSurvivorExactlyOnce() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        Map<Long, AtomicInteger> fired = new ConcurrentHashMap<>();
+        CountDownLatch survivors = new CountDownLatch(threads * perThread / 2);
+        wheel = start(1, id -> {
+            fired.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+            survivors.countDown();
+        });
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            Thread worker = new Thread(() -> {
+                try {
+                    barrier.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                long now = System.currentTimeMillis();
+                for (int i = 0; i < perThread; i++) {
+                    long id = base + i;
+                    Timeout<Long> timeout = wheel.schedule(id, now + 200 + i % 150);
+                    if (id % 2 == 1) {
+                        timeout.cancel();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(survivors.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+        assertThat(fired).hasSize(threads * perThread / 2);
+        assertThat(fired.keySet()).allMatch(id -> id % 2 == 0);
+        assertThat(fired.values()).allMatch(count -> count.get() == 1);
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void keepsRunningWhenAnExpiryFails() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        wheel = start(5, deadline -> {
+            if (deadline == 0L) {
+                throw new IllegalStateException("fallo de prueba");
+            }
+            done.countDown();
+        });
+        long now = System.currentTimeMillis();
+
+        wheel.schedule(0L, now);
+        wheel.schedule(now + 30, now + 30);
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static HierarchicalTimingWheel<Long> start(long tickMillis, Consumer<Long> onExpired) {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>("test-wheel", tickMillis, onExpired);
+        wheel.start();
+        return wheel;
+    }
+}
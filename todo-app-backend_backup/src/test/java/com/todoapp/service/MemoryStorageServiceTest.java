@@ -0,0 +1,187 @@
+package com.todoapp.service;
+
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.ResponseCache;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.event.MutationEventBus;
+import com.todoapp.eventsourcing.EventStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link MemoryStorageService}: cada mutación avanza la versión
+ * de los recursos que cambia, y solo la de esos, y desaloja el JSON en caché
+ * de las entidades que cambian y de las que las incluyen.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class MemoryStorageServiceTest {
+
+    private final MutationEventBus eventBus = new MutationEventBus();
+    private final ResourceVersions versions = new ResourceVersions();
+    private final ResponseCache responseCache = new ResponseCache();
+    private MemoryStorageService storageService;
+    private User ana;
+    private User luis;
+    private TaskList casa;
+    private TaskList trabajo;
+
+    @BeforeEach
+    void setUp() {
+        storageService = new MemoryStorageService();
+        ReflectionTestUtils.setField(storageService, "eventBus", eventBus);
+        ReflectionTestUtils.setField(storageService, "eventStore", new EventStore(false));
+        ReflectionTestUtils.setField(storageService, "resourceVersions", versions);
+        ReflectionTestUtils.setField(storageService, "responseCache", responseCache);
+
+        ana = storageService.saveUser(new User(null, "ana@todoapp.com", "Ana", "x"));
+        luis = storageService.saveUser(new User(null, "luis@todoapp.com", "Luis", "x"));
+        casa = storageService.saveTaskList(new TaskList(null, "Casa", null, ana));
+        trabajo = storageService.saveTaskList(new TaskList(null, "Trabajo", null, ana));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Test
+    void userMutationsBumpOnlyThatUser() {
+        long casaBefore = versions.taskListVersion(casa.getId());
+
+        assertBumped(() -> {
+            ana.setName("Ana María");
+            storageService.saveUser(ana);
+        }, ana);
+        assertBumped(() -> storageService.deleteUser(ana.getId()), ana);
+        assertThat(versions.taskListVersion(casa.getId())).isEqualTo(casaBefore);
+
+        long anaVersion = versions.userVersion(ana.getId());
+        assertBumped(() -> storageService.saveUser(new User(null, "eva@todoapp.com", "Eva", "x")));
+        assertThat(versions.userVersion(ana.getId())).isEqualTo(anaVersion);
+    }
+
+    @Test
+    void listMutationsBumpTheListAndItsOwner() {
+        assertBumped(() -> storageService.saveTaskList(new TaskList(null, "Compras", null, ana)), ana);
+        assertBumped(() -> {
+            casa.setName("Hogar");
+            storageService.saveTaskList(casa);
+        }, ana, casa);
+        assertBumped(() -> {
+            casa.setIsActive(false);
+            storageService.saveTaskList(casa);
+        }, ana, casa);
+        assertBumped(() -> storageService.deleteTaskList(casa.getId()), ana, casa);
+    }
+
+    @Test
+    void taskMutationsBumpTheirListsAndOwner() {
+        Task task = new Task(null, "Regar", casa);
+        assertBumped(() -> storageService.saveTask(task), ana, casa);
+        assertBumped(() -> {
+            task.setTitle("Regar plantas");
+            storageService.saveTask(task);
+        }, ana, casa);
+        assertBumped(() -> {
+            task.setCompleted(true);
+            storageService.saveTask(task);
+        }, ana, casa);
+        // Un movimiento cambia la lista de origen y la de destino
+        assertBumped(() -> {
+            task.setTaskList(trabajo);
+            storageService.saveTask(task);
+        }, ana, casa, trabajo);
+        assertBumped(() -> storageService.deleteTask(task.getId()), ana, trabajo);
+    }
+
+    @Test
+    void importsBumpEveryListTheyTouch() {
+        long firstId = storageService.reserveTaskIds(3);
+        List<Task> imported = List.of(new Task(firstId, "Uno", casa), new Task(firstId + 1, "Dos", trabajo),
+                new Task(firstId + 2, "Tres", casa));
+
+        assertBumped(() -> storageService.saveImportedTasks(imported), ana, casa, trabajo);
+    }
+
+    @Test
+    void clearingTheDataBumpsEverything() {
+        assertBumped(storageService::clearAllData, ana, luis, casa, trabajo);
+    }
+
+    @Test
+    void renamingAListEvictsItsFragmentAndThoseOfItsTasks() {
+        Task inCasa = storageService.saveTask(new Task(null, "Regar", casa));
+        Task inTrabajo = storageService.saveTask(new Task(null, "Informe", trabajo));
+        assertThat(json(responseCache.task(inCasa))).contains("\"taskListName\":\"Casa\"");
+        assertThat(json(responseCache.taskList(casa))).contains("\"name\":\"Casa\"");
+        byte[] untouched = responseCache.task(inTrabajo);
+
+        casa.setName("Hogar");
+        storageService.saveTaskList(casa);
+
+        assertThat(json(responseCache.task(inCasa))).contains("\"taskListName\":\"Hogar\"");
+        assertThat(json(responseCache.taskList(casa))).contains("\"name\":\"Hogar\"");
+        assertThat(responseCache.task(inTrabajo)).isSameAs(untouched);
+    }
+
+    @Test
+    void savingAndDeletingEvictTheChangedFragments() {
+        Task task = storageService.saveTask(new Task(null, "Regar", casa));
+        assertThat(json(responseCache.task(task))).contains("\"title\":\"Regar\"");
+
+        task.setTitle("Regar plantas");
+        storageService.saveTask(task);
+        assertThat(json(responseCache.task(task))).contains("\"title\":\"Regar plantas\"");
+
+        // El nombre del usuario va en el JSON de cada una de sus listas
+        assertThat(json(responseCache.taskList(trabajo))).contains("\"userName\":\"Ana\"");
+        ana.setName("Ana María");
+        storageService.saveUser(ana);
+        assertThat(json(responseCache.taskList(trabajo))).contains("\"userName\":\"Ana María\"");
+
+        byte[] beforeDelete = responseCache.task(task);
+        storageService.deleteTask(task.getId());
+        assertThat(responseCache.task(task)).isNotSameAs(beforeDelete);
+    }
+
+    private static String json(byte[] fragment) {
+        return new String(fragment, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Ejecuta una mutación y comprueba que avanzan las versiones de los recursos
+     * dados y de ningún otro de los preparados en {@link #setUp()}.
+     */
+    private void assertBumped(Runnable mutation, Object... bumped) {
+        List<Object> expected = List.of(bumped);
+        long[] before = snapshot();
+
+        mutation.run();
+
+        long[] after = snapshot();
+        Object[] resources = {ana, luis, casa, trabajo};
+        for (int i = 0; i < resources.length; i++) {
+            if (expected.contains(resources[i])) {
+                assertThat(after[i]).as("versión de %s", resources[i]).isGreaterThan(before[i]);
+            } else {
+                assertThat(after[i]).as("versión de %s", resources[i]).isEqualTo(before[i]);
+            }
+        }
+    }
+
+    private long[] snapshot() {
+        return new long[]{versions.userVersion(ana.getId()), versions.userVersion(luis.getId()),
+                versions.taskListVersion(casa.getId()), versions.taskListVersion(trabajo.getId())};
+    }
+}
@@ -0,0 +1,116 @@
+package com.todoapp.service;
+
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.ResponseCache;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.event.MutationEventBus;
+import com.todoapp.eventsourcing.EventStore;
+import com.todoapp.query.Page;
+import com.todoapp.query.SmartList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Pruebas de {@link SmartListService} sobre el almacenamiento en memoria:
+ * las páginas siguen el cursor y las lecturas pasan "Mi Día" a la fecha
+ * actual sin esperar al siguiente tick.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class SmartListServiceTest {
+
+    private final MutationEventBus eventBus = new MutationEventBus();
+    private final LocalDate today = LocalDate.now();
+    private MemoryStorageService storageService;
+    private SmartListService smartListService;
+    private TaskList taskList;
+
+    @BeforeEach
+    void setUp() {
+        storageService = spy(new MemoryStorageService());
+        ReflectionTestUtils.setField(storageService, "eventBus", eventBus);
+        ReflectionTestUtils.setField(storageService, "eventStore", new EventStore(false));
+        ReflectionTestUtils.setField(storageService, "resourceVersions", new ResourceVersions());
+        ReflectionTestUtils.setField(storageService, "responseCache", new ResponseCache());
+        smartListService = new SmartListService();
+        ReflectionTestUtils.setField(smartListService, "storageService", storageService);
+
+        User user = storageService.saveUser(new User(null, "ana@todoapp.com", "Ana", "x"));
+        taskList = storageService.saveTaskList(new TaskList(null, "Casa", null, user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Test
+    void pagesFollowTheCursorInDueOrder() {
+        List<Long> expected = new ArrayList<>();
+        for (int day = 5; day >= 1; day--) {
+            expected.add(0, save("Tarea " + day, today.plusDays(day).atTime(12, 0)).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Task> page = smartListService.getSmartList(userId(), SmartList.PLANNED, cursor, 2);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            page.getItems().forEach(task -> seen.add(task.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void readsRollMyDayOverToTheCurrentDate() {
+        storageService.rollOverSmartLists(today.minusDays(1));
+        Task dueToday = save("Regar", today.atTime(23, 59));
+        assertThat(storageService.countSmartLists(userId())).containsEntry(SmartList.MY_DAY, 0);
+
+        assertThat(smartListService.getCounts(userId()))
+                .containsKeys("important", "planned", "my-day", "overdue")
+                .contains(entry("planned", 1), entry("my-day", 1));
+        assertThat(storageService.getSmartListDay()).isEqualTo(today);
+        assertThat(smartListService.getSmartList(userId(), SmartList.MY_DAY, null, null).getItems())
+                .containsExactly(dueToday);
+    }
+
+    @Test
+    void aFailedRollOverDoesNotFailTheRead() {
+        storageService.rollOverSmartLists(today.minusDays(1));
+        Task dueToday = save("Regar", today.atTime(12, 0));
+        doThrow(new IllegalStateException("fallo de prueba")).when(storageService).rollOverSmartLists(any());
+
+        assertThat(smartListService.getSmartList(userId(), SmartList.PLANNED, null, null).getItems())
+                .containsExactly(dueToday);
+        assertThat(storageService.getSmartListDay()).isEqualTo(today.minusDays(1));
+    }
+
+    private Task save(String title, LocalDateTime dueDate) {
+        Task task = new Task(null, title, taskList);
+        task.setDueDate(dueDate);
+        return storageService.saveTask(task);
+    }
+
+    private Long userId() {
+        return taskList.getUser().getId();
+    }
+}
@@ -0,0 +1,181 @@
+package com.todoapp.service;
+
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.ResponseCache;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.event.MutationEventBus;
+import com.todoapp.eventsourcing.EventStore;
+import com.todoapp.exception.InvalidDataException;
+import com.todoapp.sync.ChangeLog;
+import com.todoapp.sync.SyncDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de {@link SyncService} sobre el almacenamiento en memoria: un
+ * delta trae cada entidad cambiada una sola vez y en su estado actual, las
+ * eliminaciones llegan como bajas y los tokens que el registro ya no cubre
+ * provocan una resincronización completa.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class SyncServiceTest {
+
+    private final MutationEventBus eventBus = new MutationEventBus();
+    private MemoryStorageService storageService;
+    private SyncService syncService;
+    private User user;
+    private TaskList casa;
+
+    @BeforeEach
+    void setUp() {
+        storageService = new MemoryStorageService();
+        ReflectionTestUtils.setField(storageService, "eventBus", eventBus);
+        ReflectionTestUtils.setField(storageService, "eventStore", new EventStore(false));
+        ReflectionTestUtils.setField(storageService, "resourceVersions", new ResourceVersions());
+        ReflectionTestUtils.setField(storageService, "responseCache", new ResponseCache());
+        syncService = new SyncService();
+        ReflectionTestUtils.setField(syncService, "storageService", storageService);
+        ReflectionTestUtils.setField(syncService, "eventBus", eventBus);
+        syncService.start();
+
+        user = storageService.saveUser(new User(null, "ana@todoapp.com", "Ana", "x"));
+        casa = storageService.saveTaskList(new TaskList(null, "Casa", null, user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Test
+    void withoutATokenTheWholeStateIsSent() throws Exception {
+        Task task = save("Regar", casa);
+        TaskList trabajo = storageService.saveTaskList(new TaskList(null, "Trabajo", null, user));
+        save("Informe", trabajo);
+        trabajo.setIsActive(false);
+        storageService.saveTaskList(trabajo);
+        awaitSync();
+
+        SyncDelta delta = syncService.getChanges(user.getId(), null);
+
+        assertThat(delta.isFull()).isTrue();
+        assertThat(delta.getUser()).isSameAs(user);
+        assertThat(delta.getTaskLists()).containsExactly(casa);
+        assertThat(delta.getTasks()).as("sin las tareas de listas eliminadas").containsExactly(task);
+        assertThat(delta.getToken()).isNotBlank();
+    }
+
+    @Test
+    void eachChangedEntityArrivesOnceInItsCurrentState() throws Exception {
+        Task edited = save("Regar", casa);
+        Task untouched = save("Barrer", casa);
+        String token = sync(null).getToken();
+
+        for (int i = 1; i <= 3; i++) {
+            edited.setTitle("Regar " + i);
+            storageService.saveTask(edited);
+        }
+        Task created = save("Fregar", casa);
+        SyncDelta delta = sync(token);
+
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.getUser()).isNull();
+        assertThat(delta.getTaskLists()).isEmpty();
+        assertThat(delta.getTasks()).containsExactly(edited, created).doesNotContain(untouched);
+        assertThat(delta.getTasks().get(0).getTitle()).isEqualTo("Regar 3");
+        assertThat(delta.getDeletedTaskIds()).isEmpty();
+
+        SyncDelta nothing = sync(delta.getToken());
+        assertThat(nothing.isFull()).isFalse();
+        assertThat(nothing.getTasks()).isEmpty();
+        assertThat(nothing.getDeletedTaskIds()).isEmpty();
+    }
+
+    @Test
+    void deletionsArriveAsTombstones() throws Exception {
+        Task deleted = save("Regar", casa);
+        TaskList trabajo = storageService.saveTaskList(new TaskList(null, "Trabajo", null, user));
+        Task inDeletedList = save("Informe", trabajo);
+        String token = sync(null).getToken();
+
+        storageService.deleteTask(deleted.getId());
+        inDeletedList.setTitle("Informe final");
+        storageService.saveTask(inDeletedList);
+        trabajo.setIsActive(false);
+        storageService.saveTaskList(trabajo);
+        user.setName("Ana María");
+        storageService.saveUser(user);
+        SyncDelta delta = sync(token);
+
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.getDeletedTaskIds()).containsExactly(deleted.getId(), inDeletedList.getId());
+        assertThat(delta.getDeletedTaskListIds()).containsExactly(trabajo.getId());
+        assertThat(delta.getTasks()).isEmpty();
+        assertThat(delta.getTaskLists()).isEmpty();
+        assertThat(delta.getUser()).isSameAs(user);
+    }
+
+    @Test
+    void tokensTheLogNoLongerCoversFallBackToAFullResync() throws Exception {
+        String token = sync(null).getToken();
+        long firstId = storageService.reserveTaskIds(ChangeLog.MAX_ENTRIES + 1);
+        List<Task> imported = new ArrayList<>();
+        for (int i = 0; i <= ChangeLog.MAX_ENTRIES; i++) {
+            imported.add(new Task(firstId + i, "Importada " + i, casa));
+        }
+        storageService.saveImportedTasks(imported);
+
+        SyncDelta delta = sync(token);
+
+        assertThat(delta.isFull()).isTrue();
+        assertThat(delta.getTasks()).hasSize(ChangeLog.MAX_ENTRIES + 1);
+        assertThat(sync(delta.getToken()).isFull()).isFalse();
+    }
+
+    @Test
+    void tokensOfAnotherEpochOrFromTheFutureFallBackToAFullResync() throws Exception {
+        save("Regar", casa);
+        String token = sync(null).getToken();
+        String epoch = token.substring(0, token.indexOf('.'));
+
+        assertThat(sync(epoch + "." + Long.toString(Long.MAX_VALUE / 2, 36)).isFull()).isTrue();
+
+        syncService.clear();
+        assertThat(sync(token).isFull()).isTrue();
+        assertThatThrownBy(() -> syncService.getChanges(user.getId(), "sin-punto"))
+                .isInstanceOf(InvalidDataException.class);
+    }
+
+    private SyncDelta sync(String since) throws InterruptedException {
+        awaitSync();
+        return syncService.getChanges(user.getId(), since);
+    }
+
+    /**
+     * Espera a que el consumidor de sincronización procese todo lo publicado.
+     */
+    private void awaitSync() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((long) ReflectionTestUtils.getField(syncService, "processed") < eventBus.getCursor()) {
+            assertThat(System.nanoTime()).as("el consumidor no alcanzó al bus").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private Task save(String title, TaskList taskList) {
+        return storageService.saveTask(new Task(null, title, taskList));
+    }
+}
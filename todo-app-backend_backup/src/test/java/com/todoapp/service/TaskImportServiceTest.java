@@ -0,0 +1,203 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.entity.Priority;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.exception.InvalidDataException;
+import com.todoapp.service.TaskImportService.ImportFormat;
+import com.todoapp.service.TaskImportService.ImportResult;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de {@link TaskImportService}: lectura de CSV (comillas, registros
+ * de varias líneas, BOM, cabeceras de Microsoft To-Do) y NDJSON, y errores
+ * informados con la línea del registro que los causó.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class TaskImportServiceTest {
+
+    private static final long FIRST_ID = 500L;
+
+    private final MemoryStorageService storageService = mock(MemoryStorageService.class);
+    private final TaskListService taskListService = mock(TaskListService.class);
+    private final TaskImportService importService = new TaskImportService();
+    private final TaskList taskList = new TaskList(10L, "Casa", null, new User(1L, "ana@todoapp.com", "Ana", "x"));
+    private final List<Task> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importService, "storageService", storageService);
+        ReflectionTestUtils.setField(importService, "taskListService", taskListService);
+        ReflectionTestUtils.setField(importService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        when(taskListService.getTaskListByIdAndUserId(10L, 1L)).thenReturn(taskList);
+        when(storageService.reserveTaskIds(anyInt())).thenReturn(FIRST_ID);
+        doAnswer(invocation -> saved.addAll(invocation.getArgument(0)))
+                .when(storageService).saveImportedTasks(anyList());
+    }
+
+    @Test
+    void quotedCsvFieldsKeepSeparatorsAndEscapedQuotes() {
+        ImportResult result = importCsv(
+                "Title,Description,Priority\n"
+                + "\"Comprar pan, leche\",\"Dijo \"\"ya\"\"\",Alta\n"
+                + "Llamar,,urgent\n");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(saved).extracting(Task::getTitle, Task::getDescription, Task::getPriority).containsExactly(
+                tuple("Comprar pan, leche", "Dijo \"ya\"", Priority.HIGH),
+                tuple("Llamar", null, Priority.URGENT));
+        assertThat(saved).extracting(Task::getId).containsExactly(FIRST_ID, FIRST_ID + 1);
+        assertThat(saved).allSatisfy(task -> assertThat(task.getTaskList()).isSameAs(taskList));
+        assertThat(result.getFirstTaskId()).isEqualTo(FIRST_ID);
+        assertThat(result.getLastTaskId()).isEqualTo(FIRST_ID + 1);
+    }
+
+    @Test
+    void quotedLineBreaksJoinLinesIntoOneRecord() {
+        ImportResult result = importCsv(
+                "Title;Notes;Priority\n"
+                + "Mudanza;\"Cajas\n\nllaves; contrato\";Alta\n"
+                + "Sin prioridad;nota;rara\n");
+
+        assertThat(result.getTotalRecords()).isEqualTo(2);
+        assertThat(saved).extracting(Task::getDescription).containsExactly("Cajas\n\nllaves; contrato");
+        // El error se informa en la línea real del registro, tras las tres del anterior
+        assertThat(result.getErrors()).extracting(TaskImportService.ImportError::getLine).containsExactly(5);
+    }
+
+    @Test
+    void byteOrderMarksAreIgnored() {
+        ImportResult result = importCsv("\uFEFFTitle,Priority\nRegar plantas,low\n");
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(saved.get(0).getPriority()).isEqualTo(Priority.LOW);
+
+        saved.clear();
+        importNdjson("\uFEFF{\"title\":\"Desde NDJSON\"}\n");
+        assertThat(saved).extracting(Task::getTitle).containsExactly("Desde NDJSON");
+    }
+
+    @Test
+    void microsoftToDoExportsAreRecognized() {
+        ImportResult result = importCsv(
+                "Subject,Notes,Due Date,Importance,Status,Completed Date Time\n"
+                + "Pagar luz,Factura de marzo,3/15/2026,High,Completed,2026-03-14 18:30\n"
+                + "Renovar DNI,,2026-04-01T09:00,Normal,NotStarted,\n");
+
+        assertThat(result.getImported()).isEqualTo(2);
+        Task paid = saved.get(0);
+        assertThat(paid.getTitle()).isEqualTo("Pagar luz");
+        assertThat(paid.getDescription()).isEqualTo("Factura de marzo");
+        assertThat(paid.getDueDate()).isEqualTo(LocalDateTime.of(2026, 3, 15, 0, 0));
+        assertThat(paid.getIsImportant()).isTrue();
+        assertThat(paid.getCompleted()).isTrue();
+        assertThat(paid.getCompletedAt()).isEqualTo(LocalDateTime.of(2026, 3, 14, 18, 30));
+        Task pending = saved.get(1);
+        assertThat(pending.getDueDate()).isEqualTo(LocalDateTime.of(2026, 4, 1, 9, 0));
+        assertThat(pending.getIsImportant()).isFalse();
+        assertThat(pending.getCompleted()).isFalse();
+        assertThat(pending.getPriority()).isEqualTo(Priority.MEDIUM);
+    }
+
+    @Test
+    void invalidRecordsAreReportedWithTheirLineAndSkipped() {
+        ImportResult result = importCsv(
+                "Title,Priority,Due Date\n"
+                + "Buena,media,\n"
+                + "Mala prioridad,altísima,\n"
+                + "\n"
+                + ",alta,\n"
+                + "Mala fecha,,31/31/2026\n"
+                + "x".repeat(201) + ",,\n"
+                + "Otra buena,,2026-05-01\n");
+
+        assertThat(result.getTotalRecords()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(TaskImportService.ImportError::getLine).containsExactly(3, 5, 6, 7);
+        assertThat(result.getErrors().get(0).getMessage()).contains("altísima");
+        assertThat(result.getErrors().get(1).getMessage()).startsWith("title:");
+        assertThat(result.getErrors().get(2).getMessage()).contains("31/31/2026");
+        assertThat(result.getErrors().get(3).getMessage()).startsWith("title:");
+        assertThat(saved).extracting(Task::getTitle).containsExactly("Buena", "Otra buena");
+    }
+
+    @Test
+    void unreadableContentIsRejectedAsAWhole() {
+        assertThatThrownBy(() -> importCsv("Fecha,Prioridad\n2026-01-01,alta\n"))
+                .isInstanceOf(InvalidDataException.class).hasMessageContaining("título");
+        assertThatThrownBy(() -> importCsv("Title\n\"Sin cerrar\nnunca\n"))
+                .isInstanceOf(InvalidDataException.class)
+                .satisfies(e -> assertThat(((InvalidDataException) e).getValue()).isEqualTo("línea 2"));
+        assertThatThrownBy(() -> importCsv("\n  \n"))
+                .isInstanceOf(InvalidDataException.class);
+        verify(storageService, never()).saveImportedTasks(anyList());
+    }
+
+    @Test
+    void ndjsonSkipsOtherRecordTypesAndReadsGraphFields() {
+        ImportResult result = importNdjson(
+                "{\"type\":\"user\",\"name\":\"Ana\"}\n"
+                + "{\"type\":\"task\",\"title\":\"Propia\",\"priority\":\"HIGH\",\"tags\":[\"a\"]}\n"
+                + "{\"subject\":\"De Graph\",\"body\":{\"content\":\"Notas\",\"contentType\":\"text\"},"
+                + "\"dueDateTime\":{\"dateTime\":\"2026-06-01T10:00:00\",\"timeZone\":\"UTC\"},"
+                + "\"importance\":\"high\",\"status\":\"completed\"}\n"
+                + "{no es json\n"
+                + "[1, 2]\n");
+
+        assertThat(saved).extracting(Task::getTitle).containsExactly("Propia", "De Graph");
+        Task graph = saved.get(1);
+        assertThat(graph.getDescription()).isEqualTo("Notas");
+        assertThat(graph.getDueDate()).isEqualTo(LocalDateTime.of(2026, 6, 1, 10, 0));
+        assertThat(graph.getIsImportant()).isTrue();
+        assertThat(graph.getCompleted()).isTrue();
+        assertThat(result.getErrors()).extracting(TaskImportService.ImportError::getLine).containsExactly(4, 5);
+    }
+
+    @Test
+    void formatComesFromTheParameterOrTheContentType() {
+        assertThat(importService.resolveFormat("CSV", "application/x-ndjson")).isEqualTo(ImportFormat.CSV);
+        assertThat(importService.resolveFormat(" ndjson ", "text/csv")).isEqualTo(ImportFormat.NDJSON);
+        assertThat(importService.resolveFormat(null, "text/csv; charset=utf-8")).isEqualTo(ImportFormat.CSV);
+        assertThat(importService.resolveFormat("", null)).isEqualTo(ImportFormat.NDJSON);
+        assertThatThrownBy(() -> importService.resolveFormat("xml", null)).isInstanceOf(InvalidDataException.class);
+    }
+
+    private ImportResult importCsv(String body) {
+        return importService.importTasks(10L, 1L, stream(body), ImportFormat.CSV);
+    }
+
+    private ImportResult importNdjson(String body) {
+        return importService.importTasks(10L, 1L, stream(body), ImportFormat.NDJSON);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,103 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.RecurrenceRule;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.TaskList;
+import com.todoapp.entity.User;
+import com.todoapp.exception.InvalidDataException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de {@link TaskService}: al mover la fecha límite de una tarea
+ * recurrente, la nueva fecha debe seguir encajando en su regla.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class TaskServiceTest {
+
+    /** Lunes. */
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private final MemoryStorageService storageService = mock(MemoryStorageService.class);
+    private final TaskService taskService = new TaskService();
+    private final TaskList taskList = new TaskList(10L, "Casa", null, new User(1L, "ana@todoapp.com", "Ana", "x"));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskService, "storageService", storageService);
+        when(storageService.saveTask(any(Task.class))).then(returnsFirstArg());
+    }
+
+    @Test
+    void recurringTasksKeepTheirDueDateInsideTheRule() {
+        Task task = recurring(new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1,
+                EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), null, LocalDate.of(2026, 3, 31)));
+
+        assertRejected(task, MONDAY.plusDays(1), "dueDate");
+        assertRejected(task, MONDAY.plusWeeks(5), "recurrence.until");
+        assertRejected(task, null, "dueDate");
+
+        Task updated = taskService.updateTask(100L, 1L, "Regar", null, null, MONDAY.plusDays(10), null);
+        assertThat(updated.getDueDate()).isEqualTo(MONDAY.plusDays(10));
+        assertThat(updated.getRecurrence().nextAfter(updated.getDueDate())).isEqualTo(MONDAY.plusDays(14));
+    }
+
+    @Test
+    void monthlyTasksMayOnlyMoveToTheirDayOfMonth() {
+        Task task = recurring(new RecurrenceRule(RecurrenceRule.Frequency.MONTHLY, 1, null, 31, null));
+        task.setDueDate(LocalDateTime.of(2026, 1, 31, 9, 0));
+
+        assertRejected(task, LocalDateTime.of(2026, 3, 30, 9, 0), "dueDate");
+        assertThat(taskService.updateTask(100L, 1L, "Regar", null, null, LocalDateTime.of(2026, 4, 30, 9, 0), null)
+                .getDueDate()).isEqualTo(LocalDateTime.of(2026, 4, 30, 9, 0));
+    }
+
+    @Test
+    void oneOffTasksMoveFreely() {
+        Task task = new Task(100L, "Regar", taskList);
+        task.setDueDate(MONDAY);
+        when(storageService.findTaskById(100L)).thenReturn(Optional.of(task));
+
+        assertThat(taskService.updateTask(100L, 1L, "Regar", null, null, MONDAY.plusDays(1), null).getDueDate())
+                .isEqualTo(MONDAY.plusDays(1));
+        assertThat(taskService.updateTask(100L, 1L, "Regar", null, null, null, null).getDueDate()).isNull();
+    }
+
+    private Task recurring(RecurrenceRule rule) {
+        Task task = new Task(100L, "Regar", taskList);
+        task.setDueDate(MONDAY);
+        task.setRecurrence(rule);
+        when(storageService.findTaskById(100L)).thenReturn(Optional.of(task));
+        return task;
+    }
+
+    private void assertRejected(Task task, LocalDateTime dueDate, String field) {
+        LocalDateTime before = task.getDueDate();
+
+        assertThatThrownBy(() -> taskService.updateTask(100L, 1L, "Otro título", null, null, dueDate, null))
+                .isInstanceOf(InvalidDataException.class)
+                .satisfies(e -> assertThat(((InvalidDataException) e).getField()).isEqualTo(field));
+        // La tarea guardada no cambia si la validación falla
+        assertThat(task.getTitle()).isEqualTo("Regar");
+        assertThat(task.getDueDate()).isEqualTo(before);
+        verify(storageService, never()).saveTask(any(Task.class));
+    }
+}
@@ -0,0 +1,157 @@
+package com.todoapp.service;
+
+import com.todoapp.auth.PasswordHasher;
+import com.todoapp.cache.ResourceVersions;
+import com.todoapp.cache.ResponseCache;
+import com.todoapp.entity.User;
+import com.todoapp.event.MutationEventBus;
+import com.todoapp.eventsourcing.EventStore;
+import com.todoapp.exception.EmailAlreadyExistsException;
+import com.todoapp.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de {@link UserService} sobre el almacenamiento en memoria: un email
+ * solo se registra una vez aunque los registros lleguen a la vez, y el alta
+ * se guarda fuera del pool de hash.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class UserServiceTest {
+
+    private final MutationEventBus eventBus = new MutationEventBus();
+    private final PasswordHasher passwordHasher = new PasswordHasher(1000);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private MemoryStorageService storageService;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        storageService = spy(new MemoryStorageService());
+        ReflectionTestUtils.setField(storageService, "eventBus", eventBus);
+        ReflectionTestUtils.setField(storageService, "eventStore", new EventStore(false));
+        ReflectionTestUtils.setField(storageService, "resourceVersions", new ResourceVersions());
+        ReflectionTestUtils.setField(storageService, "responseCache", new ResponseCache());
+        userService = service(passwordHasher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        passwordHasher.stop();
+        eventBus.shutdown();
+    }
+
+    @Test
+    void concurrentRegistrationsOfOneEmailCreateOneUser() throws Exception {
+        String[] variants = {"ana@todoapp.com", "Ana@TodoApp.com", " ana@todoapp.com ", "ANA@TODOAPP.COM"};
+        CyclicBarrier start = new CyclicBarrier(8);
+        List<Future<User>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String email = variants[i % variants.length];
+            results.add(executor.submit(() -> {
+                start.await();
+                return userService.createUser(email, "Ana", "secreto").get(5, TimeUnit.SECONDS);
+            }));
+        }
+
+        int created = 0;
+        int rejected = 0;
+        for (Future<User> result : results) {
+            try {
+                assertThat(result.get(10, TimeUnit.SECONDS).getEmail()).isEqualTo("ana@todoapp.com");
+                created++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(EmailAlreadyExistsException.class);
+                rejected++;
+            }
+        }
+
+        assertThat(created).isEqualTo(1);
+        assertThat(rejected).isEqualTo(7);
+        assertThat(storageService.findAllActiveUsers())
+                .filteredOn(user -> user.getEmail().equals("ana@todoapp.com")).hasSize(1);
+        assertThat(storageService.findUserByEmail("ANA@todoapp.com")).isPresent();
+    }
+
+    @Test
+    void usersAreSavedOutsideTheHasherPool() throws Exception {
+        AtomicReference<String> savingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            savingThread.compareAndSet(null, Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(storageService).saveUser(any(User.class));
+
+        User user = userService.createUser("luis@todoapp.com", "Luis", "secreto").get(5, TimeUnit.SECONDS);
+
+        assertThat(user.getTaskLists()).hasSize(1);
+        assertThat(savingThread.get()).isNotNull().doesNotStartWith("password-hasher-");
+    }
+
+    @Test
+    void failedRegistrationsReleaseTheEmail() throws Exception {
+        PasswordHasher failing = mock(PasswordHasher.class);
+        when(failing.hash(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("fallo de prueba")))
+                .thenThrow(new ServiceOverloadedException("saturado", 1));
+        UserService failingService = service(failing);
+
+        CompletableFuture<User> failed = failingService.createUser("eva@todoapp.com", "Eva", "secreto");
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> failingService.createUser("eva@todoapp.com", "Eva", "secreto"))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        assertThat(storageService.existsByEmail("eva@todoapp.com")).isFalse();
+        assertThat(userService.createUser("eva@todoapp.com", "Eva", "secreto").get(5, TimeUnit.SECONDS))
+                .isNotNull();
+    }
+
+    @Test
+    void changingTheEmailReservesTheNewOneAndFreesTheOld() throws Exception {
+        User ana = userService.createUser("ana@todoapp.com", "Ana", "secreto").get(5, TimeUnit.SECONDS);
+        userService.createUser("luis@todoapp.com", "Luis", "secreto").get(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> userService.updateUser(ana.getId(), "Ana", "Luis@todoapp.com"))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+        userService.updateUser(ana.getId(), "Ana", "ana.nueva@todoapp.com");
+
+        assertThat(storageService.findUserByEmail("ana.nueva@todoapp.com")).contains(ana);
+        assertThat(storageService.existsByEmail("ana@todoapp.com")).isFalse();
+        assertThat(userService.createUser("ana@todoapp.com", "Otra Ana", "secreto").get(5, TimeUnit.SECONDS))
+                .isNotSameAs(ana);
+
+        storageService.deleteUser(ana.getId());
+        assertThat(storageService.existsByEmail("ana.nueva@todoapp.com")).isFalse();
+    }
+
+    private UserService service(PasswordHasher hasher) {
+        UserService service = new UserService();
+        ReflectionTestUtils.setField(service, "storageService", storageService);
+        ReflectionTestUtils.setField(service, "passwordHasher", hasher);
+        return service;
+    }
+}
@@ -0,0 +1,73 @@
+package com.todoapp.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de {@link ChangeLog}: cada entidad conserva solo su último cambio
+ * y, al recortar el registro, el suelo sube y los tokens anteriores dejan de
+ * servir.
+ *
+ * @author TodoApp Team
+ * @version 1.0.0
+ */
+class ChangeLogTest {
+
+    @Test
+    void eachEntityKeepsOnlyItsLatestChange() {
+        ChangeLog log = new ChangeLog(-1);
+        log.record(SyncKind.TASK, 7, 0);
+        log.record(SyncKind.TASK_LIST, 7, 1);
+        log.record(SyncKind.TASK, 8, 2);
+        log.record(SyncKind.TASK, 7, 3);
+        log.record(SyncKind.TASK, 7, 4);
+
+        assertThat(decode(log.keysSince(-1))).containsExactly("TASK_LIST:7", "TASK:8", "TASK:7");
+        assertThat(decode(log.keysSince(2))).containsExactly("TASK:7");
+        assertThat(log.keysSince(4)).isEmpty();
+    }
+
+    @Test
+    void keysRoundTripLargeIds() {
+        ChangeLog log = new ChangeLog(-1);
+        log.record(SyncKind.USER, Long.MAX_VALUE >>> 2, 0);
+
+        long key = log.keysSince(-1)[0];
+        assertThat(ChangeLog.kindOf(key)).isEqualTo(SyncKind.USER);
+        assertThat(ChangeLog.idOf(key)).isEqualTo(Long.MAX_VALUE >>> 2);
+    }
+
+    @Test
+    void trimmingRaisesTheFloor() {
+        ChangeLog log = new ChangeLog(-1);
+        for (int id = 0; id <= ChangeLog.MAX_ENTRIES; id++) {
+            log.record(SyncKind.TASK, id, id);
+        }
+
+        // Se descartó la entidad 0, cambiada en la secuencia 0
+        assertThat(log.keysSince(-1)).isNull();
+        assertThat(log.keysSince(0)).hasSize(ChangeLog.MAX_ENTRIES);
+
+        // Volver a cambiar entidades ya presentes no recorta nada
+        log.record(SyncKind.TASK, 5, ChangeLog.MAX_ENTRIES + 1);
+        assertThat(log.keysSince(0)).hasSize(ChangeLog.MAX_ENTRIES);
+        assertThat(decode(log.keysSince(ChangeLog.MAX_ENTRIES))).containsExactly("TASK:5");
+    }
+
+    @Test
+    void aLogStartedLateCannotAnswerEarlierTokens() {
+        ChangeLog log = new ChangeLog(10);
+        log.record(SyncKind.TASK, 1, 11);
+
+        assertThat(log.keysSince(9)).isNull();
+        assertThat(decode(log.keysSince(10))).containsExactly("TASK:1");
+    }
+
+    private static List<String> decode(long[] keys) {
+        return Arrays.stream(keys).mapToObj(key -> ChangeLog.kindOf(key) + ":" + ChangeLog.idOf(key)).toList();
+    }
+}